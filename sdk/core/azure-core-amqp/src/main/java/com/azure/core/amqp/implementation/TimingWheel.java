@@ -0,0 +1,147 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.core.amqp.implementation;
+
+import com.azure.core.util.logging.ClientLogger;
+import reactor.core.Disposable;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A hashed timing wheel that runs tasks after a delay, with a precision of one tick.
+ *
+ * All timeouts share one thread, which only wakes up once per tick while timeouts are pending, no matter how many
+ * timeouts there are. Scheduling and cancelling a timeout are constant time. A timeout that is further away than one
+ * revolution of the wheel stays in its bucket until the revolution it is due in.
+ *
+ * Tasks run on the thread of the wheel and must not block.
+ */
+public final class TimingWheel implements Closeable {
+    private final ClientLogger logger = new ClientLogger(TimingWheel.class);
+    private final List<ArrayDeque<Timeout>> buckets;
+    private final int mask;
+    private final long tickNanos;
+    private final Scheduler scheduler;
+
+    private long currentTick;
+    private int pending;
+    private Disposable ticker;
+    private boolean closed;
+
+    /**
+     * Creates a timing wheel.
+     *
+     * @param name Name of the thread of the wheel.
+     * @param tickDuration Duration of one tick, the precision of the timeouts.
+     * @param ticksPerWheel Number of buckets in the wheel, rounded up to a power of two.
+     */
+    public TimingWheel(String name, Duration tickDuration, int ticksPerWheel) {
+        final int size = Integer.highestOneBit(Math.max(1, ticksPerWheel - 1)) << 1;
+        this.buckets = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            buckets.add(new ArrayDeque<>());
+        }
+        this.mask = size - 1;
+        this.tickNanos = tickDuration.toNanos();
+        this.scheduler = Schedulers.newSingle(name, true);
+    }
+
+    /**
+     * Schedules a task to run once the delay has elapsed, rounded up to the next tick.
+     *
+     * @param task The task to run.
+     * @param delay Delay before the task runs.
+     * @return The timeout, which can be cancelled.
+     * @throws IllegalStateException if the wheel is closed.
+     */
+    public synchronized Timeout schedule(Runnable task, Duration delay) {
+        if (closed) {
+            throw logger.logExceptionAsError(new IllegalStateException("Cannot schedule a task on a closed wheel."));
+        }
+
+        final long ticks = Math.max(1, (delay.toNanos() + tickNanos - 1) / tickNanos);
+        final Timeout timeout = new Timeout(task, currentTick + ticks);
+        buckets.get((int) (timeout.deadlineTick & mask)).add(timeout);
+
+        if (pending++ == 0) {
+            ticker = scheduler.schedulePeriodically(this::tick, tickNanos, tickNanos, TimeUnit.NANOSECONDS);
+        }
+        return timeout;
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            closed = true;
+            for (ArrayDeque<Timeout> bucket : buckets) {
+                bucket.clear();
+            }
+            pending = 0;
+        }
+        scheduler.dispose();
+    }
+
+    private void tick() {
+        final List<Timeout> expired = new ArrayList<>();
+        synchronized (this) {
+            currentTick++;
+            final Iterator<Timeout> iterator = buckets.get((int) (currentTick & mask)).iterator();
+            while (iterator.hasNext()) {
+                final Timeout timeout = iterator.next();
+                if (timeout.cancelled) {
+                    iterator.remove();
+                    pending--;
+                } else if (timeout.deadlineTick <= currentTick) {
+                    iterator.remove();
+                    pending--;
+                    expired.add(timeout);
+                }
+            }
+
+            // Stop waking up while there is nothing to run, the next timeout that is scheduled restarts the ticker.
+            if (pending == 0 && ticker != null) {
+                ticker.dispose();
+                ticker = null;
+            }
+        }
+
+        for (Timeout timeout : expired) {
+            try {
+                timeout.task.run();
+            } catch (RuntimeException e) {
+                logger.warning("Timeout task failed.", e);
+            }
+        }
+    }
+
+    /**
+     * A task scheduled on the wheel.
+     */
+    public static final class Timeout {
+        private final Runnable task;
+        private final long deadlineTick;
+        private volatile boolean cancelled;
+
+        private Timeout(Runnable task, long deadlineTick) {
+            this.task = task;
+            this.deadlineTick = deadlineTick;
+        }
+
+        /**
+         * Cancels the timeout, the task does not run unless it is already running. The cancelled timeout is removed
+         * from the wheel when its bucket is next visited.
+         */
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+}
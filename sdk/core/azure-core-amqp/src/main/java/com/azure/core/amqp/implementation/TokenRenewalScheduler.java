@@ -0,0 +1,218 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.core.amqp.implementation;
+
+import com.azure.core.amqp.CBSNode;
+import com.azure.core.amqp.exception.AmqpException;
+import com.azure.core.util.logging.ClientLogger;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Authorizes the links of a connection against its CBS node and keeps their authorization renewed.
+ *
+ * Authorization is tracked per token audience rather than per link. Concurrent {@code put-token} requests for the same
+ * audience share a single request to the CBS node, and once an audience is authorized further links for it reuse the
+ * authorization until it is due for renewal. Every audience with subscribers is renewed when 90% of the lifetime of
+ * its token has elapsed, from one {@link TimingWheel} for the whole connection rather than a timer per link.
+ */
+public class TokenRenewalScheduler implements Closeable {
+    private static final Duration DEFAULT_TICK_DURATION = Duration.ofSeconds(1);
+    private static final int DEFAULT_TICKS_PER_WHEEL = 512;
+    private static final Duration DEFAULT_RETRY_INTERVAL = Duration.ofMinutes(1);
+
+    private final ClientLogger logger = new ClientLogger(TokenRenewalScheduler.class);
+    private final ConcurrentMap<String, AudienceAuthorization> audiences = new ConcurrentHashMap<>();
+    private final Mono<CBSNode> cbsNode;
+    private final TimingWheel wheel;
+
+    private volatile boolean isDisposed;
+
+    /**
+     * Creates a scheduler that renews authorizations with a precision of one second.
+     *
+     * @param cbsNode The CBS node to authorize with.
+     * @param connectionId Identifier of the connection, used to name the renewal thread.
+     */
+    public TokenRenewalScheduler(Mono<CBSNode> cbsNode, String connectionId) {
+        this(cbsNode, connectionId, DEFAULT_TICK_DURATION);
+    }
+
+    /**
+     * Creates a scheduler that renews authorizations with the given precision.
+     *
+     * @param cbsNode The CBS node to authorize with.
+     * @param connectionId Identifier of the connection, used to name the renewal thread.
+     * @param tickDuration Precision with which renewals are scheduled.
+     */
+    public TokenRenewalScheduler(Mono<CBSNode> cbsNode, String connectionId, Duration tickDuration) {
+        this.cbsNode = Objects.requireNonNull(cbsNode);
+        this.wheel = new TimingWheel(connectionId + "-tokenRenewal", Objects.requireNonNull(tickDuration),
+            DEFAULT_TICKS_PER_WHEEL);
+    }
+
+    /**
+     * Authorizes access to the {@code audience} with the CBS node, unless it is already authorized and not yet due for
+     * renewal. Callers that authorize the same audience while a request is in flight share its result.
+     *
+     * @param audience Resource that access is requested for.
+     * @return A Mono that completes with the expiration date of the authorization, or errors if authorization was
+     * unsuccessful.
+     */
+    public Mono<OffsetDateTime> authorize(String audience) {
+        if (isDisposed) {
+            return Mono.error(logger.logExceptionAsError(
+                new IllegalStateException("Cannot authorize with CBS node when the scheduler has been disposed of.")));
+        }
+
+        return audiences.computeIfAbsent(audience, AudienceAuthorization::new).authorize(false);
+    }
+
+    /**
+     * Subscribes to the renewals of the authorization for the {@code audience}. The audience is renewed for as long as
+     * it has subscribers, starting with the next successful {@link #authorize(String)}.
+     *
+     * A renewal that fails with a transient {@link AmqpException} is retried after the last renewal interval; any
+     * other failure stops the renewal of the audience until it is authorized again. Subscribers are notified of every
+     * failure.
+     *
+     * @param audience Resource that access is renewed for.
+     * @param onRenewed Called with the new expiration date after every successful renewal.
+     * @param onError Called with the error of every failed renewal.
+     * @return A Disposable that ends the subscription.
+     */
+    public Disposable subscribe(String audience, Consumer<OffsetDateTime> onRenewed, Consumer<Throwable> onError) {
+        final Subscriber subscriber = new Subscriber(onRenewed, onError);
+        final AudienceAuthorization authorization = audiences.computeIfAbsent(audience, AudienceAuthorization::new);
+        authorization.subscribers.add(subscriber);
+        return () -> authorization.subscribers.remove(subscriber);
+    }
+
+    /**
+     * Stops renewing every audience.
+     */
+    @Override
+    public void close() {
+        if (isDisposed) {
+            return;
+        }
+        isDisposed = true;
+        wheel.close();
+        audiences.clear();
+    }
+
+    private static final class Subscriber {
+        private final Consumer<OffsetDateTime> onRenewed;
+        private final Consumer<Throwable> onError;
+
+        private Subscriber(Consumer<OffsetDateTime> onRenewed, Consumer<Throwable> onError) {
+            this.onRenewed = onRenewed;
+            this.onError = onError;
+        }
+    }
+
+    /*
+     * The authorization state of one audience, guarded by its own monitor.
+     */
+    private final class AudienceAuthorization {
+        private final String audience;
+        private final CopyOnWriteArrayList<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+        private MonoProcessor<OffsetDateTime> inFlight;
+        private OffsetDateTime expiresOn;
+        private OffsetDateTime renewAt;
+        private Duration lastRefreshInterval = DEFAULT_RETRY_INTERVAL;
+        private TimingWheel.Timeout renewal;
+
+        private AudienceAuthorization(String audience) {
+            this.audience = audience;
+        }
+
+        private synchronized Mono<OffsetDateTime> authorize(boolean isRenewal) {
+            if (inFlight != null) {
+                return inFlight;
+            }
+            if (!isRenewal && expiresOn != null && OffsetDateTime.now(ZoneOffset.UTC).isBefore(renewAt)) {
+                return Mono.just(expiresOn);
+            }
+
+            final MonoProcessor<OffsetDateTime> processor = MonoProcessor.create();
+            inFlight = processor;
+            cbsNode.flatMap(node -> node.authorize(audience))
+                .doOnNext(this::onAuthorized)
+                .doOnError(this::onFailed)
+                .subscribe(processor);
+            return processor;
+        }
+
+        private synchronized void onAuthorized(OffsetDateTime expiration) {
+            final Duration between = Duration.between(OffsetDateTime.now(ZoneOffset.UTC), expiration);
+
+            // We want to refresh the token when 90% of the time before expiry has elapsed.
+            lastRefreshInterval = Duration.ofSeconds((long) Math.floor(between.getSeconds() * 0.9));
+            expiresOn = expiration;
+            renewAt = OffsetDateTime.now(ZoneOffset.UTC).plus(lastRefreshInterval);
+            inFlight = null;
+            scheduleRenewal(lastRefreshInterval);
+        }
+
+        private synchronized void onFailed(Throwable error) {
+            inFlight = null;
+            expiresOn = null;
+        }
+
+        private void scheduleRenewal(Duration delay) {
+            if (renewal != null || isDisposed) {
+                return;
+            }
+            try {
+                renewal = wheel.schedule(this::renew, delay);
+            } catch (IllegalStateException e) {
+                logger.warning("Unable to schedule renewal of the authorization for {}.", audience, e);
+            }
+        }
+
+        private void renew() {
+            synchronized (this) {
+                renewal = null;
+                if (subscribers.isEmpty()) {
+                    logger.info("No links use the authorization for {}. Not renewing.", audience);
+                    return;
+                }
+            }
+
+            logger.info("Refreshing authorization token for {}.", audience);
+            authorize(true).subscribe(this::onRenewed, this::onRenewalFailed);
+        }
+
+        private void onRenewed(OffsetDateTime expiration) {
+            logger.info("Authorization successful. Token for {} expires at {}.", audience, expiration);
+            subscribers.forEach(subscriber -> subscriber.onRenewed.accept(expiration));
+        }
+
+        private void onRenewalFailed(Throwable error) {
+            if ((error instanceof AmqpException) && ((AmqpException) error).isTransient()) {
+                logger.error("Error is transient. Rescheduling authorization task.", error);
+                synchronized (this) {
+                    scheduleRenewal(lastRefreshInterval);
+                }
+            } else {
+                logger.error("Error occurred while refreshing token that is not retriable. Not scheduling"
+                    + " refresh task until the audience is authorized again.", error);
+            }
+            subscribers.forEach(subscriber -> subscriber.onError.accept(error));
+        }
+    }
+}
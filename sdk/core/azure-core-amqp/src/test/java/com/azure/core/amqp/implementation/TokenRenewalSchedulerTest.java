@@ -0,0 +1,156 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.core.amqp.implementation;
+
+import com.azure.core.amqp.AmqpEndpointState;
+import com.azure.core.amqp.AmqpShutdownSignal;
+import com.azure.core.amqp.CBSNode;
+import org.junit.Assert;
+import org.junit.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TokenRenewalSchedulerTest {
+    private static final Duration TICK = Duration.ofMillis(50);
+
+    /**
+     * Verify that concurrent authorizations of the same audience share one put-token request, and that an authorized
+     * audience is not authorized again before it is due for renewal.
+     */
+    @Test
+    public void coalescesAuthorizationsOfTheSameAudience() {
+        // Arrange
+        final CountingCBSNode cbsNode = new CountingCBSNode(Duration.ofMinutes(20), Duration.ofMillis(200));
+
+        try (TokenRenewalScheduler scheduler = new TokenRenewalScheduler(Mono.just(cbsNode), "connection", TICK)) {
+            // Act
+            final List<OffsetDateTime> expirations = Flux.range(0, 50)
+                .flatMap(i -> scheduler.authorize(i % 2 == 0 ? "audience-a" : "audience-b"))
+                .collectList()
+                .block(Duration.ofSeconds(5));
+            scheduler.authorize("audience-a").block(Duration.ofSeconds(5));
+
+            // Assert
+            Assert.assertEquals(50, expirations.size());
+            Assert.assertEquals(2, cbsNode.requests.get());
+        }
+    }
+
+    /**
+     * Verify that every subscriber of an audience is notified by a single renewal.
+     */
+    @Test
+    public void renewsEachAudienceOnceForAllSubscribers() throws InterruptedException {
+        // Arrange
+        final CountingCBSNode cbsNode = new CountingCBSNode(Duration.ofSeconds(2), Duration.ZERO);
+        final CountDownLatch renewed = new CountDownLatch(10);
+
+        try (TokenRenewalScheduler scheduler = new TokenRenewalScheduler(Mono.just(cbsNode), "connection", TICK)) {
+            for (int i = 0; i < 10; i++) {
+                scheduler.subscribe("audience", expiration -> renewed.countDown(), error -> { });
+            }
+
+            // Act
+            scheduler.authorize("audience").block(Duration.ofSeconds(5));
+
+            // Assert
+            Assert.assertTrue(renewed.await(5, TimeUnit.SECONDS));
+            Assert.assertEquals(2, cbsNode.requests.get());
+        }
+    }
+
+    /**
+     * Verify that an audience without subscribers is not renewed.
+     */
+    @Test
+    public void stopsRenewingWithoutSubscribers() throws InterruptedException {
+        // Arrange
+        final CountingCBSNode cbsNode = new CountingCBSNode(Duration.ofSeconds(1), Duration.ZERO);
+        final List<OffsetDateTime> renewals = new CopyOnWriteArrayList<>();
+
+        try (TokenRenewalScheduler scheduler = new TokenRenewalScheduler(Mono.just(cbsNode), "connection", TICK)) {
+            final Disposable subscription = scheduler.subscribe("audience", renewals::add, error -> { });
+
+            // Act
+            scheduler.authorize("audience").block(Duration.ofSeconds(5));
+            subscription.dispose();
+            Thread.sleep(2500);
+
+            // Assert
+            Assert.assertTrue(renewals.isEmpty());
+            Assert.assertEquals(1, cbsNode.requests.get());
+        }
+    }
+
+    /**
+     * Verify that a disposed scheduler does not authorize.
+     */
+    @Test
+    public void cannotAuthorizeDisposedInstance() {
+        // Arrange
+        final CountingCBSNode cbsNode = new CountingCBSNode(Duration.ofMinutes(20), Duration.ZERO);
+        final TokenRenewalScheduler scheduler = new TokenRenewalScheduler(Mono.just(cbsNode), "connection", TICK);
+        scheduler.close();
+
+        // Act & Assert
+        try {
+            scheduler.authorize("audience").block(Duration.ofSeconds(5));
+            Assert.fail("Expected authorization to fail.");
+        } catch (IllegalStateException e) {
+            Assert.assertEquals(0, cbsNode.requests.get());
+        }
+    }
+
+    private static final class CountingCBSNode implements CBSNode {
+        private final AtomicInteger requests = new AtomicInteger();
+        private final Duration validity;
+        private final Duration latency;
+
+        private CountingCBSNode(Duration validity, Duration latency) {
+            this.validity = validity;
+            this.latency = latency;
+        }
+
+        @Override
+        public Mono<OffsetDateTime> authorize(String audience) {
+            return Mono.delay(latency)
+                .doOnSubscribe(s -> requests.incrementAndGet())
+                .map(ignored -> OffsetDateTime.now(ZoneOffset.UTC).plus(validity));
+        }
+
+        @Override
+        public AmqpEndpointState getCurrentState() {
+            return AmqpEndpointState.ACTIVE;
+        }
+
+        @Override
+        public Flux<Throwable> getErrors() {
+            return Flux.empty();
+        }
+
+        @Override
+        public Flux<AmqpEndpointState> getConnectionStates() {
+            return Flux.empty();
+        }
+
+        @Override
+        public Flux<AmqpShutdownSignal> getShutdownSignals() {
+            return Flux.empty();
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
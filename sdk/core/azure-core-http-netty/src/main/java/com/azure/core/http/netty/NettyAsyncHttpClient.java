@@ -9,6 +9,11 @@ import com.azure.core.http.HttpHeaders;
 import com.azure.core.http.HttpRequest;
 import com.azure.core.http.HttpResponse;
 import com.azure.core.http.ProxyOptions;
+import com.azure.core.implementation.http.DecoratableBodyHttpResponse;
+import com.azure.core.implementation.metrics.HttpMetrics;
+import com.azure.core.implementation.metrics.MetricsProxy;
+import com.azure.core.implementation.util.FileSegmentFlux;
+import com.azure.core.implementation.util.FluxUtil;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.nio.NioEventLoopGroup;
@@ -24,8 +29,10 @@ import reactor.netty.http.client.HttpClientResponse;
 
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.Objects;
 import java.util.function.BiFunction;
+import java.util.function.Function;
 
 /**
  * This class provides a Netty-based implementation for the {@link HttpClient} interface. Creating an instance of
@@ -63,7 +70,15 @@ public class NettyAsyncHttpClient implements HttpClient {
         Objects.requireNonNull(request.url());
         Objects.requireNonNull(request.url().getProtocol());
 
-        return nettyClient
+        if (MetricsProxy.isEnabled()) {
+            return Mono.defer(() -> sendWith(connectionAcquireTimer(request), request));
+        }
+        return sendWith(nettyClient, request);
+    }
+
+    private static Mono<HttpResponse> sendWith(final reactor.netty.http.client.HttpClient client,
+                                               final HttpRequest request) {
+        return client
             .request(HttpMethod.valueOf(request.httpMethod().toString()))
             .uri(request.url().toString())
             .send(bodySendDelegate(request))
@@ -71,6 +86,20 @@ public class NettyAsyncHttpClient implements HttpClient {
             .single();
     }
 
+    /**
+     * Creates a client that records the time from now until a connection is ready to write the request, which
+     * covers waiting for a pooled connection or opening a new one, in {@link HttpMetrics#CONNECTION_ACQUIRE_DURATION}.
+     *
+     * @param request the request about to be sent
+     * @return a client recording the connection-acquire time of the request
+     */
+    private reactor.netty.http.client.HttpClient connectionAcquireTimer(final HttpRequest request) {
+        final long start = System.nanoTime();
+        return nettyClient.doOnRequest((reactorNettyRequest, connection) ->
+            MetricsProxy.recordDuration(HttpMetrics.CONNECTION_ACQUIRE_DURATION, System.nanoTime() - start,
+                HttpMetrics.HOST_TAG, request.url().getHost()));
+    }
+
     /**
      * Delegate to send the request content.
      *
@@ -84,7 +113,15 @@ public class NettyAsyncHttpClient implements HttpClient {
                     reactorNettyRequest.header(header.name(), header.value());
                 }
             }
-            if (restRequest.body() != null) {
+            if (restRequest.body() instanceof FileSegmentFlux) {
+                // The body is a segment of a file, send it straight from the file, Netty uses a zero-copy
+                // FileRegion when possible and falls back to chunked reads when the channel is encrypted.
+                FileSegmentFlux fileSegment = (FileSegmentFlux) restRequest.body();
+                if (restRequest.headers().value("Content-Length") == null) {
+                    reactorNettyRequest.header("Content-Length", String.valueOf(fileSegment.length()));
+                }
+                return reactorNettyOutbound.sendFile(fileSegment.file(), fileSegment.offset(), fileSegment.length());
+            } else if (restRequest.body() != null) {
                 Flux<ByteBuf> nettyByteBufFlux = restRequest.body().map(Unpooled::wrappedBuffer);
                 return reactorNettyOutbound.send(nettyByteBufFlux);
             } else {
@@ -104,13 +141,26 @@ public class NettyAsyncHttpClient implements HttpClient {
             Mono.just(new ReactorNettyHttpResponse(reactorNettyResponse, reactorNettyConnection).request(restRequest));
     }
 
-    static class ReactorNettyHttpResponse extends HttpResponse {
+    static class ReactorNettyHttpResponse extends HttpResponse
+        implements RetainedBodyHttpResponse, DecoratableBodyHttpResponse {
         private final HttpClientResponse reactorNettyResponse;
         private final Connection reactorNettyConnection;
+        private final HttpHeaders headers;
+        // Applied to the body read through body(), bodyAsByteArray() and bodyAsString(), or null
+        private final Function<Flux<ByteBuffer>, Flux<ByteBuffer>> bodyDecorator;
 
         ReactorNettyHttpResponse(HttpClientResponse reactorNettyResponse, Connection reactorNettyConnection) {
+            this(reactorNettyResponse, reactorNettyConnection,
+                new NettyToAzureCoreHttpHeadersWrapper(reactorNettyResponse.responseHeaders()), null);
+        }
+
+        private ReactorNettyHttpResponse(HttpClientResponse reactorNettyResponse, Connection reactorNettyConnection,
+                                         HttpHeaders headers,
+                                         Function<Flux<ByteBuffer>, Flux<ByteBuffer>> bodyDecorator) {
             this.reactorNettyResponse = reactorNettyResponse;
             this.reactorNettyConnection = reactorNettyConnection;
+            this.headers = headers;
+            this.bodyDecorator = bodyDecorator;
         }
 
         @Override
@@ -125,22 +175,41 @@ public class NettyAsyncHttpClient implements HttpClient {
 
         @Override
         public HttpHeaders headers() {
-            HttpHeaders headers = new HttpHeaders();
-            reactorNettyResponse.responseHeaders().forEach(e -> headers.put(e.getKey(), e.getValue()));
             return headers;
         }
 
         @Override
         public Flux<ByteBuffer> body() {
-            return bodyIntern().doFinally(s -> {
+            Flux<ByteBuffer> body = bodyIntern().doFinally(s -> {
                 if (!reactorNettyConnection.isDisposed()) {
                     reactorNettyConnection.channel().eventLoop().execute(reactorNettyConnection::dispose);
                 }
             }).map(ByteBuf::nioBuffer);
+            return bodyDecorator == null ? body : bodyDecorator.apply(body);
+        }
+
+        @Override
+        public Flux<ByteBuf> retainedBody() {
+            return bodyIntern().retain().doFinally(s -> {
+                if (!reactorNettyConnection.isDisposed()) {
+                    reactorNettyConnection.channel().eventLoop().execute(reactorNettyConnection::dispose);
+                }
+            });
+        }
+
+        @Override
+        public HttpResponse decorateBody(Function<Flux<ByteBuffer>, Flux<ByteBuffer>> decorator) {
+            Function<Flux<ByteBuffer>, Flux<ByteBuffer>> combined = bodyDecorator == null
+                ? decorator : bodyDecorator.andThen(decorator);
+            return new ReactorNettyHttpResponse(reactorNettyResponse, reactorNettyConnection, headers, combined)
+                .request(request());
         }
 
         @Override
         public Mono<byte[]> bodyAsByteArray() {
+            if (bodyDecorator != null) {
+                return FluxUtil.collectBytesInByteBufferStream(body());
+            }
             return bodyIntern().aggregate().asByteArray().doFinally(s -> {
                 if (!reactorNettyConnection.isDisposed()) {
                     reactorNettyConnection.channel().eventLoop().execute(reactorNettyConnection::dispose);
@@ -150,6 +219,9 @@ public class NettyAsyncHttpClient implements HttpClient {
 
         @Override
         public Mono<String> bodyAsString() {
+            if (bodyDecorator != null) {
+                return bodyAsString(StandardCharsets.UTF_8);
+            }
             return bodyIntern().aggregate().asString().doFinally(s -> {
                 if (!reactorNettyConnection.isDisposed()) {
                     reactorNettyConnection.channel().eventLoop().execute(reactorNettyConnection::dispose);
@@ -159,6 +231,9 @@ public class NettyAsyncHttpClient implements HttpClient {
 
         @Override
         public Mono<String> bodyAsString(Charset charset) {
+            if (bodyDecorator != null) {
+                return bodyAsByteArray().map(bytes -> new String(bytes, charset));
+            }
             return bodyIntern().aggregate().asString(charset).doFinally(s -> {
                 if (!reactorNettyConnection.isDisposed()) {
                     reactorNettyConnection.channel().eventLoop().execute(reactorNettyConnection::dispose);
@@ -0,0 +1,180 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.core.http.netty;
+
+import com.azure.core.http.HttpHeader;
+import com.azure.core.http.HttpHeaders;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * An {@link HttpHeaders} view over the headers of a Netty HTTP message.
+ *
+ * The Netty headers are already stored case-insensitively, so rather than copying every header into a new
+ * collection each time the headers of a response are requested, lookups are delegated to the Netty headers.
+ * Headers that were received multiple times are exposed as a single {@link HttpHeader} whose values are comma
+ * separated, and values added to a header returned by {@link #get(String)} are written through to the Netty headers.
+ *
+ * Netty can't store a header without a value, so headers set to null are tracked by the wrapper and iterated after
+ * the Netty headers.
+ */
+final class NettyToAzureCoreHttpHeadersWrapper extends HttpHeaders {
+    private static final String[] NO_NAMES = new String[0];
+
+    private final io.netty.handler.codec.http.HttpHeaders nettyHeaders;
+
+    // Created on the first put of a null value, which doesn't happen for received responses
+    private Set<String> nullValueNames;
+
+    // The distinct header names, computed when first needed and recomputed once the headers change
+    private String[] names;
+    private int namesEntryCount;
+
+    NettyToAzureCoreHttpHeadersWrapper(io.netty.handler.codec.http.HttpHeaders nettyHeaders) {
+        this.nettyHeaders = nettyHeaders;
+    }
+
+    @Override
+    public int size() {
+        return names().length;
+    }
+
+    @Override
+    public HttpHeaders put(String name, String value) {
+        if (value == null) {
+            nettyHeaders.remove(name);
+            if (nullValueNames == null) {
+                nullValueNames = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+            }
+            nullValueNames.add(name);
+        } else {
+            nettyHeaders.set(name, value);
+            if (nullValueNames != null) {
+                nullValueNames.remove(name);
+            }
+        }
+        names = null;
+        return this;
+    }
+
+    @Override
+    public HttpHeader get(String name) {
+        final Iterator<String> values = nettyHeaders.valueStringIterator(name);
+        if (!values.hasNext()) {
+            return nullValueNames != null && nullValueNames.contains(name) ? new NettyHttpHeader(name, null) : null;
+        }
+
+        final String value = values.next();
+        if (!values.hasNext()) {
+            return new NettyHttpHeader(name, value);
+        }
+
+        // Netty iterates the values of a header from the most recently added one
+        final StringBuilder joined = new StringBuilder(value);
+        do {
+            joined.insert(0, ',').insert(0, values.next());
+        } while (values.hasNext());
+        return new NettyHttpHeader(name, joined.toString());
+    }
+
+    @Override
+    public Map<String, String> toMap() {
+        final Map<String, String> result = new HashMap<>();
+        for (final HttpHeader header : this) {
+            result.put(header.name(), header.value());
+        }
+        return result;
+    }
+
+    @Override
+    public Iterator<HttpHeader> iterator() {
+        final String[] names = names();
+        return new Iterator<HttpHeader>() {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < names.length;
+            }
+
+            @Override
+            public HttpHeader next() {
+                if (index >= names.length) {
+                    // Throws the NoSuchElementException without a logger allocated for every response
+                    return Collections.<HttpHeader>emptyIterator().next();
+                }
+                return get(names[index++]);
+            }
+        };
+    }
+
+    /*
+     * Netty preserves the case of every header name it receives, so the same header sent with differently cased
+     * names is listed once for each entry. The headers of a response rarely change once received, so the distinct
+     * names are kept until the number of Netty entries changes or a header is put through this wrapper.
+     */
+    private String[] names() {
+        final int entryCount = nettyHeaders.size();
+        if (names != null && namesEntryCount == entryCount) {
+            return names;
+        }
+
+        final int nullValueCount = nullValueNames == null ? 0 : nullValueNames.size();
+        if (entryCount + nullValueCount == 0) {
+            names = NO_NAMES;
+            namesEntryCount = 0;
+            return names;
+        }
+
+        String[] distinct = new String[entryCount + nullValueCount];
+        int count = 0;
+        final Iterator<Map.Entry<String, String>> entries = nettyHeaders.iteratorAsString();
+        while (entries.hasNext()) {
+            final String name = entries.next().getKey();
+            if (indexOf(distinct, count, name) < 0) {
+                distinct[count++] = name;
+            }
+        }
+        if (nullValueCount != 0) {
+            for (final String name : nullValueNames) {
+                distinct[count++] = name;
+            }
+        }
+
+        names = count == distinct.length ? distinct : Arrays.copyOf(distinct, count);
+        namesEntryCount = entryCount;
+        return names;
+    }
+
+    private static int indexOf(String[] names, int count, String name) {
+        for (int i = 0; i < count; ++i) {
+            if (names[i].equalsIgnoreCase(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /*
+     * A header read from the Netty headers, values added to it are written back so that they aren't lost like they
+     * would be on a detached copy.
+     */
+    private final class NettyHttpHeader extends HttpHeader {
+        private NettyHttpHeader(String name, String value) {
+            super(name, value);
+        }
+
+        @Override
+        public void addValue(String value) {
+            super.addValue(value);
+            put(name(), value());
+        }
+    }
+}
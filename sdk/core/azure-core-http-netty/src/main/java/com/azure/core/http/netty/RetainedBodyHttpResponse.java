@@ -0,0 +1,29 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.core.http.netty;
+
+import com.azure.core.http.HttpResponse;
+import io.netty.buffer.ByteBuf;
+import reactor.core.publisher.Flux;
+
+/**
+ * An {@link HttpResponse} received by {@link NettyAsyncHttpClient} whose body can be consumed as the pooled,
+ * reference-counted {@link ByteBuf buffers} read from the connection, without copying them to the heap.
+ *
+ * <p><strong>Consuming a response body as retained buffers</strong></p>
+ *
+ * {@codesnippet com.azure.core.http.netty.RetainedBodyHttpResponse.retainedBody}
+ */
+public interface RetainedBodyHttpResponse {
+    /**
+     * Gets the response body as the buffers read from the connection, each retained once on behalf of the caller.
+     *
+     * The caller owns every emitted buffer and must {@link ByteBuf#release() release} it once it has been consumed,
+     * buffers that are not released leak pooled memory. The connection is released back to the pool once the
+     * returned Flux terminates or is cancelled.
+     *
+     * @return the response body as retained buffers
+     */
+    Flux<ByteBuf> retainedBody();
+}
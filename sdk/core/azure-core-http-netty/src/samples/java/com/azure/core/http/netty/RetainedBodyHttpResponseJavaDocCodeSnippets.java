@@ -0,0 +1,40 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.core.http.netty;
+
+import com.azure.core.http.HttpClient;
+import com.azure.core.http.HttpMethod;
+import com.azure.core.http.HttpRequest;
+import reactor.core.Exceptions;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+
+/**
+ * Code snippets for {@link RetainedBodyHttpResponse}
+ */
+public class RetainedBodyHttpResponseJavaDocCodeSnippets {
+
+    private void retainedBody(OutputStream outputStream) throws MalformedURLException {
+        HttpClient client = new NettyAsyncHttpClientBuilder().build();
+        HttpRequest request = new HttpRequest(HttpMethod.GET, new URL("https://example.blob.core.windows.net/c/b"));
+
+        // BEGIN: com.azure.core.http.netty.RetainedBodyHttpResponse.retainedBody
+        client.send(request)
+            .flatMapMany(response -> ((RetainedBodyHttpResponse) response).retainedBody())
+            .doOnNext(buffer -> {
+                try {
+                    buffer.readBytes(outputStream, buffer.readableBytes());
+                } catch (IOException e) {
+                    throw Exceptions.propagate(e);
+                } finally {
+                    buffer.release();
+                }
+            })
+            .blockLast();
+        // END: com.azure.core.http.netty.RetainedBodyHttpResponse.retainedBody
+    }
+}
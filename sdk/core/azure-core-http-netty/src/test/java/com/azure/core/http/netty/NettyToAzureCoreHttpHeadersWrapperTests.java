@@ -0,0 +1,75 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.core.http.netty;
+
+import com.azure.core.http.HttpHeader;
+import com.azure.core.http.HttpHeaders;
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import org.junit.Test;
+
+import java.util.Iterator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class NettyToAzureCoreHttpHeadersWrapperTests {
+    @Test
+    public void readsThroughToNettyHeaders() {
+        final DefaultHttpHeaders nettyHeaders = new DefaultHttpHeaders();
+        nettyHeaders.add("Content-Type", "application/json");
+        nettyHeaders.add("Set-Cookie", "a=1");
+        nettyHeaders.add("set-cookie", "b=2");
+        final HttpHeaders headers = new NettyToAzureCoreHttpHeadersWrapper(nettyHeaders);
+
+        assertEquals(2, headers.size());
+        assertEquals("application/json", headers.value("content-type"));
+        assertEquals("a=1,b=2", headers.value("SET-COOKIE"));
+        assertEquals(2, headers.values("Set-Cookie").length);
+        assertNull(headers.get("Content-Length"));
+
+        nettyHeaders.add("Content-Length", "10");
+        assertEquals("10", headers.value("content-length"));
+    }
+
+    @Test
+    public void writesThroughToNettyHeaders() {
+        final DefaultHttpHeaders nettyHeaders = new DefaultHttpHeaders();
+        final HttpHeaders headers = new NettyToAzureCoreHttpHeadersWrapper(nettyHeaders);
+
+        headers.put("x-ms-test", "a");
+        assertEquals("a", nettyHeaders.get("X-MS-TEST"));
+
+        headers.get("x-ms-test").addValue("b");
+        assertEquals("a,b", nettyHeaders.get("x-ms-test"));
+
+        headers.put("X-MS-TEST", null);
+        assertFalse(nettyHeaders.contains("x-ms-test"));
+        assertEquals(1, headers.size());
+        assertNotNull(headers.get("x-ms-test"));
+        assertNull(headers.value("x-ms-test"));
+
+        headers.put("x-ms-test", "c");
+        assertEquals("c", nettyHeaders.get("x-ms-test"));
+        assertEquals(1, headers.size());
+    }
+
+    @Test
+    public void iteratesDistinctNames() {
+        final DefaultHttpHeaders nettyHeaders = new DefaultHttpHeaders();
+        nettyHeaders.add("a", "1");
+        nettyHeaders.add("b", "2");
+        nettyHeaders.add("a", "3");
+
+        final Iterator<HttpHeader> iterator = new NettyToAzureCoreHttpHeadersWrapper(nettyHeaders).iterator();
+        HttpHeader header = iterator.next();
+        assertEquals("a", header.name());
+        assertEquals("1,3", header.value());
+        header = iterator.next();
+        assertEquals("b", header.name());
+        assertEquals("2", header.value());
+        assertFalse(iterator.hasNext());
+    }
+}
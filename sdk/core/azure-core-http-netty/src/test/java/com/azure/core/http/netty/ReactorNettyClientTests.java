@@ -5,8 +5,15 @@ package com.azure.core.http.netty;
 
 import com.azure.core.http.HttpClient;
 import com.azure.core.http.HttpMethod;
+import com.azure.core.http.HttpPipeline;
+import com.azure.core.http.HttpPipelineBuilder;
 import com.azure.core.http.HttpRequest;
 import com.azure.core.http.HttpResponse;
+import com.azure.core.http.policy.HttpLogDetailLevel;
+import com.azure.core.http.policy.HttpLoggingPolicy;
+import com.azure.core.implementation.util.FluxUtil;
+import com.azure.core.util.configuration.BaseConfigurations;
+import com.azure.core.util.configuration.ConfigurationManager;
 import com.github.tomakehurst.wiremock.WireMockServer;
 import com.github.tomakehurst.wiremock.client.WireMock;
 import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
@@ -22,16 +29,21 @@ import reactor.core.scheduler.Schedulers;
 import reactor.test.StepVerifier;
 import reactor.test.StepVerifierOptions;
 
+import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.PrintStream;
 import java.net.MalformedURLException;
 import java.net.ServerSocket;
 import java.net.Socket;
 import java.net.URL;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -54,6 +66,8 @@ public class ReactorNettyClientTests {
                 .willReturn(WireMock.aResponse().withBody("error").withStatus(500)));
         server.stubFor(
                 WireMock.post("/shortPost").willReturn(WireMock.aResponse().withBody(SHORT_BODY)));
+        server.stubFor(WireMock.put("/filePut").withRequestBody(WireMock.equalTo(SHORT_BODY.substring(3)))
+                .willReturn(WireMock.aResponse().withStatus(201)));
         server.start();
         // ResourceLeakDetector.setLevel(Level.PARANOID);
     }
@@ -112,6 +126,65 @@ public class ReactorNettyClientTests {
         Assert.assertTrue(response.internConnection().isDisposed());
     }
 
+    @Test
+    public void testRetainedBody() {
+        ReactorNettyHttpResponse response = getResponse("/long");
+        List<ByteBuf> buffers = response.retainedBody().collectList().block();
+        StringBuilder body = new StringBuilder();
+        for (ByteBuf buffer : buffers) {
+            // Once the connection has released its own reference the caller holds the only one.
+            Assert.assertEquals(1, buffer.refCnt());
+            body.append(buffer.toString(StandardCharsets.UTF_8));
+            Assert.assertTrue(buffer.release());
+        }
+        Assert.assertEquals(LONG_BODY, body.toString());
+    }
+
+    @Test
+    public void testResponseBodyIsLoggedAndRetainedBodyIsKept() throws InterruptedException {
+        ConfigurationManager.getConfiguration().put(BaseConfigurations.AZURE_LOG_LEVEL, "2");
+        // slf4j-simple writes to the current System.err
+        PrintStream err = System.err;
+        ByteArrayOutputStream log = new ByteArrayOutputStream();
+        System.setErr(new PrintStream(log, true));
+        try {
+            HttpPipeline pipeline = new HttpPipelineBuilder()
+                .httpClient(new NettyAsyncHttpClient())
+                .policies(new HttpLoggingPolicy(HttpLogDetailLevel.BODY))
+                .build();
+
+            HttpResponse response = pipeline.send(new HttpRequest(HttpMethod.GET, url(server, "/short"))).block();
+
+            Assert.assertTrue(response instanceof RetainedBodyHttpResponse);
+            Assert.assertEquals(SHORT_BODY, response.bodyAsString().block());
+            // The preview is logged once the body has been consumed
+            long deadline = System.currentTimeMillis() + 5000;
+            while (!log.toString().contains("Response body") && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+        } finally {
+            System.setErr(err);
+            ConfigurationManager.getConfiguration().remove(BaseConfigurations.AZURE_LOG_LEVEL);
+        }
+
+        String logged = log.toString();
+        Assert.assertTrue(logged, logged.contains("Response body, " + SHORT_BODY.length() + " bytes"));
+        Assert.assertTrue(logged, logged.contains(SHORT_BODY));
+        Assert.assertFalse(logged, logged.contains("(body content not logged)"));
+    }
+
+    @Test
+    public void testFileSegmentRequestBody() throws IOException {
+        File file = File.createTempFile("reactor-netty-client", ".txt");
+        file.deleteOnExit();
+        Files.write(file.toPath(), SHORT_BODY.getBytes(StandardCharsets.UTF_8));
+
+        HttpRequest request = new HttpRequest(HttpMethod.PUT, url(server, "/filePut"))
+                .body(FluxUtil.readFile(file.toPath(), 3, SHORT_BODY.length() - 3));
+        HttpResponse response = new NettyAsyncHttpClient().send(request).block();
+        Assert.assertEquals(201, response.statusCode());
+    }
+
     @Test
     public void testFlowableWhenServerReturnsBodyAndNoErrorsWhenHttp500Returned() {
         HttpResponse response = getResponse("/error");
@@ -3,25 +3,40 @@
 
 package com.azure.core.credentials;
 
-import reactor.core.publisher.FluxSink;
-import reactor.core.publisher.FluxSink.OverflowStrategy;
+import com.azure.core.util.logging.ClientLogger;
 import reactor.core.publisher.Mono;
-import reactor.core.publisher.ReplayProcessor;
+import reactor.core.publisher.MonoProcessor;
 
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
 
 /**
  * A token cache that supports caching a token and refreshing it.
+ *
+ * Once the cached token enters the refresh window before its expiry a new token is requested in the background
+ * while callers keep receiving the cached token, so requests only wait for a token when the cached one has
+ * actually expired. At most one token request is in flight at any time and concurrent callers share its result.
+ * A failed background refresh is retried after a jittered, exponentially growing delay.
  */
 public class SimpleTokenCache {
-    private static final int REFRESH_TIMEOUT_SECONDS = 30;
+    private static final Duration DEFAULT_REFRESH_OFFSET = Duration.ofMinutes(5);
+    private static final Duration REFRESH_RETRY_DELAY = Duration.ofSeconds(30);
+    private static final Duration MAX_REFRESH_RETRY_DELAY = Duration.ofMinutes(4);
 
-    private final AtomicBoolean wip;
-    private AccessToken cache;
-    private final ReplayProcessor<AccessToken> emitterProcessor = ReplayProcessor.create(1);
-    private final FluxSink<AccessToken> sink = emitterProcessor.sink(OverflowStrategy.BUFFER);
+    private final ClientLogger logger = new ClientLogger(SimpleTokenCache.class);
+    private final AtomicReference<MonoProcessor<AccessToken>> wip = new AtomicReference<>();
     private final Supplier<Mono<AccessToken>> getNew;
+    private final Duration refreshOffset;
+
+    private volatile AccessToken cache;
+    // Earliest time a background refresh may start, only written by the single in-flight refresh.
+    private volatile OffsetDateTime nextRefreshAttempt;
+    // Only accessed by the single in-flight refresh, refreshes are ordered by the compare-and-set on wip.
+    private int failedRefreshes;
 
     /**
      * Creates an instance of RefreshableTokenCredential with default scheme "Bearer".
@@ -29,8 +44,19 @@ public class SimpleTokenCache {
      * @param getNew a method to get a new token
      */
     public SimpleTokenCache(Supplier<Mono<AccessToken>> getNew) {
-        this.wip = new AtomicBoolean(false);
-        this.getNew = getNew;
+        this(getNew, DEFAULT_REFRESH_OFFSET);
+    }
+
+    /**
+     * Creates an instance of RefreshableTokenCredential with default scheme "Bearer" that starts refreshing the
+     * cached token in the background once it is within the provided offset of its expiry.
+     *
+     * @param getNew a method to get a new token
+     * @param refreshOffset how long before the token expires a background refresh is started
+     */
+    public SimpleTokenCache(Supplier<Mono<AccessToken>> getNew, Duration refreshOffset) {
+        this.getNew = Objects.requireNonNull(getNew);
+        this.refreshOffset = Objects.requireNonNull(refreshOffset);
     }
 
     /**
@@ -38,18 +64,63 @@ public class SimpleTokenCache {
      * @return a Publisher that emits an AccessToken
      */
     public Mono<AccessToken> getToken() {
-        if (cache != null && !cache.isExpired()) {
-            return Mono.just(cache);
+        final AccessToken current = cache;
+        if (current == null || current.isExpired()) {
+            return Mono.defer(this::refresh);
         }
-        return Mono.defer(() -> {
-            if (!wip.getAndSet(true)) {
-                return getNew.get().doOnNext(ac -> cache = ac)
-                    .doOnNext(sink::next)
-                    .doOnError(sink::error)
-                    .doOnTerminate(() -> wip.set(false));
-            } else {
-                return emitterProcessor.next();
+
+        if (shouldRefreshInBackground(current)) {
+            refresh().subscribe(ignored -> { }, error -> logger.warning(
+                "Failed to refresh the token in the background, the cached token is used until it expires at {}.",
+                current.expiresOn()));
+        }
+        return Mono.just(current);
+    }
+
+    private boolean shouldRefreshInBackground(AccessToken current) {
+        final OffsetDateTime now = OffsetDateTime.now();
+        final OffsetDateTime notBefore = nextRefreshAttempt;
+        return wip.get() == null
+            && now.isAfter(current.expiresOn().minus(refreshOffset))
+            && (notBefore == null || now.isAfter(notBefore));
+    }
+
+    /*
+     * Starts a token request unless one is in flight already, in both cases returns the in-flight request.
+     */
+    private Mono<AccessToken> refresh() {
+        while (true) {
+            final MonoProcessor<AccessToken> inFlight = wip.get();
+            if (inFlight != null) {
+                return inFlight;
+            }
+
+            final MonoProcessor<AccessToken> processor = MonoProcessor.create();
+            if (wip.compareAndSet(null, processor)) {
+                Mono.defer(getNew)
+                    .doOnNext(token -> {
+                        cache = token;
+                        failedRefreshes = 0;
+                        // A token that is issued inside the refresh window would otherwise be refreshed on every call.
+                        final OffsetDateTime now = OffsetDateTime.now();
+                        nextRefreshAttempt = now.isAfter(token.expiresOn().minus(refreshOffset))
+                            ? now.plus(REFRESH_RETRY_DELAY)
+                            : null;
+                    })
+                    .doOnError(error -> nextRefreshAttempt = OffsetDateTime.now().plus(nextRetryDelay(++failedRefreshes)))
+                    .doFinally(signal -> wip.set(null))
+                    .subscribe(processor);
+                return processor;
             }
-        });
+        }
+    }
+
+    /*
+     * Exponential backoff with jitter, the delay is chosen uniformly from the upper half of the backoff interval.
+     */
+    private static Duration nextRetryDelay(int failures) {
+        final long maxMillis = MAX_REFRESH_RETRY_DELAY.toMillis();
+        final long backoffMillis = Math.min(maxMillis, REFRESH_RETRY_DELAY.toMillis() << Math.min(failures - 1, 16));
+        return Duration.ofMillis(backoffMillis / 2 + ThreadLocalRandom.current().nextLong(backoffMillis / 2 + 1));
     }
 }
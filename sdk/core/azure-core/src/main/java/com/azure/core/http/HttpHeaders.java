@@ -3,16 +3,22 @@
 
 package com.azure.core.http;
 
+import com.azure.core.implementation.http.HttpHeaderMap;
+
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
-import java.util.Locale;
 import java.util.Map;
 
 /**
  * A collection of headers on an HTTP request or response.
+ *
+ * Header names are case-insensitive, looking up or setting a header does not allocate a lower-cased copy of
+ * its name. Headers are iterated in the order they were first set. The storage for the headers is only created
+ * once the first header is set, so subclasses that store their headers elsewhere don't pay for it.
  */
 public class HttpHeaders implements Iterable<HttpHeader> {
-    private final Map<String, HttpHeader> headers = new HashMap<>();
+    private HttpHeaderMap headers;
 
     /**
      * Create an empty HttpHeaders instance.
@@ -50,7 +56,7 @@ public class HttpHeaders implements Iterable<HttpHeader> {
      * @return the number of headers in this collection.
      */
     public int size() {
-        return headers.size();
+        return headers == null ? 0 : headers.size();
     }
 
     /**
@@ -63,7 +69,10 @@ public class HttpHeaders implements Iterable<HttpHeader> {
      * @return The updated HttpHeaders object
      */
     public HttpHeaders put(String name, String value) {
-        headers.put(formatKey(name), new HttpHeader(name, value));
+        if (headers == null) {
+            headers = new HttpHeaderMap();
+        }
+        headers.put(name, value);
         return this;
     }
 
@@ -74,7 +83,7 @@ public class HttpHeaders implements Iterable<HttpHeader> {
      * @return the header if found, null otherwise.
      */
     public HttpHeader get(String name) {
-        return headers.get(formatKey(name));
+        return headers == null ? null : headers.get(name);
     }
 
     /**
@@ -101,10 +110,6 @@ public class HttpHeaders implements Iterable<HttpHeader> {
         return header == null ? null : header.values();
     }
 
-    private String formatKey(final String key) {
-        return key.toLowerCase(Locale.ROOT);
-    }
-
     /**
      * Get {@link Map} representation of the HttpHeaders collection.
      *
@@ -112,7 +117,7 @@ public class HttpHeaders implements Iterable<HttpHeader> {
      */
     public Map<String, String> toMap() {
         final Map<String, String> result = new HashMap<>();
-        for (final HttpHeader header : headers.values()) {
+        for (final HttpHeader header : this) {
             result.put(header.name(), header.value());
         }
         return result;
@@ -120,6 +125,6 @@ public class HttpHeaders implements Iterable<HttpHeader> {
 
     @Override
     public Iterator<HttpHeader> iterator() {
-        return headers.values().iterator();
+        return headers == null ? Collections.emptyIterator() : headers.iterator();
     }
 }
@@ -4,6 +4,8 @@
 package com.azure.core.http;
 
 import com.azure.core.http.policy.HttpPipelinePolicy;
+import com.azure.core.implementation.metrics.HttpMetrics;
+import com.azure.core.implementation.metrics.MetricsProxy;
 import com.azure.core.util.Context;
 import reactor.core.publisher.Mono;
 
@@ -89,9 +91,10 @@ public final class HttpPipeline {
     public Mono<HttpResponse> send(HttpPipelineCallContext context) {
         // Return deferred to mono for complete lazy behaviour.
         //
-        return Mono.defer(() -> {
+        final Mono<HttpResponse> response = Mono.defer(() -> {
             HttpPipelineNextPolicy next = new HttpPipelineNextPolicy(this, context);
             return next.process();
         });
+        return MetricsProxy.isEnabled() ? HttpMetrics.timeRequest(context, response) : response;
     }
 }
@@ -4,6 +4,8 @@
 package com.azure.core.http;
 
 import com.azure.core.http.policy.HttpPipelinePolicy;
+import com.azure.core.implementation.metrics.HttpMetrics;
+import com.azure.core.implementation.metrics.MetricsProxy;
 import reactor.core.publisher.Mono;
 
 /**
@@ -43,7 +45,9 @@ public class HttpPipelineNextPolicy {
         if (this.currentPolicyIndex == size) {
             return this.pipeline.httpClient().send(this.context.httpRequest());
         } else {
-            return this.pipeline.getPolicy(this.currentPolicyIndex).process(this.context, this);
+            final HttpPipelinePolicy policy = this.pipeline.getPolicy(this.currentPolicyIndex);
+            final Mono<HttpResponse> response = policy.process(this.context, this);
+            return MetricsProxy.isEnabled() ? HttpMetrics.timePolicy(policy, this.context, response) : response;
         }
     }
 
@@ -0,0 +1,80 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.core.http.policy;
+
+import com.azure.core.util.logging.ClientLogger;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The exponential backoff implementation of {@link RetryStrategy} with full jitter.
+ *
+ * The delay before retry attempt {@code n} is chosen uniformly between zero and
+ * {@code min(maxDelay, baseDelay * 2^n)}, so clients that fail at the same time spread their retries out
+ * instead of retrying in lock step.
+ */
+public class ExponentialBackoff implements RetryStrategy {
+    private static final int DEFAULT_MAX_RETRIES = 3;
+    private static final Duration DEFAULT_BASE_DELAY = Duration.ofMillis(800);
+    private static final Duration DEFAULT_MAX_DELAY = Duration.ofSeconds(8);
+
+    private final ClientLogger logger = new ClientLogger(ExponentialBackoff.class);
+    private final int maxRetries;
+    private final long baseDelayNanos;
+    private final long maxDelayNanos;
+
+    /**
+     * Creates an instance of {@link ExponentialBackoff} with a maximum of three retries, a base delay of 800
+     * milliseconds and a maximum delay of eight seconds.
+     */
+    public ExponentialBackoff() {
+        this(DEFAULT_MAX_RETRIES, DEFAULT_BASE_DELAY, DEFAULT_MAX_DELAY);
+    }
+
+    /**
+     * Creates an instance of {@link ExponentialBackoff}.
+     *
+     * @param maxRetries The max number of retry attempts that can be made.
+     * @param baseDelay The base delay duration for retry.
+     * @param maxDelay The max delay duration for retry.
+     * @throws IllegalArgumentException If {@code maxRetries} is negative, {@code baseDelay} is negative or
+     * {@code maxDelay} is less than {@code baseDelay}.
+     * @throws NullPointerException If {@code baseDelay} or {@code maxDelay} is {@code null}.
+     */
+    public ExponentialBackoff(int maxRetries, Duration baseDelay, Duration maxDelay) {
+        Objects.requireNonNull(baseDelay, "'baseDelay' cannot be null.");
+        Objects.requireNonNull(maxDelay, "'maxDelay' cannot be null.");
+        if (maxRetries < 0) {
+            throw logger.logExceptionAsError(new IllegalArgumentException("Max retries cannot be less than 0."));
+        }
+        if (baseDelay.isNegative()) {
+            throw logger.logExceptionAsError(new IllegalArgumentException("'baseDelay' cannot be negative."));
+        }
+        if (baseDelay.compareTo(maxDelay) > 0) {
+            throw logger.logExceptionAsError(
+                new IllegalArgumentException("'baseDelay' cannot be greater than 'maxDelay'."));
+        }
+        this.maxRetries = maxRetries;
+        this.baseDelayNanos = baseDelay.toNanos();
+        this.maxDelayNanos = maxDelay.toNanos();
+    }
+
+    @Override
+    public int maxRetries() {
+        return maxRetries;
+    }
+
+    @Override
+    public Duration calculateRetryDelay(int retryAttempts) {
+        // Shifting past the point where the ceiling is reached would overflow, stop doubling at maxDelay.
+        long ceiling = baseDelayNanos;
+        for (int i = 0; i < retryAttempts && ceiling < maxDelayNanos; i++) {
+            ceiling <<= 1;
+        }
+        ceiling = Math.min(ceiling, maxDelayNanos);
+        return Duration.ofNanos(ThreadLocalRandom.current().nextLong(ceiling + 1));
+    }
+}
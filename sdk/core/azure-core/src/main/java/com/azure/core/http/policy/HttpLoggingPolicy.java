@@ -9,27 +9,62 @@ import com.azure.core.http.HttpPipelineCallContext;
 import com.azure.core.http.HttpPipelineNextPolicy;
 import com.azure.core.http.HttpRequest;
 import com.azure.core.http.HttpResponse;
-import com.azure.core.util.logging.ClientLogger;
+import com.azure.core.implementation.http.DecoratableBodyHttpResponse;
+import com.azure.core.implementation.util.FileSegmentFlux;
 import com.azure.core.implementation.util.FluxUtil;
+import com.azure.core.util.logging.ClientLogger;
+import com.azure.core.util.logging.LogLevel;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import reactor.core.CoreSubscriber;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
-import java.util.Optional;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
-import java.util.function.Function;
+import java.util.function.Consumer;
 
 /**
  * The Pipeline policy that handles logging of HTTP requests and responses.
+ *
+ * The logger level is checked before anything is formatted, so when the output would be dropped the request passes
+ * through the policy untouched. Bodies are never buffered for logging: the first bytes of a request or response
+ * body are copied into a bounded preview as the body streams through, and the preview is logged once the body has
+ * been consumed, which may be after the end of the request or response has been logged. A body that is never
+ * consumed isn't logged.
+ *
+ * The request passed down the pipeline is a copy of the request being logged, so the caller's request is left
+ * untouched. Responses implementing interfaces beyond {@link HttpResponse}, such as the retained body access of the
+ * Netty client, keep them: their body is previewed through {@link DecoratableBodyHttpResponse} when they support it,
+ * and isn't logged otherwise. A body read through such an interface, rather than through the HttpResponse methods,
+ * isn't logged.
  */
 public class HttpLoggingPolicy implements HttpPipelinePolicy {
     private static final ObjectMapper PRETTY_PRINTER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final ConcurrentMap<String, ClientLogger> LOGGERS = new ConcurrentHashMap<>();
     private final HttpLogDetailLevel detailLevel;
     private final boolean prettyPrintJSON;
     private static final int MAX_BODY_LOG_SIZE = 1024 * 16;
 
+    // Whether a response class implements interfaces beyond those of HttpResponse, which a preview wrapper would hide.
+    private static final ClassValue<Boolean> HAS_MORE_INTERFACES = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            for (Class<?> c = type; c != null && c != HttpResponse.class; c = c.getSuperclass()) {
+                if (c.getInterfaces().length != 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    };
+
     /**
      * Creates an HttpLoggingPolicy with the given log level.
      *
@@ -53,107 +88,118 @@ public class HttpLoggingPolicy implements HttpPipelinePolicy {
 
     @Override
     public Mono<HttpResponse> process(HttpPipelineCallContext context, HttpPipelineNextPolicy next) {
+        if (!detailLevel.shouldLogURL()) {
+            return next.process();
+        }
         //
-        Optional<Object> data = context.getData("caller-method");
-        String callerMethod = (String) data.orElse("");
+        final String callerMethod = (String) context.getData("caller-method").orElse("");
+        final ClientLogger logger = LOGGERS.computeIfAbsent(callerMethod, ClientLogger::new);
+        if (!logger.canLogAtLevel(LogLevel.INFORMATIONAL)) {
+            return logger.canLogAtLevel(LogLevel.WARNING)
+                ? next.process().doOnError(throwable -> logger.warning("<-- HTTP FAILED: ", throwable))
+                : next.process();
+        }
         //
-        final ClientLogger logger = new ClientLogger(callerMethod);
         final long startNs = System.nanoTime();
+        final HttpRequest previewedRequest = logRequest(logger, context.httpRequest());
+        if (previewedRequest != null) {
+            context.httpRequest(previewedRequest);
+        }
         //
-        Mono<Void> logRequest = logRequest(logger, context.httpRequest());
-        Function<HttpResponse, Mono<HttpResponse>> logResponseDelegate = logResponseDelegate(logger, context.httpRequest().url(), startNs);
-        //
-        return logRequest.then(next.process()).flatMap(logResponseDelegate)
+        return next.process()
+                .map(response -> logResponse(logger, response, context.httpRequest().url(), startNs))
                 .doOnError(throwable -> logger.warning("<-- HTTP FAILED: ", throwable));
     }
 
-    private Mono<Void> logRequest(final ClientLogger logger, final HttpRequest request) {
-        if (detailLevel.shouldLogURL()) {
-            logger.info("--> {} {}", request.httpMethod(), request.url());
-        }
+    /*
+     * Logs the request and returns a copy of it whose body is previewed as it is sent, or null if the body of the
+     * request isn't logged.
+     */
+    private HttpRequest logRequest(final ClientLogger logger, final HttpRequest request) {
+        logger.info("--> {} {}", request.httpMethod(), request.url());
 
         if (detailLevel.shouldLogHeaders()) {
             for (HttpHeader header : request.headers()) {
                 logger.info(header.toString());
             }
         }
-        //
-        Mono<Void> reqBodyLoggingMono = Mono.empty();
-        //
-        if (detailLevel.shouldLogBody()) {
-            if (request.body() == null) {
-                logger.info("(empty body)");
-                logger.info("--> END {}", request.httpMethod());
-            } else {
-                boolean isHumanReadableContentType = !"application/octet-stream".equalsIgnoreCase(request.headers().value("Content-Type"));
-                final long contentLength = getContentLength(request.headers());
-
-                if (contentLength < MAX_BODY_LOG_SIZE && isHumanReadableContentType) {
-                    try {
-                        Mono<byte[]> collectedBytes = FluxUtil.collectBytesInByteBufferStream(request.body());
-                        reqBodyLoggingMono = collectedBytes.flatMap(bytes -> {
-                            String bodyString = new String(bytes, StandardCharsets.UTF_8);
-                            bodyString = prettyPrintIfNeeded(logger, request.headers().value("Content-Type"), bodyString);
-                            logger.info("{}-byte body:%n{}", contentLength, bodyString);
-                            logger.info("--> END {}", request.httpMethod());
-                            return Mono.empty();
-                        });
-                    } catch (Exception e) {
-                        reqBodyLoggingMono = Mono.error(e);
-                    }
-                } else {
-                    logger.info("{}-byte body: (content not logged)", contentLength);
-                    logger.info("--> END {}", request.httpMethod());
-                }
-            }
+
+        if (!detailLevel.shouldLogBody()) {
+            return null;
+        }
+
+        Flux<ByteBuffer> body = request.body();
+        if (body == null) {
+            logger.info("(empty body)");
+            logger.info("--> END {}", request.httpMethod());
+            return null;
+        }
+
+        final long contentLength = getContentLength(request.headers());
+        final String contentType = request.headers().value("Content-Type");
+        if (!isHumanReadable(contentType) || body instanceof FileSegmentFlux) {
+            logger.info("{}-byte body: (content not logged)", contentLength < 0 ? "unknown" : contentLength);
+            logger.info("--> END {}", request.httpMethod());
+            return null;
         }
-        return reqBodyLoggingMono;
+
+        logger.info("--> END {}", request.httpMethod());
+        // A request sent again, for instance from a response, is previewed from its original body.
+        if (body instanceof BodyPreviewFlux) {
+            body = ((BodyPreviewFlux) body).source;
+        }
+        return new HttpRequest(request.httpMethod(), request.url(), request.headers(),
+            new BodyPreviewFlux(body, contentLength, preview -> logBody(logger, "Request", contentType, preview)));
     }
 
-    private Function<HttpResponse, Mono<HttpResponse>> logResponseDelegate(final ClientLogger logger, final URL url, final long startNs) {
-        return (HttpResponse response) -> {
-            long tookMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNs);
-            //
-            String contentLengthString = response.headerValue("Content-Length");
-            String bodySize;
-            if (contentLengthString == null || contentLengthString.isEmpty()) {
-                bodySize = "unknown-length";
-            } else {
-                bodySize = contentLengthString + "-byte";
-            }
+    private HttpResponse logResponse(final ClientLogger logger, final HttpResponse response, final URL url,
+                                     final long startNs) {
+        long tookMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNs);
+        //
+        String contentLengthString = response.headerValue("Content-Length");
+        String bodySize;
+        if (contentLengthString == null || contentLengthString.isEmpty()) {
+            bodySize = "unknown-length";
+        } else {
+            bodySize = contentLengthString + "-byte";
+        }
 
-//            HttpResponseStatus responseStatus = HttpResponseStatus.valueOf(response.statusCode());
-            if (detailLevel.shouldLogURL()) {
-                logger.info("<-- {} {} ({} ms, {} body)", response.statusCode(), url, tookMs, bodySize);
-            }
+        logger.info("<-- {} {} ({} ms, {} body)", response.statusCode(), url, tookMs, bodySize);
 
-            if (detailLevel.shouldLogHeaders()) {
-                for (HttpHeader header : response.headers()) {
-                    logger.info(header.toString());
-                }
+        if (detailLevel.shouldLogHeaders()) {
+            for (HttpHeader header : response.headers()) {
+                logger.info(header.toString());
             }
+        }
 
-            if (detailLevel.shouldLogBody()) {
-                long contentLength = getContentLength(response.headers());
-                final String contentTypeHeader = response.headerValue("Content-Type");
-                if (!"application/octet-stream".equalsIgnoreCase(contentTypeHeader)
-                        && contentLength != 0 && contentLength < MAX_BODY_LOG_SIZE) {
-                    final HttpResponse bufferedResponse = response.buffer();
-                    return bufferedResponse.bodyAsString().map(bodyStr -> {
-                        bodyStr = prettyPrintIfNeeded(logger, contentTypeHeader, bodyStr);
-                        logger.info("Response body:\n{}", bodyStr);
-                        logger.info("<-- END HTTP");
-                        return bufferedResponse;
-                    }).switchIfEmpty(Mono.defer(() -> Mono.just(bufferedResponse)));
-                } else {
-                    logger.info("(body content not logged)");
-                    logger.info("<-- END HTTP");
-                }
+        HttpResponse result = response;
+        if (detailLevel.shouldLogBody()) {
+            final long contentLength = getContentLength(response.headers());
+            final String contentType = response.headerValue("Content-Type");
+            final Consumer<BodyPreview> onBodyEnd = preview -> logBody(logger, "Response", contentType, preview);
+            if (!isHumanReadable(contentType) || contentLength == 0) {
+                logger.info("(body content not logged)");
+            } else if (response instanceof DecoratableBodyHttpResponse) {
+                result = ((DecoratableBodyHttpResponse) response)
+                    .decorateBody(body -> new BodyPreviewFlux(body, contentLength, onBodyEnd));
+            } else if (!HAS_MORE_INTERFACES.get(response.getClass())) {
+                result = new BodyPreviewHttpResponse(response, contentLength, onBodyEnd);
             } else {
-                logger.info("<-- END HTTP");
+                logger.info("(body content not logged)");
             }
-            return Mono.just(response);
-        };
+        }
+        logger.info("<-- END HTTP");
+        return result;
+    }
+
+    private void logBody(ClientLogger logger, String kind, String contentType, BodyPreview preview) {
+        if (preview.isTruncated()) {
+            logger.info("{} body, {} bytes, first {} bytes:\n{}", kind, preview.totalLength(), preview.length(),
+                preview.asString());
+        } else {
+            logger.info("{} body, {} bytes:\n{}", kind, preview.totalLength(),
+                prettyPrintIfNeeded(logger, contentType, preview.asString()));
+        }
     }
 
     private String prettyPrintIfNeeded(ClientLogger logger, String contentType, String body) {
@@ -169,13 +215,149 @@ public class HttpLoggingPolicy implements HttpPipelinePolicy {
         return result;
     }
 
-    private long getContentLength(HttpHeaders headers) {
-        long contentLength = 0;
+    private static boolean isHumanReadable(String contentType) {
+        return !"application/octet-stream".equalsIgnoreCase(contentType);
+    }
+
+    /*
+     * Returns the Content-Length of the message, or -1 if it is missing or invalid.
+     */
+    private static long getContentLength(HttpHeaders headers) {
+        final String value = headers.value("Content-Length");
+        if (value == null) {
+            return -1;
+        }
         try {
-            contentLength = Long.parseLong(headers.value("content-length"));
-        } catch (NumberFormatException | NullPointerException ignored) {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException ignored) {
+            return -1;
+        }
+    }
+
+    /*
+     * Copies up to MAX_BODY_LOG_SIZE bytes of a body and counts the rest.
+     */
+    private static final class BodyPreview {
+        private byte[] bytes;
+        private int length;
+        private long totalLength;
+
+        private BodyPreview(long contentLength) {
+            this.bytes = new byte[(int) Math.min(MAX_BODY_LOG_SIZE, contentLength > 0 ? contentLength : 1024)];
+        }
+
+        private void append(ByteBuffer buffer) {
+            final int remaining = buffer.remaining();
+            totalLength += remaining;
+
+            final int count = Math.min(remaining, MAX_BODY_LOG_SIZE - length);
+            if (count <= 0) {
+                return;
+            }
+            if (length + count > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.min(MAX_BODY_LOG_SIZE, Math.max(length + count, bytes.length * 2)));
+            }
+            if (buffer.hasArray()) {
+                System.arraycopy(buffer.array(), buffer.arrayOffset() + buffer.position(), bytes, length, count);
+            } else {
+                buffer.duplicate().get(bytes, length, count);
+            }
+            length += count;
+        }
+
+        private int length() {
+            return length;
+        }
+
+        private long totalLength() {
+            return totalLength;
+        }
+
+        private boolean isTruncated() {
+            return totalLength > length;
+        }
+
+        private String asString() {
+            return new String(bytes, 0, length, StandardCharsets.UTF_8);
+        }
+    }
+
+    /*
+     * Passes a body through unchanged while previewing it, every subscription previews the body from its start and
+     * hands the preview to the callback once the body completes, fails or is cancelled.
+     */
+    private static final class BodyPreviewFlux extends Flux<ByteBuffer> {
+        private final Flux<ByteBuffer> source;
+        private final long contentLength;
+        private final Consumer<BodyPreview> onBodyEnd;
+
+        private BodyPreviewFlux(Flux<ByteBuffer> source, long contentLength, Consumer<BodyPreview> onBodyEnd) {
+            this.source = source;
+            this.contentLength = contentLength;
+            this.onBodyEnd = onBodyEnd;
+        }
+
+        @Override
+        public void subscribe(CoreSubscriber<? super ByteBuffer> actual) {
+            final BodyPreview preview = new BodyPreview(contentLength);
+            source.doOnNext(preview::append)
+                .doFinally(signal -> onBodyEnd.accept(preview))
+                .subscribe(actual);
+        }
+    }
+
+    /*
+     * A response whose body is previewed as it is read.
+     */
+    private static final class BodyPreviewHttpResponse extends HttpResponse {
+        private final HttpResponse innerHttpResponse;
+        private final Flux<ByteBuffer> body;
+
+        private BodyPreviewHttpResponse(HttpResponse innerHttpResponse, long contentLength,
+                                        Consumer<BodyPreview> onBodyEnd) {
+            this.innerHttpResponse = innerHttpResponse;
+            this.body = new BodyPreviewFlux(innerHttpResponse.body(), contentLength, onBodyEnd);
+            this.request(innerHttpResponse.request());
+        }
+
+        @Override
+        public int statusCode() {
+            return innerHttpResponse.statusCode();
+        }
+
+        @Override
+        public String headerValue(String name) {
+            return innerHttpResponse.headerValue(name);
         }
 
-        return contentLength;
+        @Override
+        public HttpHeaders headers() {
+            return innerHttpResponse.headers();
+        }
+
+        @Override
+        public Flux<ByteBuffer> body() {
+            return body;
+        }
+
+        @Override
+        public Mono<byte[]> bodyAsByteArray() {
+            return FluxUtil.collectBytesInByteBufferStream(body);
+        }
+
+        @Override
+        public Mono<String> bodyAsString() {
+            return bodyAsString(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public Mono<String> bodyAsString(Charset charset) {
+            return bodyAsByteArray().map(bytes -> new String(bytes, charset));
+        }
+
+        @Override
+        public void close() {
+            innerHttpResponse.close();
+        }
     }
 }
@@ -0,0 +1,67 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.core.http.policy;
+
+import com.azure.core.http.HttpPipelineCallContext;
+import com.azure.core.http.HttpPipelineNextPolicy;
+import com.azure.core.http.HttpResponse;
+import com.azure.core.implementation.metrics.HttpMetrics;
+import com.azure.core.implementation.metrics.MetricsProxy;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The pipeline policy, placed before the retry policy, that records the outcome of a request once every try has
+ * completed: the number of retries, the status code and the response size.
+ *
+ * The tries are counted by the {@link TryMetricsPolicy} placed after the retry policy. This policy takes no timings,
+ * the duration of the whole request, including every policy of the pipeline, is recorded by the pipeline itself.
+ */
+public class RequestMetricsPolicy implements HttpPipelinePolicy {
+    static final String TRIES_KEY = "azure-metrics-tries";
+
+    @Override
+    public Mono<HttpResponse> process(HttpPipelineCallContext context, HttpPipelineNextPolicy next) {
+        final AtomicInteger tries = new AtomicInteger();
+        context.setData(TRIES_KEY, tries);
+
+        return next.process()
+            .doOnSuccess(response -> {
+                final String status = response == null ? HttpMetrics.UNKNOWN_TAG_VALUE : String.valueOf(response.statusCode());
+                final String[] tags = HttpMetrics.tags(context, status, null, null);
+                recordRetries(tries, tags);
+                MetricsProxy.increment(HttpMetrics.RESPONSES, tags);
+
+                final long size = response == null ? -1 : contentLength(response);
+                if (size >= 0) {
+                    MetricsProxy.recordValue(HttpMetrics.RESPONSE_SIZE, size, tags);
+                }
+            })
+            .doOnError(error -> {
+                final String[] tags = HttpMetrics.tags(context, HttpMetrics.ERROR_TAG_VALUE, null, null);
+                recordRetries(tries, tags);
+                MetricsProxy.increment(HttpMetrics.RESPONSES, tags);
+            });
+    }
+
+    private static void recordRetries(AtomicInteger tries, String[] tags) {
+        // No tries are counted when the pipeline has no TryMetricsPolicy, in that case retries are unknown.
+        if (tries.get() > 0) {
+            MetricsProxy.recordValue(HttpMetrics.RETRIES, tries.get() - 1, tags);
+        }
+    }
+
+    private static long contentLength(HttpResponse response) {
+        final String value = response.headerValue("Content-Length");
+        if (value == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException ignored) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.core.http.policy;
+
+import com.azure.core.util.logging.ClientLogger;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A token bucket that caps how many retries a {@link RetryPolicy} makes relative to the requests that succeed.
+ *
+ * Every retry takes one token out of the bucket and every response that does not need to be retried puts a
+ * fraction of a token back, up to the capacity of the bucket. When the bucket is empty requests fail with their
+ * last response or error instead of being retried, which stops retries from multiplying the load on a service
+ * that is already struggling. A budget is shared by all requests sent through the policies that use it.
+ */
+public final class RetryBudget {
+    private static final int DEFAULT_MAX_TOKENS = 100;
+    private static final double DEFAULT_TOKEN_RATIO = 0.1;
+    // Tokens are tracked in thousandths so that fractional deposits don't need floating point arithmetic.
+    private static final long TOKEN = 1000;
+
+    private final ClientLogger logger = new ClientLogger(RetryBudget.class);
+    private final long maxTokens;
+    private final long deposit;
+    private final AtomicLong tokens;
+
+    /**
+     * Creates a retry budget that allows bursts of 100 retries and earns a tenth of a retry for every response
+     * that does not need to be retried.
+     */
+    public RetryBudget() {
+        this(DEFAULT_MAX_TOKENS, DEFAULT_TOKEN_RATIO);
+    }
+
+    /**
+     * Creates a retry budget.
+     *
+     * @param maxTokens the capacity of the bucket, which is the number of retries that can be made in a burst
+     * @param tokenRatio the fraction of a retry earned by every response that does not need to be retried
+     * @throws IllegalArgumentException if {@code maxTokens} is not positive or {@code tokenRatio} is negative
+     */
+    public RetryBudget(int maxTokens, double tokenRatio) {
+        if (maxTokens <= 0) {
+            throw logger.logExceptionAsError(new IllegalArgumentException("'maxTokens' must be greater than 0."));
+        }
+        if (tokenRatio < 0) {
+            throw logger.logExceptionAsError(new IllegalArgumentException("'tokenRatio' cannot be negative."));
+        }
+        this.maxTokens = maxTokens * TOKEN;
+        this.deposit = (long) (tokenRatio * TOKEN);
+        this.tokens = new AtomicLong(this.maxTokens);
+    }
+
+    /**
+     * Takes the token for a retry out of the bucket.
+     *
+     * @return true if the retry may be attempted, false if the budget is exhausted
+     */
+    boolean tryAcquire() {
+        long current;
+        do {
+            current = tokens.get();
+            if (current < TOKEN) {
+                return false;
+            }
+        } while (!tokens.compareAndSet(current, current - TOKEN));
+        return true;
+    }
+
+    /**
+     * Puts the share of a token earned by a response that did not need to be retried back into the bucket.
+     */
+    void recordSuccess() {
+        long current;
+        do {
+            current = tokens.get();
+            if (current >= maxTokens) {
+                return;
+            }
+        } while (!tokens.compareAndSet(current, Math.min(maxTokens, current + deposit)));
+    }
+}
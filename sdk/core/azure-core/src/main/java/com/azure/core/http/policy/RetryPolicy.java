@@ -9,27 +9,33 @@ import com.azure.core.http.HttpRequest;
 import com.azure.core.http.HttpResponse;
 import reactor.core.publisher.Mono;
 
-import java.net.HttpURLConnection;
 import java.time.Duration;
-import java.time.temporal.ChronoUnit;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Objects;
+import java.util.function.Function;
 
 /**
  * A pipeline policy that retries when a recoverable HTTP error occurs.
+ *
+ * The delay between attempts is determined by a {@link RetryStrategy}, unless the service specified one with a
+ * {@code retry-after-ms}, {@code x-ms-retry-after-ms} or {@code Retry-After} header. Retries are drawn from a
+ * {@link RetryBudget} so that a client stops retrying when most of its requests fail.
  */
 public class RetryPolicy implements HttpPipelinePolicy {
-    private static final int DEFAULT_MAX_RETRIES = 3;
-    private static final int DEFAULT_DELAY = 0;
-    private static final ChronoUnit DEFAULT_TIME_UNIT = ChronoUnit.MILLIS;
     private static final String RETRY_AFTER_MS_HEADER = "retry-after-ms";
-    private final int maxRetries;
-    private final Duration delayDuration;
+    private static final String X_MS_RETRY_AFTER_MS_HEADER = "x-ms-retry-after-ms";
+    private static final String RETRY_AFTER_HEADER = "Retry-After";
+
+    private final RetryStrategy retryStrategy;
+    private final RetryBudget retryBudget;
 
     /**
-     * Creates a RetryPolicy with the default number of retry attempts and delay between retries.
+     * Creates a RetryPolicy with the default {@link ExponentialBackoff} strategy and a default {@link RetryBudget}.
      */
     public RetryPolicy() {
-        this.maxRetries = DEFAULT_MAX_RETRIES;
-        this.delayDuration = Duration.of(DEFAULT_DELAY, DEFAULT_TIME_UNIT);
+        this(new ExponentialBackoff());
     }
 
     /**
@@ -39,8 +45,28 @@ public class RetryPolicy implements HttpPipelinePolicy {
      * @param delayDuration the delay between retries
      */
     public RetryPolicy(int maxRetries, Duration delayDuration) {
-        this.maxRetries = maxRetries;
-        this.delayDuration = delayDuration;
+        this(new FixedDelay(maxRetries, delayDuration));
+    }
+
+    /**
+     * Creates a RetryPolicy with the provided {@link RetryStrategy} and a default {@link RetryBudget}.
+     *
+     * @param retryStrategy the strategy that determines the number of retries and the delay between them
+     */
+    public RetryPolicy(RetryStrategy retryStrategy) {
+        this(retryStrategy, new RetryBudget());
+    }
+
+    /**
+     * Creates a RetryPolicy with the provided {@link RetryStrategy} and {@link RetryBudget}.
+     *
+     * @param retryStrategy the strategy that determines the number of retries and the delay between them
+     * @param retryBudget the budget retries are drawn from, it can be shared between policies to cap retries
+     * across clients
+     */
+    public RetryPolicy(RetryStrategy retryStrategy, RetryBudget retryBudget) {
+        this.retryStrategy = Objects.requireNonNull(retryStrategy, "'retryStrategy' cannot be null.");
+        this.retryBudget = Objects.requireNonNull(retryBudget, "'retryBudget' cannot be null.");
     }
 
     @Override
@@ -49,56 +75,94 @@ public class RetryPolicy implements HttpPipelinePolicy {
     }
 
     private Mono<HttpResponse> attemptAsync(final HttpPipelineCallContext context, final HttpPipelineNextPolicy next, final HttpRequest originalHttpRequest, final int tryCount) {
+        // The policies after this one modify the request, every attempt works on a copy so the caller's request is
+        // left untouched and a retry starts from the original request.
         context.httpRequest(originalHttpRequest.buffer());
+        final boolean mayRetry = tryCount < retryStrategy.maxRetries();
+        // The outcome of this attempt is turned into the next step before it is subscribed to, so the errors and
+        // responses of a retry are only handled by the retry itself and not again by this attempt.
         return next.clone().process()
-                .flatMap(httpResponse -> {
-                    if (shouldRetry(httpResponse, tryCount)) {
-                        return attemptAsync(context, next, originalHttpRequest, tryCount + 1).delaySubscription(determineDelayDuration(httpResponse));
+                .map(httpResponse -> {
+                    if (!retryStrategy.shouldRetry(httpResponse)) {
+                        retryBudget.recordSuccess();
+                        return Mono.just(httpResponse);
+                    } else if (mayRetry && retryBudget.tryAcquire()) {
+                        final Duration delay = determineDelayDuration(httpResponse, tryCount);
+                        // The response is discarded, release its connection instead of leaving the body unread.
+                        httpResponse.close();
+                        return attemptAsync(context, next, originalHttpRequest, tryCount + 1).delaySubscription(delay);
                     } else {
                         return Mono.just(httpResponse);
                     }
                 })
                 .onErrorResume(err -> {
-                    if (tryCount < maxRetries) {
-                        return attemptAsync(context, next, originalHttpRequest, tryCount + 1).delaySubscription(this.delayDuration);
+                    if (mayRetry && retryBudget.tryAcquire()) {
+                        return Mono.just(attemptAsync(context, next, originalHttpRequest, tryCount + 1)
+                            .delaySubscription(retryStrategy.calculateRetryDelay(tryCount)));
                     } else {
                         return Mono.error(err);
                     }
-                });
-    }
-
-    private boolean shouldRetry(HttpResponse response, int tryCount) {
-        int code = response.statusCode();
-        return tryCount < maxRetries
-                && (code == HttpURLConnection.HTTP_CLIENT_TIMEOUT
-                || (code >= HttpURLConnection.HTTP_INTERNAL_ERROR
-                && code != HttpURLConnection.HTTP_NOT_IMPLEMENTED
-                && code != HttpURLConnection.HTTP_VERSION));
+                })
+                .flatMap(Function.identity());
     }
 
     /**
      * Determines the delay duration that should be waited before retrying.
+     *
      * @param response HTTP response
-     * @return If the HTTP response has a retry-after-ms header that will be returned,
-     * otherwise the duration used during the construction of the policy.
+     * @param tryCount the number of retries attempted so far
+     * @return the delay requested by the response's retry-after headers if it has any, otherwise the delay
+     * calculated by the retry strategy.
      */
-    private Duration determineDelayDuration(HttpResponse response) {
-        int code = response.statusCode();
+    private Duration determineDelayDuration(HttpResponse response, int tryCount) {
+        final Duration retryAfter = retryAfter(response, OffsetDateTime.now());
+        return retryAfter != null ? retryAfter : retryStrategy.calculateRetryDelay(tryCount);
+    }
 
-        // Response will not have a retry-after-ms header.
-        if (code != 429        // too many requests
-            && code != 503) {  // service unavailable
-            return this.delayDuration;
+    /**
+     * Gets the delay the service asked for before the request is retried.
+     *
+     * @param response HTTP response
+     * @param now the current time, used to convert an HTTP-date into a delay
+     * @return the requested delay, or null if the response doesn't have a valid retry-after header
+     */
+    static Duration retryAfter(HttpResponse response, OffsetDateTime now) {
+        Duration delay = parseMillis(response.headerValue(RETRY_AFTER_MS_HEADER));
+        if (delay == null) {
+            delay = parseMillis(response.headerValue(X_MS_RETRY_AFTER_MS_HEADER));
+        }
+        if (delay != null) {
+            return delay;
         }
 
-        String retryHeader = response.headerValue(RETRY_AFTER_MS_HEADER);
+        final String retryAfter = response.headerValue(RETRY_AFTER_HEADER);
+        if (retryAfter == null || retryAfter.isEmpty()) {
+            return null;
+        }
 
-        // Retry header is missing or empty, return the default delay duration.
-        if (retryHeader == null || retryHeader.isEmpty()) {
-            return this.delayDuration;
+        // Retry-After is either a number of seconds or an HTTP-date.
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(retryAfter.trim())));
+        } catch (NumberFormatException ignored) {
+            // Not a number of seconds, fall through to the HTTP-date format.
+        }
+        try {
+            final OffsetDateTime retryAt = OffsetDateTime.parse(retryAfter.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+            final Duration untilRetry = Duration.between(now, retryAt);
+            return untilRetry.isNegative() ? Duration.ZERO : untilRetry;
+        } catch (DateTimeParseException ignored) {
+            return null;
         }
+    }
 
-        // Use the response delay duration, the server returned it for a reason.
-        return Duration.ofMillis(Integer.parseInt(retryHeader));
+    private static Duration parseMillis(String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        try {
+            return Duration.ofMillis(Math.max(0, Long.parseLong(value.trim())));
+        } catch (NumberFormatException ignored) {
+            return null;
+        }
     }
 }
@@ -0,0 +1,28 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.core.http.policy;
+
+import com.azure.core.http.HttpPipelineCallContext;
+import com.azure.core.http.HttpPipelineNextPolicy;
+import com.azure.core.http.HttpResponse;
+import com.azure.core.implementation.metrics.HttpMetrics;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The pipeline policy, placed after the retry policy, that records the duration of every try of a request and
+ * counts the tries for the {@link RequestMetricsPolicy}.
+ *
+ * The duration of a try is inclusive: it covers every policy placed after this one as well as the HTTP client.
+ */
+public class TryMetricsPolicy implements HttpPipelinePolicy {
+    @Override
+    public Mono<HttpResponse> process(HttpPipelineCallContext context, HttpPipelineNextPolicy next) {
+        context.getData(RequestMetricsPolicy.TRIES_KEY)
+            .ifPresent(tries -> ((AtomicInteger) tries).incrementAndGet());
+
+        return HttpMetrics.time(HttpMetrics.TRY_DURATION, context, next.process(), null, null);
+    }
+}
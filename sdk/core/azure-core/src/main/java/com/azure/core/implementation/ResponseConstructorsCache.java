@@ -0,0 +1,143 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.core.implementation;
+
+import com.azure.core.http.HttpHeaders;
+import com.azure.core.http.HttpRequest;
+import com.azure.core.http.rest.Response;
+import com.azure.core.util.logging.ClientLogger;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A cache of the constructors used to create {@link Response} instances.
+ *
+ * The most specific constructor of a response class is located with reflection the first time the
+ * class is seen and is converted into a {@link MethodHandle}, subsequent responses of the same class
+ * are created through the cached handle without any reflective lookup.
+ */
+final class ResponseConstructorsCache {
+    private static final MethodType THREE_PARAMETERS = MethodType.methodType(Object.class,
+        HttpRequest.class, int.class, HttpHeaders.class);
+    private static final MethodType FOUR_PARAMETERS = MethodType.methodType(Object.class,
+        HttpRequest.class, int.class, HttpHeaders.class, Object.class);
+    private static final MethodType FIVE_PARAMETERS = MethodType.methodType(Object.class,
+        HttpRequest.class, int.class, HttpHeaders.class, Object.class, Object.class);
+
+    private final ClientLogger logger = new ClientLogger(ResponseConstructorsCache.class);
+    private final Map<Class<?>, ResponseConstructor> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Identify the most specific constructor of the provided response class.
+     *
+     * @param responseClass the response class
+     * @return the constructor to use to create instances of the response class
+     * @throws RuntimeException if no suitable constructor exists
+     */
+    ResponseConstructor get(Class<? extends Response<?>> responseClass) {
+        return cache.computeIfAbsent(responseClass, this::locateResponseConstructor);
+    }
+
+    /**
+     * We try to find the most specific constructor, which we do in the following order:
+     * 1) (HttpRequest httpRequest, int statusCode, HttpHeaders headers, Object body, Object deserializedHeaders)
+     * 2) (HttpRequest httpRequest, int statusCode, HttpHeaders headers, Object body)
+     * 3) (HttpRequest httpRequest, int statusCode, HttpHeaders headers)
+     *
+     * @param responseClass the response class
+     * @return the constructor to use to create instances of the response class
+     */
+    private ResponseConstructor locateResponseConstructor(Class<?> responseClass) {
+        Optional<Constructor<?>> constructor = Arrays.stream(responseClass.getDeclaredConstructors())
+            .filter(c -> {
+                int paramCount = c.getParameterCount();
+                return paramCount >= 3 && paramCount <= 5;
+            })
+            .sorted(Comparator.comparingInt(Constructor::getParameterCount))
+            .findFirst();
+
+        if (!constructor.isPresent()) {
+            throw logger.logExceptionAsError(new RuntimeException("Cannot find suitable constructor for class " + responseClass));
+        }
+
+        final int parameterCount = constructor.get().getParameterCount();
+        final MethodType methodType;
+        switch (parameterCount) {
+            case 3:
+                methodType = THREE_PARAMETERS;
+                break;
+            case 4:
+                methodType = FOUR_PARAMETERS;
+                break;
+            default:
+                methodType = FIVE_PARAMETERS;
+                break;
+        }
+
+        try {
+            MethodHandle handle = MethodHandles.lookup().unreflectConstructor(constructor.get()).asType(methodType);
+            return new ResponseConstructor(handle, parameterCount);
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw logger.logExceptionAsError(new RuntimeException("Cannot access the constructor of class " + responseClass, e));
+        }
+    }
+
+    /**
+     * A resolved response constructor.
+     */
+    static final class ResponseConstructor {
+        private final MethodHandle handle;
+        private final int parameterCount;
+
+        private ResponseConstructor(MethodHandle handle, int parameterCount) {
+            this.handle = handle;
+            this.parameterCount = parameterCount;
+        }
+
+        /**
+         * @return true if the constructor accepts the deserialized headers, false otherwise
+         */
+        boolean acceptsDeserializedHeaders() {
+            return parameterCount == 5;
+        }
+
+        /**
+         * Create a response instance.
+         *
+         * @param httpRequest the request that the response is for
+         * @param statusCode the response status code
+         * @param headers the response headers
+         * @param body the deserialized response body, ignored if the constructor does not take one
+         * @param deserializedHeaders the deserialized response headers, ignored if the constructor does not
+         *                            take them
+         * @return the response instance
+         */
+        Response<?> invoke(HttpRequest httpRequest, int statusCode, HttpHeaders headers, Object body,
+                           Object deserializedHeaders) {
+            try {
+                switch (parameterCount) {
+                    case 3:
+                        return (Response<?>) (Object) handle.invokeExact(httpRequest, statusCode, headers);
+                    case 4:
+                        return (Response<?>) (Object) handle.invokeExact(httpRequest, statusCode, headers, body);
+                    default:
+                        return (Response<?>) (Object) handle.invokeExact(httpRequest, statusCode, headers, body,
+                            deserializedHeaders);
+                }
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw reactor.core.Exceptions.propagate(t);
+            }
+        }
+    }
+}
@@ -6,7 +6,6 @@ package com.azure.core.implementation;
 import com.azure.core.implementation.annotation.ResumeOperation;
 import com.azure.core.credentials.TokenCredential;
 import com.azure.core.exception.HttpResponseException;
-import com.azure.core.http.HttpHeader;
 import com.azure.core.http.HttpHeaders;
 import com.azure.core.http.HttpMethod;
 import com.azure.core.http.HttpPipeline;
@@ -44,20 +43,16 @@ import reactor.core.publisher.Signal;
 import java.io.IOException;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationHandler;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.lang.reflect.Type;
 import java.net.URL;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Function;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
 
 /**
  * Type to create a proxy implementation for an interface describing REST API methods.
@@ -67,6 +62,8 @@ import java.util.stream.Collectors;
  * deserialized Java object.
  */
 public class RestProxy implements InvocationHandler {
+    private static final ResponseConstructorsCache RESPONSE_CONSTRUCTORS_CACHE = new ResponseConstructorsCache();
+
     private final ClientLogger logger = new ClientLogger(RestProxy.class);
     private final HttpPipeline httpPipeline;
     private final SerializerAdapter serializer;
@@ -134,13 +131,15 @@ public class RestProxy implements InvocationHandler {
                 final Type returnType = methodParser.returnType();
 
                 // Track 2 clients don't use ResumeOperation yet, but they need to be thought about while implementing tracing.
-                return handleResumeOperation(request, opDesc, methodParser, returnType, startTracingSpan(resumeMethod, Context.NONE));
+                return handleResumeOperation(request, opDesc, methodParser, returnType, startTracingSpan(methodParser, Context.NONE));
 
             } else {
                 methodParser = methodParser(method);
                 request = createHttpRequest(methodParser, args);
-                Context context = methodParser.context(args).addData("caller-method", methodParser.fullyQualifiedMethodName());
-                context = startTracingSpan(method, context);
+                Context context = methodParser.context(args)
+                    .addData("caller-method", methodParser.fullyQualifiedMethodName())
+                    .addData("service-name", methodParser.serviceName());
+                context = startTracingSpan(methodParser, context);
 
                 final Mono<HttpResponse> asyncResponse = send(request, context);
                 //
@@ -167,12 +166,12 @@ public class RestProxy implements InvocationHandler {
     /**
      * Starts the tracing span for the current service call, additionally set metadata attributes on the span by passing
      * additional context information.
-     * @param method Service method being called.
+     * @param methodParser Parser of the service method being called.
      * @param context Context information about the current service call.
      * @return The updated context containing the span context.
      */
-    private Context startTracingSpan(Method method, Context context) {
-        String spanName = String.format("Azure.%s/%s", interfaceParser.serviceName(), method.getName());
+    private Context startTracingSpan(SwaggerMethodParser methodParser, Context context) {
+        String spanName = methodParser.spanName();
         context = TracerProxy.setSpanName(spanName, context);
         return TracerProxy.start(spanName, context);
     }
@@ -192,17 +191,12 @@ public class RestProxy implements InvocationHandler {
         // This definitely happens in paging scenarios. In that case, just use the full URL and
         // ignore the Host annotation.
         final String path = methodParser.path(args);
-        final UrlBuilder pathUrlBuilder = UrlBuilder.parse(path);
-        if (pathUrlBuilder.scheme() != null) {
-            urlBuilder = pathUrlBuilder;
+        if (isAbsoluteUrl(path)) {
+            urlBuilder = UrlBuilder.parse(path);
         } else {
             urlBuilder = new UrlBuilder();
 
-            final String scheme = methodParser.scheme(args);
-            urlBuilder.scheme(scheme);
-
-            final String host = methodParser.host(args);
-            urlBuilder.host(host);
+            methodParser.setSchemeAndHost(args, urlBuilder);
 
             // Set the path after host, concatenating the path
             // segment in the host.
@@ -224,13 +218,34 @@ public class RestProxy implements InvocationHandler {
         final HttpRequest request = configRequest(new HttpRequest(methodParser.httpMethod(), url), methodParser, args);
 
         // Headers from Swagger method arguments always take precedence over inferred headers from body types
-        for (final HttpHeader header : methodParser.headers(args)) {
-            request.header(header.name(), header.value());
-        }
+        methodParser.setHeaders(args, request.headers());
 
         return request;
     }
 
+    /**
+     * Checks whether the provided path would be parsed by {@link UrlBuilder#parse(String)} into a
+     * URL with a scheme, without running the URL tokenizer over it.
+     *
+     * @param path the substituted path of the Swagger method
+     * @return true if the path is a full URL, false otherwise
+     */
+    private static boolean isAbsoluteUrl(String path) {
+        if (path == null) {
+            return false;
+        }
+
+        for (int i = 0; i < path.length(); ++i) {
+            final char c = path.charAt(i);
+            if (c == ':') {
+                return path.startsWith("://", i);
+            } else if (c == '/' || c == '?') {
+                return false;
+            }
+        }
+        return false;
+    }
+
     /**
      * Create a HttpRequest for the provided Swagger method using the provided arguments.
      *
@@ -432,45 +447,9 @@ public class RestProxy implements InvocationHandler {
             }
         }
 
-        // we try to find the most specific constructor, which we do in the following order:
-        // 1) (HttpRequest httpRequest, int statusCode, HttpHeaders headers, Object body, Object deserializedHeaders)
-        // 2) (HttpRequest httpRequest, int statusCode, HttpHeaders headers, Object body)
-        // 3) (HttpRequest httpRequest, int statusCode, HttpHeaders headers)
-        List<Constructor<?>> constructors = Arrays.stream(cls.getDeclaredConstructors())
-            .filter(constructor -> {
-                int paramCount = constructor.getParameterCount();
-                return paramCount >= 3 && paramCount <= 5;
-            })
-            .sorted(Comparator.comparingInt(Constructor::getParameterCount))
-            .collect(Collectors.toList());
-
-        if (constructors.isEmpty()) {
-            throw logger.logExceptionAsError(new RuntimeException("Cannot find suitable constructor for class " + cls));
-        }
-
-        // try to create an instance using our list of potential candidates
-        for (Constructor<?> constructor : constructors) {
-            final Constructor<? extends Response<?>> ctor = (Constructor<? extends Response<?>>) constructor;
-
-            try {
-                final int paramCount = constructor.getParameterCount();
-
-                switch (paramCount) {
-                    case 3:
-                        return ctor.newInstance(httpRequest, responseStatusCode, responseHeaders);
-                    case 4:
-                        return ctor.newInstance(httpRequest, responseStatusCode, responseHeaders, bodyAsObject);
-                    case 5:
-                        return ctor.newInstance(httpRequest, responseStatusCode, responseHeaders, bodyAsObject, response.decodedHeaders().block());
-                    default:
-                        throw logger.logExceptionAsError(new IllegalStateException("Response constructor with expected parameters not found."));
-                }
-            } catch (IllegalAccessException | InvocationTargetException | InstantiationException e) {
-                throw logger.logExceptionAsError(reactor.core.Exceptions.propagate(e));
-            }
-        }
-        // error
-        throw logger.logExceptionAsError(new RuntimeException("Cannot find suitable constructor for class " + cls));
+        final ResponseConstructorsCache.ResponseConstructor ctor = RESPONSE_CONSTRUCTORS_CACHE.get(cls);
+        final Object deserializedHeaders = ctor.acceptsDeserializedHeaders() ? response.decodedHeaders().block() : null;
+        return ctor.invoke(httpRequest, responseStatusCode, responseHeaders, bodyAsObject, deserializedHeaders);
     }
 
     protected final Mono<?> handleBodyReturnType(final HttpDecodedResponse response, final SwaggerMethodParser methodParser, final Type entityType) {
@@ -29,6 +29,7 @@ import com.azure.core.http.rest.Page;
 import com.azure.core.http.rest.Response;
 import com.azure.core.implementation.exception.MissingRequiredAnnotationException;
 import com.azure.core.implementation.http.ContentType;
+import com.azure.core.implementation.http.UrlBuilder;
 import com.azure.core.implementation.serializer.HttpResponseDecodeData;
 import com.azure.core.implementation.serializer.SerializerAdapter;
 import com.azure.core.implementation.util.ImplUtils;
@@ -53,8 +54,9 @@ import java.util.stream.Collectors;
  */
 public class SwaggerMethodParser implements HttpResponseDecodeData {
     private final SerializerAdapter serializer;
-    private final String rawHost;
     private final String fullyQualifiedMethodName;
+    private final String serviceName;
+    private final String spanName;
     private HttpMethod httpMethod;
     private String relativePath;
     private final List<Substitution> hostSubstitutions = new ArrayList<>();
@@ -72,6 +74,13 @@ public class SwaggerMethodParser implements HttpResponseDecodeData {
     private final UnexpectedResponseExceptionType[] unexpectedResponseExceptionTypes;
     private Map<Integer, UnexpectedExceptionInformation> exceptionMapping;
     private UnexpectedExceptionInformation defaultException;
+    private final UrlTemplate hostTemplate;
+    private final UrlTemplate pathTemplate;
+    private final String constantScheme;
+    private final String constantHost;
+    private final HttpHeader[] constantHeaders;
+    private final Type decodedEntityType;
+    private final Type headersType;
 
     /**
      * Create a SwaggerMethodParser object using the provided fully qualified method name.
@@ -82,12 +91,27 @@ public class SwaggerMethodParser implements HttpResponseDecodeData {
      *                substitutions.
      */
     SwaggerMethodParser(Method swaggerMethod, String rawHost) {
+        this(swaggerMethod, rawHost, null);
+    }
+
+    /**
+     * Create a SwaggerMethodParser object using the provided fully qualified method name.
+     *
+     * @param swaggerMethod the Swagger method to parse.
+     * @param rawHost the raw host value from the @Host annotation. Before this can be used as the
+     *                host value in an HTTP request, it must be processed through the possible host
+     *                substitutions.
+     * @param serviceName the name of the service from the @ServiceInterface annotation, used to name
+     *                    the tracing span of the Swagger method and to tag its metrics.
+     */
+    SwaggerMethodParser(Method swaggerMethod, String rawHost, String serviceName) {
         this.serializer = JacksonAdapter.createDefaultSerializerAdapter();
-        this.rawHost = rawHost;
 
         final Class<?> swaggerInterface = swaggerMethod.getDeclaringClass();
 
         fullyQualifiedMethodName = swaggerInterface.getName() + "." + swaggerMethod.getName();
+        this.serviceName = serviceName;
+        spanName = "Azure." + serviceName + "/" + swaggerMethod.getName();
 
         if (swaggerMethod.isAnnotationPresent(Get.class)) {
             setHttpMethodAndRelativePath(HttpMethod.GET, swaggerMethod.getAnnotation(Get.class).value());
@@ -180,6 +204,25 @@ public class SwaggerMethodParser implements HttpResponseDecodeData {
                 }
             }
         }
+
+        constantHeaders = new HttpHeader[headers.size()];
+        int headerIndex = 0;
+        for (final HttpHeader header : headers) {
+            constantHeaders[headerIndex++] = header;
+        }
+
+        decodedEntityType = HttpResponseDecodeData.super.decodedEntityType();
+        headersType = HttpResponseDecodeData.super.headersType();
+
+        hostTemplate = UrlTemplate.compile(rawHost, hostSubstitutions);
+        pathTemplate = UrlTemplate.compile(relativePath, pathSubstitutions);
+        if (hostTemplate.isConstant() && rawHost != null) {
+            constantScheme = scheme(null);
+            constantHost = host(null);
+        } else {
+            constantScheme = null;
+            constantHost = null;
+        }
     }
 
     /**
@@ -191,6 +234,24 @@ public class SwaggerMethodParser implements HttpResponseDecodeData {
         return fullyQualifiedMethodName;
     }
 
+    /**
+     * Get the name of the service from the @ServiceInterface annotation of the Swagger interface.
+     *
+     * @return the name of the service
+     */
+    String serviceName() {
+        return serviceName;
+    }
+
+    /**
+     * Get the name of the tracing span that is started when this Swagger method is invoked.
+     *
+     * @return the name of the tracing span for this Swagger method
+     */
+    String spanName() {
+        return spanName;
+    }
+
     /**
      * Get the HTTP method that will be used to complete the Swagger method's request.
      *
@@ -220,7 +281,7 @@ public class SwaggerMethodParser implements HttpResponseDecodeData {
      * @return the final host to use for HTTP requests for this Swagger method.
      */
     public String scheme(Object[] swaggerMethodArguments) {
-        final String substitutedHost = applySubstitutions(rawHost, hostSubstitutions, swaggerMethodArguments, UrlEscapers.PATH_ESCAPER);
+        final String substitutedHost = hostTemplate.expand(swaggerMethodArguments, this::serialize, UrlEscapers.PATH_ESCAPER);
         final String[] substitutedHostParts = substitutedHost.split("://");
         return substitutedHostParts.length < 1 ? null : substitutedHostParts[0];
     }
@@ -232,9 +293,30 @@ public class SwaggerMethodParser implements HttpResponseDecodeData {
      * @return the final host to use for HTTP requests for this Swagger method
      */
     public String host(Object[] swaggerMethodArguments) {
-        final String substitutedHost = applySubstitutions(rawHost, hostSubstitutions, swaggerMethodArguments, UrlEscapers.PATH_ESCAPER);
+        final String substitutedHost = hostTemplate.expand(swaggerMethodArguments, this::serialize, UrlEscapers.PATH_ESCAPER);
+        final String[] substitutedHostParts = substitutedHost.split("://");
+        return substitutedHostParts.length < 2 ? substitutedHost : substitutedHostParts[1];
+    }
+
+    /**
+     * Set the scheme and the host to use for HTTP requests for this Swagger method. The host
+     * substitutions are applied once for both values and are skipped entirely when the @Host
+     * annotation has no placeholders.
+     *
+     * @param swaggerMethodArguments the arguments to use for scheme/host substitutions
+     * @param urlBuilder the builder to set the scheme and host on
+     */
+    void setSchemeAndHost(Object[] swaggerMethodArguments, UrlBuilder urlBuilder) {
+        if (constantHost != null) {
+            urlBuilder.scheme(constantScheme);
+            urlBuilder.host(constantHost);
+            return;
+        }
+
+        final String substitutedHost = hostTemplate.expand(swaggerMethodArguments, this::serialize, UrlEscapers.PATH_ESCAPER);
         final String[] substitutedHostParts = substitutedHost.split("://");
-        return substitutedHostParts.length < 2 ? substitutedHost : substitutedHost.split("://")[1];
+        urlBuilder.scheme(substitutedHostParts.length < 1 ? null : substitutedHostParts[0]);
+        urlBuilder.host(substitutedHostParts.length < 2 ? substitutedHost : substitutedHostParts[1]);
     }
 
     /**
@@ -244,7 +326,7 @@ public class SwaggerMethodParser implements HttpResponseDecodeData {
      * @return the path value with its placeholders replaced by the matching substitutions
      */
     public String path(Object[] methodArguments) {
-        return applySubstitutions(relativePath, pathSubstitutions, methodArguments, UrlEscapers.PATH_ESCAPER);
+        return pathTemplate.expand(methodArguments, this::serialize, UrlEscapers.PATH_ESCAPER);
     }
 
     /**
@@ -301,31 +383,43 @@ public class SwaggerMethodParser implements HttpResponseDecodeData {
      * @return An Iterable with the headers.
      */
     public Iterable<HttpHeader> headers(Object[] swaggerMethodArguments) {
-        final HttpHeaders result = new HttpHeaders(headers);
-
-        if (headerSubstitutions != null) {
-            for (Substitution headerSubstitution : headerSubstitutions) {
-                final int parameterIndex = headerSubstitution.methodParameterIndex();
-                if (0 <= parameterIndex && parameterIndex < swaggerMethodArguments.length) {
-                    final Object methodArgument = swaggerMethodArguments[headerSubstitution.methodParameterIndex()];
-                    if (methodArgument instanceof Map) {
-                        @SuppressWarnings("unchecked")
-                        final Map<String, ?> headerCollection = (Map<String, ?>) methodArgument;
-                        final String headerCollectionPrefix = headerSubstitution.urlParameterName();
-                        for (final Map.Entry<String, ?> headerCollectionEntry : headerCollection.entrySet()) {
-                            final String headerName = headerCollectionPrefix + headerCollectionEntry.getKey();
-                            final String headerValue = serialize(headerCollectionEntry.getValue());
-                            result.put(headerName, headerValue);
-                        }
-                    } else {
-                        final String headerName = headerSubstitution.urlParameterName();
-                        final String headerValue = serialize(methodArgument);
-                        result.put(headerName, headerValue);
+        final HttpHeaders result = new HttpHeaders();
+        setHeaders(swaggerMethodArguments, result);
+        return result;
+    }
+
+    /**
+     * Set the headers of the @Headers annotation and the headers of the method arguments on the headers of a
+     * request. The constant headers are parsed once, so only the header arguments are serialized on each call.
+     *
+     * @param swaggerMethodArguments the arguments that will be used to create the headers' values
+     * @param httpHeaders the headers to set the values on
+     */
+    void setHeaders(Object[] swaggerMethodArguments, HttpHeaders httpHeaders) {
+        for (final HttpHeader header : constantHeaders) {
+            httpHeaders.put(header.name(), header.value());
+        }
+
+        for (Substitution headerSubstitution : headerSubstitutions) {
+            final int parameterIndex = headerSubstitution.methodParameterIndex();
+            if (0 <= parameterIndex && parameterIndex < swaggerMethodArguments.length) {
+                final Object methodArgument = swaggerMethodArguments[headerSubstitution.methodParameterIndex()];
+                if (methodArgument instanceof Map) {
+                    @SuppressWarnings("unchecked")
+                    final Map<String, ?> headerCollection = (Map<String, ?>) methodArgument;
+                    final String headerCollectionPrefix = headerSubstitution.urlParameterName();
+                    for (final Map.Entry<String, ?> headerCollectionEntry : headerCollection.entrySet()) {
+                        final String headerName = headerCollectionPrefix + headerCollectionEntry.getKey();
+                        final String headerValue = serialize(headerCollectionEntry.getValue());
+                        httpHeaders.put(headerName, headerValue);
                     }
+                } else {
+                    final String headerName = headerSubstitution.urlParameterName();
+                    final String headerValue = serialize(methodArgument);
+                    httpHeaders.put(headerName, headerValue);
                 }
             }
         }
-        return result;
     }
 
     /**
@@ -444,6 +538,27 @@ public class SwaggerMethodParser implements HttpResponseDecodeData {
     }
 
 
+    /**
+     * Get the type of the entity the body of a successful response is deserialized to, resolved once from the return
+     * type.
+     *
+     * @return the entity type, null if the body of a successful response is not decoded
+     */
+    @Override
+    public Type decodedEntityType() {
+        return decodedEntityType;
+    }
+
+    /**
+     * Get the type of the entity used to deserialize the headers of a response, resolved once from the return type.
+     *
+     * @return the headers entity type, null if the headers are not deserialized
+     */
+    @Override
+    public Type headersType() {
+        return headersType;
+    }
+
     /**
      * Get the type of the body parameter to this method, if present.
      *
@@ -529,32 +644,6 @@ public class SwaggerMethodParser implements HttpResponseDecodeData {
         return result;
     }
 
-    private String applySubstitutions(String originalValue, Iterable<Substitution> substitutions, Object[] methodArguments, PercentEscaper escaper) {
-        String result = originalValue;
-
-        if (methodArguments != null) {
-            for (Substitution substitution : substitutions) {
-                final int substitutionParameterIndex = substitution.methodParameterIndex();
-                if (0 <= substitutionParameterIndex && substitutionParameterIndex < methodArguments.length) {
-                    final Object methodArgument = methodArguments[substitutionParameterIndex];
-
-                    String substitutionValue = serialize(methodArgument);
-                    if (substitutionValue != null && !substitutionValue.isEmpty() && substitution.shouldEncode() && escaper != null) {
-                        substitutionValue = escaper.escape(substitutionValue);
-                    }
-                    // if a parameter is null, we treat it as empty string. This is
-                    // assuming no {...} will be allowed otherwise in a path template
-                    if (substitutionValue == null) {
-                        substitutionValue = "";
-                    }
-                    result = result.replace("{" + substitution.urlParameterName() + "}", substitutionValue);
-                }
-            }
-        }
-
-        return result;
-    }
-
     private Map<Integer, UnexpectedExceptionInformation> processUnexpectedResponseExceptionTypes() {
         HashMap<Integer, UnexpectedExceptionInformation> exceptionHashMap = new HashMap<>();
 
@@ -0,0 +1,124 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.core.implementation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A URL template, such as "http://{host}.com/{fileName}.html", that has been split into its literal
+ * and placeholder segments once so that expanding it for a method call is a single pass over the
+ * segments instead of a {@link String#replace(CharSequence, CharSequence)} per {@link Substitution}.
+ */
+final class UrlTemplate {
+    private final String template;
+    private final String[] literals;
+    private final Substitution[] substitutions;
+
+    private UrlTemplate(String template, String[] literals, Substitution[] substitutions) {
+        this.template = template;
+        this.literals = literals;
+        this.substitutions = substitutions;
+    }
+
+    /**
+     * Split the provided template into segments, binding every placeholder that has a matching
+     * substitution. Placeholders without a matching substitution are kept as literal text.
+     *
+     * @param template the template to compile, may be null
+     * @param substitutions the substitutions that can be applied to the template's placeholders
+     * @return the compiled template
+     */
+    static UrlTemplate compile(String template, List<Substitution> substitutions) {
+        if (template == null || substitutions.isEmpty()) {
+            return new UrlTemplate(template, new String[] { template }, new Substitution[0]);
+        }
+
+        final List<String> literals = new ArrayList<>();
+        final List<Substitution> bound = new ArrayList<>();
+        final StringBuilder literal = new StringBuilder();
+
+        int index = 0;
+        while (index < template.length()) {
+            final int openIndex = template.indexOf('{', index);
+            final int closeIndex = openIndex < 0 ? -1 : template.indexOf('}', openIndex + 1);
+            if (openIndex < 0 || closeIndex < 0) {
+                literal.append(template, index, template.length());
+                break;
+            }
+
+            final String name = template.substring(openIndex + 1, closeIndex);
+            final Substitution substitution = name.indexOf('{') < 0 ? find(substitutions, name) : null;
+            if (substitution == null) {
+                // Not a placeholder that we can substitute, keep the opening brace and keep scanning after it.
+                literal.append(template, index, openIndex + 1);
+                index = openIndex + 1;
+            } else {
+                literal.append(template, index, openIndex);
+                literals.add(literal.toString());
+                literal.setLength(0);
+                bound.add(substitution);
+                index = closeIndex + 1;
+            }
+        }
+        literals.add(literal.toString());
+
+        return new UrlTemplate(template, literals.toArray(new String[0]), bound.toArray(new Substitution[0]));
+    }
+
+    /**
+     * Expand this template using the provided method arguments.
+     *
+     * @param methodArguments the arguments of the Swagger method call
+     * @param serializer the function used to turn a method argument into its String form
+     * @param escaper the escaper to apply to substitutions that should be encoded
+     * @return the expanded template
+     */
+    String expand(Object[] methodArguments, Function<Object, String> serializer, PercentEscaper escaper) {
+        if (substitutions.length == 0 || methodArguments == null) {
+            return template;
+        }
+
+        final StringBuilder result = new StringBuilder(template.length() + 16 * substitutions.length);
+        for (int i = 0; i < substitutions.length; ++i) {
+            result.append(literals[i]);
+
+            final Substitution substitution = substitutions[i];
+            final int parameterIndex = substitution.methodParameterIndex();
+            if (0 <= parameterIndex && parameterIndex < methodArguments.length) {
+                String substitutionValue = serializer.apply(methodArguments[parameterIndex]);
+                if (substitutionValue != null && !substitutionValue.isEmpty() && substitution.shouldEncode() && escaper != null) {
+                    substitutionValue = escaper.escape(substitutionValue);
+                }
+                // if a parameter is null, we treat it as empty string. This is
+                // assuming no {...} will be allowed otherwise in a path template
+                if (substitutionValue != null) {
+                    result.append(substitutionValue);
+                }
+            } else {
+                result.append('{').append(substitution.urlParameterName()).append('}');
+            }
+        }
+        result.append(literals[substitutions.length]);
+
+        return result.toString();
+    }
+
+    /**
+     * @return true if expanding this template always produces the same value
+     */
+    boolean isConstant() {
+        return substitutions.length == 0;
+    }
+
+    private static Substitution find(List<Substitution> substitutions, String name) {
+        for (Substitution substitution : substitutions) {
+            if (name.equals(substitution.urlParameterName())) {
+                return substitution;
+            }
+        }
+        return null;
+    }
+}
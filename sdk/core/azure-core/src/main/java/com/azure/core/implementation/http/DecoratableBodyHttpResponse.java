@@ -0,0 +1,26 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.core.implementation.http;
+
+import com.azure.core.http.HttpResponse;
+import reactor.core.publisher.Flux;
+
+import java.nio.ByteBuffer;
+import java.util.function.Function;
+
+/**
+ * Implemented by an {@link HttpResponse} that implements interfaces beyond those of HttpResponse, so that a pipeline
+ * policy can observe its body without wrapping it in a response that would hide those interfaces.
+ */
+public interface DecoratableBodyHttpResponse {
+    /**
+     * Creates a response that shares this response's connection, and whose {@link HttpResponse#body()},
+     * {@link HttpResponse#bodyAsByteArray()} and {@link HttpResponse#bodyAsString()} read the body through the
+     * decorator. Reading the body by other means, specific to the response, bypasses the decorator.
+     *
+     * @param decorator the function applied to the body
+     * @return a response of the same type whose body is read through the decorator
+     */
+    HttpResponse decorateBody(Function<Flux<ByteBuffer>, Flux<ByteBuffer>> decorator);
+}
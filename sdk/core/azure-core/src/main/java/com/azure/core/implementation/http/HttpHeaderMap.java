@@ -0,0 +1,219 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.core.implementation.http;
+
+import com.azure.core.http.HttpHeader;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * The storage engine behind {@link com.azure.core.http.HttpHeaders}.
+ *
+ * Header names are hashed and compared case-insensitively in place, so neither storing nor looking up a
+ * header allocates a lower-cased copy of its name. Well-known header names are recognised when a header is
+ * stored and, when the name is spelled exactly like the well-known name, the interned instance of the name is
+ * used instead so that the many header maps created for requests and responses share the same name Strings.
+ * Headers are iterated in insertion order.
+ *
+ * Instances are not thread-safe.
+ */
+public final class HttpHeaderMap implements Iterable<HttpHeader> {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private static final String[] WELL_KNOWN_NAMES = {
+        "Accept",
+        "Accept-Encoding",
+        "Authorization",
+        "Azure-AsyncOperation",
+        "Cache-Control",
+        "Connection",
+        "Content-Encoding",
+        "Content-Length",
+        "Content-MD5",
+        "Content-Range",
+        "Content-Type",
+        "Date",
+        "ETag",
+        "Host",
+        "If-Match",
+        "If-Modified-Since",
+        "If-None-Match",
+        "If-Unmodified-Since",
+        "Last-Modified",
+        "Location",
+        "Range",
+        "Retry-After",
+        "Server",
+        "Transfer-Encoding",
+        "User-Agent",
+        "WWW-Authenticate",
+        "traceparent",
+        "x-ms-client-request-id",
+        "x-ms-date",
+        "x-ms-request-id",
+        "x-ms-return-client-request-id",
+        "x-ms-version",
+    };
+    private static final String[] WELL_KNOWN_TABLE;
+    private static final int[] WELL_KNOWN_HASHES;
+
+    static {
+        // Open addressing table sized to keep the load factor below 0.25 so probes are almost always one step.
+        int capacity = Integer.highestOneBit(WELL_KNOWN_NAMES.length * 4 - 1) << 1;
+        WELL_KNOWN_TABLE = new String[capacity];
+        WELL_KNOWN_HASHES = new int[capacity];
+        for (String name : WELL_KNOWN_NAMES) {
+            int hash = hash(name);
+            int index = hash & (capacity - 1);
+            while (WELL_KNOWN_TABLE[index] != null) {
+                index = (index + 1) & (capacity - 1);
+            }
+            WELL_KNOWN_TABLE[index] = name.intern();
+            WELL_KNOWN_HASHES[index] = hash;
+        }
+    }
+
+    private Entry[] buckets;
+    private Entry[] entries;
+    private int size;
+
+    /**
+     * Gets the number of headers in the map.
+     *
+     * @return the number of headers
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get the header stored under the provided name, compared case-insensitively.
+     *
+     * @param name the header name
+     * @return the header, or null if no header is stored under the name
+     */
+    public HttpHeader get(String name) {
+        if (size == 0) {
+            return null;
+        }
+
+        final int hash = hash(name);
+        for (Entry entry = buckets[hash & (buckets.length - 1)]; entry != null; entry = entry.next) {
+            if (entry.hash == hash && entry.header.name().equalsIgnoreCase(name)) {
+                return entry.header;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Store a header, replacing any header stored under a name that is equal ignoring case. A replaced header
+     * keeps its position in the iteration order.
+     *
+     * @param name the header name
+     * @param value the header value
+     */
+    public void put(String name, String value) {
+        final int hash = hash(name);
+
+        if (buckets == null) {
+            buckets = new Entry[INITIAL_CAPACITY];
+            entries = new Entry[INITIAL_CAPACITY];
+        } else {
+            for (Entry entry = buckets[hash & (buckets.length - 1)]; entry != null; entry = entry.next) {
+                if (entry.hash == hash && entry.header.name().equalsIgnoreCase(name)) {
+                    entry.header = new HttpHeader(canonicalName(name, hash), value);
+                    return;
+                }
+            }
+        }
+
+        if (size == entries.length) {
+            grow();
+        }
+
+        final int index = hash & (buckets.length - 1);
+        final Entry entry = new Entry(hash, new HttpHeader(canonicalName(name, hash), value), buckets[index]);
+        buckets[index] = entry;
+        entries[size++] = entry;
+    }
+
+    @Override
+    public Iterator<HttpHeader> iterator() {
+        return new Iterator<HttpHeader>() {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            public HttpHeader next() {
+                if (index >= size) {
+                    throw new NoSuchElementException();
+                }
+                return entries[index++].header;
+            }
+        };
+    }
+
+    private void grow() {
+        final int capacity = entries.length << 1;
+        entries = Arrays.copyOf(entries, capacity);
+        buckets = new Entry[capacity];
+        for (int i = 0; i < size; ++i) {
+            final Entry entry = entries[i];
+            final int index = entry.hash & (capacity - 1);
+            entry.next = buckets[index];
+            buckets[index] = entry;
+        }
+    }
+
+    /**
+     * Computes a hash of the provided header name that is equal for names that are equal ignoring case.
+     *
+     * @param name the header name
+     * @return the case-insensitive hash of the name
+     */
+    private static int hash(String name) {
+        int hash = 0;
+        final int length = name.length();
+        for (int i = 0; i < length; ++i) {
+            char c = name.charAt(i);
+            if (c >= 'A' && c <= 'Z') {
+                c += 'a' - 'A';
+            } else if (c >= 0x80) {
+                c = Character.toLowerCase(Character.toUpperCase(c));
+            }
+            hash = 31 * hash + c;
+        }
+        // Spread the high bits down as the tables are indexed by the low bits.
+        return hash ^ (hash >>> 16);
+    }
+
+    private static String canonicalName(String name, int hash) {
+        final int mask = WELL_KNOWN_TABLE.length - 1;
+        for (int index = hash & mask; WELL_KNOWN_TABLE[index] != null; index = (index + 1) & mask) {
+            if (WELL_KNOWN_HASHES[index] == hash && WELL_KNOWN_TABLE[index].equals(name)) {
+                return WELL_KNOWN_TABLE[index];
+            }
+        }
+        return name;
+    }
+
+    private static final class Entry {
+        private final int hash;
+        private HttpHeader header;
+        private Entry next;
+
+        private Entry(int hash, HttpHeader header, Entry next) {
+            this.hash = hash;
+            this.header = header;
+            this.next = next;
+        }
+    }
+}
@@ -3,6 +3,9 @@
 package com.azure.core.implementation.http.policy.spi;
 
 import com.azure.core.http.policy.HttpPipelinePolicy;
+import com.azure.core.http.policy.RequestMetricsPolicy;
+import com.azure.core.http.policy.TryMetricsPolicy;
+import com.azure.core.implementation.metrics.MetricsProxy;
 
 import java.util.HashMap;
 import java.util.Iterator;
@@ -24,17 +27,31 @@ public final class HttpPolicyProviders {
 
     /**
      * Adds SPI policies that implement {@link BeforeRetryPolicyProvider}.
+     *
+     * When a {@link com.azure.core.implementation.metrics.MetricsRecorder} is plugged into the SDK a
+     * {@link RequestMetricsPolicy} is added first.
+     *
      * @param policies Policy list to append the policies.
      */
     public static void addBeforeRetryPolicies(List<HttpPipelinePolicy> policies) {
+        if (MetricsProxy.isEnabled()) {
+            policies.add(new RequestMetricsPolicy());
+        }
         addRetryPolicies(policies, () -> getPolicyProviders(false, BeforeRetryPolicyProvider.class));
     }
 
     /**
      * Adds SPI policies that implement {@link AfterRetryPolicyProvider}.
+     *
+     * When a {@link com.azure.core.implementation.metrics.MetricsRecorder} is plugged into the SDK a
+     * {@link TryMetricsPolicy} is added first.
+     *
      * @param policies Policy list to append the policies.
      */
     public static void addAfterRetryPolicies(List<HttpPipelinePolicy> policies) {
+        if (MetricsProxy.isEnabled()) {
+            policies.add(new TryMetricsPolicy());
+        }
         addRetryPolicies(policies, () -> getPolicyProviders(false, AfterRetryPolicyProvider.class));
     }
 
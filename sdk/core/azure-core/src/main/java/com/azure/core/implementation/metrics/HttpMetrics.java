@@ -0,0 +1,166 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.core.implementation.metrics;
+
+import com.azure.core.http.HttpPipelineCallContext;
+import com.azure.core.http.HttpResponse;
+import com.azure.core.http.policy.HttpPipelinePolicy;
+import reactor.core.publisher.Mono;
+
+/**
+ * The names and tags of the metrics recorded by the HTTP pipeline, and helpers to take the measurements.
+ *
+ * Every metric is tagged with the {@link #SERVICE_TAG service} and the {@link #CALLER_METHOD_TAG caller-method}
+ * of the REST call being made, which are taken from the {@code service-name} and {@code caller-method} entries of the
+ * request context.
+ */
+public final class HttpMetrics {
+    /**
+     * Timer of the time spent sending a request through the whole pipeline, including every retry.
+     */
+    public static final String REQUEST_DURATION = "azure.http.request.duration";
+
+    /**
+     * Timer of the time spent in a pipeline policy, including the policies after it and the HTTP client. The time
+     * spent by a policy itself is the difference with the duration recorded for the policy that follows it.
+     */
+    public static final String POLICY_DURATION = "azure.http.policy.duration";
+
+    /**
+     * Timer of the time spent by a single try of a request, from the retry policy to the end of the HTTP client. The
+     * time includes the policies placed after the retry policy, it isn't only the time spent on the wire.
+     */
+    public static final String TRY_DURATION = "azure.http.try.duration";
+
+    /**
+     * Distribution of the number of retries needed to complete a request.
+     */
+    public static final String RETRIES = "azure.http.request.retries";
+
+    /**
+     * Distribution of the sizes of response bodies, as announced by their Content-Length.
+     */
+    public static final String RESPONSE_SIZE = "azure.http.response.size";
+
+    /**
+     * Counter of the final responses of requests, tagged by status code.
+     */
+    public static final String RESPONSES = "azure.http.responses";
+
+    /**
+     * Timer of the time an HTTP client spent acquiring a connection before it could write a request.
+     */
+    public static final String CONNECTION_ACQUIRE_DURATION = "azure.http.connection.acquire.duration";
+
+    /**
+     * Tag holding the name of the service being called.
+     */
+    public static final String SERVICE_TAG = "service";
+
+    /**
+     * Tag holding the fully qualified name of the service interface method being called.
+     */
+    public static final String CALLER_METHOD_TAG = "caller-method";
+
+    /**
+     * Tag holding the status code of the response, or {@code error} if no response was received.
+     */
+    public static final String STATUS_TAG = "status";
+
+    /**
+     * Tag holding the simple class name of a pipeline policy.
+     */
+    public static final String POLICY_TAG = "policy";
+
+    /**
+     * Tag holding the host a connection was acquired for.
+     */
+    public static final String HOST_TAG = "host";
+
+    /**
+     * Tag value used when the value of a tag is not known.
+     */
+    public static final String UNKNOWN_TAG_VALUE = "unknown";
+
+    /**
+     * Status tag value used when a request failed without a response.
+     */
+    public static final String ERROR_TAG_VALUE = "error";
+
+    private static final ClassValue<String> POLICY_NAMES = new ClassValue<String>() {
+        @Override
+        protected String computeValue(Class<?> type) {
+            return type.getSimpleName().isEmpty() ? type.getName() : type.getSimpleName();
+        }
+    };
+
+    private HttpMetrics() {
+        // no-op
+    }
+
+    /**
+     * Records the time spent sending a request through the pipeline in {@link #REQUEST_DURATION}.
+     *
+     * @param context the request-response context
+     * @param response the response of the pipeline, timed from its subscription
+     * @return the response, recording its duration once it is emitted or fails
+     */
+    public static Mono<HttpResponse> timeRequest(HttpPipelineCallContext context, Mono<HttpResponse> response) {
+        return time(REQUEST_DURATION, context, response, null, null);
+    }
+
+    /**
+     * Records the time spent in a pipeline policy in {@link #POLICY_DURATION}.
+     *
+     * @param policy the policy that produced the response
+     * @param context the request-response context
+     * @param response the response of the policy, timed from its subscription
+     * @return the response, recording its duration once it is emitted or fails
+     */
+    public static Mono<HttpResponse> timePolicy(HttpPipelinePolicy policy, HttpPipelineCallContext context,
+                                                Mono<HttpResponse> response) {
+        return time(POLICY_DURATION, context, response, POLICY_TAG, POLICY_NAMES.get(policy.getClass()));
+    }
+
+    /**
+     * Records the time from the subscription to a response until it is emitted or fails.
+     *
+     * @param name the name of the timer
+     * @param context the request-response context
+     * @param response the response to time
+     * @param extraTag an additional tag, or null
+     * @param extraValue the value of the additional tag
+     * @return the response, recording its duration once it is emitted or fails
+     */
+    public static Mono<HttpResponse> time(String name, HttpPipelineCallContext context, Mono<HttpResponse> response,
+                                          String extraTag, String extraValue) {
+        return Mono.defer(() -> {
+            final long start = System.nanoTime();
+            return response
+                .doOnSuccess(r -> MetricsProxy.recordDuration(name, System.nanoTime() - start,
+                    tags(context, r == null ? UNKNOWN_TAG_VALUE : String.valueOf(r.statusCode()), extraTag, extraValue)))
+                .doOnError(e -> MetricsProxy.recordDuration(name, System.nanoTime() - start,
+                    tags(context, ERROR_TAG_VALUE, extraTag, extraValue)));
+        });
+    }
+
+    /**
+     * Builds the tags of a measurement taken for a request.
+     *
+     * @param context the request-response context
+     * @param status the value of the status tag
+     * @param extraTag an additional tag, or null
+     * @param extraValue the value of the additional tag
+     * @return alternating tag keys and values
+     */
+    public static String[] tags(HttpPipelineCallContext context, String status, String extraTag, String extraValue) {
+        final String service = (String) context.getData("service-name").orElse(UNKNOWN_TAG_VALUE);
+        final String callerMethod = (String) context.getData("caller-method").orElse(UNKNOWN_TAG_VALUE);
+        if (extraTag == null) {
+            return new String[] {SERVICE_TAG, service, CALLER_METHOD_TAG, callerMethod, STATUS_TAG, status};
+        }
+        return new String[] {SERVICE_TAG, service, CALLER_METHOD_TAG, callerMethod, STATUS_TAG, status,
+            extraTag, extraValue};
+    }
+}
@@ -0,0 +1,89 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.core.implementation.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader;
+
+/**
+ * This class provides a means for all client libraries to publish measurements to every {@link MetricsRecorder}
+ * plugged into the SDK.
+ *
+ * The recorders are loaded once, when no recorder is plugged in {@link #isEnabled()} returns false and callers skip
+ * taking measurements altogether.
+ */
+public final class MetricsProxy {
+    private static MetricsRecorder[] recorders = loadRecorders();
+
+    private MetricsProxy() {
+        // no-op
+    }
+
+    /**
+     * Whether any metrics recorder is plugged into the SDK.
+     *
+     * @return true if measurements are recorded, false otherwise.
+     */
+    public static boolean isEnabled() {
+        return recorders.length != 0;
+    }
+
+    /**
+     * For each metrics recorder plugged into the SDK the duration of an operation is recorded.
+     *
+     * @param name Name of the metric.
+     * @param durationNanos Duration of the operation in nanoseconds.
+     * @param tags Alternating tag keys and values.
+     */
+    public static void recordDuration(String name, long durationNanos, String... tags) {
+        for (MetricsRecorder recorder : recorders) {
+            recorder.recordDuration(name, durationNanos, tags);
+        }
+    }
+
+    /**
+     * For each metrics recorder plugged into the SDK a sample of a value distribution is recorded.
+     *
+     * @param name Name of the metric.
+     * @param value The sampled value.
+     * @param tags Alternating tag keys and values.
+     */
+    public static void recordValue(String name, double value, String... tags) {
+        for (MetricsRecorder recorder : recorders) {
+            recorder.recordValue(name, value, tags);
+        }
+    }
+
+    /**
+     * For each metrics recorder plugged into the SDK a counter is incremented.
+     *
+     * @param name Name of the metric.
+     * @param tags Alternating tag keys and values.
+     */
+    public static void increment(String name, String... tags) {
+        for (MetricsRecorder recorder : recorders) {
+            recorder.increment(name, tags);
+        }
+    }
+
+    /**
+     * Replaces the recorders plugged into the SDK, so that tests can install a recorder without registering it for
+     * every other test.
+     *
+     * @param replacement The recorders to use, none to disable metrics.
+     * @return The recorders that were replaced, to restore once done.
+     */
+    static MetricsRecorder[] setRecorders(MetricsRecorder... replacement) {
+        final MetricsRecorder[] replaced = recorders;
+        recorders = replacement;
+        return replaced;
+    }
+
+    private static MetricsRecorder[] loadRecorders() {
+        final List<MetricsRecorder> recorders = new ArrayList<>();
+        ServiceLoader.load(MetricsRecorder.class).forEach(recorders::add);
+        return recorders.toArray(new MetricsRecorder[0]);
+    }
+}
@@ -0,0 +1,41 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.core.implementation.metrics;
+
+/**
+ * Contract that all metrics recorders must implement to be plug-able into the SDK.
+ *
+ * The three kinds of measurements map onto the timer, distribution summary and counter meters of Micrometer, so an
+ * implementation can forward each call to a {@code MeterRegistry} unchanged. Tags are passed as alternating key and
+ * value pairs, in the same form accepted by {@code Tags.of(String...)}, and no tag value is ever null.
+ *
+ * Recorders are called on the threads that process requests and must not block.
+ */
+public interface MetricsRecorder {
+    /**
+     * Records the duration of an operation, for example in a timer or latency histogram.
+     *
+     * @param name Name of the metric.
+     * @param durationNanos Duration of the operation in nanoseconds.
+     * @param tags Alternating tag keys and values.
+     */
+    void recordDuration(String name, long durationNanos, String... tags);
+
+    /**
+     * Records a sample of a value distribution, for example a response size.
+     *
+     * @param name Name of the metric.
+     * @param value The sampled value.
+     * @param tags Alternating tag keys and values.
+     */
+    void recordValue(String name, double value, String... tags);
+
+    /**
+     * Increments a counter by one.
+     *
+     * @param name Name of the metric.
+     * @param tags Alternating tag keys and values.
+     */
+    void increment(String name, String... tags);
+}
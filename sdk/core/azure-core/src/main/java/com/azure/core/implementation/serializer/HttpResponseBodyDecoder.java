@@ -21,9 +21,14 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -33,6 +38,10 @@ import java.util.Set;
  * Decoder to decode body of HTTP response.
  */
 final class HttpResponseBodyDecoder {
+    // TODO: anuchan - unwrap OperationStatus a different way
+    // Resolved once, the class is only present when azure-core-management is on the classpath.
+    private static final Class<?> OPERATION_STATUS_CLASS = loadOperationStatusClass();
+
     /**
      * Decodes body of a http response.
      *
@@ -68,28 +77,65 @@ final class HttpResponseBodyDecoder {
             } else if (httpResponse.request().httpMethod() == HttpMethod.HEAD) {
                 // RFC: A response to a HEAD method should not have a body. If so, it must be ignored
                 return Mono.empty();
-            } else if (!isReturnTypeDecodable(decodeData)) {
+            }
+
+            final Type entityType = decodeData.decodedEntityType();
+            if (entityType == null) {
                 return Mono.empty();
+            }
+
+            final Type wireType = decodeData.returnValueWireType();
+            final SerializerEncoding encoding = SerializerEncoding.fromHeaders(httpResponse.headers());
+            final Charset charset = declaredCharset(httpResponse);
+            final Mono<Object> decodedEntity;
+            if (charset == null || charset.equals(StandardCharsets.UTF_8)) {
+                decodedEntity = deserializeBody(httpResponse.body(), entityType, wireType, serializer, encoding);
             } else {
-                return httpResponse.bodyAsString()
-                        .flatMap(bodyString -> {
-                            try {
-                                final Object decodedSuccessEntity = deserializeBody(bodyString,
-                                        extractEntityTypeFromReturnType(decodeData),
-                                        decodeData.returnValueWireType(),
-                                        serializer,
-                                        SerializerEncoding.fromHeaders(httpResponse.headers()));
-                                return decodedSuccessEntity == null ? Mono.empty() : Mono.just(decodedSuccessEntity);
-                            } catch (MalformedValueException e) {
-                                return Mono.error(new HttpResponseException("HTTP response has a malformed body.", httpResponse, e));
-                            } catch (IOException e) {
-                                return Mono.error(new HttpResponseException("Deserialization Failed.", httpResponse, e));
-                            }
-                        });
+                // The content is only deserialized as it arrives when it is UTF-8, decode other charsets first.
+                decodedEntity = httpResponse.bodyAsString(charset).flatMap(bodyString -> {
+                    try {
+                        return Mono.justOrEmpty(deserializeBody(bodyString, entityType, wireType, serializer,
+                            encoding));
+                    } catch (IOException e) {
+                        return Mono.error(new UncheckedIOException(e));
+                    }
+                });
             }
+            return decodedEntity
+                    .onErrorMap(MalformedValueException.class,
+                        e -> new HttpResponseException("HTTP response has a malformed body.", httpResponse, e))
+                    .onErrorMap(UncheckedIOException.class,
+                        e -> new HttpResponseException("Deserialization Failed.", httpResponse, e.getCause()));
         });
     }
 
+    /**
+     * Get the charset declared by the Content-Type header of a response.
+     *
+     * @param httpResponse the response
+     * @return the declared charset, or null if the response doesn't declare a supported charset
+     */
+    private static Charset declaredCharset(HttpResponse httpResponse) {
+        final String contentType = httpResponse.headerValue("Content-Type");
+        if (contentType == null) {
+            return null;
+        }
+
+        for (String parameter : contentType.split(";")) {
+            final int equals = parameter.indexOf('=');
+            if (equals > 0 && parameter.substring(0, equals).trim().equalsIgnoreCase("charset")) {
+                final String name = parameter.substring(equals + 1).trim().replace("\"", "");
+                try {
+                    return Charset.forName(name);
+                } catch (IllegalArgumentException ignored) {
+                    // An unknown charset is read as UTF-8.
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+
     /**
      * @return true if the body is decodable, false otherwise
      */
@@ -104,7 +150,7 @@ final class HttpResponseBodyDecoder {
             // RFC: A response to a HEAD method should not have a body. If so, it must be ignored
             return false;
         } else {
-            return isReturnTypeDecodable(decodeData);
+            return decodeData.decodedEntityType() != null;
         }
     }
 
@@ -121,13 +167,21 @@ final class HttpResponseBodyDecoder {
         } else if (httpResponse.request().httpMethod() == HttpMethod.HEAD) {
             // RFC: A response to a HEAD method should not have a body. If so, it must be ignored
             return null;
-        } else if (!isReturnTypeDecodable(decodeData)) {
-            return null;
         } else {
-            return extractEntityTypeFromReturnType(decodeData);
+            return decodeData.decodedEntityType();
         }
     }
 
+    /**
+     * Get the type of the entity the body of a successful response is deserialized to.
+     *
+     * @param returnType the return type of the java proxy method
+     * @return the entity type, null if the body of a successful response is not decoded
+     */
+    static Type decodedEntityType(Type returnType) {
+        return isReturnTypeDecodable(returnType) ? extractEntityTypeFromReturnType(returnType) : null;
+    }
+
     /**
      * Checks the response status code is considered as error.
      *
@@ -171,6 +225,31 @@ final class HttpResponseBodyDecoder {
         }
     }
 
+    /**
+     * Deserialize the given stream of bytes representing content of a REST API response as it arrives.
+     *
+     * This is the streaming counterpart of {@link #deserializeBody(String, Type, Type, SerializerAdapter,
+     * SerializerEncoding)}, the content is not collected into a String first.
+     *
+     * @param body the content to deserialize
+     * @param resultType the return type of the java proxy method
+     * @param wireType value of optional {@link ReturnValueWireType} annotation present in java proxy method indicating
+     *                 'entity type' (wireType) of REST API wire response body
+     * @param encoding the encoding format of the content
+     * @return publisher that emits the deserialized object, no emission if the content deserializes to null
+     */
+    private static Mono<Object> deserializeBody(Flux<ByteBuffer> body, Type resultType, Type wireType, SerializerAdapter serializer, SerializerEncoding encoding) {
+        if (wireType == null) {
+            return serializer.deserialize(body, resultType, encoding);
+        } else if (TypeUtil.isTypeOrSubTypeOf(wireType, Page.class)) {
+            return deserializePage(body, resultType, wireType, serializer, encoding);
+        } else {
+            final Type wireResponseType = constructWireResponseType(resultType, wireType);
+            return serializer.deserialize(body, wireResponseType, encoding)
+                    .map(wireResponse -> convertToResultType(wireResponse, resultType, wireType));
+        }
+    }
+
     /**
      * Given:
      * (1). the {@code java.lang.reflect.Type} (resultType) of java proxy method return value
@@ -247,6 +326,39 @@ final class HttpResponseBodyDecoder {
         return serializer.deserialize(value, wireResponseType, encoding);
     }
 
+    /**
+     * Streaming counterpart of {@link #deserializePage(String, Type, Type, SerializerAdapter, SerializerEncoding)}.
+     *
+     * When the page is deserialized as {@link ItemPage} from JSON, each item is deserialized as soon as it has
+     * been received so that only the content of a single item is buffered at any time rather than the whole page.
+     *
+     * @param body The content to deserialize
+     * @param resultType The type T, of the page contents.
+     * @param wireType The {@link Type} that either is, or implements {@link Page}
+     * @param serializer The serializer used to deserialize the value.
+     * @param encoding Encoding used to deserialize the content
+     * @return publisher that emits an object representing an instance of {@param wireType}
+     */
+    private static Mono<Object> deserializePage(Flux<ByteBuffer> body, Type resultType, Type wireType, SerializerAdapter serializer, SerializerEncoding encoding) {
+        if (wireType != Page.class || encoding != SerializerEncoding.JSON) {
+            return serializer.deserialize(body, wireType == Page.class
+                ? TypeUtil.createParameterizedType(ItemPage.class, resultType)
+                : wireType, encoding);
+        }
+
+        final List<Object> items = new ArrayList<>();
+        return serializer.<ItemPage<Object>>deserialize(body, TypeUtil.createParameterizedType(ItemPage.class, resultType),
+                ItemPage.ITEMS_PROPERTY_NAMES, resultType, items::add)
+                .map(page -> {
+                    // The items property is empty, rather than null, when it was present in the content. A
+                    // serializer that can't stream the items leaves them in the page and never adds to the list.
+                    if (page.items() != null && page.items().isEmpty()) {
+                        page.items(items);
+                    }
+                    return page;
+                });
+    }
+
     /**
      * Converts the object {@code wireResponse} that was deserialized using 'response body Type'
      * (produced by {@code constructWireResponseType(args)} method) to resultType.
@@ -351,22 +463,19 @@ final class HttpResponseBodyDecoder {
      *               {@code Flux<RestResponseBase<headers, Foo>> getFoos(args);}
      *          where Foo is the REST API return entity.
      *
+     * @param returnType the return type of the java proxy method
      * @return the entity type.
      */
-    private static Type extractEntityTypeFromReturnType(HttpResponseDecodeData decodeData) {
-        Type token = decodeData.returnType();
+    private static Type extractEntityTypeFromReturnType(Type returnType) {
+        Type token = returnType;
         if (token != null) {
             if (TypeUtil.isTypeOrSubTypeOf(token, Mono.class)) {
                 token = TypeUtil.getTypeArgument(token);
             } else if (TypeUtil.isTypeOrSubTypeOf(token, Flux.class)) {
                 Type t = TypeUtil.getTypeArgument(token);
-                try {
-                    // TODO: anuchan - unwrap OperationStatus a different way
-                    // Check for OperationStatus<?>
-                    if (TypeUtil.isTypeOrSubTypeOf(t, Class.forName("com.azure.core.management.implementation.OperationStatus"))) {
-                        token = t;
-                    }
-                } catch (ClassNotFoundException ignored) {
+                // Check for OperationStatus<?>
+                if (OPERATION_STATUS_CLASS != null && TypeUtil.isTypeOrSubTypeOf(t, OPERATION_STATUS_CLASS)) {
+                    token = t;
                 }
             }
 
@@ -375,8 +484,7 @@ final class HttpResponseBodyDecoder {
             }
 
             try {
-                // TODO: anuchan - unwrap OperationStatus a different way
-                if (TypeUtil.isTypeOrSubTypeOf(token, Class.forName("com.azure.core.management.implementation.OperationStatus"))) {
+                if (OPERATION_STATUS_CLASS != null && TypeUtil.isTypeOrSubTypeOf(token, OPERATION_STATUS_CLASS)) {
                     // Get Type of 'T' from OperationStatus<T>
                     token = TypeUtil.getTypeArgument(token);
                 }
@@ -386,14 +494,21 @@ final class HttpResponseBodyDecoder {
         return token;
     }
 
+    private static Class<?> loadOperationStatusClass() {
+        try {
+            return Class.forName("com.azure.core.management.implementation.OperationStatus");
+        } catch (ClassNotFoundException ignored) {
+            return null;
+        }
+    }
+
     /**
      * Checks the return type represents a decodable type.
      *
-     * @param decodeData the decode metadata
+     * @param returnType the return type of the java proxy method
      * @return true if decodable, false otherwise.
      */
-    private static boolean isReturnTypeDecodable(HttpResponseDecodeData decodeData) {
-        Type returnType = decodeData.returnType();
+    private static boolean isReturnTypeDecodable(Type returnType) {
         if (returnType == null) {
             return false;
         } else {
@@ -24,6 +24,18 @@ public interface HttpResponseDecodeData {
      */
     Type returnType();
 
+    /**
+     * Get the type of the entity the body of a successful response is deserialized to.
+     *
+     * The default implementation derives it from {@link #returnType()} on every call, implementations that decode many
+     * responses should compute it once.
+     *
+     * @return the entity type, null if the body of a successful response is not decoded
+     */
+    default Type decodedEntityType() {
+        return HttpResponseBodyDecoder.decodedEntityType(this.returnType());
+    }
+
     /**
      * Get the type of the entity to be used to deserialize 'Matching' headers.
      *
@@ -6,6 +6,8 @@ package com.azure.core.implementation.serializer;
 import com.azure.core.http.rest.Page;
 import com.fasterxml.jackson.annotation.JsonAlias;
 
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -23,6 +25,11 @@ import java.util.List;
  * @param <T> The type of the object stored within the {@link ItemPage} instance
  */
 class ItemPage<T> implements Page<T> {
+    /**
+     * The property names the items of a page can be stored under.
+     */
+    static final Collection<String> ITEMS_PROPERTY_NAMES = Arrays.asList("items", "value");
+
     @JsonAlias({"items", "value"})
     private List<T> items;
 
@@ -34,6 +41,15 @@ class ItemPage<T> implements Page<T> {
         return items;
     }
 
+    /**
+     * Sets the items of the page, used when the items are deserialized separately from the rest of the page.
+     *
+     * @param items the items of the page
+     */
+    void items(List<T> items) {
+        this.items = items;
+    }
+
     @Override
     public String nextLink() {
         return nextLink;
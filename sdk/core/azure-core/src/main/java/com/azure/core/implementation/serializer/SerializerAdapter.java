@@ -4,10 +4,18 @@
 package com.azure.core.implementation.serializer;
 
 import com.azure.core.implementation.CollectionFormat;
+import com.azure.core.implementation.util.FluxUtil;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * An interface defining the behaviors of a serializer.
@@ -53,4 +61,53 @@ public interface SerializerAdapter {
      * @throws IOException exception from deserialization
      */
     <U> U deserialize(String value, Type type, SerializerEncoding encoding) throws IOException;
+
+    /**
+     * Deserializes a stream of UTF-8 bytes into a {@link U} object. The content is deserialized as it arrives
+     * where the encoding allows it, without first collecting it into a single String.
+     *
+     * The default implementation collects the content into a String and deserializes it with
+     * {@link #deserialize(String, Type, SerializerEncoding)}.
+     *
+     * @param value the stream of bytes to deserialize
+     * @param <U> the type of the deserialized object
+     * @param type the type to deserialize
+     * @param encoding the encoding used in the serialized value
+     * @return a Mono that emits the deserialized object, or completes empty if the deserialized value is null.
+     * The Mono errors with a {@link MalformedValueException} if the value is malformed or with an
+     * {@link java.io.UncheckedIOException} if it cannot be deserialized into the type.
+     */
+    default <U> Mono<U> deserialize(Flux<ByteBuffer> value, Type type, SerializerEncoding encoding) {
+        return FluxUtil.collectBytesInByteBufferStream(value).flatMap(bytes -> {
+            try {
+                final U result = deserialize(new String(bytes, StandardCharsets.UTF_8), type, encoding);
+                return Mono.justOrEmpty(result);
+            } catch (IOException e) {
+                return Mono.error(new UncheckedIOException(e));
+            }
+        });
+    }
+
+    /**
+     * Deserializes a stream of UTF-8 JSON bytes into a {@link U} object, deserializing the elements of the named
+     * top-level array properties one at a time as soon as each of them has been received instead of
+     * buffering the whole array. The streamed array properties are empty in the deserialized object.
+     *
+     * The default implementation can't stream the arrays: it deserializes the whole content with
+     * {@link #deserialize(Flux, Type, SerializerEncoding)}, leaves the arrays in the deserialized object and never
+     * calls {@code elementConsumer}.
+     *
+     * @param value the stream of JSON bytes to deserialize
+     * @param <U> the type of the deserialized object
+     * @param type the type to deserialize the content into, the streamed array properties are left empty
+     * @param streamedArrayNames the names of the top-level array properties whose elements are streamed
+     * @param elementType the type of the elements of the streamed array properties
+     * @param elementConsumer the consumer that receives each element as it is deserialized
+     * @return a Mono that emits the deserialized object once the whole stream has been received, errors
+     * the same way as {@link #deserialize(Flux, Type, SerializerEncoding)}
+     */
+    default <U> Mono<U> deserialize(Flux<ByteBuffer> value, Type type, Collection<String> streamedArrayNames,
+                                    Type elementType, Consumer<Object> elementConsumer) {
+        return deserialize(value, type, SerializerEncoding.JSON);
+    }
 }
@@ -7,6 +7,7 @@ import com.azure.core.implementation.CollectionFormat;
 import com.azure.core.implementation.serializer.MalformedValueException;
 import com.azure.core.implementation.serializer.SerializerAdapter;
 import com.azure.core.implementation.serializer.SerializerEncoding;
+import com.azure.core.implementation.util.FluxUtil;
 import com.azure.core.util.logging.ClientLogger;
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.JsonInclude;
@@ -18,13 +19,21 @@ import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.dataformat.xml.XmlMapper;
 import com.fasterxml.jackson.dataformat.xml.ser.ToXmlGenerator;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.io.IOException;
 import java.io.StringWriter;
+import java.io.UncheckedIOException;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
 
 /**
  * Implementation of {@link SerializerAdapter} for Jackson.
@@ -163,6 +172,61 @@ public class JacksonAdapter implements SerializerAdapter {
         }
     }
 
+    @Override
+    public <T> Mono<T> deserialize(Flux<ByteBuffer> value, Type type, SerializerEncoding encoding) {
+        if (encoding == SerializerEncoding.XML) {
+            // The XML parser has no non-blocking mode, collect the content and deserialize it in one go.
+            return FluxUtil.collectBytesInByteBufferStream(value).flatMap(bytes -> {
+                try {
+                    final T result = deserialize(new String(bytes, StandardCharsets.UTF_8), type, encoding);
+                    return Mono.justOrEmpty(result);
+                } catch (IOException e) {
+                    return Mono.error(new UncheckedIOException(e));
+                }
+            });
+        }
+        return deserialize(value, () -> new JsonStreamingDecoder(serializer(), createJavaType(type)));
+    }
+
+    @Override
+    public <T> Mono<T> deserialize(Flux<ByteBuffer> value, Type type, Collection<String> streamedArrayNames,
+                                   Type elementType, Consumer<Object> elementConsumer) {
+        return deserialize(value, () -> new JsonStreamingDecoder(serializer(), createJavaType(type),
+            streamedArrayNames, createJavaType(elementType), elementConsumer));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Mono<T> deserialize(Flux<ByteBuffer> value, Callable<JsonStreamingDecoder> decoderSupplier) {
+        return Mono.using(decoderSupplier,
+            decoder -> value.handle((buffer, sink) -> {
+                try {
+                    decoder.feed(buffer);
+                } catch (IOException e) {
+                    sink.error(mapDeserializationException(e));
+                }
+            }).then(Mono.defer(() -> {
+                try {
+                    return Mono.justOrEmpty((T) decoder.complete());
+                } catch (IOException e) {
+                    return Mono.error(mapDeserializationException(e));
+                }
+            })),
+            decoder -> {
+                try {
+                    decoder.close();
+                } catch (IOException ignored) {
+                    // Closing the parser releases its buffers, there is nothing to recover.
+                }
+            });
+    }
+
+    private RuntimeException mapDeserializationException(IOException e) {
+        if (e instanceof JsonParseException) {
+            return logger.logExceptionAsError(new MalformedValueException(e.getMessage(), e));
+        }
+        return logger.logExceptionAsError(new UncheckedIOException(e));
+    }
+
     /**
      * Initializes an instance of JacksonMapperAdapter with default configurations
      * applied to the object mapper.
@@ -0,0 +1,199 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.core.implementation.serializer.jackson;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.function.Consumer;
+
+/**
+ * Deserializes a JSON document that arrives as a sequence of {@link ByteBuffer} chunks.
+ *
+ * Every chunk is fed to Jackson's non-blocking parser as it arrives and the parsed tokens are recorded in a
+ * {@link TokenBuffer}, so the body is never aggregated into a single byte array or String. Optionally the
+ * elements of top-level array properties are deserialized one at a time as soon as each element has been parsed
+ * and handed to a consumer, in that case only the tokens of a single element are buffered at any time and the
+ * array property appears as an empty array in the root value.
+ *
+ * Instances are not thread-safe, chunks must be fed serially.
+ */
+final class JsonStreamingDecoder implements Closeable {
+    private final ObjectMapper mapper;
+    private final JavaType type;
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+    private final TokenBuffer root;
+
+    private final Collection<String> streamedArrayNames;
+    private final JavaType elementType;
+    private final Consumer<Object> elementConsumer;
+
+    private byte[] scratch;
+    private int depth;
+    private boolean started;
+    private boolean rootComplete;
+
+    private String pendingFieldName;
+    private boolean inStreamedArray;
+    private TokenBuffer element;
+    private int elementDepth;
+
+    /**
+     * Creates a decoder that deserializes the whole document into the provided type.
+     *
+     * @param mapper the mapper used to deserialize values
+     * @param type the type of the document
+     * @throws IOException if the non-blocking parser cannot be created
+     */
+    JsonStreamingDecoder(ObjectMapper mapper, JavaType type) throws IOException {
+        this(mapper, type, Collections.emptySet(), null, null);
+    }
+
+    /**
+     * Creates a decoder that streams the elements of the named top-level array properties to a consumer.
+     *
+     * @param mapper the mapper used to deserialize values
+     * @param type the type of the document, in which the streamed array properties are empty
+     * @param streamedArrayNames the names of the top-level array properties to stream
+     * @param elementType the type of the elements of the streamed arrays
+     * @param elementConsumer the consumer that receives each element as it is deserialized
+     * @throws IOException if the non-blocking parser cannot be created
+     */
+    JsonStreamingDecoder(ObjectMapper mapper, JavaType type, Collection<String> streamedArrayNames,
+                         JavaType elementType, Consumer<Object> elementConsumer) throws IOException {
+        this.mapper = mapper;
+        this.type = type;
+        this.parser = mapper.getFactory().createNonBlockingByteArrayParser();
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+        this.root = new TokenBuffer(mapper, false);
+        this.streamedArrayNames = streamedArrayNames;
+        this.elementType = elementType;
+        this.elementConsumer = elementConsumer;
+    }
+
+    /**
+     * Parses the next chunk of the document. Once the root value is complete any further content is ignored.
+     *
+     * @param buffer the chunk, its position is not modified
+     * @throws IOException if the content is not valid JSON or an element cannot be deserialized
+     */
+    void feed(ByteBuffer buffer) throws IOException {
+        final int length = buffer.remaining();
+        if (rootComplete || length == 0) {
+            return;
+        }
+
+        if (buffer.hasArray()) {
+            final int start = buffer.arrayOffset() + buffer.position();
+            feeder.feedInput(buffer.array(), start, start + length);
+        } else {
+            // The parser consumes all of its input before the next feed, so a single scratch array is reused.
+            if (scratch == null || scratch.length < length) {
+                scratch = new byte[Math.max(length, 8 * 1024)];
+            }
+            buffer.duplicate().get(scratch, 0, length);
+            feeder.feedInput(scratch, 0, length);
+        }
+        drain();
+    }
+
+    /**
+     * Signals the end of the document and deserializes the root value.
+     *
+     * @return the deserialized root value, or null if the document was empty
+     * @throws IOException if the document is incomplete or cannot be deserialized
+     */
+    Object complete() throws IOException {
+        if (!rootComplete) {
+            feeder.endOfInput();
+            drain();
+        }
+        if (!started) {
+            return null;
+        }
+        return mapper.readValue(root.asParser(mapper), type);
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+
+    private void drain() throws IOException {
+        while (!rootComplete) {
+            final JsonToken token = parser.nextToken();
+            if (token == null || token == JsonToken.NOT_AVAILABLE) {
+                return;
+            }
+
+            started = true;
+            if (inStreamedArray) {
+                onElementToken(token);
+            } else {
+                onRootToken(token);
+            }
+        }
+    }
+
+    private void onRootToken(JsonToken token) throws IOException {
+        if (pendingFieldName != null) {
+            if (token == JsonToken.START_ARRAY) {
+                // The elements go to the consumer, the root value only records that the array was present.
+                root.writeFieldName(pendingFieldName);
+                root.writeStartArray();
+                root.writeEndArray();
+                pendingFieldName = null;
+                inStreamedArray = true;
+                return;
+            }
+            // Not an array after all, keep the property as part of the root value.
+            root.writeFieldName(pendingFieldName);
+            pendingFieldName = null;
+        } else if (token == JsonToken.FIELD_NAME && depth == 1 && streamedArrayNames.contains(parser.getCurrentName())) {
+            pendingFieldName = parser.getCurrentName();
+            return;
+        }
+
+        root.copyCurrentEvent(parser);
+        if (token.isStructStart()) {
+            depth++;
+        } else if (token.isStructEnd()) {
+            depth--;
+        }
+        rootComplete = depth == 0;
+    }
+
+    private void onElementToken(JsonToken token) throws IOException {
+        if (element == null) {
+            if (token == JsonToken.END_ARRAY) {
+                inStreamedArray = false;
+                return;
+            }
+            element = new TokenBuffer(mapper, false);
+        }
+
+        element.copyCurrentEvent(parser);
+        if (token.isStructStart()) {
+            elementDepth++;
+        } else if (token.isStructEnd()) {
+            elementDepth--;
+        }
+
+        if (elementDepth == 0) {
+            final TokenBuffer completed = element;
+            element = null;
+            elementConsumer.accept(mapper.readValue(completed.asParser(mapper), elementType));
+        }
+    }
+}
@@ -0,0 +1,81 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.core.implementation.util;
+
+import reactor.core.CoreSubscriber;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * A {@link Flux} that reads a segment of a file, opening the file on every subscription.
+ *
+ * Besides emitting the content of the segment, the Flux exposes the file, offset and length of the segment so that
+ * an HTTP client capable of zero-copy file transfer (e.g. Netty's FileRegion) can send the segment directly from the
+ * file instead of subscribing to the Flux.
+ */
+public final class FileSegmentFlux extends Flux<ByteBuffer> {
+    private final Path file;
+    private final int chunkSize;
+    private final long offset;
+    private final long length;
+
+    /**
+     * Creates a FileSegmentFlux.
+     *
+     * @param file the file to read
+     * @param chunkSize the size of the chunks emitted when the Flux is subscribed to
+     * @param offset the offset in the file where the segment starts
+     * @param length the number of bytes in the segment
+     */
+    FileSegmentFlux(Path file, int chunkSize, long offset, long length) {
+        this.file = Objects.requireNonNull(file);
+        this.chunkSize = chunkSize;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * @return the file the segment is read from
+     */
+    public Path file() {
+        return file;
+    }
+
+    /**
+     * @return the offset in the file where the segment starts
+     */
+    public long offset() {
+        return offset;
+    }
+
+    /**
+     * @return the number of bytes in the segment
+     */
+    public long length() {
+        return length;
+    }
+
+    @Override
+    public void subscribe(CoreSubscriber<? super ByteBuffer> actual) {
+        Flux.using(() -> AsynchronousFileChannel.open(file, StandardOpenOption.READ),
+            channel -> FluxUtil.readFile(channel, chunkSize, offset, length),
+            FileSegmentFlux::closeChannel)
+            .subscribe(actual);
+    }
+
+    private static void closeChannel(AsynchronousFileChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw Exceptions.propagate(e);
+        }
+    }
+}
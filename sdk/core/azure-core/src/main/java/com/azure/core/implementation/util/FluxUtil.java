@@ -18,6 +18,7 @@ import java.lang.reflect.Type;
 import java.nio.ByteBuffer;
 import java.nio.channels.AsynchronousFileChannel;
 import java.nio.channels.CompletionHandler;
+import java.nio.file.Path;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
@@ -264,6 +265,22 @@ public final class FluxUtil {
         }
     }
 
+    /**
+     * Creates a {@link Flux} which reads part of a file, the file is opened when the Flux is subscribed to and closed
+     * once the part has been read.
+     *
+     * The returned Flux is a {@link FileSegmentFlux}, HTTP clients that support zero-copy file transfer can use it to
+     * send the part directly from the file.
+     *
+     * @param file The file to read.
+     * @param offset The offset in the file to begin reading.
+     * @param length The number of bytes to read from the file.
+     * @return the Flux.
+     */
+    public static Flux<ByteBuffer> readFile(Path file, long offset, long length) {
+        return new FileSegmentFlux(file, DEFAULT_CHUNK_SIZE, offset, length);
+    }
+
     private static final int DEFAULT_CHUNK_SIZE = 1024 * 64;
 
     private static final class FileReadFlux extends Flux<ByteBuffer> {
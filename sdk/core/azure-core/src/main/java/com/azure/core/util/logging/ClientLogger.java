@@ -35,26 +35,6 @@ import java.util.Objects;
 public class ClientLogger {
     private final Logger logger;
 
-    /*
-     * Indicate that log level is at verbose level.
-     */
-    private static final int VERBOSE_LEVEL = 1;
-
-    /*
-     * Indicate that log level is at information level.
-     */
-    private static final int INFORMATIONAL_LEVEL = 2;
-
-    /*
-     * Indicate that log level is at warning level.
-     */
-    private static final int WARNING_LEVEL = 3;
-
-    /*
-     * Indicate that log level is at error level.
-     */
-    private static final int ERROR_LEVEL = 4;
-
     /*
      * Indicate that logging is disabled.
      */
@@ -90,7 +70,7 @@ public class ClientLogger {
      * @param args Arguments for the message, if an exception is being logged last argument is the throwable.
      */
     public void verbose(String format, Object... args) {
-        log(VERBOSE_LEVEL, format, args);
+        log(LogLevel.VERBOSE, format, args);
     }
 
     /**
@@ -105,7 +85,7 @@ public class ClientLogger {
      * @param args Arguments for the message, if an exception is being logged last argument is the throwable.
      */
     public void info(String format, Object... args) {
-        log(INFORMATIONAL_LEVEL, format, args);
+        log(LogLevel.INFORMATIONAL, format, args);
     }
 
     /**
@@ -120,7 +100,7 @@ public class ClientLogger {
      * @param args Arguments for the message, if an exception is being logged last argument is the throwable.
      */
     public void warning(String format, Object... args) {
-        log(WARNING_LEVEL, format, args);
+        log(LogLevel.WARNING, format, args);
     }
 
     /**
@@ -135,7 +115,7 @@ public class ClientLogger {
      * @param args Arguments for the message, if an exception is being logged last argument is the throwable.
      */
     public void error(String format, Object... args) {
-        log(ERROR_LEVEL, format, args);
+        log(LogLevel.ERROR, format, args);
     }
 
     /*
@@ -145,7 +125,7 @@ public class ClientLogger {
      * @param format The formattable message to log
      * @param args Arguments for the message, if an exception is being logged last argument is the throwable.
      */
-    private void log(int logLevel, String format, Object... args) {
+    private void log(LogLevel logLevel, String format, Object... args) {
         if (canLogAtLevel(logLevel)) {
             performLogging(logLevel, format, args);
         }
@@ -159,7 +139,7 @@ public class ClientLogger {
      * @throws NullPointerException If {@code runtimeException} is {@code null}.
      */
     public RuntimeException logExceptionAsWarning(RuntimeException runtimeException) {
-        return logException(runtimeException, WARNING_LEVEL);
+        return logException(runtimeException, LogLevel.WARNING);
     }
 
     /**
@@ -170,10 +150,10 @@ public class ClientLogger {
      * @throws NullPointerException If {@code runtimeException} is {@code null}.
      */
     public RuntimeException logExceptionAsError(RuntimeException runtimeException) {
-        return logException(runtimeException, ERROR_LEVEL);
+        return logException(runtimeException, LogLevel.ERROR);
     }
 
-    private RuntimeException logException(RuntimeException runtimeException, int logLevel) {
+    private RuntimeException logException(RuntimeException runtimeException, LogLevel logLevel) {
         Objects.requireNonNull(runtimeException);
 
         // Only log if the level is enabled.
@@ -190,23 +170,23 @@ public class ClientLogger {
      * @param format formattable message.
      * @param args Arguments for the message, if an exception is being logged last argument is the throwable.
      */
-    private void performLogging(int logLevel, String format, Object... args) {
+    private void performLogging(LogLevel logLevel, String format, Object... args) {
         // If the logging level is less granular than verbose remove the potential throwable from the args.
-        if (logLevel > VERBOSE_LEVEL) {
+        if (logLevel != LogLevel.VERBOSE) {
             args = attemptToRemoveThrowable(args);
         }
 
         switch (logLevel) {
-            case VERBOSE_LEVEL:
+            case VERBOSE:
                 logger.debug(format, args);
                 break;
-            case INFORMATIONAL_LEVEL:
+            case INFORMATIONAL:
                 logger.info(format, args);
                 break;
-            case WARNING_LEVEL:
+            case WARNING:
                 logger.warn(format, args);
                 break;
-            case ERROR_LEVEL:
+            case ERROR:
                 logger.error(format, args);
                 break;
             default:
@@ -215,26 +195,32 @@ public class ClientLogger {
         }
     }
 
-    /*
-     * Helper method that determines if logging is enabled at a given level.
-     * @param level Logging level
-     * @return True if the logging level is higher than the minimum logging level and if logging is enabled at the given level.
+    /**
+     * Determines if messages logged at the given level are written. Checking the level first allows callers to skip
+     * building log messages, and inspecting the data they describe, when they would be dropped.
+     *
+     * @param logLevel The log level to check.
+     * @return true if the minimum logging level and the underlying logger allow logging at the given level.
      */
-    private boolean canLogAtLevel(int level) {
+    public boolean canLogAtLevel(LogLevel logLevel) {
+        if (logLevel == null) {
+            return false;
+        }
+
         // Check the configuration level every time the logger is called in case it has changed.
         int configurationLevel = ConfigurationManager.getConfiguration().get(BaseConfigurations.AZURE_LOG_LEVEL, DISABLED_LEVEL);
-        if (level < configurationLevel) {
+        if (logLevel.value() < configurationLevel) {
             return false;
         }
 
-        switch (level) {
-            case VERBOSE_LEVEL:
+        switch (logLevel) {
+            case VERBOSE:
                 return logger != null && logger.isDebugEnabled();
-            case INFORMATIONAL_LEVEL:
+            case INFORMATIONAL:
                 return logger != null && logger.isInfoEnabled();
-            case WARNING_LEVEL:
+            case WARNING:
                 return logger != null && logger.isWarnEnabled();
-            case ERROR_LEVEL:
+            case ERROR:
                 return logger != null && logger.isErrorEnabled();
             default:
                 return false;
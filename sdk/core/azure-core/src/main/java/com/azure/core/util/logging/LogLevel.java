@@ -0,0 +1,40 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.core.util.logging;
+
+/**
+ * The levels at which a {@link ClientLogger} logs messages, from the most to the least granular. The value of each
+ * level is the one used to set the minimum level with the {@code AZURE_LOG_LEVEL} configuration.
+ */
+public enum LogLevel {
+    /**
+     * Messages logged with {@link ClientLogger#verbose(String, Object...)}.
+     */
+    VERBOSE(1),
+
+    /**
+     * Messages logged with {@link ClientLogger#info(String, Object...)}.
+     */
+    INFORMATIONAL(2),
+
+    /**
+     * Messages logged with {@link ClientLogger#warning(String, Object...)}.
+     */
+    WARNING(3),
+
+    /**
+     * Messages logged with {@link ClientLogger#error(String, Object...)}.
+     */
+    ERROR(4);
+
+    private final int value;
+
+    LogLevel(int value) {
+        this.value = value;
+    }
+
+    int value() {
+        return value;
+    }
+}
@@ -79,6 +79,51 @@ public class TokenCacheTests {
         Assert.assertTrue(refreshes.get() <= 11);
     }
 
+    @Test
+    public void testRefreshesInBackgroundWithinRefreshWindow() {
+        AtomicInteger refreshes = new AtomicInteger(0);
+
+        // Tokens are valid for 5 seconds and enter the refresh window one second after they are issued.
+        SimpleTokenCache cache = new SimpleTokenCache(() -> {
+            refreshes.incrementAndGet();
+            return remoteGetTokenAsync(500);
+        }, Duration.ofMillis(4000));
+
+        AccessToken first = cache.getToken().block();
+        Assert.assertSame(first, cache.getToken().block());
+        Assert.assertEquals(1, refreshes.get());
+
+        Mono.delay(Duration.ofMillis(1100)).block();
+
+        // The cached token is served without waiting for the background refresh.
+        OffsetDateTime start = OffsetDateTime.now();
+        Assert.assertSame(first, cache.getToken().block());
+        Assert.assertSame(first, cache.getToken().block());
+        Assert.assertTrue(Duration.between(start, OffsetDateTime.now()).toMillis() < 500);
+        Assert.assertEquals(2, refreshes.get());
+
+        Mono.delay(Duration.ofMillis(1000)).block();
+        Assert.assertNotSame(first, cache.getToken().block());
+        Assert.assertEquals(2, refreshes.get());
+    }
+
+    @Test
+    public void testFailedBackgroundRefreshKeepsServingCachedToken() {
+        AtomicInteger refreshes = new AtomicInteger(0);
+
+        SimpleTokenCache cache = new SimpleTokenCache(() -> refreshes.getAndIncrement() == 0
+            ? remoteGetTokenAsync(0)
+            : Mono.error(new IllegalStateException("unavailable")), Duration.ofMillis(4900));
+
+        AccessToken first = cache.getToken().block();
+        Mono.delay(Duration.ofMillis(200)).block();
+        for (int i = 0; i < 10; i++) {
+            Assert.assertSame(first, cache.getToken().block());
+        }
+        // The failed refresh backs off instead of being retried on every call.
+        Assert.assertEquals(2, refreshes.get());
+    }
+
     private Mono<AccessToken> remoteGetTokenAsync(long delayInMillis) {
         return Mono.delay(Duration.ofMillis(delayInMillis))
             .map(l -> new Token(Integer.toString(RANDOM.nextInt(100))));
@@ -5,8 +5,12 @@ package com.azure.core.http;
 
 import org.junit.Test;
 
+import java.util.Iterator;
+
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
 public class HttpHeadersTests {
     @Test
@@ -31,4 +35,50 @@ public class HttpHeadersTests {
         headers.put("a", null);
         assertNull(headers.value("a"));
     }
+
+    @Test
+    public void testCaseInsensitiveNames() {
+        final HttpHeaders headers = new HttpHeaders()
+            .put("Content-Type", "application/json")
+            .put("x-ms-Custom", "a");
+
+        assertEquals("application/json", headers.value("content-type"));
+        assertEquals("application/json", headers.value("CONTENT-TYPE"));
+        assertEquals("a", headers.value("X-MS-CUSTOM"));
+        assertNull(headers.value("Content-Length"));
+
+        headers.put("CONTENT-TYPE", "text/plain");
+        assertEquals(2, headers.size());
+        assertEquals("CONTENT-TYPE", headers.get("content-type").name());
+        assertEquals("text/plain", headers.value("Content-Type"));
+    }
+
+    @Test
+    public void testIterationOrderSurvivesGrowth() {
+        final HttpHeaders headers = new HttpHeaders();
+        for (int i = 0; i < 100; ++i) {
+            headers.put("header-" + i, Integer.toString(i));
+        }
+        headers.put("HEADER-0", "replaced");
+
+        assertEquals(100, headers.size());
+        final Iterator<HttpHeader> iterator = headers.iterator();
+        assertEquals("replaced", iterator.next().value());
+        for (int i = 1; i < 100; ++i) {
+            final HttpHeader header = iterator.next();
+            assertEquals("header-" + i, header.name());
+            assertEquals(Integer.toString(i), header.value());
+            assertEquals(Integer.toString(i), headers.value("Header-" + i));
+        }
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    public void testWellKnownNamesAreShared() {
+        final String name = new String("Content-Length".toCharArray());
+        final HttpHeaders headers = new HttpHeaders().put(name, "10");
+
+        assertSame("Content-Length", headers.get("content-length").name());
+        assertEquals(1, headers.toMap().size());
+    }
 }
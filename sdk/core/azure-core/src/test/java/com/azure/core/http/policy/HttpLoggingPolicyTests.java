@@ -0,0 +1,160 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.core.http.policy;
+
+import com.azure.core.http.HttpHeaders;
+import com.azure.core.http.HttpMethod;
+import com.azure.core.http.HttpPipeline;
+import com.azure.core.http.HttpPipelineBuilder;
+import com.azure.core.http.HttpRequest;
+import com.azure.core.http.HttpResponse;
+import com.azure.core.http.MockHttpResponse;
+import com.azure.core.http.clients.NoOpHttpClient;
+import com.azure.core.implementation.util.FluxUtil;
+import com.azure.core.util.configuration.BaseConfigurations;
+import com.azure.core.util.configuration.ConfigurationManager;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Arrays;
+
+public class HttpLoggingPolicyTests {
+    private static final byte[] BODY = new byte[20 * 1024];
+
+    static {
+        Arrays.fill(BODY, (byte) 'a');
+    }
+
+    @After
+    public void resetLogLevel() {
+        ConfigurationManager.getConfiguration().remove(BaseConfigurations.AZURE_LOG_LEVEL);
+    }
+
+    @Test
+    public void bodiesLargerThanThePreviewPassThroughUnchanged() throws Exception {
+        ConfigurationManager.getConfiguration().put(BaseConfigurations.AZURE_LOG_LEVEL, "2");
+
+        final HttpPipeline pipeline = new HttpPipelineBuilder()
+            .httpClient(new EchoHttpClient(1))
+            .policies(new RetryPolicy(new FixedDelay(1, Duration.ZERO)),
+                new HttpLoggingPolicy(HttpLogDetailLevel.BODY_AND_HEADERS))
+            .build();
+
+        HttpRequest request = new HttpRequest(HttpMethod.PUT, new URL("http://localhost/"))
+            .header("Content-Type", "text/plain")
+            .header("Content-Length", String.valueOf(BODY.length))
+            .body(Flux.defer(() ->
+                Flux.just(ByteBuffer.wrap(BODY, 0, 1024), ByteBuffer.wrap(BODY, 1024, BODY.length - 1024))));
+
+        HttpResponse response = pipeline.send(request).block();
+
+        Assert.assertEquals(200, response.statusCode());
+        Assert.assertArrayEquals(BODY, response.bodyAsByteArray().block());
+    }
+
+    @Test
+    public void responseIsNotWrappedWhenLoggingIsDisabled() throws Exception {
+        final EchoHttpClient httpClient = new EchoHttpClient(0);
+        final HttpPipeline pipeline = new HttpPipelineBuilder()
+            .httpClient(httpClient)
+            .policies(new HttpLoggingPolicy(HttpLogDetailLevel.BODY_AND_HEADERS))
+            .build();
+
+        Flux<ByteBuffer> body = Flux.just(ByteBuffer.wrap(BODY));
+        HttpRequest request = new HttpRequest(HttpMethod.PUT, new URL("http://localhost/"))
+            .header("Content-Type", "text/plain")
+            .body(body);
+
+        HttpResponse response = pipeline.send(request).block();
+
+        Assert.assertSame(body, request.body());
+        Assert.assertSame(httpClient.lastResponse, response);
+    }
+
+    @Test
+    public void callersRequestIsNotModified() throws Exception {
+        ConfigurationManager.getConfiguration().put(BaseConfigurations.AZURE_LOG_LEVEL, "2");
+
+        final HttpPipeline pipeline = new HttpPipelineBuilder()
+            .httpClient(new EchoHttpClient(1))
+            .policies(new RetryPolicy(new FixedDelay(1, Duration.ZERO)),
+                new HttpLoggingPolicy(HttpLogDetailLevel.BODY_AND_HEADERS))
+            .build();
+
+        Flux<ByteBuffer> body = Flux.defer(() -> Flux.just(ByteBuffer.wrap(BODY)));
+        HttpRequest request = new HttpRequest(HttpMethod.PUT, new URL("http://localhost/"))
+            .header("Content-Type", "text/plain")
+            .body(body);
+
+        HttpResponse response = pipeline.send(request).block();
+
+        Assert.assertEquals(200, response.statusCode());
+        Assert.assertSame(body, request.body());
+    }
+
+    @Test
+    public void responseWithMoreInterfacesIsNotWrapped() throws Exception {
+        ConfigurationManager.getConfiguration().put(BaseConfigurations.AZURE_LOG_LEVEL, "2");
+
+        final HttpPipeline pipeline = new HttpPipelineBuilder()
+            .httpClient(new NoOpHttpClient() {
+                @Override
+                public Mono<HttpResponse> send(HttpRequest request) {
+                    return Mono.just(new RunnableHttpResponse(request));
+                }
+            })
+            .policies(new HttpLoggingPolicy(HttpLogDetailLevel.BODY_AND_HEADERS))
+            .build();
+
+        HttpResponse response = pipeline.send(new HttpRequest(HttpMethod.GET, new URL("http://localhost/")))
+            .block();
+
+        Assert.assertTrue(response instanceof RunnableHttpResponse);
+    }
+
+    /*
+     * A response with a capability beyond HttpResponse.
+     */
+    private static final class RunnableHttpResponse extends MockHttpResponse implements Runnable {
+        private RunnableHttpResponse(HttpRequest request) {
+            super(request, 200, new HttpHeaders().put("Content-Type", "text/plain"), BODY);
+        }
+
+        @Override
+        public void run() {
+        }
+    }
+
+    /*
+     * Fails the first tries with a 503, then answers with the request body.
+     */
+    private static final class EchoHttpClient extends NoOpHttpClient {
+        private int failures;
+        private HttpResponse lastResponse;
+
+        private EchoHttpClient(int failures) {
+            this.failures = failures;
+        }
+
+        @Override
+        public Mono<HttpResponse> send(HttpRequest request) {
+            return FluxUtil.collectBytesInByteBufferStream(request.body()).map(bytes -> {
+                Assert.assertArrayEquals(BODY, bytes);
+                if (failures-- > 0) {
+                    lastResponse = new MockHttpResponse(request, 503);
+                } else {
+                    lastResponse = new MockHttpResponse(request, 200,
+                        new HttpHeaders().put("Content-Type", "text/plain"), bytes);
+                }
+                return lastResponse;
+            });
+        }
+    }
+}
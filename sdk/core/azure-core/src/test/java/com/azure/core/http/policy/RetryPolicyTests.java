@@ -3,6 +3,7 @@
 
 package com.azure.core.http.policy;
 
+import com.azure.core.http.HttpHeaders;
 import com.azure.core.http.HttpMethod;
 import com.azure.core.http.HttpPipeline;
 import com.azure.core.http.HttpPipelineBuilder;
@@ -12,11 +13,17 @@ import com.azure.core.http.MockHttpResponse;
 import com.azure.core.http.clients.NoOpHttpClient;
 import org.junit.Assert;
 import org.junit.Test;
+import reactor.core.Exceptions;
 import reactor.core.publisher.Mono;
 
+import java.io.IOException;
 import java.net.URL;
 import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class RetryPolicyTests {
     @Test
@@ -63,4 +70,126 @@ public class RetryPolicyTests {
 
         Assert.assertEquals(500, response.statusCode());
     }
+
+    @Test
+    public void retryBudgetStopsRetries() throws Exception {
+        final AtomicInteger sends = new AtomicInteger();
+        final HttpPipeline pipeline = new HttpPipelineBuilder()
+            .httpClient(new NoOpHttpClient() {
+                @Override
+                public Mono<HttpResponse> send(HttpRequest request) {
+                    sends.incrementAndGet();
+                    return Mono.just(new MockHttpResponse(request, 503));
+                }
+            })
+            .policies(new RetryPolicy(new FixedDelay(3, Duration.ZERO), new RetryBudget(4, 0.1)))
+            .build();
+
+        HttpRequest request = new HttpRequest(HttpMethod.GET, new URL("http://localhost/"));
+        Assert.assertEquals(503, pipeline.send(request).block().statusCode());
+        Assert.assertEquals(4, sends.get());
+
+        // Only one token is left in the budget, so the second request is retried once.
+        Assert.assertEquals(503, pipeline.send(request).block().statusCode());
+        Assert.assertEquals(6, sends.get());
+
+        // The budget is exhausted, no more retries.
+        Assert.assertEquals(503, pipeline.send(request).block().statusCode());
+        Assert.assertEquals(7, sends.get());
+    }
+
+    @Test
+    public void errorOfARetryIsNotRetriedAgainByThePreviousAttempt() throws Exception {
+        final AtomicInteger sends = new AtomicInteger();
+        final RetryBudget budget = new RetryBudget(5, 0.1);
+        final HttpPipeline pipeline = new HttpPipelineBuilder()
+            .httpClient(new NoOpHttpClient() {
+                @Override
+                public Mono<HttpResponse> send(HttpRequest request) {
+                    // A 503, then a connection error, then a success that must never be reached
+                    switch (sends.incrementAndGet()) {
+                        case 1:
+                            return Mono.just(new MockHttpResponse(request, 503));
+                        case 2:
+                            return Mono.error(new IOException("test-connection-reset"));
+                        default:
+                            return Mono.just(new MockHttpResponse(request, 200));
+                    }
+                }
+            })
+            .policies(new RetryPolicy(new FixedDelay(1, Duration.ZERO), budget))
+            .build();
+
+        try {
+            pipeline.send(new HttpRequest(HttpMethod.GET, new URL("http://localhost/"))).block();
+            Assert.fail("Expected the connection error of the retry.");
+        } catch (RuntimeException e) {
+            Assert.assertTrue(Exceptions.unwrap(e) instanceof IOException);
+        }
+        Assert.assertEquals(2, sends.get());
+
+        // A single retry took a single token
+        int tokensLeft = 0;
+        while (budget.tryAcquire()) {
+            tokensLeft++;
+        }
+        Assert.assertEquals(4, tokensLeft);
+    }
+
+    @Test
+    public void callersRequestIsNotModifiedWithoutRetries() throws Exception {
+        final HttpPipeline pipeline = new HttpPipelineBuilder()
+            .httpClient(new NoOpHttpClient() {
+                @Override
+                public Mono<HttpResponse> send(HttpRequest request) {
+                    return Mono.just(new MockHttpResponse(request, 200));
+                }
+            })
+            .policies(new RetryPolicy(new FixedDelay(0, Duration.ZERO)),
+                (context, next) -> {
+                    context.httpRequest().header("x-ms-test", "modified");
+                    return next.process();
+                })
+            .build();
+
+        final HttpRequest request = new HttpRequest(HttpMethod.GET, new URL("http://localhost/"));
+        Assert.assertEquals(200, pipeline.send(request).block().statusCode());
+        Assert.assertNull(request.headers().value("x-ms-test"));
+    }
+
+    @Test
+    public void exponentialBackoffDelayIsBoundedAndJittered() {
+        final ExponentialBackoff backoff = new ExponentialBackoff(10, Duration.ofMillis(100), Duration.ofSeconds(1));
+        for (int attempt = 0; attempt < 10; attempt++) {
+            final long ceiling = Math.min(1000, 100L << attempt);
+            for (int i = 0; i < 100; i++) {
+                final long delay = backoff.calculateRetryDelay(attempt).toMillis();
+                Assert.assertTrue(delay >= 0 && delay <= ceiling);
+            }
+        }
+    }
+
+    @Test
+    public void retryAfterHeaders() {
+        final OffsetDateTime now = OffsetDateTime.of(2019, 8, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+
+        Assert.assertEquals(Duration.ofMillis(1500), RetryPolicy.retryAfter(response("retry-after-ms", "1500"), now));
+        Assert.assertEquals(Duration.ofMillis(20), RetryPolicy.retryAfter(response("x-ms-retry-after-ms", "20"), now));
+        Assert.assertEquals(Duration.ofSeconds(120), RetryPolicy.retryAfter(response("Retry-After", "120"), now));
+        Assert.assertEquals(Duration.ofSeconds(30), RetryPolicy.retryAfter(response("Retry-After",
+            DateTimeFormatter.RFC_1123_DATE_TIME.format(now.plusSeconds(30))), now));
+        Assert.assertEquals(Duration.ZERO, RetryPolicy.retryAfter(response("Retry-After",
+            DateTimeFormatter.RFC_1123_DATE_TIME.format(now.minusSeconds(30))), now));
+        Assert.assertNull(RetryPolicy.retryAfter(response("Retry-After", "soon"), now));
+        Assert.assertNull(RetryPolicy.retryAfter(response("x-ms-other", "1"), now));
+    }
+
+    private static HttpResponse response(String headerName, String headerValue) {
+        try {
+            return new MockHttpResponse(new HttpRequest(HttpMethod.GET, new URL("http://localhost/")), 503,
+                new HttpHeaders().put(headerName, headerValue));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
@@ -0,0 +1,130 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.core.implementation;
+
+import com.azure.core.http.HttpHeaders;
+import com.azure.core.http.HttpMethod;
+import com.azure.core.http.HttpRequest;
+import com.azure.core.http.rest.Response;
+import com.azure.core.http.rest.ResponseBase;
+import com.azure.core.implementation.annotation.Get;
+import com.azure.core.implementation.annotation.HostParam;
+import com.azure.core.implementation.annotation.PathParam;
+import com.azure.core.implementation.http.UrlBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compares the reflective per-call work RestProxy used to do for every invocation with the
+ * precomputed invocation data that is now cached per SwaggerMethodParser.
+ *
+ * Run with: {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.azure.core.implementation.RestProxyBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RestProxyBenchmark {
+    interface BenchmarkService {
+        @Get("{container}/{blob}")
+        void getBlob(@HostParam("accountName") String accountName, @PathParam("container") String container,
+                     @PathParam("blob") String blob);
+    }
+
+    private final ResponseConstructorsCache cache = new ResponseConstructorsCache();
+    private SwaggerMethodParser methodParser;
+    private Object[] arguments;
+    private HttpRequest request;
+    private HttpHeaders headers;
+
+    @Setup
+    public void setup() throws Exception {
+        Method method = BenchmarkService.class.getDeclaredMethods()[0];
+        methodParser = new SwaggerMethodParser(method, "https://{accountName}.blob.core.windows.net", "Storage");
+        arguments = new Object[] { "account", "container", "blob name" };
+        request = new HttpRequest(HttpMethod.GET, new URL("https://account.blob.core.windows.net/container/blob"));
+        headers = new HttpHeaders();
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public Object reflectiveResponseConstructor() throws Exception {
+        List<Constructor<?>> constructors = Arrays.stream(ResponseBase.class.getDeclaredConstructors())
+            .filter(constructor -> {
+                int paramCount = constructor.getParameterCount();
+                return paramCount >= 3 && paramCount <= 5;
+            })
+            .sorted(Comparator.comparingInt(Constructor::getParameterCount))
+            .collect(Collectors.toList());
+        Constructor<? extends Response<?>> ctor = (Constructor<? extends Response<?>>) constructors.get(0);
+        return ctor.newInstance(request, 200, headers, "body", null);
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public Object cachedResponseConstructor() {
+        return cache.get((Class<? extends Response<?>>) (Object) ResponseBase.class)
+            .invoke(request, 200, headers, "body", null);
+    }
+
+    @Benchmark
+    public String formattedSpanName() {
+        return String.format("Azure.%s/%s", "Storage", "getBlob");
+    }
+
+    @Benchmark
+    public String precomputedSpanName() {
+        return methodParser.spanName();
+    }
+
+    @Benchmark
+    public String parsedUrl() {
+        final String path = methodParser.path(arguments);
+        final UrlBuilder pathUrlBuilder = UrlBuilder.parse(path);
+        if (pathUrlBuilder.scheme() != null) {
+            return pathUrlBuilder.toString();
+        }
+
+        final UrlBuilder urlBuilder = new UrlBuilder()
+            .scheme(methodParser.scheme(arguments))
+            .host(methodParser.host(arguments));
+        urlBuilder.path(path);
+        return urlBuilder.toString();
+    }
+
+    @Benchmark
+    public String templatedUrl() {
+        final UrlBuilder urlBuilder = new UrlBuilder();
+        methodParser.setSchemeAndHost(arguments, urlBuilder);
+        urlBuilder.path(methodParser.path(arguments));
+        return urlBuilder.toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RestProxyBenchmark.class.getSimpleName()).build()).run();
+    }
+}
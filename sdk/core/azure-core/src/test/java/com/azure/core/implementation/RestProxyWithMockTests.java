@@ -266,6 +266,32 @@ public class RestProxyWithMockTests extends RestProxyTests {
         }
     }
 
+    @Host("http://httpbin.org")
+    @ServiceInterface(name = "ServiceWithCharsetService")
+    interface ServiceWithCharsetService {
+        @Get("/get")
+        @ExpectedResponses({200})
+        HttpBinJSON get();
+    }
+
+    @Test
+    public void serviceResponseWithNonUtf8Charset() {
+        ServiceWithCharsetService service = RestProxy.create(
+                ServiceWithCharsetService.class,
+                new HttpPipelineBuilder().httpClient(new SimpleMockHttpClient() {
+                    @Override
+                    public Mono<HttpResponse> send(HttpRequest request) {
+                        HttpHeaders headers = new HttpHeaders().put("Content-Type", "application/json; charset=ISO-8859-1");
+
+                        HttpResponse response = new MockHttpResponse(request, 200, headers,
+                                "{ \"url\": \"caf\u00e9\" }".getBytes(StandardCharsets.ISO_8859_1));
+                        return Mono.just(response);
+                    }
+                }).build());
+
+        assertEquals("caf\u00e9", service.get().url());
+    }
+
     private static class HeaderCollectionTypePublicFields {
         @JsonProperty()
         private String name;
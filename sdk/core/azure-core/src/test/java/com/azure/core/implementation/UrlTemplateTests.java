@@ -0,0 +1,56 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.core.implementation;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class UrlTemplateTests {
+    @Test
+    public void withNoSubstitutions() {
+        final UrlTemplate template = UrlTemplate.compile("my/{a}/path", Collections.emptyList());
+        assertTrue(template.isConstant());
+        assertEquals("my/{a}/path", template.expand(new Object[] { "b" }, String::valueOf, UrlEscapers.PATH_ESCAPER));
+    }
+
+    @Test
+    public void withSubstitutions() {
+        final UrlTemplate template = UrlTemplate.compile("https://{account}.host.com/{container}/{blob}",
+            Arrays.asList(new Substitution("account", 0, true), new Substitution("blob", 1, true)));
+        assertFalse(template.isConstant());
+        assertEquals("https://myaccount.host.com/{container}/my%20blob",
+            template.expand(new Object[] { "myaccount", "my blob" }, String::valueOf, UrlEscapers.PATH_ESCAPER));
+    }
+
+    @Test
+    public void withRepeatedPlaceholder() {
+        final UrlTemplate template = UrlTemplate.compile("{a}/{a}", Collections.singletonList(new Substitution("a", 0, false)));
+        assertEquals("b/b", template.expand(new Object[] { "b" }, String::valueOf, UrlEscapers.PATH_ESCAPER));
+    }
+
+    @Test
+    public void withNullArgument() {
+        final UrlTemplate template = UrlTemplate.compile("my/{a}/path", Collections.singletonList(new Substitution("a", 0, true)));
+        assertEquals("my//path", template.expand(new Object[] { null }, value -> null, UrlEscapers.PATH_ESCAPER));
+    }
+
+    @Test
+    public void withMissingArgument() {
+        final UrlTemplate template = UrlTemplate.compile("my/{a}/path", Collections.singletonList(new Substitution("a", 1, true)));
+        assertEquals("my/{a}/path", template.expand(new Object[] { "b" }, String::valueOf, UrlEscapers.PATH_ESCAPER));
+        assertEquals("my/{a}/path", template.expand(null, String::valueOf, UrlEscapers.PATH_ESCAPER));
+    }
+
+    @Test
+    public void withUnbalancedBraces() {
+        final UrlTemplate template = UrlTemplate.compile("{{a}/{b", Collections.singletonList(new Substitution("a", 0, false)));
+        assertEquals("{c/{b", template.expand(new Object[] { "c" }, String::valueOf, UrlEscapers.PATH_ESCAPER));
+    }
+}
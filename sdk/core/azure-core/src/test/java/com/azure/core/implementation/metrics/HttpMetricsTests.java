@@ -0,0 +1,164 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.core.implementation.metrics;
+
+import com.azure.core.http.HttpHeaders;
+import com.azure.core.http.HttpMethod;
+import com.azure.core.http.HttpPipeline;
+import com.azure.core.http.HttpPipelineBuilder;
+import com.azure.core.http.HttpRequest;
+import com.azure.core.http.HttpResponse;
+import com.azure.core.http.MockHttpResponse;
+import com.azure.core.http.clients.NoOpHttpClient;
+import com.azure.core.http.policy.FixedDelay;
+import com.azure.core.http.policy.HttpPipelinePolicy;
+import com.azure.core.http.policy.RequestMetricsPolicy;
+import com.azure.core.http.policy.RetryPolicy;
+import com.azure.core.http.policy.TryMetricsPolicy;
+import com.azure.core.implementation.http.policy.spi.HttpPolicyProviders;
+import com.azure.core.implementation.metrics.TestMetricsRecorder.Measurement;
+import com.azure.core.util.Context;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.net.URL;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class HttpMetricsTests {
+    private static final Context CONTEXT = new Context("service-name", "Storage")
+        .addData("caller-method", "com.azure.Service.get");
+
+    private TestMetricsRecorder recorder;
+    private MetricsRecorder[] replacedRecorders;
+
+    @Before
+    public void installRecorder() {
+        recorder = new TestMetricsRecorder();
+        replacedRecorders = MetricsProxy.setRecorders(recorder);
+    }
+
+    @After
+    public void restoreRecorders() {
+        MetricsProxy.setRecorders(replacedRecorders);
+    }
+
+    @Test
+    public void recordsRequestTryAndPolicyMetrics() throws Exception {
+        final HttpPipeline pipeline = pipeline(new NoOpHttpClient() {
+            private final int[] codes = new int[]{503, 200};
+            private int count = 0;
+
+            @Override
+            public Mono<HttpResponse> send(HttpRequest request) {
+                return Mono.just(new MockHttpResponse(request, codes[count++],
+                    new HttpHeaders().put("Content-Length", "42")));
+            }
+        });
+
+        HttpResponse response = pipeline.send(new HttpRequest(HttpMethod.GET, new URL("http://localhost/")), CONTEXT)
+            .block();
+        List<Measurement> measurements = recorder.measurements();
+
+        Assert.assertEquals(200, response.statusCode());
+
+        List<Measurement> requests = TestMetricsRecorder.named(measurements, HttpMetrics.REQUEST_DURATION);
+        Assert.assertEquals(1, requests.size());
+        Assert.assertEquals("Storage", requests.get(0).tag(HttpMetrics.SERVICE_TAG));
+        Assert.assertEquals("com.azure.Service.get", requests.get(0).tag(HttpMetrics.CALLER_METHOD_TAG));
+        Assert.assertEquals("200", requests.get(0).tag(HttpMetrics.STATUS_TAG));
+
+        List<Measurement> tries = TestMetricsRecorder.named(measurements, HttpMetrics.TRY_DURATION);
+        Assert.assertEquals(2, tries.size());
+        Assert.assertEquals("503", tries.get(0).tag(HttpMetrics.STATUS_TAG));
+        Assert.assertEquals("200", tries.get(1).tag(HttpMetrics.STATUS_TAG));
+
+        List<Measurement> retries = TestMetricsRecorder.named(measurements, HttpMetrics.RETRIES);
+        Assert.assertEquals(1, retries.size());
+        Assert.assertEquals(1, retries.get(0).value, 0);
+
+        List<Measurement> sizes = TestMetricsRecorder.named(measurements, HttpMetrics.RESPONSE_SIZE);
+        Assert.assertEquals(1, sizes.size());
+        Assert.assertEquals(42, sizes.get(0).value, 0);
+
+        List<Measurement> responses = TestMetricsRecorder.named(measurements, HttpMetrics.RESPONSES);
+        Assert.assertEquals(1, responses.size());
+        Assert.assertEquals("200", responses.get(0).tag(HttpMetrics.STATUS_TAG));
+
+        List<String> policies = TestMetricsRecorder.named(measurements, HttpMetrics.POLICY_DURATION).stream()
+            .map(m -> m.tag(HttpMetrics.POLICY_TAG))
+            .collect(Collectors.toList());
+        Assert.assertEquals(4, policies.size());
+        Assert.assertEquals(1, policies.stream().filter("RequestMetricsPolicy"::equals).count());
+        Assert.assertEquals(1, policies.stream().filter("RetryPolicy"::equals).count());
+        Assert.assertEquals(2, policies.stream().filter("TryMetricsPolicy"::equals).count());
+    }
+
+    @Test
+    public void recordsFailedRequests() throws Exception {
+        final HttpPipeline pipeline = pipeline(new NoOpHttpClient() {
+            @Override
+            public Mono<HttpResponse> send(HttpRequest request) {
+                return Mono.error(new IOException("connection reset"));
+            }
+        });
+
+        try {
+            pipeline.send(new HttpRequest(HttpMethod.GET, new URL("http://localhost/")), CONTEXT).block();
+            Assert.fail("Expected the request to fail.");
+        } catch (RuntimeException ignored) {
+            // expected
+        }
+        List<Measurement> measurements = recorder.measurements();
+
+        List<Measurement> responses = TestMetricsRecorder.named(measurements, HttpMetrics.RESPONSES);
+        Assert.assertEquals(1, responses.size());
+        Assert.assertEquals("error", responses.get(0).tag(HttpMetrics.STATUS_TAG));
+        Assert.assertEquals(3, TestMetricsRecorder.named(measurements, HttpMetrics.TRY_DURATION).size());
+        Assert.assertEquals(2, TestMetricsRecorder.named(measurements, HttpMetrics.RETRIES).get(0).value, 0);
+        Assert.assertTrue(TestMetricsRecorder.named(measurements, HttpMetrics.RESPONSE_SIZE).isEmpty());
+    }
+
+    @Test
+    public void noRecorderAddsNoMetricsPolicies() throws Exception {
+        MetricsProxy.setRecorders();
+        Assert.assertFalse(MetricsProxy.isEnabled());
+
+        final List<HttpPipelinePolicy> policies = new ArrayList<>();
+        HttpPolicyProviders.addBeforeRetryPolicies(policies);
+        HttpPolicyProviders.addAfterRetryPolicies(policies);
+        Assert.assertFalse(policies.stream()
+            .anyMatch(p -> p instanceof RequestMetricsPolicy || p instanceof TryMetricsPolicy));
+
+        final HttpPipeline pipeline = pipeline(new NoOpHttpClient() {
+            @Override
+            public Mono<HttpResponse> send(HttpRequest request) {
+                return Mono.just(new MockHttpResponse(request, 200));
+            }
+        });
+        HttpResponse response = pipeline.send(new HttpRequest(HttpMethod.GET, new URL("http://localhost/")), CONTEXT)
+            .block();
+
+        Assert.assertEquals(200, response.statusCode());
+        Assert.assertTrue(recorder.measurements().isEmpty());
+    }
+
+    private static HttpPipeline pipeline(NoOpHttpClient httpClient) {
+        final List<HttpPipelinePolicy> policies = new ArrayList<>();
+        HttpPolicyProviders.addBeforeRetryPolicies(policies);
+        policies.add(new RetryPolicy(new FixedDelay(2, Duration.ZERO)));
+        HttpPolicyProviders.addAfterRetryPolicies(policies);
+
+        return new HttpPipelineBuilder()
+            .httpClient(httpClient)
+            .policies(policies.toArray(new HttpPipelinePolicy[0]))
+            .build();
+    }
+}
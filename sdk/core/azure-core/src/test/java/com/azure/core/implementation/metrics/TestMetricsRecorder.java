@@ -0,0 +1,64 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.core.implementation.metrics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * A {@link MetricsRecorder} installed by the metrics tests, keeping every measurement it receives.
+ */
+public class TestMetricsRecorder implements MetricsRecorder {
+    private final List<Measurement> measurements = new ArrayList<>();
+
+    synchronized List<Measurement> measurements() {
+        return new ArrayList<>(measurements);
+    }
+
+    static List<Measurement> named(List<Measurement> measurements, String name) {
+        return measurements.stream().filter(m -> m.name.equals(name)).collect(Collectors.toList());
+    }
+
+    @Override
+    public void recordDuration(String name, long durationNanos, String... tags) {
+        add(new Measurement(name, durationNanos, tags));
+    }
+
+    @Override
+    public void recordValue(String name, double value, String... tags) {
+        add(new Measurement(name, value, tags));
+    }
+
+    @Override
+    public void increment(String name, String... tags) {
+        add(new Measurement(name, 1, tags));
+    }
+
+    private synchronized void add(Measurement measurement) {
+        measurements.add(measurement);
+    }
+
+    static final class Measurement {
+        final String name;
+        final double value;
+        final List<String> tags;
+
+        Measurement(String name, double value, String... tags) {
+            this.name = name;
+            this.value = value;
+            this.tags = Arrays.asList(tags);
+        }
+
+        String tag(String key) {
+            for (int i = 0; i < tags.size(); i += 2) {
+                if (tags.get(i).equals(key)) {
+                    return tags.get(i + 1);
+                }
+            }
+            return null;
+        }
+    }
+}
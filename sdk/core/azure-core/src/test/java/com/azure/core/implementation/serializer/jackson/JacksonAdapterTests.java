@@ -3,15 +3,29 @@
 
 package com.azure.core.implementation.serializer.jackson;
 
+import com.azure.core.implementation.CollectionFormat;
+import com.azure.core.implementation.serializer.MalformedValueException;
+import com.azure.core.implementation.serializer.SerializerAdapter;
 import com.azure.core.implementation.serializer.SerializerEncoding;
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.type.TypeFactory;
 import org.junit.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
 
 import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 
 public class JacksonAdapterTests {
     @Test
@@ -56,6 +70,109 @@ public class JacksonAdapterTests {
         assertEquals("{\"\":\"test\"}", serializer.serialize(map, SerializerEncoding.JSON));
     }
 
+    @Test
+    public void deserializeStreamSplitAtEveryByte() {
+        final String json = "{\"map\":{\"k\u00e9y\":\"v\u20acl\"}, \"n\": 1.5}";
+        final JacksonAdapter serializer = new JacksonAdapter();
+
+        StepVerifier.create(serializer.<MapHolder>deserialize(chunked(json, 1), MapHolder.class, SerializerEncoding.JSON))
+            .assertNext(holder -> assertEquals("v\u20acl", holder.map().get("k\u00e9y")))
+            .verifyComplete();
+    }
+
+    @Test
+    public void deserializeStreamOfScalarAndEmptyContent() {
+        final JacksonAdapter serializer = new JacksonAdapter();
+
+        StepVerifier.create(serializer.<Integer>deserialize(chunked("\uFEFF42", 2), Integer.class, SerializerEncoding.JSON))
+            .expectNext(42)
+            .verifyComplete();
+        StepVerifier.create(serializer.deserialize(Flux.empty(), String.class, SerializerEncoding.JSON))
+            .verifyComplete();
+        StepVerifier.create(serializer.deserialize(chunked("null", 4), String.class, SerializerEncoding.JSON))
+            .verifyComplete();
+    }
+
+    @Test
+    public void deserializeStreamOfMalformedContent() {
+        final JacksonAdapter serializer = new JacksonAdapter();
+
+        StepVerifier.create(serializer.deserialize(chunked("{\"map\": }", 3), MapHolder.class, SerializerEncoding.JSON))
+            .verifyError(MalformedValueException.class);
+        StepVerifier.create(serializer.deserialize(chunked("{\"map\": {", 3), MapHolder.class, SerializerEncoding.JSON))
+            .verifyError(MalformedValueException.class);
+    }
+
+    @Test
+    public void deserializeStreamWithStreamedArray() {
+        final String json = "{\"nextLink\":\"next\",\"value\":[{\"map\":{\"a\":\"1\"}},{\"map\":{\"b\":\"2\"}}],"
+            + "\"other\":[1,2]}";
+        final JacksonAdapter serializer = new JacksonAdapter();
+        final List<Object> elements = new ArrayList<>();
+        final Type type = TypeFactory.defaultInstance().constructMapType(HashMap.class, String.class, Object.class);
+
+        StepVerifier.create(serializer.<Map<String, Object>>deserialize(chunked(json, 7), type,
+            Collections.singleton("value"), MapHolder.class, elements::add))
+            .assertNext(root -> {
+                assertEquals("next", root.get("nextLink"));
+                assertEquals(Arrays.asList(1, 2), root.get("other"));
+                assertEquals(Collections.emptyList(), root.get("value"));
+                assertNull(root.get("items"));
+            })
+            .verifyComplete();
+
+        assertEquals(2, elements.size());
+        assertEquals("1", ((MapHolder) elements.get(0)).map().get("a"));
+        assertEquals("2", ((MapHolder) elements.get(1)).map().get("b"));
+    }
+
+    @Test
+    public void deserializeStreamWithDefaultImplementation() {
+        final JacksonAdapter jacksonAdapter = new JacksonAdapter();
+        final SerializerAdapter serializer = new SerializerAdapter() {
+            @Override
+            public String serialize(Object object, SerializerEncoding encoding) throws IOException {
+                return jacksonAdapter.serialize(object, encoding);
+            }
+
+            @Override
+            public String serializeRaw(Object object) {
+                return jacksonAdapter.serializeRaw(object);
+            }
+
+            @Override
+            public String serializeList(List<?> list, CollectionFormat format) {
+                return jacksonAdapter.serializeList(list, format);
+            }
+
+            @Override
+            public <U> U deserialize(String value, Type type, SerializerEncoding encoding) throws IOException {
+                return jacksonAdapter.deserialize(value, type, encoding);
+            }
+        };
+        final List<Object> elements = new ArrayList<>();
+        final Type type = TypeFactory.defaultInstance().constructMapType(HashMap.class, String.class, Object.class);
+
+        StepVerifier.create(serializer.<MapHolder>deserialize(chunked("{\"map\":{\"k\u00e9y\":\"v\"}}", 1),
+            MapHolder.class, SerializerEncoding.JSON))
+            .assertNext(holder -> assertEquals("v", holder.map().get("k\u00e9y")))
+            .verifyComplete();
+        StepVerifier.create(serializer.<Map<String, Object>>deserialize(chunked("{\"value\":[1,2]}", 3), type,
+            Collections.singleton("value"), Integer.class, elements::add))
+            .assertNext(root -> assertEquals(Arrays.asList(1, 2), root.get("value")))
+            .verifyComplete();
+        assertEquals(0, elements.size());
+    }
+
+    private static Flux<ByteBuffer> chunked(String value, int chunkSize) {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        final List<ByteBuffer> chunks = new ArrayList<>();
+        for (int i = 0; i < bytes.length; i += chunkSize) {
+            chunks.add(ByteBuffer.wrap(bytes, i, Math.min(chunkSize, bytes.length - i)).slice());
+        }
+        return Flux.fromIterable(chunks);
+    }
+
     private static class MapHolder {
         @JsonInclude(content = JsonInclude.Include.ALWAYS)
         private Map<String, String> map = new HashMap<>();
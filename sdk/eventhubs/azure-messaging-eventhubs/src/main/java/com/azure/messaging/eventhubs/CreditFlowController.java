@@ -0,0 +1,152 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.messaging.eventhubs;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps track of the credits an {@link EventHubAsyncConsumer} has issued on its link and of the events it has queued
+ * locally, and decides how many credits to add as events are delivered downstream.
+ * <p>
+ * Credits are added in small increments as events are delivered, so the link keeps flowing instead of running dry
+ * before it is topped up. The number of events that are queued or asked for is bounded by both:
+ * </p>
+ * <ul>
+ * <li>a prefetch target, which follows the rate at which events are delivered downstream so that roughly
+ * {@link #PREFETCH_WINDOW_IN_NANOS one second} of events is kept at hand, between {@link #MINIMUM_PREFETCH} and the
+ * configured prefetch count, and</li>
+ * <li>the configured prefetch size in bytes, using the average size of the events received so far.</li>
+ * </ul>
+ */
+final class CreditFlowController {
+    static final int MINIMUM_PREFETCH = 10;
+    static final long PREFETCH_WINDOW_IN_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long RATE_SAMPLE_INTERVAL_IN_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final double SMOOTHING_FACTOR = 0.2;
+    private static final int INITIAL_AVERAGE_EVENT_SIZE = 1024;
+
+    private final int maximumPrefetch;
+    private final long maximumPrefetchSizeInBytes;
+
+    // Guarded by this.
+    private long outstandingCredits;
+    private int queuedEvents;
+    private long queuedBytes;
+    private double averageEventSize = INITIAL_AVERAGE_EVENT_SIZE;
+    private int prefetchTarget;
+    private double deliveryRate = -1;
+    private long sampleStartNanos = -1;
+    private int deliveredInSample;
+
+    /**
+     * Creates a controller.
+     *
+     * @param maximumPrefetch The maximum number of events to queue or ask for.
+     * @param maximumPrefetchSizeInBytes The maximum number of bytes of events to queue or ask for.
+     */
+    CreditFlowController(int maximumPrefetch, long maximumPrefetchSizeInBytes) {
+        this.maximumPrefetch = maximumPrefetch;
+        this.maximumPrefetchSizeInBytes = maximumPrefetchSizeInBytes;
+        this.prefetchTarget = maximumPrefetch;
+    }
+
+    /**
+     * Records credits that were added to the link.
+     *
+     * @param credits The number of credits added.
+     */
+    synchronized void onCreditsAdded(int credits) {
+        outstandingCredits += credits;
+    }
+
+    /**
+     * Records an event that was received on the link and queued until it is delivered downstream.
+     *
+     * @param sizeInBytes The size of the event.
+     */
+    synchronized void onReceived(int sizeInBytes) {
+        outstandingCredits = Math.max(0, outstandingCredits - 1);
+        queuedEvents++;
+        queuedBytes += sizeInBytes;
+        averageEventSize = SMOOTHING_FACTOR * sizeInBytes + (1 - SMOOTHING_FACTOR) * averageEventSize;
+    }
+
+    /**
+     * Records an event that was delivered downstream and gets the number of credits to add to the link.
+     *
+     * @param sizeInBytes The size of the event.
+     * @param nowNanos The current value of {@link System#nanoTime()}.
+     * @return The number of credits to add to the link, 0 if none should be added.
+     */
+    synchronized int onDelivered(int sizeInBytes, long nowNanos) {
+        queuedEvents = Math.max(0, queuedEvents - 1);
+        queuedBytes = Math.max(0, queuedBytes - sizeInBytes);
+        updatePrefetchTarget(nowNanos);
+
+        final long credits = getAvailableCredits(prefetchTarget);
+        // Batch up credits for large targets, so a flow frame is not sent for every event.
+        return credits >= Math.max(1, prefetchTarget / 8) ? addCredits(credits) : 0;
+    }
+
+    /**
+     * Gets the number of credits to add when the link has run out of credits and downstream asked for the requested
+     * number of events. Only the prefetch size in bytes limits these credits.
+     *
+     * @param requested The number of events requested downstream.
+     * @return The number of credits to add to the link, 0 if none should be added.
+     */
+    synchronized int onCreditsExhausted(int requested) {
+        return addCredits(Math.min(requested, getAvailableCredits(Integer.MAX_VALUE)));
+    }
+
+    synchronized int getPrefetchTarget() {
+        return prefetchTarget;
+    }
+
+    synchronized long getQueuedBytes() {
+        return queuedBytes;
+    }
+
+    private long getAvailableCredits(int countLimit) {
+        final long sizeLimit = Math.max(1, (long) (maximumPrefetchSizeInBytes / Math.max(1, averageEventSize)));
+        final long queuedOrAskedFor = outstandingCredits + queuedEvents;
+        final long byCount = countLimit - queuedOrAskedFor;
+        final long bySize = queuedBytes >= maximumPrefetchSizeInBytes ? 0 : sizeLimit - queuedOrAskedFor;
+
+        return Math.max(0, Math.min(byCount, bySize));
+    }
+
+    private int addCredits(long credits) {
+        if (credits <= 0) {
+            return 0;
+        }
+
+        outstandingCredits += credits;
+        return (int) credits;
+    }
+
+    /*
+     * Samples the delivery rate every RATE_SAMPLE_INTERVAL_IN_NANOS and keeps PREFETCH_WINDOW_IN_NANOS of events at
+     * that rate at hand.
+     */
+    private void updatePrefetchTarget(long nowNanos) {
+        if (sampleStartNanos < 0) {
+            sampleStartNanos = nowNanos;
+        }
+
+        deliveredInSample++;
+        final long elapsed = nowNanos - sampleStartNanos;
+        if (elapsed < RATE_SAMPLE_INTERVAL_IN_NANOS) {
+            return;
+        }
+
+        final double rate = deliveredInSample * (double) TimeUnit.SECONDS.toNanos(1) / elapsed;
+        deliveryRate = deliveryRate < 0 ? rate : SMOOTHING_FACTOR * rate + (1 - SMOOTHING_FACTOR) * deliveryRate;
+        sampleStartNanos = nowNanos;
+        deliveredInSample = 0;
+
+        final long target = (long) Math.ceil(deliveryRate * PREFETCH_WINDOW_IN_NANOS / TimeUnit.SECONDS.toNanos(1));
+        prefetchTarget = (int) Math.max(Math.min(MINIMUM_PREFETCH, maximumPrefetch), Math.min(target, maximumPrefetch));
+    }
+}
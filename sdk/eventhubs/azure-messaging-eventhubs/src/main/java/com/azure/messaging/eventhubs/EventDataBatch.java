@@ -9,20 +9,22 @@ import com.azure.core.amqp.exception.ErrorCondition;
 import com.azure.core.util.logging.ClientLogger;
 import com.azure.messaging.eventhubs.implementation.AmqpConstants;
 import com.azure.messaging.eventhubs.implementation.ErrorContextProvider;
+import com.azure.messaging.eventhubs.implementation.GrowableWritableBuffer;
 import org.apache.qpid.proton.Proton;
 import org.apache.qpid.proton.amqp.Binary;
 import org.apache.qpid.proton.amqp.Symbol;
 import org.apache.qpid.proton.amqp.messaging.ApplicationProperties;
 import org.apache.qpid.proton.amqp.messaging.Data;
 import org.apache.qpid.proton.amqp.messaging.MessageAnnotations;
+import org.apache.qpid.proton.engine.impl.DeliveryImpl;
 import org.apache.qpid.proton.message.Message;
 
 import java.nio.BufferOverflowException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
-import java.util.Objects;
 
 /**
  * A class for aggregating EventData into a single, size-limited, batch. It is treated as a single message when sent to
@@ -34,22 +36,32 @@ import java.util.Objects;
  * @see EventHubAsyncProducer See EventHubAsyncProducer for examples using the asynchronous producer.
  */
 public final class EventDataBatch {
+    private static final int INITIAL_BUFFER_SIZE = 4 * 1024;
+    // The constructor and code of the data section descriptor, followed by a vbin8 or vbin32 constructor and length.
+    private static final byte[] DATA_SECTION_DESCRIPTOR = {0x00, 0x53, 0x75};
+    private static final byte VBIN8 = (byte) 0xa0;
+    private static final byte VBIN32 = (byte) 0xb0;
+    private static final int DATA_SECTION_HEADER_SIZE = DATA_SECTION_DESCRIPTOR.length + 1 + Integer.BYTES;
+
     private final ClientLogger logger = new ClientLogger(EventDataBatch.class);
     private final Object lock = new Object();
     private final int maxMessageSize;
     private final String partitionKey;
     private final ErrorContextProvider contextProvider;
     private final List<EventData> events;
-    private final byte[] eventBytes;
+    // The batched message: the annotations of the first event, followed by a data section for every event.
+    private final GrowableWritableBuffer encodedBatch;
+    private int firstEventOffset;
+    private int firstEventSize;
     private int sizeInBytes;
 
     EventDataBatch(int maxMessageSize, String partitionKey, ErrorContextProvider contextProvider) {
         this.maxMessageSize = maxMessageSize;
         this.partitionKey = partitionKey;
         this.contextProvider = contextProvider;
-        this.events = new LinkedList<>();
+        this.events = new ArrayList<>();
         this.sizeInBytes = (maxMessageSize / 65536) * 1024; // reserve 1KB for every 64KB
-        this.eventBytes = new byte[maxMessageSize];
+        this.encodedBatch = new GrowableWritableBuffer(INITIAL_BUFFER_SIZE, maxMessageSize);
     }
 
     /**
@@ -85,24 +97,29 @@ public final class EventDataBatch {
             throw logger.logExceptionAsWarning(new IllegalArgumentException("eventData cannot be null"));
         }
 
-        final int size;
-        try {
-            size = getSize(eventData, events.isEmpty());
-        } catch (BufferOverflowException exception) {
-            throw logger.logExceptionAsWarning(new AmqpException(false, ErrorCondition.LINK_PAYLOAD_SIZE_EXCEEDED,
-                String.format(Locale.US, "Size of the payload exceeded maximum message size: %s kb", maxMessageSize / 1024),
-                contextProvider.getErrorContext()));
-        }
+        final Message amqpMessage = createAmqpMessage(eventData, partitionKey);
 
         synchronized (lock) {
+            final int start = encodedBatch.position();
+            final int size;
+            try {
+                size = encode(amqpMessage, events.isEmpty());
+            } catch (BufferOverflowException exception) {
+                encodedBatch.position(start);
+                throw logger.logExceptionAsWarning(new AmqpException(false, ErrorCondition.LINK_PAYLOAD_SIZE_EXCEEDED,
+                    String.format(Locale.US, "Size of the payload exceeded maximum message size: %s kb", maxMessageSize / 1024),
+                    contextProvider.getErrorContext()));
+            }
+
             if (this.sizeInBytes + size > this.maxMessageSize) {
+                encodedBatch.position(start);
                 return false;
             }
 
             this.sizeInBytes += size;
+            this.events.add(eventData);
         }
 
-        this.events.add(eventData);
         return true;
     }
 
@@ -114,20 +131,75 @@ public final class EventDataBatch {
         return this.partitionKey;
     }
 
-    private int getSize(final EventData eventData, final boolean isFirst) {
-        Objects.requireNonNull(eventData, "'eventData' cannot be null.");
+    /*
+     * Gets the array that holds the message to send for this batch in its first getEncodedSize() bytes. A batch of a
+     * single event is sent as that event on its own.
+     */
+    byte[] getEncodedMessage() {
+        synchronized (lock) {
+            if (events.size() == 1) {
+                return Arrays.copyOfRange(encodedBatch.array(), firstEventOffset, firstEventOffset + firstEventSize);
+            }
+            return encodedBatch.array();
+        }
+    }
 
-        final Message amqpMessage = createAmqpMessage(eventData, partitionKey);
-        int eventSize = amqpMessage.encode(this.eventBytes, 0, maxMessageSize); // actual encoded bytes size
-        eventSize += 16; // data section overhead
+    int getEncodedSize() {
+        synchronized (lock) {
+            return events.size() == 1 ? firstEventSize : encodedBatch.position();
+        }
+    }
+
+    int getMessageFormat() {
+        synchronized (lock) {
+            return events.size() == 1 ? DeliveryImpl.DEFAULT_MESSAGE_FORMAT : AmqpConstants.AMQP_BATCH_MESSAGE_FORMAT;
+        }
+    }
+
+    /*
+     * Appends the event to the encoded batch and returns the number of bytes it adds to the size of the batch. The
+     * event is encoded in place, after room for the header of its data section, and the header is written once the
+     * size of the event is known.
+     */
+    private int encode(final Message amqpMessage, final boolean isFirst) {
+        int eventSize = 16; // data section overhead
 
         if (isFirst) {
-            amqpMessage.setBody(null);
-            amqpMessage.setApplicationProperties(null);
-            amqpMessage.setProperties(null);
-            amqpMessage.setDeliveryAnnotations(null);
+            final Message envelope = Proton.message();
+            envelope.setMessageAnnotations(amqpMessage.getMessageAnnotations());
 
-            eventSize += amqpMessage.encode(this.eventBytes, 0, maxMessageSize);
+            encodedBatch.limit(maxMessageSize);
+            eventSize += envelope.encode(encodedBatch);
+        }
+
+        final int sectionStart = encodedBatch.position();
+        final int eventStart = sectionStart + DATA_SECTION_HEADER_SIZE;
+
+        // An event only fails to encode if it is larger than an empty batch, otherwise it just does not fit.
+        encodedBatch.limit(eventStart + maxMessageSize);
+        encodedBatch.position(eventStart);
+        final int encodedSize = amqpMessage.encode(encodedBatch);
+        eventSize += encodedSize;
+
+        final int bodyStart;
+        encodedBatch.position(sectionStart);
+        encodedBatch.put(DATA_SECTION_DESCRIPTOR, 0, DATA_SECTION_DESCRIPTOR.length);
+        if (encodedSize <= 0xFF) {
+            // Use the short encoding proton-j would use, the event is moved into place.
+            encodedBatch.put(VBIN8);
+            encodedBatch.put((byte) encodedSize);
+            bodyStart = encodedBatch.position();
+            System.arraycopy(encodedBatch.array(), eventStart, encodedBatch.array(), bodyStart, encodedSize);
+        } else {
+            encodedBatch.put(VBIN32);
+            encodedBatch.putInt(encodedSize);
+            bodyStart = eventStart;
+        }
+        encodedBatch.position(bodyStart + encodedSize);
+
+        if (isFirst) {
+            firstEventOffset = bodyStart;
+            firstEventSize = encodedSize;
         }
 
         return eventSize;
@@ -15,6 +15,7 @@ import reactor.core.publisher.Mono;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
@@ -51,7 +52,8 @@ public class EventHubAsyncConsumer implements Closeable {
     private static final AtomicReferenceFieldUpdater<EventHubAsyncConsumer, AmqpReceiveLink> RECEIVE_LINK_FIELD_UPDATER =
         AtomicReferenceFieldUpdater.newUpdater(EventHubAsyncConsumer.class, AmqpReceiveLink.class, "receiveLink");
 
-    // We don't want to dump too many credits on the link at once. It's easy enough to ask for more.
+    // We don't want to dump too many credits on the link at once. It's easy enough to ask for more. Credits are topped
+    // up by the CreditFlowController as events are delivered, these limits apply when the link has run out of them.
     private static final int MINIMUM_REQUEST = 1;
     private static final int MAXIMUM_REQUEST = 100;
 
@@ -60,21 +62,26 @@ public class EventHubAsyncConsumer implements Closeable {
     private final ClientLogger logger = new ClientLogger(EventHubAsyncConsumer.class);
     private final EmitterProcessor<EventData> emitterProcessor;
     private final Flux<EventData> messageFlux;
+    private final CreditFlowController creditFlowController;
+    // Events received from the link that have not been delivered downstream yet, in the order they were received.
+    private final ConcurrentLinkedQueue<EventData> queuedEvents = new ConcurrentLinkedQueue<>();
 
     private volatile AmqpReceiveLink receiveLink;
 
     EventHubAsyncConsumer(Mono<AmqpReceiveLink> receiveLinkMono, EventHubConsumerOptions options) {
         this.emitterProcessor = EmitterProcessor.create(options.prefetchCount(), false);
+        this.creditFlowController = new CreditFlowController(options.prefetchCount(), options.prefetchSizeInBytes());
 
         // Caching the created link so we don't invoke another link creation.
         this.messageFlux = receiveLinkMono.cache().flatMapMany(link -> {
             if (RECEIVE_LINK_FIELD_UPDATER.compareAndSet(this, null, link)) {
                 logger.info("Created AMQP receive link. Initializing prefetch credits: {}", options.prefetchCount());
                 link.addCredits(options.prefetchCount());
+                creditFlowController.onCreditsAdded(options.prefetchCount());
 
                 link.setEmptyCreditListener(() -> {
                     if (emitterProcessor.hasDownstreams()) {
-                        return creditsToRequest.get();
+                        return creditFlowController.onCreditsExhausted(creditsToRequest.get());
                     } else {
                         logger.verbose("Emitter has no downstream subscribers. Not adding credits.");
                         return 0;
@@ -99,8 +106,14 @@ public class EventHubAsyncConsumer implements Closeable {
                 });
             }
 
-            return link.receive().map(EventData::new);
+            return link.receive().map(message -> {
+                final EventData eventData = new EventData(message);
+                queuedEvents.add(eventData);
+                creditFlowController.onReceived(getSize(eventData));
+                return eventData;
+            });
         }).subscribeWith(emitterProcessor)
+            .doOnNext(this::onDelivered)
             .doOnSubscribe(subscription -> {
                 AmqpReceiveLink existingLink = RECEIVE_LINK_FIELD_UPDATER.get(this);
                 if (existingLink == null) {
@@ -111,7 +124,9 @@ public class EventHubAsyncConsumer implements Closeable {
                 logger.verbose("Subscription received for consumer.");
                 if (existingLink.getCredits() == 0) {
                     logger.info("Subscription received and there are no remaining credits on the link. Adding more.");
-                    existingLink.addCredits(creditsToRequest.get());
+                    final int credits = creditsToRequest.get();
+                    existingLink.addCredits(credits);
+                    creditFlowController.onCreditsAdded(credits);
                 }
             })
             .doOnRequest(request -> {
@@ -130,6 +145,44 @@ public class EventHubAsyncConsumer implements Closeable {
             });
     }
 
+    /*
+     * The emitter delivers each event to all its subscribers, one event at a time and in the order they were received.
+     * The first subscriber to see an event dequeues it, along with any event queued ahead of it that was never
+     * delivered, and tops up the credits on the link.
+     */
+    private void onDelivered(EventData eventData) {
+        if (queuedEvents.peek() != eventData && !isQueued(eventData)) {
+            return;
+        }
+
+        final long now = System.nanoTime();
+        int credits = 0;
+        EventData dequeued;
+        do {
+            dequeued = queuedEvents.poll();
+            credits += creditFlowController.onDelivered(getSize(dequeued), now);
+        } while (dequeued != eventData);
+
+        final AmqpReceiveLink link = RECEIVE_LINK_FIELD_UPDATER.get(this);
+        if (credits > 0 && link != null) {
+            logger.verbose("Adding {} credits. Prefetch target: {}", credits, creditFlowController.getPrefetchTarget());
+            link.addCredits(credits);
+        }
+    }
+
+    private boolean isQueued(EventData eventData) {
+        for (EventData queued : queuedEvents) {
+            if (queued == eventData) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int getSize(EventData eventData) {
+        return eventData.body() == null ? 0 : eventData.body().remaining();
+    }
+
     /**
      * Disposes of the consumer by closing the underlying connection to the service.
      *
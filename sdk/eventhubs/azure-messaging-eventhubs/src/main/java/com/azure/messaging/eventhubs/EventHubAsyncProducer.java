@@ -10,11 +10,9 @@ import com.azure.core.implementation.util.ImplUtils;
 import com.azure.core.util.logging.ClientLogger;
 import com.azure.messaging.eventhubs.implementation.AmqpSendLink;
 import com.azure.messaging.eventhubs.implementation.ErrorContextProvider;
-import com.azure.messaging.eventhubs.implementation.EventDataUtil;
 import com.azure.messaging.eventhubs.models.BatchOptions;
 import com.azure.messaging.eventhubs.models.EventHubProducerOptions;
 import com.azure.messaging.eventhubs.models.SendOptions;
-import org.apache.qpid.proton.message.Message;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -280,11 +278,12 @@ public class EventHubAsyncProducer implements Closeable {
 
         logger.info("Sending batch with partitionKey[{}], size[{}].", batch.getPartitionKey(), batch.getSize());
 
-        final List<Message> messages = EventDataUtil.toAmqpMessage(batch.getPartitionKey(), batch.getEvents());
+        // The events were encoded as they were added to the batch.
+        final byte[] encodedMessage = batch.getEncodedMessage();
+        final int encodedSize = batch.getEncodedSize();
+        final int messageFormat = batch.getMessageFormat();
 
-        return sendLinkMono.flatMap(link -> messages.size() == 1
-            ? link.send(messages.get(0))
-            : link.send(messages));
+        return sendLinkMono.flatMap(link -> link.send(encodedMessage, encodedSize, messageFormat));
     }
 
     private Mono<Void> sendInternal(Flux<EventData> events, SendOptions options) {
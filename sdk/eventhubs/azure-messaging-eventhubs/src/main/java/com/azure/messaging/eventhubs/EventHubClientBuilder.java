@@ -19,6 +19,7 @@ import com.azure.messaging.eventhubs.implementation.ConnectionOptions;
 import com.azure.messaging.eventhubs.implementation.ConnectionStringProperties;
 import com.azure.messaging.eventhubs.implementation.ReactorHandlerProvider;
 import com.azure.messaging.eventhubs.implementation.ReactorProvider;
+import com.azure.messaging.eventhubs.models.EventHubConsumerOptions;
 import com.azure.messaging.eventhubs.models.EventPosition;
 import com.azure.messaging.eventhubs.models.ProxyAuthenticationType;
 import com.azure.messaging.eventhubs.models.ProxyConfiguration;
@@ -29,6 +30,8 @@ import java.net.InetSocketAddress;
 import java.net.Proxy;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
 
@@ -75,6 +78,8 @@ public class EventHubClientBuilder {
     private final ClientLogger logger = new ClientLogger(EventHubClientBuilder.class);
 
     private static final String AZURE_EVENT_HUBS_CONNECTION_STRING = "AZURE_EVENT_HUBS_CONNECTION_STRING";
+    // When "true" the reactor threads busy-spin instead of blocking while idle, for latency sensitive senders.
+    private static final String AZURE_EVENT_HUBS_REACTOR_BUSY_SPIN = "AZURE_EVENT_HUBS_REACTOR_BUSY_SPIN";
     private static final RetryOptions DEFAULT_RETRY = new RetryOptions()
         .tryTimeout(ClientConstants.OPERATION_TIMEOUT);
 
@@ -90,6 +95,8 @@ public class EventHubClientBuilder {
     private PartitionProcessorFactory partitionProcessorFactory;
     private String consumerGroupName;
     private PartitionManager partitionManager;
+    private int maxBatchSize = 1;
+    private Duration maxWaitTime;
 
     /**
      * Creates a new instance with the default transport {@link TransportType#AMQP}.
@@ -293,7 +300,7 @@ public class EventHubClientBuilder {
      */
     public EventHubAsyncClient buildAsyncClient() {
         final ConnectionOptions connectionOptions = getConnectionOptions();
-        final ReactorProvider provider = new ReactorProvider();
+        final ReactorProvider provider = new ReactorProvider(isReactorBusySpin());
         final ReactorHandlerProvider handlerProvider = new ReactorHandlerProvider(provider);
 
         return new EventHubAsyncClient(connectionOptions, provider, handlerProvider);
@@ -325,7 +332,7 @@ public class EventHubClientBuilder {
      */
     public EventHubClient buildClient() {
         final ConnectionOptions connectionOptions = getConnectionOptions();
-        final ReactorProvider provider = new ReactorProvider();
+        final ReactorProvider provider = new ReactorProvider(isReactorBusySpin());
         final ReactorHandlerProvider handlerProvider = new ReactorHandlerProvider(provider);
         final EventHubAsyncClient client = new EventHubAsyncClient(connectionOptions, provider, handlerProvider);
 
@@ -389,6 +396,37 @@ public class EventHubClientBuilder {
         return this;
     }
 
+    /**
+     * This property can be optionally set when building an {@link EventProcessor}.
+     *
+     * Configures the {@link EventProcessor} to deliver events to {@link PartitionProcessor#processEvents(List)} in
+     * batches of up to {@code maxBatchSize} events instead of one at a time. A batch is delivered once it is full or
+     * once its oldest event has waited for {@code maxWaitTime}. Events of a partition are delivered in order and the
+     * next batch is only delivered once the previous one has been processed.
+     *
+     * @param maxBatchSize The maximum number of events in a batch.
+     * @param maxWaitTime The maximum time an event waits for its batch to fill up.
+     * @return The updated {@link EventHubClientBuilder} object.
+     * @throws IllegalArgumentException if {@code maxBatchSize} is less than 1 or greater than {@link
+     *     EventHubConsumerOptions#MAXIMUM_PREFETCH_COUNT}, or if {@code maxWaitTime} is not positive.
+     * @throws NullPointerException if {@code maxWaitTime} is null.
+     */
+    public EventHubClientBuilder processEventsInBatches(int maxBatchSize, Duration maxWaitTime) {
+        Objects.requireNonNull(maxWaitTime, "'maxWaitTime' cannot be null.");
+        if (maxBatchSize < 1 || maxBatchSize > EventHubConsumerOptions.MAXIMUM_PREFETCH_COUNT) {
+            throw logger.logExceptionAsError(new IllegalArgumentException(String.format(Locale.US,
+                "'maxBatchSize', '%s' has to be between 1 and %s", maxBatchSize,
+                EventHubConsumerOptions.MAXIMUM_PREFETCH_COUNT)));
+        }
+        if (maxWaitTime.isZero() || maxWaitTime.isNegative()) {
+            throw logger.logExceptionAsError(new IllegalArgumentException("'maxWaitTime' has to be positive."));
+        }
+
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitTime = maxWaitTime;
+        return this;
+    }
+
     /**
      * This will create a new {@link EventProcessor} configured with the options set in this builder. Each call
      * to this method will return a new instance of {@link EventProcessor}.
@@ -412,7 +450,8 @@ public class EventHubClientBuilder {
                 : this.initialEventPosition;
 
         return new EventProcessor(buildAsyncClient(), this.consumerGroupName,
-            this.partitionProcessorFactory, initialEventPosition, partitionManager, eventHubName);
+            this.partitionProcessorFactory, initialEventPosition, partitionManager, eventHubName, maxBatchSize,
+            maxWaitTime);
     }
 
     private ConnectionOptions getConnectionOptions() {
@@ -458,6 +497,10 @@ public class EventHubClientBuilder {
             transport, retryOptions, proxyConfiguration, scheduler);
     }
 
+    private boolean isReactorBusySpin() {
+        return Boolean.parseBoolean(configuration.get(AZURE_EVENT_HUBS_REACTOR_BUSY_SPIN));
+    }
+
     private ProxyConfiguration getDefaultProxyConfiguration(Configuration configuration) {
         ProxyAuthenticationType authentication = ProxyAuthenticationType.NONE;
         if (proxyConfiguration != null) {
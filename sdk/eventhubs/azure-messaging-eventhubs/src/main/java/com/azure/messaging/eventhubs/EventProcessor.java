@@ -10,16 +10,19 @@ import com.azure.messaging.eventhubs.models.EventHubConsumerOptions;
 import com.azure.messaging.eventhubs.models.EventPosition;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Random;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
-import org.reactivestreams.Publisher;
 import reactor.core.Disposable;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Scheduler;
 import reactor.core.scheduler.Schedulers;
 
@@ -52,11 +55,15 @@ public class EventProcessor {
     private final PartitionProcessorFactory partitionProcessorFactory;
     private final PartitionManager partitionManager;
     private final String identifier;
+    private final PartitionLoadBalancer loadBalancer;
     private final Map<String, EventHubAsyncConsumer> partitionConsumers = new ConcurrentHashMap<>();
     private final String eventHubName;
     private final AtomicBoolean started = new AtomicBoolean(false);
+    private final int maxBatchSize;
+    private final Duration maxWaitTime;
     private Disposable runner;
     private Scheduler scheduler;
+    private volatile Scheduler pumpScheduler;
 
     /**
      * Package-private constructor. Use {@link EventHubClientBuilder} to create an instance.
@@ -72,6 +79,26 @@ public class EventProcessor {
         PartitionProcessorFactory partitionProcessorFactory, EventPosition initialEventPosition,
         PartitionManager partitionManager,
         String eventHubName) {
+        this(eventHubAsyncClient, consumerGroupName, partitionProcessorFactory, initialEventPosition, partitionManager,
+            eventHubName, 1, null);
+    }
+
+    /**
+     * Package-private constructor. Use {@link EventHubClientBuilder} to create an instance.
+     *
+     * @param eventHubAsyncClient The {@link EventHubAsyncClient}.
+     * @param consumerGroupName The consumer group name used in this event processor to consumer events.
+     * @param partitionProcessorFactory The factory to create new partition processor(s).
+     * @param initialEventPosition Initial event position to start consuming events.
+     * @param partitionManager The partition manager.
+     * @param eventHubName The Event Hub name.
+     * @param maxBatchSize The maximum number of events delivered to {@link PartitionProcessor#processEvents(List)}.
+     * @param maxWaitTime The maximum time an event waits for a batch to fill up, {@code null} to deliver events one at
+     * a time to {@link PartitionProcessor#processEvent(EventData)}.
+     */
+    EventProcessor(EventHubAsyncClient eventHubAsyncClient, String consumerGroupName,
+        PartitionProcessorFactory partitionProcessorFactory, EventPosition initialEventPosition,
+        PartitionManager partitionManager, String eventHubName, int maxBatchSize, Duration maxWaitTime) {
         this.eventHubAsyncClient = Objects
             .requireNonNull(eventHubAsyncClient, "eventHubAsyncClient cannot be null");
         this.consumerGroupName = Objects
@@ -84,7 +111,11 @@ public class EventProcessor {
             .requireNonNull(initialEventPosition, "initialEventPosition cannot be null");
         this.eventHubName = Objects
             .requireNonNull(eventHubName, "eventHubName cannot be null");
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitTime = maxWaitTime;
         this.identifier = UUID.randomUUID().toString();
+        this.loadBalancer = new PartitionLoadBalancer(this.identifier, eventHubName, consumerGroupName,
+            OWNERSHIP_EXPIRATION_TIME_IN_MILLIS, new Random());
         logger.info("The instance ID for this event processors is {}", this.identifier);
     }
 
@@ -116,6 +147,7 @@ public class EventProcessor {
         }
         logger.info("Starting a new event processor instance with id {}", this.identifier);
         scheduler = Schedulers.newElastic("EventProcessor");
+        pumpScheduler = Schedulers.newParallel("PartitionPump", Runtime.getRuntime().availableProcessors());
         runner = scheduler.schedulePeriodically(this::run, INITIAL_DELAY, INTERVAL_IN_SECONDS, TimeUnit.SECONDS);
     }
 
@@ -146,63 +178,63 @@ public class EventProcessor {
         });
         runner.dispose();
         scheduler.dispose();
+        pumpScheduler.dispose();
     }
 
     /*
-     * A simple implementation of an event processor that:
-     * 1. Fetches all partition ids from Event Hub
-     * 2. Gets the current ownership information of all the partitions from PartitionManager
-     * 3. Claims ownership of any partition that doesn't have an owner yet.
-     * 4. Starts a new PartitionProcessor and receives events from each of the partitions this instance owns
+     * Runs a load balancing cycle:
+     * 1. Fetches all partition ids from Event Hub and the current ownership of the partitions from PartitionManager
+     * 2. Closes the consumers of partitions that are now owned by another active event processor
+     * 3. Renews the ownership of the partitions this instance owns, claims unowned partitions until this instance has
+     * its fair share, or steals one partition from the event processor that owns the most partitions
+     * 4. Starts a new PartitionProcessor and receives events from each of the partitions newly owned by this instance
      */
     private void run() {
         /* This will run periodically to get new ownership details and close/open new
         consumers when ownership of this instance has changed */
-        final Flux<PartitionOwnership> ownershipFlux = partitionManager.listOwnership(eventHubName, consumerGroupName)
-            .cache();
-        eventHubAsyncClient.getPartitionIds()
-            .flatMap(id -> getCandidatePartitions(ownershipFlux, id))
-            .flatMap(this::claimOwnership)
-            .subscribe(this::receiveEvents, ex -> logger.warning("Failed to receive events {}", ex.getMessage()),
+        Mono.zip(partitionManager.listOwnership(eventHubName, consumerGroupName).collectList(),
+            eventHubAsyncClient.getPartitionIds().collectList())
+            .flatMapMany(ownershipsAndPartitionIds -> {
+                final long now = System.currentTimeMillis();
+                final List<PartitionOwnership> ownerships = ownershipsAndPartitionIds.getT1();
+                closeLostPartitions(ownerships, now);
+
+                final List<PartitionOwnership> claims = loadBalancer.getOwnershipsToClaim(ownerships,
+                    ownershipsAndPartitionIds.getT2(), now);
+                if (claims.isEmpty()) {
+                    return Flux.<PartitionOwnership>empty();
+                }
+                return partitionManager.claimOwnership(claims.toArray(new PartitionOwnership[0]))
+                    .doOnError(error -> logger.error("Unable to claim partition ownership", error));
+            })
+            .filter(ownership -> !partitionConsumers.containsKey(ownership.partitionId()))
+            .subscribe(ownership -> {
+                logger.info("Claimed ownership of partition {}", ownership.partitionId());
+                receiveEvents(ownership);
+            }, ex -> logger.warning("Failed to receive events {}", ex.getMessage()),
                 () -> logger.info("Completed starting partition pumps for new partitions owned"));
     }
 
     /*
-     * Get the candidate partitions for claiming ownerships
+     * Closes the consumers of partitions that have been claimed by another active event processor. A renewal that
+     * failed because the ownership changed in the meantime does not lose the partition, the next cycle renews it.
      */
-    private Publisher<? extends PartitionOwnership> getCandidatePartitions(Flux<PartitionOwnership> ownershipFlux,
-        String id) {
-        return ownershipFlux
-            // Ownership has never been claimed, so it won't exist in the list, so we provide a default.
-            .filter(ownership -> id.equals(ownership.partitionId()))
-            .single(new PartitionOwnership()
-                .partitionId(id)
-                .eventHubName(this.eventHubName)
-                .ownerId(this.identifier)
-                .consumerGroupName(this.consumerGroupName)
-                .ownerLevel(0L));
-    }
-
+    private void closeLostPartitions(List<PartitionOwnership> ownerships, long now) {
+        for (PartitionOwnership ownership : ownerships) {
+            if (!loadBalancer.isActive(ownership, now) || this.identifier.equals(ownership.ownerId())) {
+                continue;
+            }
 
-    /*
-     * Claim ownership of the given partition if it's available
-     */
-    private Publisher<? extends PartitionOwnership> claimOwnership(PartitionOwnership ownershipInfo) {
-        // Claim ownership if:
-        // it's not previously owned by any other instance,
-        // or if the last modified time is greater than ownership expiration time
-        // and previous owner is not this instance
-        if (ownershipInfo.lastModifiedTime() == null
-            || (System.currentTimeMillis() - ownershipInfo.lastModifiedTime() > OWNERSHIP_EXPIRATION_TIME_IN_MILLIS
-            && !ownershipInfo.ownerId().equals(this.identifier))) {
-            ownershipInfo.ownerId(this.identifier); // update instance id before claiming ownership
-            return partitionManager.claimOwnership(ownershipInfo).doOnComplete(() -> {
-                logger.info("Claimed ownership of partition {}", ownershipInfo.partitionId());
-            }).doOnError(error -> {
-                logger.error("Unable to claim ownership of partition {}", ownershipInfo.partitionId(), error);
-            });
-        } else {
-            return Flux.empty();
+            final EventHubAsyncConsumer consumer = partitionConsumers.remove(ownership.partitionId());
+            if (consumer != null) {
+                try {
+                    logger.info("Ownership of partition {} was claimed by {}, closing event hub consumer",
+                        ownership.partitionId(), ownership.ownerId());
+                    consumer.close();
+                } catch (IOException ex) {
+                    logger.warning("Unable to close event hub consumer for partition {}", ownership.partitionId());
+                }
+            }
         }
     }
 
@@ -230,13 +262,7 @@ public class EventProcessor {
             .createPartitionProcessor(partitionContext, checkpointManager);
         partitionProcessor.initialize().subscribe();
 
-        consumer.receive().subscribeOn(Schedulers.newElastic("PartitionPump"))
-            .subscribe(eventData -> partitionProcessor.processEvent(eventData).subscribe(unused -> {
-            }, partitionProcessor::processError),
-                partitionProcessor::processError,
-                // Currently, there is no way to distinguish if the receiver was closed because
-                // another receiver with higher/same owner level(epoch) connected or because
-                // this event processor explicitly called close on this consumer.
-                () -> partitionProcessor.close(CloseReason.LOST_PARTITION_OWNERSHIP));
+        consumer.receive().subscribe(new PartitionPump(partitionProcessor, pumpScheduler, maxBatchSize, maxWaitTime,
+            consumerOptions.prefetchCount()));
     }
 }
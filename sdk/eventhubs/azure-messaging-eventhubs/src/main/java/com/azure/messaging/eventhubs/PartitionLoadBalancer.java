@@ -0,0 +1,166 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.messaging.eventhubs;
+
+import com.azure.messaging.eventhubs.models.PartitionOwnership;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+
+/**
+ * Decides which partitions an {@link EventProcessor} claims so that the partitions of an Event Hub are spread evenly
+ * across all the event processors that are active in a consumer group.
+ * <p>
+ * An event processor is active if it owns a partition whose ownership has been renewed within the ownership expiration
+ * time. With {@code P} partitions and {@code N} active event processors every event processor owns {@code P / N}
+ * partitions and {@code P % N} of them own one more. An event processor renews all the partitions it owns on every
+ * cycle, claims partitions that are not owned by an active event processor until it has its fair share, and when there
+ * are none left steals at most one partition per cycle from the event processor that owns the most partitions.
+ * </p>
+ * <p>
+ * Every claim carries the ETag of the ownership it replaces, so a claim fails when the ownership was changed by another
+ * event processor after it was listed.
+ * </p>
+ */
+final class PartitionLoadBalancer {
+    private final String ownerId;
+    private final String eventHubName;
+    private final String consumerGroupName;
+    private final long ownershipExpirationInMillis;
+    private final Random random;
+
+    /**
+     * Creates a load balancer for an event processor.
+     *
+     * @param ownerId The identifier of the event processor.
+     * @param eventHubName The Event Hub name.
+     * @param consumerGroupName The consumer group name.
+     * @param ownershipExpirationInMillis The time after which an ownership that has not been renewed expires.
+     * @param random Source of randomness used to pick partitions, so event processors do not all go for the same
+     *     ones.
+     */
+    PartitionLoadBalancer(String ownerId, String eventHubName, String consumerGroupName,
+        long ownershipExpirationInMillis, Random random) {
+        this.ownerId = Objects.requireNonNull(ownerId, "ownerId cannot be null");
+        this.eventHubName = Objects.requireNonNull(eventHubName, "eventHubName cannot be null");
+        this.consumerGroupName = Objects.requireNonNull(consumerGroupName, "consumerGroupName cannot be null");
+        this.ownershipExpirationInMillis = ownershipExpirationInMillis;
+        this.random = Objects.requireNonNull(random, "random cannot be null");
+    }
+
+    /**
+     * Gets whether the ownership has been renewed within the ownership expiration time.
+     *
+     * @param ownership The ownership.
+     * @param now The current time in milliseconds.
+     * @return {@code true} if the ownership is active.
+     */
+    boolean isActive(PartitionOwnership ownership, long now) {
+        return ownership.ownerId() != null && ownership.lastModifiedTime() != null
+            && now - ownership.lastModifiedTime() < ownershipExpirationInMillis;
+    }
+
+    /**
+     * Gets the ownerships the event processor should claim for this cycle: the renewals of the partitions it owns,
+     * followed by the partitions it takes on.
+     *
+     * @param ownerships The current ownership of the partitions.
+     * @param partitionIds The identifiers of all the partitions of the Event Hub.
+     * @param now The current time in milliseconds.
+     * @return The ownerships to claim.
+     */
+    List<PartitionOwnership> getOwnershipsToClaim(List<PartitionOwnership> ownerships, List<String> partitionIds,
+        long now) {
+        final Map<String, PartitionOwnership> ownershipByPartition = new HashMap<>();
+        for (PartitionOwnership ownership : ownerships) {
+            ownershipByPartition.put(ownership.partitionId(), ownership);
+        }
+
+        final Map<String, List<PartitionOwnership>> activeOwnershipsByOwner = new HashMap<>();
+        final List<PartitionOwnership> unowned = new ArrayList<>();
+        activeOwnershipsByOwner.put(ownerId, new ArrayList<>());
+        for (String partitionId : partitionIds) {
+            final PartitionOwnership ownership = ownershipByPartition.get(partitionId);
+            if (ownership == null) {
+                unowned.add(new PartitionOwnership()
+                    .partitionId(partitionId)
+                    .eventHubName(eventHubName)
+                    .consumerGroupName(consumerGroupName)
+                    .ownerLevel(0L));
+            } else if (isActive(ownership, now)) {
+                activeOwnershipsByOwner.computeIfAbsent(ownership.ownerId(), owner -> new ArrayList<>())
+                    .add(ownership);
+            } else {
+                unowned.add(ownership);
+            }
+        }
+
+        final List<PartitionOwnership> owned = activeOwnershipsByOwner.get(ownerId);
+        final List<PartitionOwnership> claims = new ArrayList<>();
+        for (PartitionOwnership ownership : owned) {
+            claims.add(claimOf(ownership));
+        }
+
+        final int minimumShare = partitionIds.size() / activeOwnershipsByOwner.size();
+        final int ownersWithExtraPartition = partitionIds.size() % activeOwnershipsByOwner.size();
+        int othersWithExtraPartition = 0;
+        String mostLoadedOwner = null;
+        int mostLoadedCount = 0;
+        for (Map.Entry<String, List<PartitionOwnership>> entry : activeOwnershipsByOwner.entrySet()) {
+            if (ownerId.equals(entry.getKey())) {
+                continue;
+            }
+            final int count = entry.getValue().size();
+            if (count > minimumShare) {
+                othersWithExtraPartition++;
+            }
+            if (count > mostLoadedCount) {
+                mostLoadedOwner = entry.getKey();
+                mostLoadedCount = count;
+            }
+        }
+
+        final int fairShare = minimumShare + (othersWithExtraPartition < ownersWithExtraPartition ? 1 : 0);
+        int ownedCount = owned.size();
+
+        // Partitions nobody owns are free to take.
+        Collections.shuffle(unowned, random);
+        for (int i = 0; i < unowned.size() && ownedCount < fairShare; i++) {
+            claims.add(claimOf(unowned.get(i)));
+            ownedCount++;
+        }
+
+        // Steal a single partition, only from an owner that has more than it should so ownership does not bounce
+        // between owners that already have their share.
+        if (ownedCount < fairShare && mostLoadedOwner != null
+            && (mostLoadedCount > minimumShare + 1 || (mostLoadedCount > minimumShare && ownedCount < minimumShare))) {
+            final List<PartitionOwnership> victimOwnerships = activeOwnershipsByOwner.get(mostLoadedOwner);
+            claims.add(claimOf(victimOwnerships.get(random.nextInt(victimOwnerships.size()))));
+        }
+
+        return claims;
+    }
+
+    /*
+     * Creates the claim of an ownership for this event processor, carrying the ETag and checkpoint of the ownership it
+     * replaces.
+     */
+    private PartitionOwnership claimOf(PartitionOwnership ownership) {
+        return new PartitionOwnership()
+            .partitionId(ownership.partitionId())
+            .eventHubName(ownership.eventHubName())
+            .consumerGroupName(ownership.consumerGroupName())
+            .ownerId(ownerId)
+            .ownerLevel(ownership.ownerLevel())
+            .offset(ownership.offset())
+            .sequenceNumber(ownership.sequenceNumber())
+            .lastModifiedTime(ownership.lastModifiedTime())
+            .eTag(ownership.eTag());
+    }
+}
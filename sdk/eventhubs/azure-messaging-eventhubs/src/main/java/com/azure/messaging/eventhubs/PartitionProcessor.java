@@ -4,8 +4,12 @@
 package com.azure.messaging.eventhubs;
 
 import com.azure.messaging.eventhubs.models.PartitionContext;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.util.List;
+
 /**
  * The interface defining all the operations that must be supported by a single partition processor.
  * <p>
@@ -39,6 +43,23 @@ public interface PartitionProcessor {
      */
     Mono<Void> processEvent(EventData eventData);
 
+    /**
+     * This method is called with a batch of events received for this partition when the {@link EventProcessor} is
+     * configured to {@link EventHubClientBuilder#processEventsInBatches(int, Duration) process events in batches}. The
+     * next batch is delivered once processing of this batch completes.
+     *
+     * <p>
+     * The default implementation processes the events in order, one at a time, by calling {@link
+     * #processEvent(EventData)}. Implementations that can process a batch at once, or that only need to update the
+     * checkpoint for the last event of the batch, should override this method.
+     *
+     * @param events The {@link EventData events} received from this partition, in the order they were received.
+     * @return a representation of the deferred computation of this call.
+     */
+    default Mono<Void> processEvents(List<EventData> events) {
+        return Flux.fromIterable(events).concatMap(this::processEvent).then();
+    }
+
     /**
      * This method is called when an error occurs while receiving events from Event Hub. An error also marks the end of
      * event data stream.
@@ -0,0 +1,221 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.messaging.eventhubs;
+
+import com.azure.core.util.logging.ClientLogger;
+import org.reactivestreams.Subscription;
+import reactor.core.Disposable;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Delivers the events received from a partition to its {@link PartitionProcessor}.
+ * <p>
+ * Events are processed one batch at a time, in the order they were received, on a worker of a scheduler that is shared
+ * by all the partitions of an {@link EventProcessor}. A batch is delivered once it holds the maximum number of events,
+ * once the oldest event in it has waited for the maximum wait time, or as soon as the previous batch has been processed
+ * when events arrived in the meantime. Without a maximum wait time, events are delivered one at a time to
+ * {@link PartitionProcessor#processEvent(EventData)}.
+ * </p>
+ * <p>
+ * The pump only requests as many events from the consumer as it has room for, and requests more once a batch has been
+ * processed, so a slow partition processor slows down the flow of credits on its link instead of events piling up.
+ * </p>
+ */
+final class PartitionPump extends BaseSubscriber<EventData> {
+    private final ClientLogger logger = new ClientLogger(PartitionPump.class);
+    private final Object lock = new Object();
+    private final PartitionProcessor partitionProcessor;
+    private final Scheduler.Worker worker;
+    private final int maxBatchSize;
+    private final Duration maxWaitTime;
+    private final int window;
+
+    // Guarded by lock.
+    private List<EventData> buffer = new ArrayList<>();
+    private boolean isProcessing;
+    private boolean isUpstreamDone;
+    private boolean isClosed;
+    private Disposable flushTimer;
+
+    /**
+     * Creates a pump for a partition.
+     *
+     * @param partitionProcessor The partition processor to deliver events to.
+     * @param scheduler The scheduler events are processed on.
+     * @param maxBatchSize The maximum number of events in a batch.
+     * @param maxWaitTime The maximum time an event waits for a batch to fill up, {@code null} to deliver events one at a
+     *     time.
+     * @param window The maximum number of events that are requested from the consumer and not processed yet.
+     */
+    PartitionPump(PartitionProcessor partitionProcessor, Scheduler scheduler, int maxBatchSize, Duration maxWaitTime,
+        int window) {
+        this.partitionProcessor = Objects.requireNonNull(partitionProcessor, "partitionProcessor cannot be null");
+        this.worker = Objects.requireNonNull(scheduler, "scheduler cannot be null").createWorker();
+        this.maxBatchSize = maxWaitTime == null ? 1 : maxBatchSize;
+        this.maxWaitTime = maxWaitTime;
+        this.window = Math.max(window, 2 * this.maxBatchSize);
+    }
+
+    @Override
+    protected void hookOnSubscribe(Subscription subscription) {
+        request(window);
+    }
+
+    @Override
+    protected void hookOnNext(EventData eventData) {
+        synchronized (lock) {
+            buffer.add(eventData);
+            if (isProcessing) {
+                // Picked up once the batch being processed completes.
+                return;
+            }
+
+            if (buffer.size() >= maxBatchSize) {
+                startFlush();
+            } else if (flushTimer == null) {
+                flushTimer = schedule(this::onFlushTimer, maxWaitTime.toMillis());
+            }
+        }
+    }
+
+    @Override
+    protected void hookOnComplete() {
+        synchronized (lock) {
+            isUpstreamDone = true;
+            if (isProcessing) {
+                return;
+            }
+
+            if (buffer.isEmpty()) {
+                closeProcessor();
+            } else {
+                startFlush();
+            }
+        }
+    }
+
+    @Override
+    protected void hookOnError(Throwable throwable) {
+        synchronized (lock) {
+            isClosed = true;
+            cancelFlushTimer();
+        }
+        worker.dispose();
+        partitionProcessor.processError(throwable);
+    }
+
+    private void onFlushTimer() {
+        synchronized (lock) {
+            flushTimer = null;
+            if (isProcessing || buffer.isEmpty()) {
+                return;
+            }
+            isProcessing = true;
+        }
+        flush();
+    }
+
+    /*
+     * Hands the buffered events to the worker. Must be called while holding the lock.
+     */
+    private void startFlush() {
+        isProcessing = true;
+        cancelFlushTimer();
+        schedule(this::flush, 0);
+    }
+
+    /*
+     * Processes the next batch of buffered events. Runs on the worker.
+     */
+    private void flush() {
+        final List<EventData> batch;
+        synchronized (lock) {
+            if (buffer.size() <= maxBatchSize) {
+                batch = buffer;
+                buffer = new ArrayList<>();
+            } else {
+                batch = new ArrayList<>(buffer.subList(0, maxBatchSize));
+                buffer = new ArrayList<>(buffer.subList(maxBatchSize, buffer.size()));
+            }
+        }
+
+        Mono.defer(() -> maxWaitTime == null
+            ? partitionProcessor.processEvent(batch.get(0))
+            : partitionProcessor.processEvents(batch))
+            .onErrorResume(error -> {
+                partitionProcessor.processError(error);
+                return Mono.empty();
+            })
+            .subscribe(null, null, () -> onBatchProcessed(batch.size()));
+    }
+
+    private void onBatchProcessed(int processed) {
+        request(processed);
+
+        synchronized (lock) {
+            if (isClosed) {
+                return;
+            }
+
+            if (!buffer.isEmpty()) {
+                // Events that arrived while the batch was processed have already waited, deliver them right away.
+                schedule(this::flush, 0);
+                return;
+            }
+
+            isProcessing = false;
+            if (isUpstreamDone) {
+                closeProcessor();
+            }
+        }
+    }
+
+    /*
+     * Closes the partition processor once the consumer has completed and all its events are processed. Must be called
+     * while holding the lock.
+     */
+    private void closeProcessor() {
+        if (isClosed) {
+            return;
+        }
+        isClosed = true;
+        worker.dispose();
+
+        // Currently, there is no way to distinguish if the receiver was closed because
+        // another receiver with higher/same owner level(epoch) connected or because
+        // this event processor explicitly called close on this consumer.
+        partitionProcessor.close(CloseReason.LOST_PARTITION_OWNERSHIP).subscribe();
+    }
+
+    private void cancelFlushTimer() {
+        if (flushTimer != null) {
+            flushTimer.dispose();
+            flushTimer = null;
+        }
+    }
+
+    private Disposable schedule(Runnable task, long delayInMillis) {
+        try {
+            return delayInMillis > 0
+                ? worker.schedule(task, delayInMillis, TimeUnit.MILLISECONDS)
+                : worker.schedule(task);
+        } catch (RejectedExecutionException e) {
+            logger.warning("Unable to schedule processing of events, the event processor is stopped. {}",
+                e.getMessage());
+            synchronized (lock) {
+                closeProcessor();
+            }
+            return null;
+        }
+    }
+}
@@ -6,8 +6,10 @@ package com.azure.messaging.eventhubs.implementation;
 import com.azure.core.amqp.CBSNode;
 import com.azure.core.amqp.exception.AmqpException;
 import com.azure.core.amqp.exception.AmqpResponseCode;
+import com.azure.core.amqp.implementation.TokenRenewalScheduler;
 import com.azure.core.exception.AzureException;
 import com.azure.core.util.logging.ClientLogger;
+import reactor.core.Disposable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.FluxSink;
 import reactor.core.publisher.Mono;
@@ -16,31 +18,49 @@ import java.io.Closeable;
 import java.time.Duration;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
-import java.util.Timer;
-import java.util.TimerTask;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Manages the re-authorization of the client to the token audience against the CBS node.
+ *
+ * The authorization is renewed by the {@link TokenRenewalScheduler} of the connection, which shares put-token
+ * requests and renewals between every link of the connection that uses the same token audience.
  */
 class ActiveClientTokenManager implements Closeable {
     private final ClientLogger logger = new ClientLogger(ActiveClientTokenManager.class);
     private final AtomicBoolean hasScheduled = new AtomicBoolean();
     private final AtomicBoolean hasDisposed = new AtomicBoolean();
-    private final Mono<CBSNode> cbsNode;
+    private final TokenRenewalScheduler scheduler;
+    private final boolean ownsScheduler;
     private final String tokenAudience;
-    private final Timer timer;
     private final Flux<AmqpResponseCode> authorizationResults;
-    private FluxSink<AmqpResponseCode> sink;
-
-    // last refresh interval in milliseconds.
-    private AtomicLong lastRefreshInterval = new AtomicLong();
+    private volatile FluxSink<AmqpResponseCode> sink;
+    private volatile Disposable renewals;
 
+    /**
+     * Creates a token manager that renews the authorization on its own scheduler.
+     *
+     * @param cbsNode The CBS node to authorize with.
+     * @param tokenAudience The token audience to authorize.
+     */
     ActiveClientTokenManager(Mono<CBSNode> cbsNode, String tokenAudience) {
-        this.timer = new Timer(tokenAudience + "-tokenManager");
-        this.cbsNode = cbsNode;
+        this(new TokenRenewalScheduler(cbsNode, tokenAudience), tokenAudience, true);
+    }
+
+    /**
+     * Creates a token manager that renews the authorization on the scheduler of its connection.
+     *
+     * @param scheduler The token renewal scheduler of the connection.
+     * @param tokenAudience The token audience to authorize.
+     */
+    ActiveClientTokenManager(TokenRenewalScheduler scheduler, String tokenAudience) {
+        this(scheduler, tokenAudience, false);
+    }
+
+    private ActiveClientTokenManager(TokenRenewalScheduler scheduler, String tokenAudience, boolean ownsScheduler) {
+        this.scheduler = scheduler;
         this.tokenAudience = tokenAudience;
+        this.ownsScheduler = ownsScheduler;
         this.authorizationResults = Flux.create(sink -> {
             if (hasDisposed.get()) {
                 sink.complete();
@@ -48,8 +68,6 @@ class ActiveClientTokenManager implements Closeable {
                 this.sink = sink;
             }
         });
-
-        lastRefreshInterval.set(Duration.ofMinutes(1).getSeconds() * 1000);
     }
 
     /**
@@ -72,24 +90,20 @@ class ActiveClientTokenManager implements Closeable {
             return Mono.error(new AzureException("Cannot authorize with CBS node when this token manager has been disposed of."));
         }
 
-        return cbsNode.flatMap(cbsNode -> cbsNode.authorize(tokenAudience))
+        // If this is the first time authorize is called, the renewals will not have been subscribed to yet.
+        if (!hasScheduled.getAndSet(true)) {
+            logger.info("Scheduling refresh token task.");
+            renewals = scheduler.subscribe(tokenAudience, this::onRenewed, this::onRenewalError);
+        }
+
+        return scheduler.authorize(tokenAudience)
             .map(expiresOn -> {
                 final Duration between = Duration.between(OffsetDateTime.now(ZoneOffset.UTC), expiresOn);
 
                 // We want to refresh the token when 90% of the time before expiry has elapsed.
                 final long refreshSeconds = (long) Math.floor(between.getSeconds() * 0.9);
                 // This converts it to milliseconds
-                final long refreshIntervalMS = refreshSeconds * 1000;
-
-                lastRefreshInterval.set(refreshIntervalMS);
-
-                // If this is the first time authorize is called, the task will not have been scheduled yet.
-                if (!hasScheduled.getAndSet(true)) {
-                    logger.info("Scheduling refresh token task.");
-                    scheduleRefreshTokenTask(refreshIntervalMS);
-                }
-
-                return refreshIntervalMS;
+                return refreshSeconds * 1000;
             });
     }
 
@@ -100,47 +114,42 @@ class ActiveClientTokenManager implements Closeable {
                 this.sink.complete();
             }
 
-            this.timer.cancel();
+            final Disposable subscription = renewals;
+            if (subscription != null) {
+                subscription.dispose();
+            }
+            if (ownsScheduler) {
+                scheduler.close();
+            }
         }
     }
 
-    private void scheduleRefreshTokenTask(Long refreshIntervalInMS) {
-        try {
-            timer.schedule(new RefreshAuthorizationToken(), refreshIntervalInMS);
-        } catch (IllegalStateException e) {
-            logger.warning("Unable to schedule RefreshAuthorizationToken task.", e);
-            hasScheduled.set(false);
+    private void onRenewed(OffsetDateTime expiresOn) {
+        if (hasDisposed.get()) {
+            logger.info("Token manager has been disposed of. Not rescheduling.");
+            return;
+        }
+
+        final FluxSink<AmqpResponseCode> current = sink;
+        if (current != null) {
+            current.next(AmqpResponseCode.ACCEPTED);
         }
     }
 
-    private class RefreshAuthorizationToken extends TimerTask {
-        @Override
-        public void run() {
-            logger.info("Refreshing authorization token.");
-            authorize().subscribe(
-                (Long refreshIntervalInMS) -> {
-
-                    if (hasDisposed.get()) {
-                        logger.info("Token manager has been disposed of. Not rescheduling.");
-                        return;
-                    }
-
-                    logger.info("Authorization successful. Refreshing token in {} ms.", refreshIntervalInMS);
-                    sink.next(AmqpResponseCode.ACCEPTED);
-
-                    scheduleRefreshTokenTask(refreshIntervalInMS);
-                }, error -> {
-                    if ((error instanceof AmqpException) && ((AmqpException) error).isTransient()) {
-                        logger.error("Error is transient. Rescheduling authorization task.", error);
-                        scheduleRefreshTokenTask(lastRefreshInterval.get());
-                    } else {
-                        logger.error("Error occurred while refreshing token that is not retriable. Not scheduling"
-                            + " refresh task. Use ActiveClientTokenManager.authorize() to schedule task again.", error);
-                        hasScheduled.set(false);
-                    }
-
-                    sink.error(error);
-                });
+    private void onRenewalError(Throwable error) {
+        if (!(error instanceof AmqpException) || !((AmqpException) error).isTransient()) {
+            logger.error("Error occurred while refreshing token that is not retriable. Not scheduling"
+                + " refresh task. Use ActiveClientTokenManager.authorize() to schedule task again.", error);
+            final Disposable subscription = renewals;
+            if (subscription != null) {
+                subscription.dispose();
+            }
+            hasScheduled.set(false);
+        }
+
+        final FluxSink<AmqpResponseCode> current = sink;
+        if (current != null) {
+            current.error(error);
         }
     }
 }
@@ -34,6 +34,17 @@ public interface AmqpSendLink extends AmqpLink {
      */
     Mono<Void> send(List<Message> messageBatch);
 
+    /**
+     * Sends a message that has already been encoded.
+     *
+     * @param encodedMessage Array that holds the encoded message in its first {@code encodedSize} bytes. The array
+     *     must not be modified until the returned Mono completes.
+     * @param encodedSize Number of bytes of the encoded message.
+     * @param messageFormat AMQP message format of the encoded message.
+     * @return A Mono that completes when the message has been sent.
+     */
+    Mono<Void> send(byte[] encodedMessage, int encodedSize, int messageFormat);
+
     /**
      * Gets the size of the send link. {@link Message Messages} sent on the link cannot exceed the size.
      *
@@ -0,0 +1,164 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.messaging.eventhubs.implementation;
+
+import org.apache.qpid.proton.codec.ReadableBuffer;
+import org.apache.qpid.proton.codec.WritableBuffer;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * A {@link WritableBuffer} backed by a byte array that grows as content is written, up to a limit.
+ *
+ * Proton-j messages are encoded straight into the array, so a message does not have to be encoded into a scratch
+ * buffer of the maximum message size first and copied afterwards. Writing past the limit throws a
+ * {@link BufferOverflowException}, like encoding into a fixed size array does. The position can be moved back to
+ * discard content that was written after it.
+ */
+public final class GrowableWritableBuffer implements WritableBuffer {
+    private byte[] array;
+    private int position;
+    private int limit;
+
+    /**
+     * Creates a buffer.
+     *
+     * @param initialCapacity Initial size of the backing array.
+     * @param limit Maximum number of bytes the buffer holds.
+     */
+    public GrowableWritableBuffer(int initialCapacity, int limit) {
+        this.array = new byte[Math.min(initialCapacity, limit)];
+        this.limit = limit;
+    }
+
+    /**
+     * Gets the backing array, the content of the buffer is stored in its first {@link #position()} bytes. The array
+     * is replaced when the buffer grows, content written after this call may not be visible in the returned array.
+     *
+     * @return The backing array.
+     */
+    public byte[] array() {
+        return array;
+    }
+
+    /**
+     * Sets the maximum number of bytes the buffer holds.
+     *
+     * @param limit The maximum number of bytes.
+     */
+    public void limit(int limit) {
+        this.limit = limit;
+    }
+
+    @Override
+    public int limit() {
+        return limit;
+    }
+
+    @Override
+    public int position() {
+        return position;
+    }
+
+    @Override
+    public void position(int position) {
+        if (position > limit) {
+            throw new BufferOverflowException();
+        }
+        ensureCapacity(position);
+        this.position = position;
+    }
+
+    @Override
+    public boolean hasRemaining() {
+        return position < limit;
+    }
+
+    @Override
+    public int remaining() {
+        return limit - position;
+    }
+
+    @Override
+    public void ensureRemaining(int requiredRemaining) {
+        ensureWritable(requiredRemaining);
+    }
+
+    @Override
+    public void put(byte b) {
+        ensureWritable(1);
+        array[position++] = b;
+    }
+
+    @Override
+    public void putShort(short value) {
+        ensureWritable(2);
+        array[position++] = (byte) (value >>> 8);
+        array[position++] = (byte) value;
+    }
+
+    @Override
+    public void putInt(int value) {
+        ensureWritable(4);
+        array[position++] = (byte) (value >>> 24);
+        array[position++] = (byte) (value >>> 16);
+        array[position++] = (byte) (value >>> 8);
+        array[position++] = (byte) value;
+    }
+
+    @Override
+    public void putLong(long value) {
+        putInt((int) (value >>> 32));
+        putInt((int) value);
+    }
+
+    @Override
+    public void putFloat(float value) {
+        putInt(Float.floatToRawIntBits(value));
+    }
+
+    @Override
+    public void putDouble(double value) {
+        putLong(Double.doubleToRawLongBits(value));
+    }
+
+    @Override
+    public void put(byte[] source, int offset, int length) {
+        ensureWritable(length);
+        System.arraycopy(source, offset, array, position, length);
+        position += length;
+    }
+
+    @Override
+    public void put(ByteBuffer source) {
+        final int length = source.remaining();
+        ensureWritable(length);
+        source.get(array, position, length);
+        position += length;
+    }
+
+    @Override
+    public void put(ReadableBuffer source) {
+        final int length = source.remaining();
+        ensureWritable(length);
+        source.get(array, position, length);
+        position += length;
+    }
+
+    private void ensureWritable(int length) {
+        if (length > limit - position) {
+            throw new BufferOverflowException();
+        }
+        ensureCapacity(position + length);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > array.length) {
+            final int doubled = (int) Math.min(limit, array.length * 2L);
+            array = Arrays.copyOf(array, Math.max(capacity, doubled));
+        }
+    }
+}
@@ -9,6 +9,8 @@ import com.azure.core.amqp.AmqpSession;
 import com.azure.core.amqp.CBSNode;
 import com.azure.core.amqp.RetryPolicy;
 import com.azure.core.amqp.implementation.RetryUtil;
+import com.azure.core.amqp.implementation.TimingWheel;
+import com.azure.core.amqp.implementation.TokenRenewalScheduler;
 import com.azure.core.util.logging.ClientLogger;
 import com.azure.messaging.eventhubs.implementation.handler.ConnectionHandler;
 import com.azure.messaging.eventhubs.implementation.handler.SessionHandler;
@@ -22,12 +24,17 @@ import reactor.core.Disposables;
 import reactor.core.publisher.Mono;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 public class ReactorConnection extends EndpointStateNotifierBase implements EventHubConnection {
+    // The timeouts of the sends on all the links of the connection are scheduled on one wheel.
+    private static final Duration SEND_TIMEOUT_TICK = Duration.ofMillis(100);
+    private static final int SEND_TIMEOUT_TICKS_PER_WHEEL = 512;
+
     private final ConcurrentMap<String, AmqpSession> sessionMap = new ConcurrentHashMap<>();
     private final AtomicBoolean hasConnection = new AtomicBoolean();
 
@@ -41,6 +48,8 @@ public class ReactorConnection extends EndpointStateNotifierBase implements Even
     private final Mono<EventHubManagementNode> managementChannelMono;
     private final TokenResourceProvider tokenResourceProvider;
     private final RetryPolicy retryPolicy;
+    private final TokenRenewalScheduler tokenRenewalScheduler;
+    private final TimingWheel sendTimeouts;
 
     private ReactorExecutor executor;
     //TODO (conniey): handle failures and recreating the Reactor. Resubscribing the handlers, etc.
@@ -83,6 +92,8 @@ public class ReactorConnection extends EndpointStateNotifierBase implements Even
                 () -> notifyEndpointState(EndpointState.CLOSED)));
 
         tokenResourceProvider = new TokenResourceProvider(connectionOptions.authorizationType(), connectionOptions.host());
+        tokenRenewalScheduler = new TokenRenewalScheduler(Mono.defer(this::getCBSNode), connectionId);
+        sendTimeouts = new TimingWheel(connectionId + "-sendTimeout", SEND_TIMEOUT_TICK, SEND_TIMEOUT_TICKS_PER_WHEEL);
 
         this.managementChannelMono = connectionMono.then(
             Mono.fromCallable(() -> (EventHubManagementNode) new ManagementChannel(this,
@@ -155,8 +166,8 @@ public class ReactorConnection extends EndpointStateNotifierBase implements Even
             final Session session = connection.session();
 
             BaseHandler.setHandler(session, handler);
-            return new ReactorSession(session, handler, sessionName, reactorProvider, handlerProvider, getCBSNode(),
-                tokenResourceProvider, connectionOptions.retry().tryTimeout());
+            return new ReactorSession(session, handler, sessionName, reactorProvider, handlerProvider,
+                tokenRenewalScheduler, sendTimeouts, tokenResourceProvider, connectionOptions.retry().tryTimeout());
         }));
     }
 
@@ -185,6 +196,8 @@ public class ReactorConnection extends EndpointStateNotifierBase implements Even
                 logger.error("Could not close session: " + name, e);
             }
         });
+        tokenRenewalScheduler.close();
+        sendTimeouts.close();
         super.close();
     }
 
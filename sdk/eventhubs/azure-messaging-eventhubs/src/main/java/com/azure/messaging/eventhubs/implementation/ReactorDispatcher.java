@@ -3,6 +3,7 @@
 
 package com.azure.messaging.eventhubs.implementation;
 
+import com.azure.core.implementation.metrics.MetricsProxy;
 import com.azure.core.util.logging.ClientLogger;
 import com.azure.messaging.eventhubs.implementation.handler.DispatchHandler;
 import org.apache.qpid.proton.Proton;
@@ -17,6 +18,9 @@ import java.nio.channels.Pipe;
 import java.time.Duration;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * {@link Reactor} is not thread-safe - all calls to {@link Proton} APIs should be on the Reactor Thread.
@@ -34,17 +38,46 @@ import java.util.concurrent.RejectedExecutionException;
  * Each {@link ReactorDispatcher} should be initialized synchronously - as it calls API in {@link Reactor} which is not
  * thread-safe.
  * </p>
+ *
+ * <p>
+ * The pipe is only written to when work is queued while no wakeup is pending, every time the reactor wakes up it runs
+ * all the work that has been queued until then. In busy-spin mode the pipe is not used at all, instead the reactor
+ * never blocks waiting for IO and looks for queued work on every iteration, which trades a CPU core for the latency of
+ * the wakeup.
+ * </p>
  */
 public final class ReactorDispatcher {
+    private static final String WAKEUPS_METRIC = "azure.amqp.dispatcher.wakeups";
+    private static final String DISPATCHED_WORK_METRIC = "azure.amqp.dispatcher.dispatched.work";
+
     private final ClientLogger logger = new ClientLogger(ReactorDispatcher.class);
     private final CloseHandler onClose;
     private final Reactor reactor;
     private final Pipe ioSignal;
     private final ConcurrentLinkedQueue<Work> workQueue;
     private final WorkScheduler workScheduler;
+    private final boolean isBusySpin;
+    private final AtomicBoolean isWakeupPending = new AtomicBoolean();
+    private final AtomicInteger pendingWorkCount = new AtomicInteger();
+    private final AtomicLong wakeupCount = new AtomicLong();
+    // Only accessed on the reactor thread.
+    private final ByteBuffer signalReadBuffer = ByteBuffer.allocate(1024);
 
     ReactorDispatcher(final Reactor reactor) throws IOException {
+        this(reactor, false);
+    }
+
+    /**
+     * Creates a dispatcher for the reactor.
+     *
+     * @param reactor Reactor to run work on.
+     * @param isBusySpin Whether the reactor spins looking for queued work instead of being woken up when work is
+     *     queued.
+     * @throws IOException If the pipe used to wake up the reactor cannot be opened.
+     */
+    ReactorDispatcher(final Reactor reactor, final boolean isBusySpin) throws IOException {
         this.reactor = reactor;
+        this.isBusySpin = isBusySpin;
         this.ioSignal = Pipe.open();
         this.workQueue = new ConcurrentLinkedQueue<>();
         this.onClose = new CloseHandler();
@@ -60,6 +93,12 @@ public final class ReactorDispatcher {
         schedulerSelectable.onReadable(this.workScheduler);
         schedulerSelectable.onFree(this.onClose);
 
+        if (isBusySpin) {
+            // A deadline that has always passed keeps the reactor from blocking in select.
+            schedulerSelectable.onExpired(new SpinHandler());
+            schedulerSelectable.setDeadline(System.currentTimeMillis());
+        }
+
         schedulerSelectable.setReading(true);
         this.reactor.update(schedulerSelectable);
     }
@@ -67,15 +106,46 @@ public final class ReactorDispatcher {
     public void invoke(final Runnable work) throws IOException {
         this.throwIfSchedulerError();
 
-        this.workQueue.offer(new Work(work));
-        this.signalWorkQueue();
+        this.queueWork(new Work(work));
     }
 
     public void invoke(final Runnable work, final Duration delay) throws IOException {
         this.throwIfSchedulerError();
 
-        this.workQueue.offer(new Work(work, delay));
-        this.signalWorkQueue();
+        this.queueWork(new Work(work, delay));
+    }
+
+    /**
+     * Gets the number of work items that are queued and have not been run yet.
+     *
+     * @return The number of queued work items.
+     */
+    public int getPendingWorkCount() {
+        return pendingWorkCount.get();
+    }
+
+    /**
+     * Gets the number of times the reactor has woken up to run queued work since the dispatcher was created.
+     *
+     * @return The number of wakeups.
+     */
+    public long getWakeupCount() {
+        return wakeupCount.get();
+    }
+
+    private void queueWork(final Work work) throws IOException {
+        this.workQueue.offer(work);
+        this.pendingWorkCount.incrementAndGet();
+
+        // Work queued while a wakeup is pending is run by that wakeup.
+        if (!isBusySpin && isWakeupPending.compareAndSet(false, true)) {
+            try {
+                this.signalWorkQueue();
+            } catch (IOException e) {
+                isWakeupPending.set(false);
+                throw e;
+            }
+        }
     }
 
     private void throwIfSchedulerError() {
@@ -104,15 +174,41 @@ public final class ReactorDispatcher {
         }
     }
 
+    /*
+     * Runs all the work that is queued. Work that is queued while this runs is run as well, or by the next wakeup.
+     */
+    private void dispatchWork() {
+        int dispatched = 0;
+        Work topWork;
+        while ((topWork = workQueue.poll()) != null) {
+            pendingWorkCount.decrementAndGet();
+            dispatched++;
+
+            if (topWork.delay != null) {
+                reactor.schedule((int) topWork.delay.toMillis(), topWork.dispatchHandler);
+            } else {
+                topWork.dispatchHandler.onTimerTask(null);
+            }
+        }
+
+        if (dispatched > 0) {
+            wakeupCount.incrementAndGet();
+            if (MetricsProxy.isEnabled()) {
+                MetricsProxy.increment(WAKEUPS_METRIC);
+                MetricsProxy.recordValue(DISPATCHED_WORK_METRIC, dispatched);
+            }
+        }
+    }
+
     // Schedules work to be executed in reactor.
     private final class WorkScheduler implements Callback {
         @Override
         public void run(Selectable selectable) {
             try {
-                ByteBuffer oneKbByteBuffer = ByteBuffer.allocate(1024);
-                while (ioSignal.source().read(oneKbByteBuffer) > 0) {
+                signalReadBuffer.clear();
+                while (ioSignal.source().read(signalReadBuffer) > 0) {
                     // read until the end of the stream
-                    oneKbByteBuffer = ByteBuffer.allocate(1024);
+                    signalReadBuffer.clear();
                 }
             } catch (ClosedChannelException ignorePipeClosedDuringReactorShutdown) {
                 logger.info("WorkScheduler.run() failed with an error: %s", ignorePipeClosedDuringReactorShutdown);
@@ -121,14 +217,20 @@ public final class ReactorDispatcher {
                 throw logger.logExceptionAsError(new RuntimeException(ioException));
             }
 
-            Work topWork;
-            while ((topWork = workQueue.poll()) != null) {
-                if (topWork.delay != null) {
-                    reactor.schedule((int) topWork.delay.toMillis(), topWork.dispatchHandler);
-                } else {
-                    topWork.dispatchHandler.onTimerTask(null);
-                }
-            }
+            // Work queued from here on signals the pipe again.
+            isWakeupPending.set(false);
+            dispatchWork();
+        }
+    }
+
+    // Runs queued work on every iteration of the reactor when it is busy-spinning.
+    private final class SpinHandler implements Callback {
+        @Override
+        public void run(Selectable selectable) {
+            dispatchWork();
+
+            selectable.setDeadline(System.currentTimeMillis());
+            reactor.update(selectable);
         }
     }
 
@@ -18,9 +18,27 @@ import java.util.Objects;
 public class ReactorProvider {
     private final ClientLogger logger = new ClientLogger(ReactorProvider.class);
     private final Object lock = new Object();
+    private final boolean isBusySpin;
     private Reactor reactor;
     private ReactorDispatcher reactorDispatcher;
 
+    /**
+     * Creates a provider of reactors that block waiting for IO while they are idle.
+     */
+    public ReactorProvider() {
+        this(false);
+    }
+
+    /**
+     * Creates a provider of reactors.
+     *
+     * @param isBusySpin Whether the reactors spin looking for work queued on their {@link ReactorDispatcher} instead
+     *     of blocking while they are idle. This lowers the latency of sends at the cost of a CPU core per reactor.
+     */
+    public ReactorProvider(boolean isBusySpin) {
+        this.isBusySpin = isBusySpin;
+    }
+
     Reactor getReactor() {
         synchronized (lock) {
             return reactor;
@@ -69,7 +87,7 @@ public class ReactorProvider {
         final Reactor reactor = Proton.reactor(reactorOptions, baseHandlers);
         reactor.setGlobalHandler(globalHandler);
 
-        final ReactorDispatcher dispatcher = new ReactorDispatcher(reactor);
+        final ReactorDispatcher dispatcher = new ReactorDispatcher(reactor, isBusySpin);
 
         synchronized (lock) {
             this.reactor = reactor;
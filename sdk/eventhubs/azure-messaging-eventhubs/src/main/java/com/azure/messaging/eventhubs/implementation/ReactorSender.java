@@ -10,6 +10,7 @@ import com.azure.core.amqp.exception.ErrorContext;
 import com.azure.core.amqp.exception.ExceptionUtil;
 import com.azure.core.amqp.exception.OperationCancelledException;
 import com.azure.core.amqp.implementation.RetryUtil;
+import com.azure.core.amqp.implementation.TimingWheel;
 import com.azure.core.util.logging.ClientLogger;
 import com.azure.messaging.eventhubs.implementation.handler.SendLinkHandler;
 import org.apache.qpid.proton.Proton;
@@ -31,29 +32,31 @@ import reactor.core.Disposables;
 import reactor.core.publisher.Mono;
 
 import java.io.IOException;
-import java.io.Serializable;
 import java.nio.BufferOverflowException;
 import java.time.Duration;
 import java.time.Instant;
-import java.util.Comparator;
+import java.util.ArrayDeque;
 import java.util.List;
 import java.util.Locale;
-import java.util.PriorityQueue;
-import java.util.Timer;
-import java.util.TimerTask;
-import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.azure.messaging.eventhubs.implementation.EventDataUtil.getDataSerializedSize;
-import static java.nio.charset.StandardCharsets.UTF_8;
 
 /**
  * Handles scheduling and transmitting events through proton-j to Event Hubs service.
+ *
+ * Sends are queued without locking and picked up on the reactor thread, which is woken up at most once for any number
+ * of sends that are queued while it has not run yet. Sends that are retried after a rejection are sent before new
+ * sends. Every delivery is tagged with the next value of a per-link sequence number, and the timeouts of the deliveries
+ * that wait for an acknowledgement are scheduled on the timing wheel of the connection, which is shared by its links.
  */
 class ReactorSender extends EndpointStateNotifierBase implements AmqpSendLink {
+    private static final int DELIVERY_TAG_SIZE = Long.BYTES;
+
     private final String entityPath;
     private final Sender sender;
     private final SendLinkHandler handler;
@@ -64,17 +67,23 @@ class ReactorSender extends EndpointStateNotifierBase implements AmqpSendLink {
     private final AtomicBoolean hasAuthorized = new AtomicBoolean(true);
     private final AtomicInteger retryAttempts = new AtomicInteger();
 
-    private final Object pendingSendLock = new Object();
-    private final ConcurrentHashMap<String, RetriableWorkItem> pendingSendsMap = new ConcurrentHashMap<>();
-    private final PriorityQueue<WeightedDeliveryTag> pendingSendsQueue = new PriorityQueue<>(1000, new DeliveryTagComparator());
+    // Sends that are waiting for an acknowledgement, keyed by delivery tag. Whoever removes a send completes it.
+    private final ConcurrentHashMap<Long, RetriableWorkItem> pendingSendsMap = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<RetriableWorkItem> pendingSendsQueue = new ConcurrentLinkedQueue<>();
+    // Only accessed on the reactor thread.
+    private final ArrayDeque<RetriableWorkItem> retrySendsQueue = new ArrayDeque<>();
+    private final AtomicBoolean isWorkScheduled = new AtomicBoolean();
 
     private final ActiveClientTokenManager tokenManager;
+    private final TimingWheel sendTimeouts;
     private final RetryPolicy retry;
     private final Duration timeout;
-    private final Timer sendTimeoutTimer = new Timer("SendTimeout-timer");
 
     private final Object errorConditionLock = new Object();
 
+    // Only accessed on the reactor thread.
+    private long nextDeliveryTag;
+
     private volatile Exception lastKnownLinkError;
     private volatile Instant lastKnownErrorReportedAt;
 
@@ -85,13 +94,15 @@ class ReactorSender extends EndpointStateNotifierBase implements AmqpSendLink {
     private volatile int maxMessageSize;
 
     ReactorSender(String entityPath, Sender sender, SendLinkHandler handler, ReactorProvider reactorProvider,
-                  ActiveClientTokenManager tokenManager, Duration timeout, RetryPolicy retry, int maxMessageSize) {
+                  ActiveClientTokenManager tokenManager, TimingWheel sendTimeouts, Duration timeout, RetryPolicy retry,
+                  int maxMessageSize) {
         super(new ClientLogger(ReactorSender.class));
         this.entityPath = entityPath;
         this.sender = sender;
         this.handler = handler;
         this.reactorProvider = reactorProvider;
         this.tokenManager = tokenManager;
+        this.sendTimeouts = sendTimeouts;
         this.retry = retry;
         this.timeout = timeout;
         this.maxMessageSize = maxMessageSize;
@@ -235,9 +246,11 @@ class ReactorSender extends EndpointStateNotifierBase implements AmqpSendLink {
         super.close();
     }
 
-    private Mono<Void> send(byte[] bytes, int arrayOffset, int messageFormat) {
+    @Override
+    public Mono<Void> send(byte[] encodedMessage, int encodedSize, int messageFormat) {
         Mono<Void> sendWorkItem = Mono.create(sink -> {
-            send(new RetriableWorkItem(bytes, arrayOffset, messageFormat, sink, timeout));
+            pendingSendsQueue.add(new RetriableWorkItem(encodedMessage, encodedSize, messageFormat, sink, timeout));
+            scheduleWorkOnDispatcher();
         });
 
         if (hasConnected.get()) {
@@ -250,58 +263,37 @@ class ReactorSender extends EndpointStateNotifierBase implements AmqpSendLink {
         }
     }
 
-    private void send(RetriableWorkItem workItem) {
-        final String deliveryTag = UUID.randomUUID().toString().replace("-", "");
-
-        synchronized (pendingSendLock) {
-            this.pendingSendsMap.put(deliveryTag, workItem);
-            this.pendingSendsQueue.offer(new WeightedDeliveryTag(deliveryTag, workItem.hasBeenRetried() ? 1 : 0));
-        }
-
-        this.scheduleWorkOnDispatcher();
-    }
-
     /**
      * Invokes work on the Reactor. Should only be called from ReactorDispatcher.invoke()
      */
     private void processSendWork() {
+        // Sends queued from here on need another run.
+        isWorkScheduled.set(false);
+
         if (!hasConnected.get()) {
             logger.warning("Not connected. Not processing send work.");
             return;
         }
 
         while (hasConnected.get() && sender.getCredit() > 0) {
-            final WeightedDeliveryTag weightedDelivery;
-            final RetriableWorkItem workItem;
-            final String deliveryTag;
-            synchronized (pendingSendLock) {
-                weightedDelivery = this.pendingSendsQueue.poll();
-                if (weightedDelivery != null) {
-                    deliveryTag = weightedDelivery.getDeliveryTag();
-                    workItem = this.pendingSendsMap.get(deliveryTag);
-                } else {
-                    workItem = null;
-                    deliveryTag = null;
-                }
-            }
-
+            RetriableWorkItem workItem = retrySendsQueue.poll();
             if (workItem == null) {
-                if (deliveryTag != null) {
-                    logger.verbose("clientId[{}]. path[{}], linkName[{}], deliveryTag[{}]: sendData not found for this delivery.",
-                        handler.getConnectionId(), entityPath, getLinkName(), deliveryTag);
+                workItem = pendingSendsQueue.poll();
+                if (workItem == null) {
+                    break;
                 }
-
-                //TODO (conniey): Should we update to continue rather than break?
-                break;
             }
 
+            final long deliveryTag = nextDeliveryTag++;
+            pendingSendsMap.put(deliveryTag, workItem);
+
             Delivery delivery = null;
             boolean linkAdvance = false;
             int sentMsgSize = 0;
             Exception sendException = null;
 
             try {
-                delivery = sender.delivery(deliveryTag.getBytes(UTF_8));
+                delivery = sender.delivery(encodeDeliveryTag(deliveryTag));
                 delivery.setMessageFormat(workItem.messageFormat());
 
                 sentMsgSize = sender.send(workItem.message(), 0, workItem.encodedMessageSize());
@@ -316,12 +308,22 @@ class ReactorSender extends EndpointStateNotifierBase implements AmqpSendLink {
                 logger.verbose("entityPath[{}], linkName[{}], deliveryTag[{}]: Sent message", entityPath, getLinkName(), deliveryTag);
 
                 workItem.setIsWaitingForAck();
-                sendTimeoutTimer.schedule(new SendTimeout(deliveryTag), timeout.toMillis());
+                try {
+                    workItem.sendTimeout(sendTimeouts.schedule(new SendTimeout(deliveryTag), timeout));
+                } catch (IllegalStateException closedException) {
+                    // The connection is closing, the send won't be acknowledged.
+                    if (pendingSendsMap.remove(deliveryTag) != null) {
+                        workItem.sink().error(new OperationCancelledException(String.format(Locale.US,
+                            "Entity(%s): send operation cancelled as the connection is closed.", entityPath),
+                            closedException, handler.getErrorContext(sender)));
+                    }
+                }
             } else {
                 logger.verbose(
                     "clientId[{}]. path[{}], linkName[{}], deliveryTag[{}], sentMessageSize[{}], payloadActualSize[{}]: sendlink advance failed",
                     handler.getConnectionId(), entityPath, getLinkName(), deliveryTag, sentMsgSize, workItem.encodedMessageSize());
 
+                pendingSendsMap.remove(deliveryTag);
                 if (delivery != null) {
                     delivery.free();
                 }
@@ -338,7 +340,7 @@ class ReactorSender extends EndpointStateNotifierBase implements AmqpSendLink {
 
     private void processDeliveredMessage(Delivery delivery) {
         final DeliveryState outcome = delivery.getRemoteState();
-        final String deliveryTag = new String(delivery.getTag(), UTF_8);
+        final long deliveryTag = decodeDeliveryTag(delivery.getTag());
 
         logger.verbose("entityPath[{}], clinkName[{}], deliveryTag[{}]: process delivered message",
             entityPath, getLinkName(), deliveryTag);
@@ -351,6 +353,7 @@ class ReactorSender extends EndpointStateNotifierBase implements AmqpSendLink {
             return;
         }
 
+        workItem.cancelSendTimeout();
         if (outcome instanceof Accepted) {
             synchronized (errorConditionLock) {
                 lastKnownLinkError = null;
@@ -381,7 +384,7 @@ class ReactorSender extends EndpointStateNotifierBase implements AmqpSendLink {
             } else {
                 workItem.lastKnownException(exception);
                 try {
-                    reactorProvider.getReactorDispatcher().invoke(() -> send(workItem), retryInterval);
+                    reactorProvider.getReactorDispatcher().invoke(() -> retrySend(workItem), retryInterval);
                 } catch (IOException | RejectedExecutionException schedulerException) {
                     exception.initCause(schedulerException);
                     cleanupFailedSend(
@@ -401,17 +404,30 @@ class ReactorSender extends EndpointStateNotifierBase implements AmqpSendLink {
         }
     }
 
+    /*
+     * Runs on the reactor thread once the retry delay of a rejected send has elapsed.
+     */
+    private void retrySend(RetriableWorkItem workItem) {
+        retrySendsQueue.add(workItem);
+        processSendWork();
+    }
+
     private void scheduleWorkOnDispatcher() {
+        // A run that is already scheduled picks up everything that is queued until it starts.
+        if (!isWorkScheduled.compareAndSet(false, true)) {
+            return;
+        }
+
         try {
             reactorProvider.getReactorDispatcher().invoke(this::processSendWork);
         } catch (IOException e) {
+            isWorkScheduled.set(false);
             logger.error("Error scheduling work on reactor.", e);
             notifyError(e);
         }
     }
 
     private void cleanupFailedSend(final RetriableWorkItem workItem, final Exception exception) {
-        //TODO (conniey): is there some timeout task I should handle?
         workItem.sink().error(exception);
     }
 
@@ -420,40 +436,30 @@ class ReactorSender extends EndpointStateNotifierBase implements AmqpSendLink {
             || amqpError == AmqpErrorCode.RESOURCE_LIMIT_EXCEEDED);
     }
 
-    private static class WeightedDeliveryTag {
-        private final String deliveryTag;
-        private final int priority;
-
-        WeightedDeliveryTag(final String deliveryTag, final int priority) {
-            this.deliveryTag = deliveryTag;
-            this.priority = priority;
-        }
-
-        private String getDeliveryTag() {
-            return this.deliveryTag;
-        }
-
-        private int getPriority() {
-            return this.priority;
+    private static byte[] encodeDeliveryTag(long deliveryTag) {
+        final byte[] bytes = new byte[DELIVERY_TAG_SIZE];
+        for (int i = DELIVERY_TAG_SIZE - 1; i >= 0; i--) {
+            bytes[i] = (byte) deliveryTag;
+            deliveryTag >>>= 8;
         }
+        return bytes;
     }
 
-    private static class DeliveryTagComparator implements Comparator<WeightedDeliveryTag>, Serializable {
-        private static final long serialVersionUID = -7057500582037295635L;
-
-        @Override
-        public int compare(WeightedDeliveryTag deliveryTag0, WeightedDeliveryTag deliveryTag1) {
-            return deliveryTag1.getPriority() - deliveryTag0.getPriority();
+    private static long decodeDeliveryTag(byte[] bytes) {
+        long deliveryTag = 0;
+        for (byte b : bytes) {
+            deliveryTag = (deliveryTag << 8) | (b & 0xFF);
         }
+        return deliveryTag;
     }
 
     /**
      * Keeps track of Messages that have been sent, but may not have been acknowledged by the service.
      */
-    private class SendTimeout extends TimerTask {
-        private final String deliveryTag;
+    private class SendTimeout implements Runnable {
+        private final long deliveryTag;
 
-        SendTimeout(String deliveryTag) {
+        SendTimeout(long deliveryTag) {
             this.deliveryTag = deliveryTag;
         }
 
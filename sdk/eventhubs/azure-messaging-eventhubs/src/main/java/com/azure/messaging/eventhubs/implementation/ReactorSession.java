@@ -5,9 +5,10 @@ package com.azure.messaging.eventhubs.implementation;
 
 import com.azure.core.amqp.AmqpEndpointState;
 import com.azure.core.amqp.AmqpLink;
-import com.azure.core.amqp.CBSNode;
 import com.azure.core.amqp.RetryPolicy;
 import com.azure.core.amqp.implementation.RetryUtil;
+import com.azure.core.amqp.implementation.TimingWheel;
+import com.azure.core.amqp.implementation.TokenRenewalScheduler;
 import com.azure.core.implementation.util.ImplUtils;
 import com.azure.core.util.logging.ClientLogger;
 import com.azure.messaging.eventhubs.EventHubAsyncProducer;
@@ -51,18 +52,20 @@ class ReactorSession extends EndpointStateNotifierBase implements EventHubSessio
     private final Duration openTimeout;
     private final Disposable.Composite subscriptions;
     private final ReactorHandlerProvider handlerProvider;
-    private final Mono<CBSNode> cbsNodeSupplier;
+    private final TokenRenewalScheduler tokenRenewalScheduler;
+    private final TimingWheel sendTimeouts;
 
     ReactorSession(Session session, SessionHandler sessionHandler, String sessionName, ReactorProvider provider,
-                   ReactorHandlerProvider handlerProvider, Mono<CBSNode> cbsNodeSupplier,
-                   TokenResourceProvider audienceProvider, Duration openTimeout) {
+                   ReactorHandlerProvider handlerProvider, TokenRenewalScheduler tokenRenewalScheduler,
+                   TimingWheel sendTimeouts, TokenResourceProvider audienceProvider, Duration openTimeout) {
         super(new ClientLogger(ReactorSession.class));
         this.session = session;
         this.sessionHandler = sessionHandler;
         this.handlerProvider = handlerProvider;
         this.sessionName = sessionName;
         this.provider = provider;
-        this.cbsNodeSupplier = cbsNodeSupplier;
+        this.tokenRenewalScheduler = tokenRenewalScheduler;
+        this.sendTimeouts = sendTimeouts;
         this.audienceProvider = audienceProvider;
         this.openTimeout = openTimeout;
 
@@ -147,7 +150,7 @@ class ReactorSession extends EndpointStateNotifierBase implements EventHubSessio
                 try {
                     provider.getReactorDispatcher().invoke(() -> {
                         sender.open();
-                        final ReactorSender reactorSender = new ReactorSender(entityPath, sender, sendLinkHandler, provider, tokenManager, timeout, retry, EventHubAsyncProducer.MAX_MESSAGE_LENGTH_BYTES);
+                        final ReactorSender reactorSender = new ReactorSender(entityPath, sender, sendLinkHandler, provider, tokenManager, sendTimeouts, timeout, retry, EventHubAsyncProducer.MAX_MESSAGE_LENGTH_BYTES);
                         openSendLinks.put(linkName, reactorSender);
                         sink.success(reactorSender);
                     });
@@ -249,6 +252,6 @@ class ReactorSession extends EndpointStateNotifierBase implements EventHubSessio
 
     private ActiveClientTokenManager createTokenManager(String entityPath) {
         final String tokenAudience = audienceProvider.getResourceString(entityPath);
-        return new ActiveClientTokenManager(cbsNodeSupplier, tokenAudience);
+        return new ActiveClientTokenManager(tokenRenewalScheduler, tokenAudience);
     }
 }
@@ -3,6 +3,7 @@
 
 package com.azure.messaging.eventhubs.implementation;
 
+import com.azure.core.amqp.implementation.TimingWheel;
 import reactor.core.publisher.MonoSink;
 
 import java.time.Duration;
@@ -21,6 +22,7 @@ class RetriableWorkItem {
 
     private boolean waitingForAck;
     private Exception lastKnownException;
+    private volatile TimingWheel.Timeout sendTimeout;
 
     RetriableWorkItem(byte[] amqpMessage, int encodedMessageSize, int messageFormat, MonoSink<Void> monoSink, Duration timeout) {
         this(amqpMessage, encodedMessageSize, messageFormat, monoSink, new TimeoutTracker(timeout, false));
@@ -77,4 +79,15 @@ class RetriableWorkItem {
     boolean isWaitingForAck() {
         return this.waitingForAck;
     }
+
+    void sendTimeout(TimingWheel.Timeout timeout) {
+        this.sendTimeout = timeout;
+    }
+
+    void cancelSendTimeout() {
+        final TimingWheel.Timeout timeout = this.sendTimeout;
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
 }
@@ -14,7 +14,7 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.FluxSink;
 import reactor.core.publisher.UnicastProcessor;
 
-import java.nio.charset.StandardCharsets;
+import java.math.BigInteger;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 public class SendLinkHandler extends LinkHandler {
@@ -94,7 +94,7 @@ public class SendLinkHandler extends LinkHandler {
 
             logger.info("onDelivery senderName[{}], linkName[{}], unsettled[{}], credit[{}], deliveryState[{}], delivery.isBuffered[{}], delivery.id[{}]",
                 senderName, sender.getName(), sender.getUnsettled(), sender.getRemoteCredit(),
-                delivery.getRemoteState(), delivery.isBuffered(), new String(delivery.getTag(), StandardCharsets.UTF_8));
+                delivery.getRemoteState(), delivery.isBuffered(), new BigInteger(1, delivery.getTag()));
 
             deliverySink.next(delivery);
             delivery.settle();
@@ -40,20 +40,29 @@ public class EventHubConsumerOptions implements Cloneable {
      */
     public static final int MAXIMUM_PREFETCH_COUNT = 8000;
 
+    /**
+     * The minimum value allowed for the prefetch size, in bytes, of the consumer.
+     */
+    public static final long MINIMUM_PREFETCH_SIZE_IN_BYTES = 1024;
+
     // Default number of events to fetch when creating the consumer.
     static final int DEFAULT_PREFETCH_COUNT = 500;
+    // Default number of bytes of events the consumer queues locally.
+    static final long DEFAULT_PREFETCH_SIZE_IN_BYTES = 64L * 1024 * 1024;
 
     private String identifier;
     private Long ownerLevel;
     private RetryOptions retry;
     private Scheduler scheduler;
     private int prefetchCount;
+    private long prefetchSizeInBytes;
 
     /**
      * Creates a new instance with the default prefetch amount.
      */
     public EventHubConsumerOptions() {
         this.prefetchCount = DEFAULT_PREFETCH_COUNT;
+        this.prefetchSizeInBytes = DEFAULT_PREFETCH_SIZE_IN_BYTES;
     }
 
     /**
@@ -137,6 +146,27 @@ public class EventHubConsumerOptions implements Cloneable {
         return this;
     }
 
+    /**
+     * Sets the maximum size, in bytes, of the events this receiver will actively receive and queue locally. The
+     * receiver stops asking for more events once the events that are queued, or that it has asked for, are expected
+     * to take up this many bytes, so a few large events do not take up as much memory as the prefetch count of them
+     * would.
+     *
+     * @param prefetchSizeInBytes The maximum size, in bytes, of the events to queue locally.
+     * @return The updated {@link EventHubConsumerOptions} object.
+     * @throws IllegalArgumentException if {@code prefetchSizeInBytes} is less than the {@link
+     *         #MINIMUM_PREFETCH_SIZE_IN_BYTES}.
+     */
+    public EventHubConsumerOptions prefetchSizeInBytes(long prefetchSizeInBytes) {
+        if (prefetchSizeInBytes < MINIMUM_PREFETCH_SIZE_IN_BYTES) {
+            throw logger.logExceptionAsError(new IllegalArgumentException(String.format(Locale.US,
+                "PrefetchSizeInBytes, '%s' has to be above %s", prefetchSizeInBytes, MINIMUM_PREFETCH_SIZE_IN_BYTES)));
+        }
+
+        this.prefetchSizeInBytes = prefetchSizeInBytes;
+        return this;
+    }
+
     /**
      * Sets the scheduler for receiving events from Event Hubs. If not specified, the scheduler configured with the
      * associated {@link EventHubAsyncClient} is used.
@@ -201,6 +231,15 @@ public class EventHubConsumerOptions implements Cloneable {
         return prefetchCount;
     }
 
+    /**
+     * Gets the maximum size, in bytes, of the events this receiver will actively receive and queue locally.
+     *
+     * @return The maximum size, in bytes, of the events to queue locally.
+     */
+    public long prefetchSizeInBytes() {
+        return prefetchSizeInBytes;
+    }
+
     /**
      * Creates a shallow clone of this instance.
      *
@@ -218,6 +257,7 @@ public class EventHubConsumerOptions implements Cloneable {
         clone.scheduler(this.scheduler())
             .identifier(this.identifier())
             .prefetchCount(this.prefetchCount())
+            .prefetchSizeInBytes(this.prefetchSizeInBytes())
             .ownerLevel(this.ownerLevel());
 
         if (retry != null) {
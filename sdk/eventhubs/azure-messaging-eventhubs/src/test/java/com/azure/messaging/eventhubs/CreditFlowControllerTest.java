@@ -0,0 +1,107 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.messaging.eventhubs;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for {@link CreditFlowController}.
+ */
+public class CreditFlowControllerTest {
+    private static final long MILLISECOND = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /**
+     * Verifies that credits are topped up in small increments as events are delivered, keeping the number of events
+     * that are queued or asked for at the prefetch count.
+     */
+    @Test
+    public void replenishesCreditsAsEventsAreDelivered() {
+        // Arrange
+        final CreditFlowController controller = new CreditFlowController(16, 1024 * 1024);
+        controller.onCreditsAdded(16);
+
+        // Act & Assert
+        controller.onReceived(100);
+        controller.onReceived(100);
+        Assert.assertEquals(0, controller.onDelivered(100, 0));
+        Assert.assertEquals(2, controller.onDelivered(100, MILLISECOND));
+        Assert.assertEquals(0, controller.getQueuedBytes());
+    }
+
+    /**
+     * Verifies that no credits are added once the events that are queued or asked for are expected to take up the
+     * prefetch size in bytes.
+     */
+    @Test
+    public void boundsCreditsByPrefetchSize() {
+        // Arrange
+        final int eventSize = 256 * 1024;
+        final CreditFlowController controller = new CreditFlowController(100, 1024 * 1024);
+        controller.onCreditsAdded(100);
+
+        // Act
+        for (int i = 0; i < 20; i++) {
+            controller.onReceived(eventSize);
+        }
+
+        // Assert
+        // 20 events of 256KB are queued, well over the 1MB limit, so no credits are added when one is delivered or
+        // when the link runs out of credits.
+        Assert.assertEquals(0, controller.onDelivered(eventSize, 0));
+        Assert.assertEquals(0, controller.onCreditsExhausted(100));
+        Assert.assertEquals(19L * eventSize, controller.getQueuedBytes());
+    }
+
+    /**
+     * Verifies that the credits added when the link runs out of credits are the credits requested downstream, up to
+     * the prefetch size in bytes.
+     */
+    @Test
+    public void suppliesRequestedCreditsWhenExhausted() {
+        // Arrange
+        final CreditFlowController controller = new CreditFlowController(500, 1024 * 1024);
+
+        // Act & Assert
+        Assert.assertEquals(8, controller.onCreditsExhausted(8));
+        // 1MB holds 1024 events of the initial average size of 1KB, 8 of which have been asked for already.
+        Assert.assertEquals(1016, controller.onCreditsExhausted(2000));
+    }
+
+    /**
+     * Verifies that the prefetch target follows the rate at which events are delivered.
+     */
+    @Test
+    public void adjustsPrefetchTargetToDeliveryRate() {
+        // Arrange
+        final CreditFlowController controller = new CreditFlowController(1000, 1024 * 1024 * 1024);
+        Assert.assertEquals(1000, controller.getPrefetchTarget());
+
+        // Act
+        // 50 events per second.
+        long now = 0;
+        for (int i = 0; i < 50; i++) {
+            controller.onReceived(10);
+            controller.onDelivered(10, now);
+            now += 20 * MILLISECOND;
+        }
+
+        // Assert
+        final int slowTarget = controller.getPrefetchTarget();
+        Assert.assertTrue("Target should shrink, was " + slowTarget, slowTarget >= 50 && slowTarget <= 60);
+
+        // Act
+        // 10000 events per second.
+        for (int i = 0; i < 10000; i++) {
+            controller.onReceived(10);
+            controller.onDelivered(10, now);
+            now += TimeUnit.MICROSECONDS.toNanos(100);
+        }
+
+        // Assert
+        Assert.assertEquals(1000, controller.getPrefetchTarget());
+    }
+}
@@ -6,11 +6,18 @@ package com.azure.messaging.eventhubs;
 import com.azure.core.amqp.RetryOptions;
 import com.azure.core.amqp.exception.AmqpException;
 import com.azure.core.amqp.exception.ErrorCondition;
+import com.azure.messaging.eventhubs.implementation.AmqpConstants;
 import com.azure.messaging.eventhubs.implementation.AmqpSendLink;
 import com.azure.messaging.eventhubs.models.BatchOptions;
 import com.azure.messaging.eventhubs.models.EventHubProducerOptions;
 import com.azure.messaging.eventhubs.models.SendOptions;
+import org.apache.qpid.proton.Proton;
+import org.apache.qpid.proton.amqp.messaging.Data;
 import org.apache.qpid.proton.amqp.messaging.Section;
+import org.apache.qpid.proton.codec.AMQPDefinedTypes;
+import org.apache.qpid.proton.codec.DecoderImpl;
+import org.apache.qpid.proton.codec.EncoderImpl;
+import org.apache.qpid.proton.engine.impl.DeliveryImpl;
 import org.apache.qpid.proton.message.Message;
 import org.junit.After;
 import org.junit.Assert;
@@ -25,12 +32,14 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.nio.ByteBuffer;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -42,10 +51,13 @@ public class EventHubAsyncProducerTest {
     private AmqpSendLink sendLink;
 
     @Captor
-    ArgumentCaptor<Message> singleMessageCaptor;
+    ArgumentCaptor<byte[]> encodedMessageCaptor;
 
     @Captor
-    ArgumentCaptor<List<Message>> messagesCaptor;
+    ArgumentCaptor<Integer> encodedSizeCaptor;
+
+    @Captor
+    ArgumentCaptor<Integer> messageFormatCaptor;
 
     @Before
     public void setup() {
@@ -57,12 +69,14 @@ public class EventHubAsyncProducerTest {
     public void teardown() {
         Mockito.framework().clearInlineMocks();
         sendLink = null;
-        singleMessageCaptor = null;
-        messagesCaptor = null;
+        encodedMessageCaptor = null;
+        encodedSizeCaptor = null;
+        messageFormatCaptor = null;
     }
 
     /**
-     * Verifies that sending multiple events will result in calling producer.send(List<Message>).
+     * Verifies that sending multiple events will result in sending a single batched message with a data section for
+     * each event.
      */
     @Test
     public void sendMultipleMessages() {
@@ -74,7 +88,7 @@ public class EventHubAsyncProducerTest {
             return Flux.just(data);
         });
 
-        when(sendLink.send(anyList())).thenReturn(Mono.empty());
+        when(sendLink.send(any(byte[].class), anyInt(), anyInt())).thenReturn(Mono.empty());
 
         final SendOptions options = new SendOptions();
         final EventHubProducerOptions producerOptions = new EventHubProducerOptions()
@@ -86,23 +100,27 @@ public class EventHubAsyncProducerTest {
             .verifyComplete();
 
         // Assert
-        verify(sendLink).send(messagesCaptor.capture());
+        verify(sendLink).send(encodedMessageCaptor.capture(), encodedSizeCaptor.capture(), messageFormatCaptor.capture());
+        Assert.assertEquals(AmqpConstants.AMQP_BATCH_MESSAGE_FORMAT, (int) messageFormatCaptor.getValue());
 
-        final List<Message> messagesSent = messagesCaptor.getValue();
+        final List<Message> messagesSent = decodeBatch(encodedMessageCaptor.getValue(), encodedSizeCaptor.getValue());
         Assert.assertEquals(count, messagesSent.size());
 
-        messagesSent.forEach(message -> Assert.assertEquals(Section.SectionType.Data, message.getBody().getType()));
+        messagesSent.forEach(message -> {
+            Assert.assertEquals(Section.SectionType.Data, message.getBody().getType());
+            Assert.assertArrayEquals(contents, ((Data) message.getBody()).getValue().getArray());
+        });
     }
 
     /**
-     * Verifies that sending a single event data will result in calling producer.send(Message).
+     * Verifies that sending a single event data will result in sending it as a message on its own.
      */
     @Test
     public void sendSingleMessage() {
         // Arrange
         final EventData testData = new EventData(TEST_CONTENTS.getBytes(UTF_8));
 
-        when(sendLink.send(any(Message.class))).thenReturn(Mono.empty());
+        when(sendLink.send(any(byte[].class), anyInt(), anyInt())).thenReturn(Mono.empty());
 
         final SendOptions options = new SendOptions();
         final EventHubProducerOptions producerOptions = new EventHubProducerOptions()
@@ -114,13 +132,64 @@ public class EventHubAsyncProducerTest {
             .verifyComplete();
 
         // Assert
-        verify(sendLink, times(1)).send(any(Message.class));
-        verify(sendLink).send(singleMessageCaptor.capture());
+        verify(sendLink, times(1)).send(encodedMessageCaptor.capture(), encodedSizeCaptor.capture(), messageFormatCaptor.capture());
+        Assert.assertEquals(DeliveryImpl.DEFAULT_MESSAGE_FORMAT, (int) messageFormatCaptor.getValue());
 
-        final Message message = singleMessageCaptor.getValue();
+        final Message message = Proton.message();
+        message.decode(encodedMessageCaptor.getValue(), 0, encodedSizeCaptor.getValue());
         Assert.assertEquals(Section.SectionType.Data, message.getBody().getType());
     }
 
+    /**
+     * Verifies that a batch whose events are encoded as they are added matches the batch that is encoded by the send
+     * link from the individual messages.
+     */
+    @Test
+    public void encodesBatchOnce() {
+        // Arrange
+        final EventDataBatch batch = new EventDataBatch(EventHubAsyncProducer.MAX_MESSAGE_LENGTH_BYTES, "a-partition-key", null);
+        final EventData small = new EventData("small".getBytes(UTF_8));
+        final EventData large = new EventData(TEST_CONTENTS.getBytes(UTF_8));
+        small.addProperty("some-property", "some-value");
+
+        // Act
+        Assert.assertTrue(batch.tryAdd(small));
+        Assert.assertTrue(batch.tryAdd(large));
+        Assert.assertTrue(batch.tryAdd(small));
+
+        // Assert
+        final List<Message> messages = decodeBatch(batch.getEncodedMessage(), batch.getEncodedSize());
+        Assert.assertEquals(3, messages.size());
+        Assert.assertEquals("some-value", messages.get(0).getApplicationProperties().getValue().get("some-property"));
+        Assert.assertArrayEquals(TEST_CONTENTS.getBytes(UTF_8), ((Data) messages.get(1).getBody()).getValue().getArray());
+        Assert.assertEquals("a-partition-key",
+            messages.get(2).getMessageAnnotations().getValue().get(AmqpConstants.PARTITION_KEY));
+    }
+
+    /*
+     * Decodes the messages in the data sections of a batched message.
+     */
+    static List<Message> decodeBatch(byte[] encoded, int encodedSize) {
+        final DecoderImpl decoder = new DecoderImpl();
+        final EncoderImpl encoder = new EncoderImpl(decoder);
+        AMQPDefinedTypes.registerAllTypes(decoder, encoder);
+
+        final ByteBuffer buffer = ByteBuffer.wrap(encoded, 0, encodedSize);
+        decoder.setByteBuffer(buffer);
+
+        final List<Message> messages = new ArrayList<>();
+        while (buffer.hasRemaining()) {
+            final Object section = decoder.readObject();
+            if (section instanceof Data) {
+                final Message message = Proton.message();
+                final byte[] bytes = ((Data) section).getValue().getArray();
+                message.decode(bytes, ((Data) section).getValue().getArrayOffset(), ((Data) section).getValue().getLength());
+                messages.add(message);
+            }
+        }
+        return messages;
+    }
+
     /**
      * Verifies that a partitioned producer cannot also send events with a partition key.
      */
@@ -131,7 +200,7 @@ public class EventHubAsyncProducerTest {
             new EventData(TEST_CONTENTS.getBytes(UTF_8)),
             new EventData(TEST_CONTENTS.getBytes(UTF_8)));
 
-        when(sendLink.send(anyList())).thenReturn(Mono.empty());
+        when(sendLink.send(any(byte[].class), anyInt(), anyInt())).thenReturn(Mono.empty());
 
         final SendOptions options = new SendOptions().partitionKey("Some partition key");
         final EventHubProducerOptions producerOptions = new EventHubProducerOptions()
@@ -176,7 +245,7 @@ public class EventHubAsyncProducerTest {
             .verifyErrorMatches(error -> error instanceof AmqpException
                 && ((AmqpException) error).getErrorCondition() == ErrorCondition.LINK_PAYLOAD_SIZE_EXCEEDED);
 
-        verify(link, times(0)).send(any(Message.class));
+        verify(link, times(0)).send(any(byte[].class), anyInt(), anyInt());
     }
 
     /**
@@ -11,6 +11,7 @@ import com.azure.messaging.eventhubs.implementation.AmqpSendLink;
 import com.azure.messaging.eventhubs.models.BatchOptions;
 import com.azure.messaging.eventhubs.models.EventHubProducerOptions;
 import com.azure.messaging.eventhubs.models.SendOptions;
+import org.apache.qpid.proton.Proton;
 import org.apache.qpid.proton.amqp.messaging.Section;
 import org.apache.qpid.proton.message.Message;
 import org.junit.After;
@@ -30,7 +31,7 @@ import java.util.List;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -43,9 +44,9 @@ public class EventHubProducerTest {
     @Mock
     private AmqpSendLink sendLink;
     @Captor
-    private ArgumentCaptor<Message> singleMessageCaptor;
+    private ArgumentCaptor<byte[]> encodedMessageCaptor;
     @Captor
-    private ArgumentCaptor<List<Message>> messagesCaptor;
+    private ArgumentCaptor<Integer> encodedSizeCaptor;
 
     private EventHubAsyncProducer asyncProducer;
     private RetryOptions retryOptions = new RetryOptions().tryTimeout(Duration.ofSeconds(30));
@@ -55,8 +56,7 @@ public class EventHubProducerTest {
         MockitoAnnotations.initMocks(this);
         when(sendLink.getLinkSize()).thenReturn(Mono.just(EventHubAsyncProducer.MAX_MESSAGE_LENGTH_BYTES));
         when(sendLink.getErrorContext()).thenReturn(new ErrorContext("test-namespace"));
-        when(sendLink.send(anyList())).thenReturn(Mono.empty());
-        when(sendLink.send(any(Message.class))).thenReturn(Mono.empty());
+        when(sendLink.send(any(byte[].class), anyInt(), anyInt())).thenReturn(Mono.empty());
 
         asyncProducer = new EventHubAsyncProducer(
             Mono.fromCallable(() -> sendLink),
@@ -67,8 +67,8 @@ public class EventHubProducerTest {
     public void teardown() {
         Mockito.framework().clearInlineMocks();
         sendLink = null;
-        singleMessageCaptor = null;
-        messagesCaptor = null;
+        encodedMessageCaptor = null;
+        encodedSizeCaptor = null;
     }
 
     /**
@@ -84,10 +84,10 @@ public class EventHubProducerTest {
         producer.send(eventData);
 
         // Assert
-        verify(sendLink, times(1)).send(any(Message.class));
-        verify(sendLink).send(singleMessageCaptor.capture());
+        verify(sendLink, times(1)).send(encodedMessageCaptor.capture(), encodedSizeCaptor.capture(), anyInt());
 
-        final Message message = singleMessageCaptor.getValue();
+        final Message message = Proton.message();
+        message.decode(encodedMessageCaptor.getValue(), 0, encodedSizeCaptor.getValue());
         Assert.assertEquals(Section.SectionType.Data, message.getBody().getType());
     }
 
@@ -110,9 +110,10 @@ public class EventHubProducerTest {
         producer.send(events, options);
 
         // Assert
-        verify(sendLink).send(messagesCaptor.capture());
+        verify(sendLink).send(encodedMessageCaptor.capture(), encodedSizeCaptor.capture(), anyInt());
 
-        final List<Message> messagesSent = messagesCaptor.getValue();
+        final List<Message> messagesSent = EventHubAsyncProducerTest.decodeBatch(encodedMessageCaptor.getValue(),
+            encodedSizeCaptor.getValue());
         Assert.assertEquals(count, messagesSent.size());
 
         messagesSent.forEach(message -> Assert.assertEquals(Section.SectionType.Data, message.getBody().getType()));
@@ -18,6 +18,11 @@ import static org.mockito.Mockito.when;
 import com.azure.messaging.eventhubs.models.EventHubConsumerOptions;
 import com.azure.messaging.eventhubs.models.EventPosition;
 import com.azure.messaging.eventhubs.models.PartitionContext;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
 import org.junit.Before;
 import org.junit.Test;
@@ -209,6 +214,71 @@ public class EventProcessorTest {
         verify(consumer3, atLeastOnce()).close();
     }
 
+    /**
+     * Tests {@link EventProcessor} that delivers events to the partition processor in batches.
+     *
+     * @throws Exception if an error occurs while running the test.
+     */
+    @Test
+    public void testWithBatchedPartitionProcessor() throws Exception {
+        // Arrange
+        when(eventHubAsyncClient.getPartitionIds()).thenReturn(Flux.just("1"));
+        when(eventHubAsyncClient
+            .createConsumer(anyString(), anyString(), any(EventPosition.class), any(EventHubConsumerOptions.class)))
+            .thenReturn(consumer1);
+        when(consumer1.receive()).thenReturn(Flux.just(eventData1, eventData2, eventData3));
+
+        final BatchPartitionProcessor batchPartitionProcessor = new BatchPartitionProcessor();
+        final InMemoryPartitionManager partitionManager = new InMemoryPartitionManager();
+
+        // Act
+        final EventProcessor eventProcessor = new EventProcessor(eventHubAsyncClient,
+            "test-consumer",
+            (partitionContext, checkpointManager) -> batchPartitionProcessor,
+            EventPosition.latest(), partitionManager, "test-eh", 2, Duration.ofMillis(100));
+        eventProcessor.start();
+        Thread.sleep(TimeUnit.SECONDS.toMillis(2));
+        eventProcessor.stop();
+
+        // Assert
+        assertEquals(2, batchPartitionProcessor.batches.size());
+        assertEquals(Arrays.asList(eventData1, eventData2), batchPartitionProcessor.batches.get(0));
+        assertEquals(Collections.singletonList(eventData3), batchPartitionProcessor.batches.get(1));
+        assertEquals(CloseReason.LOST_PARTITION_OWNERSHIP, batchPartitionProcessor.closeReason);
+    }
+
+    private static final class BatchPartitionProcessor implements PartitionProcessor {
+
+        final List<List<EventData>> batches = new CopyOnWriteArrayList<>();
+        volatile CloseReason closeReason;
+
+        @Override
+        public Mono<Void> initialize() {
+            return Mono.empty();
+        }
+
+        @Override
+        public Mono<Void> processEvent(EventData eventData) {
+            return Mono.error(new IllegalStateException("Events are delivered in batches."));
+        }
+
+        @Override
+        public Mono<Void> processEvents(List<EventData> events) {
+            batches.add(events);
+            return Mono.empty();
+        }
+
+        @Override
+        public void processError(Throwable throwable) {
+        }
+
+        @Override
+        public Mono<Void> close(CloseReason closeReason) {
+            this.closeReason = closeReason;
+            return Mono.empty();
+        }
+    }
+
     private static final class FaultyPartitionProcessor implements PartitionProcessor {
 
         boolean error;
@@ -0,0 +1,139 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.messaging.eventhubs;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.azure.messaging.eventhubs.models.PartitionOwnership;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link PartitionLoadBalancer}.
+ */
+public class PartitionLoadBalancerTest {
+    private static final long NOW = 1_000_000L;
+    private static final long EXPIRATION = 30_000L;
+    private static final List<String> PARTITION_IDS = Arrays.asList("0", "1", "2", "3");
+
+    private final PartitionLoadBalancer loadBalancer = new PartitionLoadBalancer("me", "test-eh", "test-consumer",
+        EXPIRATION, new Random(42));
+
+    /**
+     * Verifies that an event processor that is on its own claims all the partitions.
+     */
+    @Test
+    public void claimsAllUnownedPartitionsWhenAlone() {
+        // Act
+        final List<PartitionOwnership> claims = loadBalancer.getOwnershipsToClaim(new ArrayList<>(), PARTITION_IDS,
+            NOW);
+
+        // Assert
+        assertEquals(4, claims.size());
+        assertEquals(PARTITION_IDS.stream().collect(Collectors.toSet()), partitionIds(claims));
+        claims.forEach(claim -> {
+            assertEquals("me", claim.ownerId());
+            assertEquals("test-eh", claim.eventHubName());
+            assertEquals("test-consumer", claim.consumerGroupName());
+        });
+    }
+
+    /**
+     * Verifies that a new event processor steals a single partition per cycle from an event processor that owns more
+     * than its fair share.
+     */
+    @Test
+    public void stealsOnePartitionPerCycle() {
+        // Arrange
+        final List<PartitionOwnership> ownerships = Arrays.asList(ownership("0", "other", NOW),
+            ownership("1", "other", NOW), ownership("2", "other", NOW), ownership("3", "other", NOW));
+
+        // Act
+        final List<PartitionOwnership> claims = loadBalancer.getOwnershipsToClaim(ownerships, PARTITION_IDS, NOW);
+
+        // Assert
+        assertEquals(1, claims.size());
+        final PartitionOwnership claim = claims.get(0);
+        assertEquals("me", claim.ownerId());
+        assertEquals("etag-" + claim.partitionId(), claim.eTag());
+        assertEquals(Long.valueOf(Long.parseLong(claim.partitionId())), claim.sequenceNumber());
+    }
+
+    /**
+     * Verifies that a balanced event processor only renews the partitions it owns, carrying their ETags.
+     */
+    @Test
+    public void renewsOwnedPartitionsWhenBalanced() {
+        // Arrange
+        final List<PartitionOwnership> ownerships = Arrays.asList(ownership("0", "me", NOW - 10_000),
+            ownership("1", "other", NOW), ownership("2", "me", NOW - 10_000), ownership("3", "other", NOW));
+
+        // Act
+        final List<PartitionOwnership> claims = loadBalancer.getOwnershipsToClaim(ownerships, PARTITION_IDS, NOW);
+
+        // Assert
+        assertEquals(2, claims.size());
+        assertEquals(new HashSet<>(Arrays.asList("0", "2")), partitionIds(claims));
+        claims.forEach(claim -> assertEquals("etag-" + claim.partitionId(), claim.eTag()));
+    }
+
+    /**
+     * Verifies that event processors that each own their fair share, with one owning an extra partition, do not steal
+     * from each other.
+     */
+    @Test
+    public void doesNotStealFromOwnerWithExtraPartition() {
+        // Arrange
+        final List<String> partitionIds = Arrays.asList("0", "1", "2");
+        final List<PartitionOwnership> ownerships = Arrays.asList(ownership("0", "me", NOW),
+            ownership("1", "other", NOW), ownership("2", "other", NOW));
+
+        // Act
+        final List<PartitionOwnership> claims = loadBalancer.getOwnershipsToClaim(ownerships, partitionIds, NOW);
+
+        // Assert
+        assertEquals(1, claims.size());
+        assertEquals("0", claims.get(0).partitionId());
+    }
+
+    /**
+     * Verifies that partitions whose owner stopped renewing them are claimed like unowned partitions, and that the
+     * expired owner is not counted as an active event processor.
+     */
+    @Test
+    public void claimsExpiredPartitions() {
+        // Arrange
+        final List<PartitionOwnership> ownerships = Arrays.asList(ownership("0", "gone", NOW - EXPIRATION),
+            ownership("1", "gone", NOW - EXPIRATION), ownership("2", "other", NOW), ownership("3", "other", NOW));
+
+        // Act
+        final List<PartitionOwnership> claims = loadBalancer.getOwnershipsToClaim(ownerships, PARTITION_IDS, NOW);
+
+        // Assert
+        assertEquals(new HashSet<>(Arrays.asList("0", "1")), partitionIds(claims));
+        claims.forEach(claim -> assertTrue(claim.eTag().startsWith("etag-")));
+    }
+
+    private static Set<String> partitionIds(List<PartitionOwnership> claims) {
+        return claims.stream().map(PartitionOwnership::partitionId).collect(Collectors.toSet());
+    }
+
+    private static PartitionOwnership ownership(String partitionId, String ownerId, long lastModifiedTime) {
+        return new PartitionOwnership()
+            .partitionId(partitionId)
+            .eventHubName("test-eh")
+            .consumerGroupName("test-consumer")
+            .ownerId(ownerId)
+            .sequenceNumber(Long.parseLong(partitionId))
+            .lastModifiedTime(lastModifiedTime)
+            .eTag("etag-" + partitionId);
+    }
+}
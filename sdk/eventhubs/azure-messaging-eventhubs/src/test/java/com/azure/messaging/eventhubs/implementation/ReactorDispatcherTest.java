@@ -0,0 +1,94 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.messaging.eventhubs.implementation;
+
+import org.apache.qpid.proton.Proton;
+import org.apache.qpid.proton.reactor.Reactor;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ReactorDispatcherTest {
+    private static final int WORK_ITEMS = 100;
+
+    private Reactor reactor;
+
+    @Before
+    public void setup() throws IOException {
+        reactor = Proton.reactor();
+        reactor.setTimeout(10);
+    }
+
+    @After
+    public void teardown() {
+        reactor.stop();
+        reactor.process();
+        reactor.free();
+    }
+
+    /**
+     * Verifies that all the work queued before the reactor runs is run by a single wakeup.
+     */
+    @Test
+    public void coalescesWakeups() throws IOException {
+        // Arrange
+        final ReactorDispatcher dispatcher = new ReactorDispatcher(reactor);
+        final AtomicInteger completed = new AtomicInteger();
+
+        // Act
+        for (int i = 0; i < WORK_ITEMS; i++) {
+            dispatcher.invoke(completed::incrementAndGet);
+        }
+        Assert.assertEquals(WORK_ITEMS, dispatcher.getPendingWorkCount());
+
+        runUntil(() -> completed.get() == WORK_ITEMS);
+
+        // Assert
+        Assert.assertEquals(WORK_ITEMS, completed.get());
+        Assert.assertEquals(0, dispatcher.getPendingWorkCount());
+        Assert.assertEquals(1, dispatcher.getWakeupCount());
+
+        dispatcher.invoke(completed::incrementAndGet);
+        runUntil(() -> completed.get() == WORK_ITEMS + 1);
+        Assert.assertEquals(2, dispatcher.getWakeupCount());
+    }
+
+    /**
+     * Verifies that queued work is run when the reactor is busy-spinning instead of being woken up.
+     */
+    @Test
+    public void runsWorkWhenBusySpinning() throws IOException {
+        // Arrange
+        final ReactorDispatcher dispatcher = new ReactorDispatcher(reactor, true);
+        final AtomicInteger completed = new AtomicInteger();
+
+        // Act
+        for (int i = 0; i < WORK_ITEMS; i++) {
+            dispatcher.invoke(completed::incrementAndGet);
+        }
+
+        runUntil(() -> completed.get() == WORK_ITEMS);
+
+        // Assert
+        Assert.assertEquals(WORK_ITEMS, completed.get());
+        Assert.assertEquals(0, dispatcher.getPendingWorkCount());
+    }
+
+    private void runUntil(Condition condition) {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        reactor.start();
+        while (!condition.isMet() && System.nanoTime() < deadline) {
+            reactor.process();
+        }
+    }
+
+    private interface Condition {
+        boolean isMet();
+    }
+}
@@ -0,0 +1,259 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.messaging.eventhubs.implementation;
+
+import com.azure.core.amqp.CBSNode;
+import com.azure.core.amqp.RetryPolicy;
+import com.azure.core.amqp.exception.AmqpException;
+import com.azure.core.amqp.exception.ErrorCondition;
+import com.azure.core.amqp.implementation.TimingWheel;
+import com.azure.messaging.eventhubs.implementation.handler.SendLinkHandler;
+import org.apache.qpid.proton.Proton;
+import org.apache.qpid.proton.amqp.messaging.Accepted;
+import org.apache.qpid.proton.amqp.messaging.Rejected;
+import org.apache.qpid.proton.amqp.transport.DeliveryState;
+import org.apache.qpid.proton.engine.Delivery;
+import org.apache.qpid.proton.engine.Event;
+import org.apache.qpid.proton.engine.Sender;
+import org.apache.qpid.proton.engine.impl.DeliveryImpl;
+import org.apache.qpid.proton.reactor.Reactor;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ReactorSenderTest {
+    private static final String ENTITY_PATH = "test-entity-path";
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    @Mock
+    private Sender sender;
+    @Mock
+    private CBSNode cbsNode;
+    @Mock
+    private Event event;
+    @Mock
+    private RetryPolicy retryPolicy;
+
+    private Reactor reactor;
+    private ReactorDispatcher dispatcher;
+    private MockReactorProvider reactorProvider;
+    private SendLinkHandler handler;
+    private ActiveClientTokenManager tokenManager;
+    private TimingWheel sendTimeouts;
+
+    // The first byte of each payload sent and the tag of each delivery, in the order they were sent.
+    private final List<Byte> sentPayloads = new CopyOnWriteArrayList<>();
+    private final List<byte[]> deliveryTags = new CopyOnWriteArrayList<>();
+
+    @Before
+    public void setup() throws IOException {
+        MockitoAnnotations.initMocks(this);
+
+        when(cbsNode.authorize(any())).thenReturn(Mono.empty());
+        when(event.getSender()).thenReturn(sender);
+        when(sender.getName()).thenReturn("test-sender-link");
+        when(sender.getCredit()).thenReturn(100);
+        when(sender.advance()).thenReturn(true);
+        when(sender.delivery(any(byte[].class))).thenAnswer(invocation -> {
+            deliveryTags.add(invocation.getArgument(0));
+            return mock(Delivery.class);
+        });
+        when(sender.send(any(byte[].class), anyInt(), anyInt())).thenAnswer(invocation -> {
+            final byte[] payload = invocation.getArgument(0);
+            sentPayloads.add(payload[0]);
+            return invocation.getArgument(2);
+        });
+
+        reactor = Proton.reactor();
+        reactor.setTimeout(10);
+        dispatcher = new ReactorDispatcher(reactor);
+        reactorProvider = new MockReactorProvider(reactor, dispatcher);
+        handler = new SendLinkHandler("test-connection-id", "test-host", "test-sender-name", ENTITY_PATH);
+        tokenManager = new ActiveClientTokenManager(Mono.just(cbsNode), "test-tokenAudience");
+        sendTimeouts = new TimingWheel("test-sendTimeout", Duration.ofMillis(10), 16);
+    }
+
+    @After
+    public void teardown() {
+        sendTimeouts.close();
+        reactor.stop();
+        reactor.process();
+        reactor.free();
+
+        Mockito.framework().clearInlineMocks();
+        sender = null;
+        cbsNode = null;
+        event = null;
+        retryPolicy = null;
+    }
+
+    /**
+     * Verifies that all the sends queued before the reactor runs are sent by a single dispatch.
+     */
+    @Test
+    public void coalescesDispatchOfQueuedSends() {
+        // Arrange
+        final ReactorSender reactorSender = createSender(TIMEOUT);
+        connect();
+        runUntil(() -> dispatcher.getPendingWorkCount() == 0);
+        final long wakeups = dispatcher.getWakeupCount();
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            send(reactorSender, i, new AtomicInteger(), new AtomicReference<>());
+        }
+
+        // Assert
+        Assert.assertEquals(1, dispatcher.getPendingWorkCount());
+        runUntil(() -> sentPayloads.size() == 3);
+        Assert.assertEquals(Arrays.asList((byte) 0, (byte) 1, (byte) 2), sentPayloads);
+        Assert.assertEquals(wakeups + 1, dispatcher.getWakeupCount());
+    }
+
+    /**
+     * Verifies that deliveries are tagged with an 8-byte sequence number, and that the acknowledgement of a delivery
+     * completes the send it was tagged for.
+     */
+    @Test
+    public void tagsDeliveriesWithSequenceNumber() {
+        // Arrange
+        final ReactorSender reactorSender = createSender(TIMEOUT);
+        final AtomicInteger[] completed = {new AtomicInteger(), new AtomicInteger(), new AtomicInteger()};
+        connect();
+
+        // Act
+        for (int i = 0; i < completed.length; i++) {
+            send(reactorSender, i, completed[i], new AtomicReference<>());
+        }
+        runUntil(() -> deliveryTags.size() == completed.length);
+        acknowledge(deliveryTags.get(1), new Accepted());
+
+        // Assert
+        for (int i = 0; i < completed.length; i++) {
+            Assert.assertArrayEquals(new byte[]{0, 0, 0, 0, 0, 0, 0, (byte) i}, deliveryTags.get(i));
+        }
+        Assert.assertEquals(0, completed[0].get());
+        Assert.assertEquals(1, completed[1].get());
+        Assert.assertEquals(0, completed[2].get());
+    }
+
+    /**
+     * Verifies that a send that is rejected is retried ahead of the sends that were queued in the meantime.
+     */
+    @Test
+    public void retriesRejectedSendBeforeQueuedSends() {
+        // Arrange
+        final ReactorSender reactorSender = createSender(TIMEOUT);
+        final AtomicInteger first = new AtomicInteger();
+        final AtomicInteger second = new AtomicInteger();
+        when(retryPolicy.calculateRetryDelay(any(), anyInt())).thenReturn(Duration.ofMillis(20));
+        connect();
+
+        send(reactorSender, 1, first, new AtomicReference<>());
+        runUntil(() -> sentPayloads.size() == 1);
+
+        // The second send stays queued while there is no credit.
+        when(sender.getCredit()).thenReturn(0);
+        send(reactorSender, 2, second, new AtomicReference<>());
+        runUntil(() -> dispatcher.getPendingWorkCount() == 0);
+        Assert.assertEquals(1, sentPayloads.size());
+        when(sender.getCredit()).thenReturn(100);
+
+        // Act
+        final Rejected rejected = new Rejected();
+        rejected.setError(new org.apache.qpid.proton.amqp.transport.ErrorCondition(AmqpErrorCode.SERVER_BUSY_ERROR,
+            "test-server-busy"));
+        acknowledge(deliveryTags.get(0), rejected);
+        runUntil(() -> sentPayloads.size() == 3);
+
+        // Assert
+        Assert.assertEquals(Arrays.asList((byte) 1, (byte) 1, (byte) 2), sentPayloads);
+        Assert.assertEquals(0, first.get());
+
+        acknowledge(deliveryTags.get(1), new Accepted());
+        acknowledge(deliveryTags.get(2), new Accepted());
+        Assert.assertEquals(1, first.get());
+        Assert.assertEquals(1, second.get());
+    }
+
+    /**
+     * Verifies that a send that isn't acknowledged times out on the timing wheel of the connection.
+     */
+    @Test
+    public void timesOutUnacknowledgedSend() throws InterruptedException {
+        // Arrange
+        final ReactorSender reactorSender = createSender(Duration.ofMillis(50));
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+        connect();
+
+        // Act
+        send(reactorSender, 1, new AtomicInteger(), error);
+        runUntil(() -> sentPayloads.size() == 1);
+
+        // Assert
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (error.get() == null && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        Assert.assertTrue(error.get() instanceof AmqpException);
+        Assert.assertEquals(ErrorCondition.TIMEOUT_ERROR, ((AmqpException) error.get()).getErrorCondition());
+    }
+
+    private ReactorSender createSender(Duration timeout) {
+        return new ReactorSender(ENTITY_PATH, sender, handler, reactorProvider, tokenManager, sendTimeouts, timeout,
+            retryPolicy, 256 * 1024);
+    }
+
+    // The first credits on the link open it.
+    private void connect() {
+        handler.onLinkFlow(event);
+    }
+
+    private static void send(ReactorSender reactorSender, int payload, AtomicInteger completed,
+                             AtomicReference<Throwable> error) {
+        reactorSender.send(new byte[]{(byte) payload}, 1, DeliveryImpl.DEFAULT_MESSAGE_FORMAT)
+            .subscribe(unused -> { }, error::set, completed::incrementAndGet);
+    }
+
+    private void acknowledge(byte[] deliveryTag, DeliveryState outcome) {
+        final Delivery delivery = mock(Delivery.class);
+        when(delivery.getTag()).thenReturn(deliveryTag);
+        when(delivery.getRemoteState()).thenReturn(outcome);
+        when(delivery.getLink()).thenReturn(sender);
+        when(event.getDelivery()).thenReturn(delivery);
+
+        handler.onDelivery(event);
+    }
+
+    private void runUntil(Condition condition) {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        reactor.start();
+        while (!condition.isMet() && System.nanoTime() < deadline) {
+            reactor.process();
+        }
+    }
+
+    private interface Condition {
+        boolean isMet();
+    }
+}
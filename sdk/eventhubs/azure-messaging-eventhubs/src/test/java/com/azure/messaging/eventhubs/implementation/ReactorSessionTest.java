@@ -5,6 +5,8 @@ package com.azure.messaging.eventhubs.implementation;
 
 import com.azure.core.amqp.AmqpEndpointState;
 import com.azure.core.amqp.CBSNode;
+import com.azure.core.amqp.implementation.TimingWheel;
+import com.azure.core.amqp.implementation.TokenRenewalScheduler;
 import com.azure.messaging.eventhubs.implementation.handler.SessionHandler;
 import org.apache.qpid.proton.engine.EndpointState;
 import org.apache.qpid.proton.engine.Event;
@@ -39,6 +41,8 @@ public class ReactorSessionTest {
     private ReactorSession reactorSession;
     private MockReactorProvider reactorProvider;
     private TokenResourceProvider tokenResourceProvider;
+    private TokenRenewalScheduler tokenRenewalScheduler;
+    private TimingWheel sendTimeouts;
     private MockReactorHandlerProvider handlerProvider;
 
     @Mock
@@ -63,12 +67,16 @@ public class ReactorSessionTest {
         this.reactorProvider = new MockReactorProvider(reactor, dispatcher);
         this.handlerProvider = new MockReactorHandlerProvider(reactorProvider, null, handler, null, null);
         this.tokenResourceProvider = new TokenResourceProvider(CBSAuthorizationType.SHARED_ACCESS_SIGNATURE, HOST);
+        this.tokenRenewalScheduler = new TokenRenewalScheduler(Mono.just(cbsNode), ID);
+        this.sendTimeouts = new TimingWheel(ID + "-sendTimeout", Duration.ofMillis(100), 16);
         this.reactorSession = new ReactorSession(session, handler, NAME, reactorProvider, handlerProvider,
-            Mono.just(cbsNode), tokenResourceProvider, TIMEOUT);
+            tokenRenewalScheduler, sendTimeouts, tokenResourceProvider, TIMEOUT);
     }
 
     @After
     public void teardown() {
+        tokenRenewalScheduler.close();
+        sendTimeouts.close();
         session = null;
         reactor = null;
         selectable = null;
@@ -17,6 +17,27 @@ public class EventHubConsumerOptionsTest {
 
         // Assert
         Assert.assertEquals(EventHubConsumerOptions.DEFAULT_PREFETCH_COUNT, options.prefetchCount());
+        Assert.assertEquals(EventHubConsumerOptions.DEFAULT_PREFETCH_SIZE_IN_BYTES, options.prefetchSizeInBytes());
+    }
+
+    @Test
+    public void invalidPrefetchSizeInBytes() {
+        // Arrange
+        final long prefetchSize = 4096;
+        final long invalid = EventHubConsumerOptions.MINIMUM_PREFETCH_SIZE_IN_BYTES - 1;
+        final EventHubConsumerOptions options = new EventHubConsumerOptions()
+            .prefetchSizeInBytes(prefetchSize);
+
+        // Act
+        try {
+            options.prefetchSizeInBytes(invalid);
+            Assert.fail("Setting this should have failed.");
+        } catch (IllegalArgumentException e) {
+            // This is what we expect.
+        }
+
+        // Assert
+        Assert.assertEquals(prefetchSize, options.prefetchSizeInBytes());
     }
 
     @Test
@@ -38,6 +38,11 @@ import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -61,6 +66,13 @@ class AzureStorageCheckpointLeaseManager implements ICheckpointManager, ILeaseMa
 
     private Hashtable<String, Checkpoint> latestCheckpoint = new Hashtable<String, Checkpoint>();
 
+    // Checkpoint coalescing and lease renewal pipelining, see AzureStoragePartitionManagerOptions.
+    private int checkpointBatchingWindowInMilliseconds = AzureStoragePartitionManagerOptions.DefaultCheckpointBatchingWindowInMilliseconds;
+    private int leaseRenewalParallelism = AzureStoragePartitionManagerOptions.DefaultLeaseRenewalParallelism;
+    private final ConcurrentHashMap<String, CoalescedCheckpoint> coalescedCheckpoints = new ConcurrentHashMap<String, CoalescedCheckpoint>();
+    private final ConcurrentLinkedQueue<PendingRenewal> pendingRenewals = new ConcurrentLinkedQueue<PendingRenewal>();
+    private final AtomicInteger renewalsInFlight = new AtomicInteger();
+
     AzureStorageCheckpointLeaseManager(String storageConnectionString, String storageContainerName, String storageBlobPrefix) {
         if ((storageConnectionString == null) || storageConnectionString.trim().isEmpty()) {
             throw new IllegalArgumentException("Provide valid Azure Storage connection string when using Azure Storage");
@@ -141,6 +153,13 @@ class AzureStorageCheckpointLeaseManager implements ICheckpointManager, ILeaseMa
         // Keep it separate in case we need to change something later.
         // Only used for leases, not checkpoints, so set max execution time to lease value
         this.renewRequestOptions.setMaximumExecutionTimeInMs(this.hostContext.getPartitionManagerOptions().getLeaseDurationInSeconds() * 1000);
+
+        PartitionManagerOptions partitionManagerOptions = this.hostContext.getPartitionManagerOptions();
+        if (partitionManagerOptions instanceof AzureStoragePartitionManagerOptions) {
+            AzureStoragePartitionManagerOptions options = (AzureStoragePartitionManagerOptions) partitionManagerOptions;
+            this.checkpointBatchingWindowInMilliseconds = options.getCheckpointBatchingWindowInMilliseconds();
+            this.leaseRenewalParallelism = options.getLeaseRenewalParallelism();
+        }
     }
 
     @Override
@@ -200,30 +219,46 @@ class AzureStorageCheckpointLeaseManager implements ICheckpointManager, ILeaseMa
 
     @Override
     public CompletableFuture<Void> updateCheckpoint(CompleteLease lease, Checkpoint checkpoint) {
-        AzureBlobLease updatedLease = new AzureBlobLease((AzureBlobLease) lease);
+        if (this.checkpointBatchingWindowInMilliseconds > 0) {
+            // Only the latest checkpoint made within the window is written, so a processor which checkpoints after
+            // every batch costs one write per window instead of one per batch.
+            CoalescedCheckpoint coalesced = this.coalescedCheckpoints.computeIfAbsent(checkpoint.getPartitionId(), (partitionId) -> new CoalescedCheckpoint());
+            return coalesced.add((AzureBlobLease) lease, checkpoint);
+        }
+
+        CompletableFuture<Void> future = null;
+
+        try {
+            updateCheckpointInternal((AzureBlobLease) lease, checkpoint);
+            future = CompletableFuture.completedFuture(null);
+        } catch (CompletionException e) {
+            future = new CompletableFuture<Void>();
+            future.completeExceptionally(e);
+        }
+
+        return future;
+    }
+
+    private void updateCheckpointInternal(AzureBlobLease lease, Checkpoint checkpoint) {
+        AzureBlobLease updatedLease = new AzureBlobLease(lease);
         TRACE_LOGGER.debug(this.hostContext.withHostAndPartition(checkpoint.getPartitionId(),
                 "Checkpointing at " + checkpoint.getOffset() + " // " + checkpoint.getSequenceNumber()));
         updatedLease.setOffset(checkpoint.getOffset());
         updatedLease.setSequenceNumber(checkpoint.getSequenceNumber());
 
-        CompletableFuture<Void> future = null;
-
+        boolean updated = false;
         try {
-            if (updateLeaseInternal(updatedLease, this.checkpointOperationOptions)) {
-                future = CompletableFuture.completedFuture(null);
-            } else {
-                TRACE_LOGGER.warn(this.hostContext.withHostAndPartition(lease, "Lease lost"));
-                future = new CompletableFuture<Void>();
-                future.completeExceptionally(LoggingUtils.wrapException(new RuntimeException("Lease lost while updating checkpoint"),
-                        EventProcessorHostActionStrings.UPDATING_CHECKPOINT));
-            }
+            updated = updateLeaseInternal(updatedLease, this.checkpointOperationOptions);
         } catch (StorageException | IOException e) {
             TRACE_LOGGER.warn(this.hostContext.withHostAndPartition(lease, "Failure updating checkpoint"), e);
-            future = new CompletableFuture<Void>();
-            future.completeExceptionally(LoggingUtils.wrapException(e, EventProcessorHostActionStrings.UPDATING_CHECKPOINT));
+            throw LoggingUtils.wrapException(e, EventProcessorHostActionStrings.UPDATING_CHECKPOINT);
         }
 
-        return future;
+        if (!updated) {
+            TRACE_LOGGER.warn(this.hostContext.withHostAndPartition(lease, "Lease lost"));
+            throw LoggingUtils.wrapException(new RuntimeException("Lease lost while updating checkpoint"),
+                    EventProcessorHostActionStrings.UPDATING_CHECKPOINT);
+        }
     }
 
     @Override
@@ -328,8 +363,15 @@ class AzureStorageCheckpointLeaseManager implements ICheckpointManager, ILeaseMa
         AzureBlobLease retval = null;
 
         CloudBlockBlob leaseBlob = this.consumerGroupDirectory.getBlockBlobReference(partitionId); // getBlockBlobReference does not take options
-        if (leaseBlob.exists(null, options, null)) {
+        try {
+            // Download directly rather than checking existence first, which would cost a second request every time.
             retval = downloadLease(leaseBlob, options);
+        } catch (StorageException se) {
+            // Any 404, whether the blob or the whole container is missing, means there is no lease, as exists() did.
+            if (se.getHttpStatusCode() != 404) {
+                throw se;
+            }
+            // else the lease blob does not exist, return null
         }
 
         return retval;
@@ -538,6 +580,15 @@ class AzureStorageCheckpointLeaseManager implements ICheckpointManager, ILeaseMa
 
     @Override
     public CompletableFuture<Boolean> renewLease(CompleteLease lease) {
+        if (this.leaseRenewalParallelism > 0) {
+            // Like createAllLeasesIfNotExists, this returns an uncompleted future. The renewal runs on the executor,
+            // which PartitionPump continues on anyway, and never waits on a checkpoint so it cannot deadlock with one.
+            PendingRenewal renewal = new PendingRenewal(lease);
+            this.pendingRenewals.add(renewal);
+            runPendingRenewals();
+            return renewal.future;
+        }
+
         CompletableFuture<Boolean> future = null;
 
         try {
@@ -550,6 +601,46 @@ class AzureStorageCheckpointLeaseManager implements ICheckpointManager, ILeaseMa
         return future;
     }
 
+    /*
+     * Starts queued renewals on the executor until leaseRenewalParallelism of them are in flight. Each renewal starts
+     * the next one when it completes.
+     */
+    private void runPendingRenewals() {
+        while (!this.pendingRenewals.isEmpty()) {
+            int inFlight = this.renewalsInFlight.get();
+            if (inFlight >= this.leaseRenewalParallelism) {
+                return;
+            }
+            if (!this.renewalsInFlight.compareAndSet(inFlight, inFlight + 1)) {
+                continue;
+            }
+
+            PendingRenewal renewal = this.pendingRenewals.poll();
+            if (renewal == null) {
+                this.renewalsInFlight.decrementAndGet();
+                continue;
+            }
+
+            try {
+                this.hostContext.getExecutor().execute(() -> {
+                    try {
+                        renewal.future.complete(renewLeaseInternal(renewal.lease));
+                    } catch (StorageException se) {
+                        renewal.future.completeExceptionally(LoggingUtils.wrapException(se, EventProcessorHostActionStrings.RENEWING_LEASE));
+                    } catch (RuntimeException e) {
+                        renewal.future.completeExceptionally(e);
+                    } finally {
+                        this.renewalsInFlight.decrementAndGet();
+                        runPendingRenewals();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                this.renewalsInFlight.decrementAndGet();
+                renewal.future.completeExceptionally(LoggingUtils.wrapException(e, EventProcessorHostActionStrings.RENEWING_LEASE));
+            }
+        }
+    }
+
     private boolean renewLeaseInternal(CompleteLease lease) throws StorageException {
         TRACE_LOGGER.debug(this.hostContext.withHostAndPartition(lease, "Renewing lease"));
 
@@ -751,4 +842,91 @@ class AzureStorageCheckpointLeaseManager implements ICheckpointManager, ILeaseMa
     }
 
     private enum UploadActivity { Create, Acquire, Release, Update }
+
+    private static final class PendingRenewal {
+        final CompleteLease lease;
+        final CompletableFuture<Boolean> future = new CompletableFuture<Boolean>();
+
+        PendingRenewal(CompleteLease lease) {
+            this.lease = lease;
+        }
+    }
+
+    // Holds the latest checkpoint for a partition until the batching window closes. Writes for a partition never
+    // overlap: checkpoints made while a write is in progress open the next window once it completes.
+    private final class CoalescedCheckpoint {
+        private AzureBlobLease lease;
+        private Checkpoint checkpoint;
+        private ArrayList<CompletableFuture<Void>> waiters = new ArrayList<CompletableFuture<Void>>();
+        private boolean isScheduled;
+
+        synchronized CompletableFuture<Void> add(AzureBlobLease lease, Checkpoint checkpoint) {
+            if ((this.checkpoint == null) || (checkpoint.getSequenceNumber() >= this.checkpoint.getSequenceNumber())) {
+                this.lease = lease;
+                this.checkpoint = checkpoint;
+            }
+
+            CompletableFuture<Void> future = new CompletableFuture<Void>();
+            this.waiters.add(future);
+            if (!this.isScheduled) {
+                schedule();
+            }
+            return future;
+        }
+
+        // Must be called while holding the lock.
+        private void schedule() {
+            try {
+                AzureStorageCheckpointLeaseManager.this.hostContext.getExecutor().schedule(this::write,
+                        AzureStorageCheckpointLeaseManager.this.checkpointBatchingWindowInMilliseconds, TimeUnit.MILLISECONDS);
+                this.isScheduled = true;
+            } catch (RejectedExecutionException e) {
+                for (CompletableFuture<Void> waiter : this.waiters) {
+                    waiter.completeExceptionally(LoggingUtils.wrapException(e, EventProcessorHostActionStrings.UPDATING_CHECKPOINT));
+                }
+                this.lease = null;
+                this.checkpoint = null;
+                this.waiters = new ArrayList<CompletableFuture<Void>>();
+                this.isScheduled = false;
+            }
+        }
+
+        private void write() {
+            AzureBlobLease lease;
+            Checkpoint checkpoint;
+            ArrayList<CompletableFuture<Void>> waiters;
+            synchronized (this) {
+                lease = this.lease;
+                checkpoint = this.checkpoint;
+                waiters = this.waiters;
+                this.lease = null;
+                this.checkpoint = null;
+                this.waiters = new ArrayList<CompletableFuture<Void>>();
+            }
+
+            RuntimeException failure = null;
+            try {
+                updateCheckpointInternal(lease, checkpoint);
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+
+            TRACE_LOGGER.debug(AzureStorageCheckpointLeaseManager.this.hostContext.withHostAndPartition(checkpoint.getPartitionId(),
+                    "Coalesced " + waiters.size() + " checkpoints into one write"));
+            for (CompletableFuture<Void> waiter : waiters) {
+                if (failure == null) {
+                    waiter.complete(null);
+                } else {
+                    waiter.completeExceptionally(failure);
+                }
+            }
+
+            synchronized (this) {
+                this.isScheduled = false;
+                if (!this.waiters.isEmpty()) {
+                    schedule();
+                }
+            }
+        }
+    }
 }
@@ -4,6 +4,21 @@
 package com.microsoft.azure.eventprocessorhost;
 
 public final class AzureStoragePartitionManagerOptions extends PartitionManagerOptions {
+    /**
+     * The default window within which checkpoints for a partition are coalesced. 0 means every checkpoint is written
+     * to storage as soon as it is made.
+     */
+    public static final int DefaultCheckpointBatchingWindowInMilliseconds = 0;
+
+    /**
+     * The default maximum number of lease renewals in flight at once. 0 means every lease is renewed on the thread
+     * which asked for the renewal.
+     */
+    public static final int DefaultLeaseRenewalParallelism = 0;
+
+    private int checkpointBatchingWindowInMilliseconds = AzureStoragePartitionManagerOptions.DefaultCheckpointBatchingWindowInMilliseconds;
+    private int leaseRenewalParallelism = AzureStoragePartitionManagerOptions.DefaultLeaseRenewalParallelism;
+
     public AzureStoragePartitionManagerOptions() {
     }
 
@@ -15,4 +30,53 @@ public final class AzureStoragePartitionManagerOptions extends PartitionManagerO
         }
         super.setLeaseDurationInSeconds(duration);
     }
+
+    /**
+     * Gets the window within which checkpoints for a partition are coalesced.
+     * Defaults to DefaultCheckpointBatchingWindowInMilliseconds.
+     *
+     * @return checkpoint batching window in milliseconds
+     */
+    public int getCheckpointBatchingWindowInMilliseconds() {
+        return this.checkpointBatchingWindowInMilliseconds;
+    }
+
+    /**
+     * Sets the window within which checkpoints for a partition are coalesced. When greater than 0, the first
+     * checkpoint for a partition starts the window, and when the window closes only the latest checkpoint made within
+     * it is written to storage. The futures of all the checkpoints made within the window complete once that write is
+     * done. Must be 0 or greater and less than the checkpoint timeout.
+     *
+     * @param window new value for the checkpoint batching window in milliseconds, 0 to write every checkpoint
+     */
+    public void setCheckpointBatchingWindowInMilliseconds(int window) {
+        if ((window < 0) || (window >= this.checkpointTimeoutInSeconds * 1000)) {
+            throw new IllegalArgumentException("Checkpoint batching window must be 0 or greater and less than checkpoint timeout");
+        }
+        this.checkpointBatchingWindowInMilliseconds = window;
+    }
+
+    /**
+     * Gets the maximum number of lease renewals in flight at once.
+     * Defaults to DefaultLeaseRenewalParallelism.
+     *
+     * @return lease renewal parallelism
+     */
+    public int getLeaseRenewalParallelism() {
+        return this.leaseRenewalParallelism;
+    }
+
+    /**
+     * Sets the maximum number of lease renewals in flight at once. When greater than 0, lease renewals are queued and
+     * run on the host's executor with at most this many running at the same time, so a host that owns many partitions
+     * does not tie up a thread per partition while storage is slow. Must be 0 or greater.
+     *
+     * @param parallelism new value for the lease renewal parallelism, 0 to renew on the calling thread
+     */
+    public void setLeaseRenewalParallelism(int parallelism) {
+        if (parallelism < 0) {
+            throw new IllegalArgumentException("Lease renewal parallelism must be 0 or greater");
+        }
+        this.leaseRenewalParallelism = parallelism;
+    }
 }
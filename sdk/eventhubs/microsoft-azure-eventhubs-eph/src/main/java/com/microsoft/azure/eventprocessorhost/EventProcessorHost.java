@@ -173,6 +173,17 @@ public final class EventProcessorHost {
         this.partitionManagerOptions = options;
     }
 
+    /**
+     * Returns how long the latest rebalance took, from the scan which found the partitions unevenly spread across the
+     * hosts to the scan which found them evenly spread. Only measured when one-pass rebalancing is enabled in the
+     * partition manager options.
+     *
+     * @return time to balance in milliseconds, or -1 if no rebalance has completed
+     */
+    public long getLastTimeToBalanceInMilliseconds() {
+        return this.partitionManager.getLastTimeToBalanceInMilliseconds();
+    }
+
     /**
      * Register class for event processor and start processing.
      * <p>
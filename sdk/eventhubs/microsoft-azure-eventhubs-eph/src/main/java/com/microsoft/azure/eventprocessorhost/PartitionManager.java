@@ -12,6 +12,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.Random;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
@@ -28,6 +29,10 @@ class PartitionManager extends Closable {
     protected PumpManager pumpManager = null;
     protected volatile String[] partitionIds = null;
     private ScheduledFuture<?> scanFuture = null;
+    private final Random scanJitter = new Random();
+    // Time-to-balance tracking, only computed with one-pass rebalancing
+    private volatile long imbalancedSinceMillis = -1;
+    private volatile long lastTimeToBalanceInMilliseconds = -1;
 
     PartitionManager(HostContext hostContext) {
         super(null);
@@ -284,7 +289,8 @@ class PartitionManager extends Closable {
         long start = System.currentTimeMillis();
 
         try {
-            (new PartitionScanner(this.hostContext, (lease) -> this.pumpManager.addPump(lease), this)).scan(isFirst)
+            final PartitionScanner scanner = new PartitionScanner(this.hostContext, (lease) -> this.pumpManager.addPump(lease), this);
+            scanner.scan(isFirst)
                 .whenCompleteAsync((didSteal, e) -> {
                     TRACE_LOGGER.debug(this.hostContext.withHost("Scanning took " + (System.currentTimeMillis() - start)));
 
@@ -292,6 +298,7 @@ class PartitionManager extends Closable {
                         TRACE_LOGGER.warn(this.hostContext.withHost("Lease scanner got exception"), e);
                     }
 
+                    recordBalance(scanner.getIsBalanced());
                     onPartitionCheckCompleteTestHook();
 
                     // Schedule the next scan unless we are shutting down.
@@ -301,10 +308,11 @@ class PartitionManager extends Closable {
                         if (isFirst) {
                             seconds = this.hostContext.getPartitionManagerOptions().getStartupScanDelayInSeconds();
                         }
+                        long delay = getScanDelayInMilliseconds(seconds);
                         synchronized (this.scanFutureSynchronizer) {
-                            this.scanFuture = this.hostContext.getExecutor().schedule(() -> scan(false), seconds, TimeUnit.SECONDS);
+                            this.scanFuture = this.hostContext.getExecutor().schedule(() -> scan(false), delay, TimeUnit.MILLISECONDS);
                         }
-                        TRACE_LOGGER.debug(this.hostContext.withHost("Scheduling lease scanner in " + seconds));
+                        TRACE_LOGGER.debug(this.hostContext.withHost("Scheduling lease scanner in " + delay + "ms"));
                     } else {
                         TRACE_LOGGER.warn(this.hostContext.withHost("Not scheduling lease scanner due to shutdown"));
                     }
@@ -312,17 +320,50 @@ class PartitionManager extends Closable {
         } catch (Exception e) {
             TRACE_LOGGER.error(this.hostContext.withHost("Lease scanner threw directly"), e);
             if (!this.getIsClosingOrClosed()) {
-                int seconds = this.hostContext.getPartitionManagerOptions().getSlowScanIntervalInSeconds();
+                long delay = getScanDelayInMilliseconds(this.hostContext.getPartitionManagerOptions().getSlowScanIntervalInSeconds());
                 synchronized (this.scanFutureSynchronizer) {
-                    this.scanFuture = this.hostContext.getExecutor().schedule(() -> scan(false), seconds, TimeUnit.SECONDS);
+                    this.scanFuture = this.hostContext.getExecutor().schedule(() -> scan(false), delay, TimeUnit.MILLISECONDS);
                 }
-                TRACE_LOGGER.debug(this.hostContext.withHost("Forced schedule of lease scanner in " + seconds));
+                TRACE_LOGGER.debug(this.hostContext.withHost("Forced schedule of lease scanner in " + delay + "ms"));
             }
         }
 
         return null;
     }
 
+    // With one-pass rebalancing, spread scan intervals by up to 20% either way so that hosts which started together
+    // do not keep reading and acquiring leases at the same time.
+    private long getScanDelayInMilliseconds(int seconds) {
+        long delay = TimeUnit.SECONDS.toMillis(seconds);
+        if (this.hostContext.getPartitionManagerOptions().getOnePassRebalancingEnabled()) {
+            delay = (long) (delay * (0.8 + (0.4 * this.scanJitter.nextDouble())));
+        }
+        return delay;
+    }
+
+    private void recordBalance(Boolean isBalanced) {
+        if (isBalanced == null) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        if (!isBalanced) {
+            if (this.imbalancedSinceMillis < 0) {
+                this.imbalancedSinceMillis = now;
+            }
+        } else if (this.imbalancedSinceMillis >= 0) {
+            this.lastTimeToBalanceInMilliseconds = now - this.imbalancedSinceMillis;
+            this.imbalancedSinceMillis = -1;
+            TRACE_LOGGER.info(this.hostContext.withHost("Partitions balanced " + this.lastTimeToBalanceInMilliseconds + "ms after imbalance was detected"));
+        }
+    }
+
+    // Time between a scan finding the partitions unevenly spread across hosts and a later scan finding them evenly
+    // spread, for the latest rebalance. -1 if no rebalance has completed or one-pass rebalancing is not enabled.
+    long getLastTimeToBalanceInMilliseconds() {
+        return this.lastTimeToBalanceInMilliseconds;
+    }
+
     // Exception wrapper that buildRetries() uses to indicate that a fatal error has occurred. The chain
     // built by buildRetries() normally swallows exceptions via odd-numbered stages so that the retries in
     // even-numbered stages will execute. If multiple chains are concatenated, FinalException short-circuits
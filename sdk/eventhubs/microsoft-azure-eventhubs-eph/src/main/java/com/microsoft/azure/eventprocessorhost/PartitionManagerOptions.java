@@ -29,6 +29,11 @@ public class PartitionManagerOptions {
     public static final int DefaultFastScanIntervalInSeconds = 3;
     public static final int DefaultSlowScanIntervalInSeconds = 5;
 
+    /**
+     * The default maximum number of leases acquired at once by one-pass rebalancing.
+     */
+    public static final int DefaultMaxConcurrentLeaseAcquisitions = 16;
+
     protected int leaseDurationInSeconds = PartitionManagerOptions.DefaultLeaseDurationInSeconds;
     protected int leaseRenewIntervalInSeconds = PartitionManagerOptions.DefaultLeaseRenewIntervalInSeconds;
     protected int checkpointTimeoutInSeconds = PartitionManagerOptions.DefaultCheckpointTimeoutInSeconds;
@@ -37,6 +42,9 @@ public class PartitionManagerOptions {
     protected int fastScanIntervalInSeconds = PartitionManagerOptions.DefaultFastScanIntervalInSeconds;
     protected int slowScanIntervalInSeconds = PartitionManagerOptions.DefaultSlowScanIntervalInSeconds;
 
+    protected boolean onePassRebalancingEnabled = false;
+    protected int maxConcurrentLeaseAcquisitions = PartitionManagerOptions.DefaultMaxConcurrentLeaseAcquisitions;
+
     /***
      * The base class automatically sets members to the static defaults.
      */
@@ -183,4 +191,52 @@ public class PartitionManagerOptions {
         }
         this.slowScanIntervalInSeconds = interval;
     }
+
+    /**
+     * Gets whether partitions are rebalanced in one pass. Defaults to false.
+     *
+     * @return true if one-pass rebalancing is enabled
+     */
+    public boolean getOnePassRebalancingEnabled() {
+        return this.onePassRebalancingEnabled;
+    }
+
+    /**
+     * Sets whether partitions are rebalanced in one pass.
+     * 
+     * By default, each scan acquires unowned and expired leases in chunks and then steals leases from a single host
+     * which owns more than its share, so rebalancing many partitions across many hosts takes several scans. With
+     * one-pass rebalancing, each scan computes the target assignment of every partition to every host from the states
+     * of all leases, and acquires all the leases this host should take, unowned or owned by other hosts, at once with
+     * at most getMaxConcurrentLeaseAcquisitions() acquisitions in flight. Hosts compute the same assignment from the
+     * same lease states, so they don't contend for the same leases. Scan intervals are jittered by up to 20% so
+     * hosts that started together do not keep scanning at the same time.
+     * 
+     * @param enabled  true to enable one-pass rebalancing
+     */
+    public void setOnePassRebalancingEnabled(boolean enabled) {
+        this.onePassRebalancingEnabled = enabled;
+    }
+
+    /**
+     * Gets the maximum number of leases acquired at once by one-pass rebalancing.
+     * Defaults to DefaultMaxConcurrentLeaseAcquisitions.
+     * 
+     * @return maximum number of concurrent lease acquisitions
+     */
+    public int getMaxConcurrentLeaseAcquisitions() {
+        return this.maxConcurrentLeaseAcquisitions;
+    }
+
+    /**
+     * Sets the maximum number of leases acquired at once by one-pass rebalancing. Must be greater than 0.
+     * 
+     * @param maxAcquisitions  new maximum number of concurrent lease acquisitions
+     */
+    public void setMaxConcurrentLeaseAcquisitions(int maxAcquisitions) {
+        if (maxAcquisitions <= 0) {
+            throw new IllegalArgumentException("Max concurrent lease acquisitions must be greater than 0");
+        }
+        this.maxConcurrentLeaseAcquisitions = maxAcquisitions;
+    }
 }
@@ -8,13 +8,16 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
@@ -32,6 +35,9 @@ class PartitionScanner extends Closable {
     private int unownedCount; // updated by acquireExpiredInChunksParallel
     private final ConcurrentHashMap<String, BaseLease> leasesOwnedByOthers; // updated by acquireExpiredInChunksParallel
 
+    // Populated by planOnePass, null if the scan did not get that far
+    private volatile Boolean isBalanced = null;
+
     PartitionScanner(HostContext hostContext, Consumer<CompleteLease> addPump, Closable parent) {
         super(parent);
 
@@ -44,6 +50,10 @@ class PartitionScanner extends Closable {
     }
 
     public CompletableFuture<Boolean> scan(boolean isFirst) {
+        if (this.hostContext.getPartitionManagerOptions().getOnePassRebalancingEnabled()) {
+            return scanOnePass(isFirst);
+        }
+
         return getAllLeaseStates()
                 .thenComposeAsync((unused) -> {
                     throwIfClosingOrClosed("PartitionScanner is shutting down");
@@ -63,17 +73,37 @@ class PartitionScanner extends Closable {
                     throwIfClosingOrClosed("PartitionScanner is shutting down");
                     return stealLeases(stealThese);
                 }, this.hostContext.getExecutor())
-                .handleAsync((didSteal, e) -> {
-                    if ((e != null) && !(e instanceof ClosingException)) {
-                        StringBuilder outAction = new StringBuilder();
-                        Exception notifyWith = (Exception) LoggingUtils.unwrapException(e, outAction);
-                        TRACE_LOGGER.warn(this.hostContext.withHost("Exception scanning leases"), notifyWith);
-                        this.hostContext.getEventProcessorOptions().notifyOfException(this.hostContext.getHostName(), notifyWith, outAction.toString(),
-                                ExceptionReceivedEventArgs.NO_ASSOCIATED_PARTITION);
-                        didSteal = false;
-                    }
-                    return didSteal;
-                }, this.hostContext.getExecutor());
+                .handleAsync(this::handleScanResult, this.hostContext.getExecutor());
+    }
+
+    // One-pass rebalancing: plan the whole assignment from the lease states and acquire every lease this host should
+    // take in the same scan, instead of taking expired leases and then a few stolen ones per scan.
+    private CompletableFuture<Boolean> scanOnePass(boolean isFirst) {
+        return getAllLeaseStates()
+                .thenComposeAsync((unused) -> {
+                    throwIfClosingOrClosed("PartitionScanner is shutting down");
+                    List<BaseLease> acquireThese = planOnePass(isFirst);
+                    return acquireInParallel(acquireThese).thenApplyAsync((empty) -> !acquireThese.isEmpty(), this.hostContext.getExecutor());
+                }, this.hostContext.getExecutor())
+                .handleAsync(this::handleScanResult, this.hostContext.getExecutor());
+    }
+
+    private Boolean handleScanResult(Boolean didSteal, Throwable e) {
+        if ((e != null) && !(e instanceof ClosingException)) {
+            StringBuilder outAction = new StringBuilder();
+            Exception notifyWith = (Exception) LoggingUtils.unwrapException(e, outAction);
+            TRACE_LOGGER.warn(this.hostContext.withHost("Exception scanning leases"), notifyWith);
+            this.hostContext.getEventProcessorOptions().notifyOfException(this.hostContext.getHostName(), notifyWith, outAction.toString(),
+                    ExceptionReceivedEventArgs.NO_ASSOCIATED_PARTITION);
+            didSteal = false;
+        }
+        return didSteal;
+    }
+
+    // Whether the scan found every host owning its share of the partitions. Only one-pass rebalancing computes this,
+    // returns null otherwise or if the scan failed before planning.
+    Boolean getIsBalanced() {
+        return this.isBalanced;
     }
 
     private CompletableFuture<Void> getAllLeaseStates() {
@@ -149,6 +179,113 @@ class PartitionScanner extends Closable {
         return ourLeasesCount;
     }
 
+    // NONBLOCKING
+    // Computes the target assignment of every partition to every host and returns the leases this host should acquire.
+    // The plan only depends on the lease states, so every host which sees the same states computes the same plan:
+    // each of H hosts gets P / H partitions and the P % H hosts which already own the most get one more, hosts keep
+    // the leases they own up to their share, and the leases left over are handed out to the hosts below their share
+    // in host name order.
+    private List<BaseLease> planOnePass(boolean isFirst) {
+        final String ourName = this.hostContext.getHostName();
+        final TreeMap<String, List<BaseLease>> leasesByHost = new TreeMap<String, List<BaseLease>>();
+        leasesByHost.put(ourName, new ArrayList<BaseLease>());
+        ArrayList<BaseLease> available = new ArrayList<BaseLease>();
+        for (BaseLease info : this.allLeaseStates) {
+            if (info.getIsOwned() && info.getOwner() != null) {
+                leasesByHost.computeIfAbsent(info.getOwner(), (owner) -> new ArrayList<BaseLease>()).add(info);
+            } else {
+                available.add(info);
+            }
+        }
+
+        int hostCount = leasesByHost.size();
+        int countPerHost = this.allLeaseStates.size() / hostCount;
+        int leftovers = this.allLeaseStates.size() % hostCount;
+        ArrayList<String> hostsByLoad = new ArrayList<String>(leasesByHost.keySet());
+        hostsByLoad.sort(Comparator.comparing((String host) -> -leasesByHost.get(host).size()).thenComparing(Comparator.naturalOrder()));
+        HashMap<String, Integer> targets = new HashMap<String, Integer>();
+        for (int i = 0; i < hostsByLoad.size(); i++) {
+            String host = hostsByLoad.get(i);
+            int target = countPerHost + ((i < leftovers) ? 1 : 0);
+            targets.put(host, target);
+
+            List<BaseLease> owned = leasesByHost.get(host);
+            if (owned.size() > target) {
+                available.addAll(owned.subList(target, owned.size()));
+            }
+        }
+        Collections.sort(available);
+
+        ArrayList<BaseLease> ourShare = new ArrayList<BaseLease>();
+        int moves = 0;
+        for (Map.Entry<String, List<BaseLease>> entry : leasesByHost.entrySet()) {
+            for (int needed = targets.get(entry.getKey()) - entry.getValue().size(); (needed > 0) && (moves < available.size()); needed--) {
+                if (entry.getKey().compareTo(ourName) == 0) {
+                    ourShare.add(available.get(moves));
+                }
+                moves++;
+            }
+        }
+        this.isBalanced = (moves == 0);
+
+        TRACE_LOGGER.debug(this.hostContext.withHost("Host count is " + hostCount + "  Target owned count is " + targets.get(ourName)
+                + "  Owned count is " + leasesByHost.get(ourName).size() + "  Moves planned " + moves + "  Ours " + ourShare.size()));
+
+        if (isFirst && (ourShare.size() > 1)) {
+            // If the entire system is starting up, the list of hosts is probably not complete, so take a single
+            // random partition and leave the rest to later scans.
+            return Collections.singletonList(ourShare.get(PartitionScanner.RANDOMIZER.nextInt(ourShare.size())));
+        }
+        return ourShare;
+    }
+
+    // Acquires the leases with at most getMaxConcurrentLeaseAcquisitions() acquisitions in flight.
+    private CompletableFuture<Void> acquireInParallel(List<BaseLease> acquireThese) {
+        ConcurrentLinkedQueue<BaseLease> remaining = new ConcurrentLinkedQueue<BaseLease>(acquireThese);
+        int parallelism = Math.min(acquireThese.size(), this.hostContext.getPartitionManagerOptions().getMaxConcurrentLeaseAcquisitions());
+        ArrayList<CompletableFuture<Void>> workers = new ArrayList<CompletableFuture<Void>>();
+        for (int i = 0; i < parallelism; i++) {
+            workers.add(acquireNext(remaining));
+        }
+
+        CompletableFuture<?>[] dummy = new CompletableFuture<?>[workers.size()];
+        return CompletableFuture.allOf(workers.toArray(dummy));
+    }
+
+    private CompletableFuture<Void> acquireNext(ConcurrentLinkedQueue<BaseLease> remaining) {
+        BaseLease info = remaining.poll();
+        if ((info == null) || getIsClosingOrClosed()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        final AcquisitionHolder holder = new AcquisitionHolder();
+        return this.hostContext.getLeaseManager().getLease(info.getPartitionId())
+                .thenComposeAsync((lease) -> {
+                    throwIfClosingOrClosed("PartitionScanner is shutting down");
+                    holder.setAcquiredLease(lease);
+                    return this.hostContext.getLeaseManager().acquireLease(lease);
+                }, this.hostContext.getExecutor())
+                .thenAcceptAsync((acquired) -> {
+                    throwIfClosingOrClosed("PartitionScanner is shutting down");
+                    if (acquired) {
+                        TRACE_LOGGER.debug(this.hostContext.withHostAndPartition(holder.getAcquiredLease().getPartitionId(),
+                                (info.getIsOwned() ? "Stole lease from " + info.getOwner() : "Acquired unowned/expired")));
+                        this.addPump.accept(holder.getAcquiredLease());
+                    }
+                }, this.hostContext.getExecutor())
+                .handleAsync((empty, e) -> {
+                    // log/notify if exception occurred, then swallow exception and continue with next lease
+                    if ((e != null) && !(e instanceof ClosingException)) {
+                        Exception notifyWith = (Exception) LoggingUtils.unwrapException(e, null);
+                        TRACE_LOGGER.warn(this.hostContext.withHostAndPartition(info.getPartitionId(), "Failure getting/acquiring lease, continuing"), notifyWith);
+                        this.hostContext.getEventProcessorOptions().notifyOfException(this.hostContext.getHostName(), notifyWith,
+                                EventProcessorHostActionStrings.CHECKING_LEASES, info.getPartitionId());
+                    }
+                    return null;
+                }, this.hostContext.getExecutor())
+                .thenComposeAsync((unused) -> acquireNext(remaining), this.hostContext.getExecutor());
+    }
+
     // NONBLOCKING
     // Returns a CompletableFuture as a convenience for the caller
     private CompletableFuture<List<BaseLease>> findExpiredLeases(int startAt, int endAt) {
@@ -30,6 +30,7 @@ public class PartitionManagerTest extends TestBase {
     private int overrideHostCount = -1;
     private int maxChecks;
     private boolean shuttingDown;
+    private boolean onePassRebalancing;
 
     @Test
     public void partitionBalancingExactMultipleTest() throws Exception {
@@ -119,6 +120,42 @@ public class PartitionManagerTest extends TestBase {
         this.checkpointManagers[0].deleteCheckpointStore().get();
     }
 
+    @Test
+    public void partitionBalancingHugeOnePassTest() throws Exception {
+        this.onePassRebalancing = true;
+        setup(10, 201, 250, 20); // ten hosts, 201 partitions, 250ms latency, threadpool with 20 threads
+        this.countOfChecks = 0;
+        this.desiredDistributionDetected = 0;
+        this.keepGoing = true;
+        this.expectEqualDistribution = false;
+        this.maxChecks = 99;
+        startManagers();
+
+        // Poll until checkPartitionDistribution() declares that it's time to stop.
+        while (this.keepGoing) {
+            try {
+                Thread.sleep(15000);
+            } catch (InterruptedException e) {
+                TestBase.logError("Sleep interrupted, emergency bail");
+                Thread.currentThread().interrupt();
+                throw e;
+            }
+        }
+
+        stopManagers();
+
+        assertTrue("Desired distribution never reached or was not stable", this.desiredDistributionDetected >= this.partitionManagers.length);
+        long timeToBalance = -1;
+        for (EventProcessorHost host : this.hosts) {
+            timeToBalance = Math.max(timeToBalance, host.getLastTimeToBalanceInMilliseconds());
+        }
+        TestBase.logInfo("Time to balance " + timeToBalance + "ms");
+        assertTrue("Time to balance was not reported", timeToBalance >= 0);
+
+        this.leaseManagers[0].deleteLeaseStore().get();
+        this.checkpointManagers[0].deleteCheckpointStore().get();
+    }
+
     @Test
     public void partitionRebalancingTest() throws Exception {
         setup(3, 8, 0, 8); // three hosts, eight partitions, 250ms latency, default threadpool
@@ -329,7 +366,7 @@ public class PartitionManagerTest extends TestBase {
             }
             this.hosts[i] = EventProcessorHost.EventProcessorHostBuilder.newBuilder("dummyHost" + String.valueOf(i), EventHubClient.DEFAULT_CONSUMER_GROUP_NAME)
                     .useUserCheckpointAndLeaseManagers(cm, lm)
-                    .useEventHubConnectionString(RealEventHubUtilities.SYNTACTICALLY_CORRECT_DUMMY_CONNECTION_STRING, "NOTREAL")
+                    .useEventHubConnectionString(RealEventHubUtilities.SYNTACTICALLY_CORRECT_DUMMY_CONNECTION_STRING, RealEventHubUtilities.SYNTACTICALLY_CORRECT_DUMMY_EVENT_HUB_PATH)
                     .setExecutor(threadpool)
                     .build();
 
@@ -347,6 +384,7 @@ public class PartitionManagerTest extends TestBase {
             // have to worry about storage latency, all lease operations are guaranteed to be fast.
             PartitionManagerOptions opts = new PartitionManagerOptions();
             opts.setLeaseDurationInSeconds(15);
+            opts.setOnePassRebalancingEnabled(this.onePassRebalancing);
             //opts.setStartupScanDelayInSeconds(17);
             //opts.setSlowScanIntervalInSeconds(15);
             this.hosts[i].setPartitionManagerOptions(opts);
@@ -3,6 +3,9 @@
 
 package com.microsoft.azure.eventhubs.extensions.appender;
 
+import com.microsoft.azure.eventhubs.EventData;
+import com.microsoft.azure.eventhubs.EventDataBatch;
+import com.microsoft.azure.eventhubs.PayloadSizeExceededException;
 import org.apache.logging.log4j.core.Filter;
 import org.apache.logging.log4j.core.Layout;
 import org.apache.logging.log4j.core.LogEvent;
@@ -19,13 +22,19 @@ import java.io.Serializable;
 
 import java.util.Locale;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 
 /**
  * Sends {@link LogEvent}'s to Microsoft Azure EventHubs.
  * By default, tuned for high performance and hence, pushes a batch of Events.
+ * In async mode, log events are handed to a bounded ring buffer and sent by a dedicated flusher thread, so a slow
+ * EventHub never blocks the logging thread - unless the {@link OverflowPolicy#BLOCK BLOCK} overflow policy is chosen.
  */
 @Plugin(name = "EventHub", category = "Core", elementType = "appender", printObject = true)
 public final class EventHubsAppender extends AbstractAppender {
@@ -34,25 +43,56 @@ public final class EventHubsAppender extends AbstractAppender {
     // this constant is tuned to use the MaximumAllowedMessageSize(256K) including AMQP-Headers for a LogEvent of 1Char
     private static final int MAX_BATCH_SIZE = 21312;
     private static final long serialVersionUID = 1L;
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long STOP_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(30);
 
     private final EventHubsManager eventHubsManager;
     private final boolean immediateFlush;
     private final AtomicInteger currentBufferedSizeBytes;
+    private final AtomicInteger currentBufferedCount;
     private final ConcurrentLinkedQueue<byte[]> logEvents;
 
+    // async mode
+    private final boolean async;
+    private final transient LogEventRingBuffer ringBuffer;
+    private final OverflowPolicy overflowPolicy;
+    private final int sampleRate;
+    private final long flushIntervalNanos;
+    private final AtomicLong sampleCounter = new AtomicLong();
+    private final AtomicBoolean isFlusherIdle = new AtomicBoolean();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong sentCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong lastLatencyNanos = new AtomicLong();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+    private volatile boolean isStopping;
+    private transient volatile Thread flusher;
+
     private EventHubsAppender(
             final String name,
             final Filter filter,
             final Layout<? extends Serializable> layout,
             final boolean ignoreExceptions,
             final EventHubsManager eventHubsManager,
-            final boolean immediateFlush) {
+            final boolean immediateFlush,
+            final boolean async,
+            final int bufferSize,
+            final OverflowPolicy overflowPolicy,
+            final int sampleRate,
+            final long flushIntervalMillis) {
         super(name, filter, layout, ignoreExceptions);
 
         this.eventHubsManager = eventHubsManager;
         this.immediateFlush = immediateFlush;
         this.logEvents = new ConcurrentLinkedQueue<byte[]>();
         this.currentBufferedSizeBytes = new AtomicInteger();
+        this.currentBufferedCount = new AtomicInteger();
+
+        this.async = async;
+        this.ringBuffer = async ? new LogEventRingBuffer(bufferSize) : null;
+        this.overflowPolicy = overflowPolicy;
+        this.sampleRate = Math.max(1, sampleRate);
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, flushIntervalMillis));
     }
 
     @PluginFactory
@@ -62,9 +102,16 @@ public final class EventHubsAppender extends AbstractAppender {
             @PluginElement("Layout") final Layout<? extends Serializable> layout,
             @PluginAttribute(value = "ignoreExceptions", defaultBoolean = true) final boolean ignoreExceptions,
             @Required(message = "Provide EventHub connection string to append the events to") @PluginAttribute("eventHubConnectionString") final String connectionString,
-            @PluginAttribute(value = "immediateFlush", defaultBoolean = false) final boolean immediateFlush) {
+            @PluginAttribute(value = "immediateFlush", defaultBoolean = false) final boolean immediateFlush,
+            @PluginAttribute(value = "async", defaultBoolean = false) final boolean async,
+            @PluginAttribute(value = "bufferSize", defaultInt = 8192) final int bufferSize,
+            @PluginAttribute(value = "overflowPolicy", defaultString = "DROP") final String overflowPolicy,
+            @PluginAttribute(value = "sampleRate", defaultInt = 10) final int sampleRate,
+            @PluginAttribute(value = "flushIntervalMillis", defaultLong = 250) final long flushIntervalMillis) {
         final EventHubsManager eventHubsManager = new EventHubsManager(name, connectionString);
-        return new EventHubsAppender(name, filter, layout, ignoreExceptions, eventHubsManager, immediateFlush);
+        return new EventHubsAppender(name, filter, layout, ignoreExceptions, eventHubsManager, immediateFlush,
+                async, bufferSize, OverflowPolicy.valueOf(overflowPolicy.toUpperCase(Locale.US)), sampleRate,
+                flushIntervalMillis);
     }
 
     @Override
@@ -81,15 +128,18 @@ public final class EventHubsAppender extends AbstractAppender {
             }
 
             if (serializedLogEvent != null) {
-                if (this.immediateFlush) {
+                if (this.async) {
+                    this.enqueue(serializedLogEvent);
+                } else if (this.immediateFlush) {
                     this.eventHubsManager.send(serializedLogEvent);
                     return;
                 } else {
                     int currentSize = this.currentBufferedSizeBytes.addAndGet(serializedLogEvent.length);
+                    int currentCount = this.currentBufferedCount.incrementAndGet();
                     this.logEvents.offer(serializedLogEvent);
 
                     if (currentSize < EventHubsAppender.MAX_BATCH_SIZE_BYTES
-                            && this.logEvents.size() < EventHubsAppender.MAX_BATCH_SIZE
+                            && currentCount < EventHubsAppender.MAX_BATCH_SIZE
                             && !logEvent.isEndOfBatch()) {
                         return;
                     }
@@ -100,6 +150,7 @@ public final class EventHubsAppender extends AbstractAppender {
 
                     this.logEvents.clear();
                     this.currentBufferedSizeBytes.set(0);
+                    this.currentBufferedCount.set(0);
                 }
             }
         } catch (final Throwable exception) {
@@ -112,6 +163,7 @@ public final class EventHubsAppender extends AbstractAppender {
             // remove the current LogEvent from the inMem Q - to avoid replay
             if (serializedLogEvent != null && this.logEvents.remove(serializedLogEvent)) {
                 this.currentBufferedSizeBytes.addAndGet(-1 * serializedLogEvent.length);
+                this.currentBufferedCount.decrementAndGet();
             }
 
             throw appenderLoggingException;
@@ -130,11 +182,200 @@ public final class EventHubsAppender extends AbstractAppender {
             LOGGER.error(errMsg);
             throw new AppenderLoggingException(errMsg, exception);
         }
+
+        if (this.async) {
+            this.isStopping = false;
+            this.flusher = new Thread(this::runFlusher, "EventHubsAppender-" + this.getName());
+            this.flusher.setDaemon(true);
+            this.flusher.start();
+        }
     }
 
     @Override
     public void stop() {
         super.stop();
+
+        if (this.flusher != null) {
+            // the flusher sends what is left in the buffer before it exits
+            this.isStopping = true;
+            LockSupport.unpark(this.flusher);
+            try {
+                this.flusher.join(STOP_TIMEOUT_MILLIS);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+            this.flusher = null;
+        }
+
         this.eventHubsManager.release();
     }
+
+    /**
+     * Gets the number of log events that were dropped, because the buffer was full or by sampling, in async mode.
+     * @return the number of dropped log events
+     */
+    public long getDroppedCount() {
+        return this.droppedCount.get();
+    }
+
+    /**
+     * Gets the number of log events that were sent to EventHubs in async mode.
+     * @return the number of sent log events
+     */
+    public long getSentCount() {
+        return this.sentCount.get();
+    }
+
+    /**
+     * Gets the number of log events that could not be sent to EventHubs in async mode.
+     * @return the number of log events that failed to send
+     */
+    public long getFailedCount() {
+        return this.failedCount.get();
+    }
+
+    /**
+     * Gets the time between the oldest log event of the last batch sent in async mode being logged and the batch being
+     * sent.
+     * @return the latency of the last batch in milliseconds
+     */
+    public long getLastLatencyMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(this.lastLatencyNanos.get());
+    }
+
+    /**
+     * Gets the highest latency of a batch sent in async mode.
+     * @return the highest latency of a batch in milliseconds
+     * @see #getLastLatencyMillis()
+     */
+    public long getMaxLatencyMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(this.maxLatencyNanos.get());
+    }
+
+    /**
+     * Gets the number of log events waiting in the buffer to be sent in async mode.
+     * @return the number of buffered log events
+     */
+    public int getBufferedCount() {
+        return this.ringBuffer == null ? this.currentBufferedCount.get() : this.ringBuffer.size();
+    }
+
+    private void enqueue(final byte[] serializedLogEvent) {
+        if (this.overflowPolicy == OverflowPolicy.SAMPLE
+                && this.ringBuffer.size() >= this.ringBuffer.capacity() / 4 * 3
+                && this.sampleCounter.incrementAndGet() % this.sampleRate != 0) {
+            this.droppedCount.incrementAndGet();
+            return;
+        }
+
+        final long now = System.nanoTime();
+        if (!this.ringBuffer.offer(serializedLogEvent, now)) {
+            if (this.overflowPolicy != OverflowPolicy.BLOCK) {
+                this.droppedCount.incrementAndGet();
+                return;
+            }
+
+            do {
+                if (this.isStopping) {
+                    this.droppedCount.incrementAndGet();
+                    return;
+                }
+                this.wakeFlusher();
+                LockSupport.parkNanos(BLOCK_PARK_NANOS);
+            } while (!this.ringBuffer.offer(serializedLogEvent, now));
+        }
+
+        // the flusher wakes up every flush interval, only cut its wait short when the buffer is filling up
+        if (this.ringBuffer.size() >= this.ringBuffer.capacity() / 2) {
+            this.wakeFlusher();
+        }
+    }
+
+    private void wakeFlusher() {
+        final Thread thread = this.flusher;
+        if (thread != null && this.isFlusherIdle.compareAndSet(true, false)) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    private void runFlusher() {
+        long reportedDrops = 0;
+        while (true) {
+            this.flush();
+
+            final long drops = this.droppedCount.get();
+            if (drops != reportedDrops) {
+                LOGGER.warn(String.format(Locale.US, "[%s] Appender dropped %s log events, %s in total.",
+                        this.getName(), drops - reportedDrops, drops));
+                reportedDrops = drops;
+            }
+
+            if (this.isStopping && this.ringBuffer.size() == 0) {
+                return;
+            }
+
+            this.isFlusherIdle.set(true);
+            if (!this.isStopping && this.ringBuffer.size() < this.ringBuffer.capacity() / 2) {
+                LockSupport.parkNanos(this, this.flushIntervalNanos);
+            }
+            this.isFlusherIdle.set(false);
+        }
+    }
+
+    /*
+     * Drains the buffer into batches that fit the maximum message size, sending each batch once it is full.
+     */
+    private void flush() {
+        EventDataBatch batch = null;
+        long oldestEnqueueTime = 0;
+        byte[] serializedLogEvent;
+        while ((serializedLogEvent = this.ringBuffer.poll()) != null) {
+            final EventData eventData = EventData.create(serializedLogEvent);
+            try {
+                if (batch == null) {
+                    batch = this.eventHubsManager.createBatch();
+                    oldestEnqueueTime = this.ringBuffer.lastPolledEnqueueTime();
+                }
+
+                if (!batch.tryAdd(eventData)) {
+                    this.send(batch, oldestEnqueueTime);
+                    batch = this.eventHubsManager.createBatch();
+                    oldestEnqueueTime = this.ringBuffer.lastPolledEnqueueTime();
+                    batch.tryAdd(eventData);
+                }
+            } catch (PayloadSizeExceededException exception) {
+                LOGGER.error(String.format(Locale.US, "[%s] Appender dropped a log event larger than the maximum message size.",
+                        this.getName()));
+                this.failedCount.incrementAndGet();
+            } catch (Throwable exception) {
+                LOGGER.error(String.format(Locale.US, "[%s] Appender failed to create a batch: [%s]",
+                        this.getName(), exception.getMessage()));
+                this.failedCount.incrementAndGet();
+            }
+        }
+
+        if (batch != null) {
+            this.send(batch, oldestEnqueueTime);
+        }
+    }
+
+    private void send(final EventDataBatch batch, final long oldestEnqueueTime) {
+        final int size = batch.getSize();
+        if (size == 0) {
+            return;
+        }
+
+        try {
+            this.eventHubsManager.send(batch);
+            this.sentCount.addAndGet(size);
+
+            final long latency = System.nanoTime() - oldestEnqueueTime;
+            this.lastLatencyNanos.set(latency);
+            this.maxLatencyNanos.accumulateAndGet(latency, Math::max);
+        } catch (Throwable exception) {
+            LOGGER.error(String.format(Locale.US, "[%s] Appender failed to send %s log events to EventHub: [%s]",
+                    this.getName(), size, exception.getMessage()));
+            this.failedCount.addAndGet(size);
+        }
+    }
 }
@@ -4,6 +4,7 @@
 package com.microsoft.azure.eventhubs.extensions.appender;
 
 import com.microsoft.azure.eventhubs.EventData;
+import com.microsoft.azure.eventhubs.EventDataBatch;
 import com.microsoft.azure.eventhubs.EventHubClient;
 import com.microsoft.azure.eventhubs.EventHubException;
 import org.apache.logging.log4j.core.LoggerContext;
@@ -42,6 +43,16 @@ public final class EventHubsManager extends AbstractManager {
         }
     }
 
+    public EventDataBatch createBatch() throws EventHubException {
+        return this.eventHubSender.createBatch();
+    }
+
+    public void send(final EventDataBatch batch) throws EventHubException {
+        if (batch != null && batch.getSize() > 0) {
+            this.eventHubSender.sendSync(batch);
+        }
+    }
+
     public void startup() throws EventHubException, IOException {
         this.eventHubSender = EventHubClient.createFromConnectionStringSync(this.eventHubConnectionString, EXECUTOR_SERVICE);
     }
@@ -0,0 +1,100 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.microsoft.azure.eventhubs.extensions.appender;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A bounded, lock-free ring buffer of serialized log events, written to by any number of logging threads and read by a
+ * single flusher thread.
+ * Every slot carries a sequence number: a producer claims a slot by advancing the tail and publishes the event by
+ * bumping the slot's sequence, the consumer hands the slot back to producers of the next lap the same way.
+ */
+final class LogEventRingBuffer {
+    private final int capacity;
+    private final int mask;
+    private final byte[][] events;
+    private final long[] enqueueTimes;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    // only written by the consumer
+    private volatile long head;
+    private long lastPolledEnqueueTime;
+
+    LogEventRingBuffer(final int requestedCapacity) {
+        int size = 1;
+        while (size < requestedCapacity) {
+            size <<= 1;
+        }
+
+        this.capacity = size;
+        this.mask = size - 1;
+        this.events = new byte[size][];
+        this.enqueueTimes = new long[size];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            this.sequences.set(i, i);
+        }
+    }
+
+    int capacity() {
+        return this.capacity;
+    }
+
+    int size() {
+        final long size = this.tail.get() - this.head;
+        return (int) Math.max(0, Math.min(size, this.capacity));
+    }
+
+    /**
+     * Adds an event, returns false without blocking if the buffer is full.
+     */
+    boolean offer(final byte[] event, final long enqueueTimeNanos) {
+        long position = this.tail.get();
+        while (true) {
+            final int index = (int) position & this.mask;
+            final long difference = this.sequences.get(index) - position;
+            if (difference == 0) {
+                if (this.tail.compareAndSet(position, position + 1)) {
+                    this.events[index] = event;
+                    this.enqueueTimes[index] = enqueueTimeNanos;
+                    this.sequences.lazySet(index, position + 1);
+                    return true;
+                }
+                position = this.tail.get();
+            } else if (difference < 0) {
+                // the slot still holds the event of the previous lap
+                return false;
+            } else {
+                position = this.tail.get();
+            }
+        }
+    }
+
+    /**
+     * Removes the oldest event, returns null if the buffer is empty. Must only be called by the consumer.
+     */
+    byte[] poll() {
+        final long position = this.head;
+        final int index = (int) position & this.mask;
+        if (this.sequences.get(index) != position + 1) {
+            return null;
+        }
+
+        final byte[] event = this.events[index];
+        this.lastPolledEnqueueTime = this.enqueueTimes[index];
+        this.events[index] = null;
+        this.sequences.lazySet(index, position + this.capacity);
+        this.head = position + 1;
+        return event;
+    }
+
+    /**
+     * Gets the {@link System#nanoTime()} at which the event last returned by {@link #poll()} was added.
+     */
+    long lastPolledEnqueueTime() {
+        return this.lastPolledEnqueueTime;
+    }
+}
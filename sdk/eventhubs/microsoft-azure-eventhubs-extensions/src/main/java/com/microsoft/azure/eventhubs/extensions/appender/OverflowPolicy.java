@@ -0,0 +1,25 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.microsoft.azure.eventhubs.extensions.appender;
+
+/**
+ * What an asynchronous {@link EventHubsAppender} does with a log event when its buffer is full.
+ */
+public enum OverflowPolicy {
+    /**
+     * Drops the log event. Logging never blocks.
+     */
+    DROP,
+
+    /**
+     * Blocks the logging thread until the flusher has made room in the buffer.
+     */
+    BLOCK,
+
+    /**
+     * Keeps only one in every {@code sampleRate} log events once the buffer is three quarters full, and drops the log
+     * event when it is full. Logging never blocks.
+     */
+    SAMPLE
+}
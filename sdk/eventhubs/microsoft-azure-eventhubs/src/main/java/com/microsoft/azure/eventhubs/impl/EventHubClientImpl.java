@@ -99,7 +99,7 @@ public final class EventHubClientImpl extends ClientEntity implements EventHubCl
         final MessagingFactoryBuilder builder = new MessagingFactoryBuilder(endpoint.getHost(), tokenProvider, executor);
         if (options != null) {
             builder.setOperationTimeout(options.getOperationTimeout()).setTransportType(options.getTransportType()).
-                    setRetryPolicy(options.getRetryPolicy());
+                    setRetryPolicy(options.getRetryPolicy()).setReactorBusySpin(options.isReactorBusySpin());
         }
 
         return builder.build()
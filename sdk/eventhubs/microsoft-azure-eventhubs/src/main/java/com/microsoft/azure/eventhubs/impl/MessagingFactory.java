@@ -61,6 +61,7 @@ public final class MessagingFactory extends ClientEntity implements AmqpConnecti
     private final Object mgmtChannelCreateLock;
     private final ITokenProvider tokenProvider;
     private final ReactorFactory reactorFactory;
+    private final boolean isReactorBusySpin;
 
     private Reactor reactor;
     private ReactorDispatcher reactorDispatcher;
@@ -80,7 +81,8 @@ public final class MessagingFactory extends ClientEntity implements AmqpConnecti
                       final ITokenProvider tokenProvider,
                      final RetryPolicy retryPolicy,
                      final ScheduledExecutorService executor,
-                     final ReactorFactory reactorFactory) {
+                     final ReactorFactory reactorFactory,
+                     final boolean isReactorBusySpin) {
         super(StringUtil.getRandomString("MF"), null, executor);
 
         if (StringUtil.isNullOrWhiteSpace(hostname)) {
@@ -95,6 +97,7 @@ public final class MessagingFactory extends ClientEntity implements AmqpConnecti
         
         this.hostName = hostname;
         this.reactorFactory = reactorFactory;
+        this.isReactorBusySpin = isReactorBusySpin;
         this.operationTimeout = operationTimeout;
         this.retryPolicy = retryPolicy;
         this.connectionHandler = ConnectionHandler.create(transportType, this, this.getClientId());
@@ -155,6 +158,7 @@ public final class MessagingFactory extends ClientEntity implements AmqpConnecti
         private TransportType transportType = TransportType.AMQP;
         private RetryPolicy retryPolicy = RetryPolicy.getDefault();
         private ReactorFactory reactorFactory = new ReactorFactory();
+        private boolean isReactorBusySpin = false;
         
         public MessagingFactoryBuilder(final String hostname, final ITokenProvider tokenProvider, final ScheduledExecutorService executor) {
             if (StringUtil.isNullOrWhiteSpace(hostname)) {
@@ -194,6 +198,11 @@ public final class MessagingFactory extends ClientEntity implements AmqpConnecti
             return this;
         }
         
+        public MessagingFactoryBuilder setReactorBusySpin(boolean isReactorBusySpin) {
+            this.isReactorBusySpin = isReactorBusySpin;
+            return this;
+        }
+        
         public CompletableFuture<MessagingFactory> build() throws IOException {
             final MessagingFactory messagingFactory = new MessagingFactory(this.hostname,
                     this.operationTimeout,
@@ -201,7 +210,8 @@ public final class MessagingFactory extends ClientEntity implements AmqpConnecti
                     this.tokenProvider,
                     this.retryPolicy,
                     this.executor,
-                    this.reactorFactory);
+                    this.reactorFactory,
+                    this.isReactorBusySpin);
             return MessagingFactory.factoryStartup(messagingFactory);
         }
     }
@@ -265,7 +275,7 @@ public final class MessagingFactory extends ClientEntity implements AmqpConnecti
         final Reactor newReactor = this.reactorFactory.create(reactorHandler, this.connectionHandler.getMaxFrameSize(), this.getClientId());
         synchronized (this.reactorLock) {
             this.reactor = newReactor;
-            this.reactorDispatcher = new ReactorDispatcher(newReactor);
+            this.reactorDispatcher = new ReactorDispatcher(newReactor, this.isReactorBusySpin);
             reactorHandler.unsafeSetReactorDispatcher(this.reactorDispatcher);
         }
 
@@ -16,8 +16,12 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.ClosedChannelException;
 import java.nio.channels.Pipe;
+import java.util.Locale;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * {@link Reactor} is not thread-safe - all calls to {@link Proton} API's should be - on the Reactor Thread.
@@ -27,6 +31,8 @@ import java.util.concurrent.RejectedExecutionException;
  * It uses a {@link Pipe} as the IO on which Reactor Listens to.
  * Cardinality: multiple {@link ReactorDispatcher}'s could be attached to 1 {@link Reactor}.
  * Each {@link ReactorDispatcher} should be initialized Synchronously - as it calls API in {@link Reactor} which is not thread-safe.
+ * The pipe is only written to when work is queued while no wakeup is pending - every wakeup runs all the work queued until then.
+ * In busy-spin mode the pipe is not used - the reactor never blocks waiting for IO and runs queued work on every iteration.
  */
 public final class ReactorDispatcher {
     private static final Logger TRACE_LOGGER = LoggerFactory.getLogger(ReactorDispatcher.class);
@@ -34,9 +40,20 @@ public final class ReactorDispatcher {
     private final Pipe ioSignal;
     private final ConcurrentLinkedQueue<BaseHandler> workQueue;
     private final ScheduleHandler workScheduler;
+    private final boolean isBusySpin;
+    private final AtomicBoolean isWakeupPending = new AtomicBoolean();
+    private final AtomicInteger pendingWorkCount = new AtomicInteger();
+    private final AtomicLong wakeupCount = new AtomicLong();
+    // only accessed on the reactor thread
+    private final ByteBuffer signalReadBuffer = ByteBuffer.allocate(1024);
 
     public ReactorDispatcher(final Reactor reactor) throws IOException {
+        this(reactor, false);
+    }
+
+    public ReactorDispatcher(final Reactor reactor, final boolean isBusySpin) throws IOException {
         this.reactor = reactor;
+        this.isBusySpin = isBusySpin;
         this.ioSignal = Pipe.open();
         this.workQueue = new ConcurrentLinkedQueue<>();
         this.workScheduler = new ScheduleHandler();
@@ -51,6 +68,12 @@ public final class ReactorDispatcher {
         schedulerSelectable.onReadable(this.workScheduler);
         schedulerSelectable.onFree(new CloseHandler());
 
+        if (this.isBusySpin) {
+            // a deadline that has always passed keeps the reactor from blocking in select
+            schedulerSelectable.onExpired(new SpinHandler());
+            schedulerSelectable.setDeadline(System.currentTimeMillis());
+        }
+
         schedulerSelectable.setReading(true);
         this.reactor.update(schedulerSelectable);
     }
@@ -58,15 +81,53 @@ public final class ReactorDispatcher {
     public void invoke(final DispatchHandler timerCallback) throws IOException, RejectedExecutionException {
         this.throwIfSchedulerError();
 
-        this.workQueue.offer(timerCallback);
-        this.signalWorkQueue();
+        this.queueWork(timerCallback);
     }
 
     public void invoke(final int delay, final DispatchHandler timerCallback) throws IOException, RejectedExecutionException {
         this.throwIfSchedulerError();
 
-        this.workQueue.offer(new DelayHandler(this.reactor, delay, timerCallback));
-        this.signalWorkQueue();
+        this.queueWork(new DelayHandler(this.reactor, delay, timerCallback));
+    }
+
+    public int getPendingWorkCount() {
+        return this.pendingWorkCount.get();
+    }
+
+    public long getWakeupCount() {
+        return this.wakeupCount.get();
+    }
+
+    private void queueWork(final BaseHandler work) throws IOException {
+        this.workQueue.offer(work);
+        this.pendingWorkCount.incrementAndGet();
+
+        // work queued while a wakeup is pending is run by that wakeup
+        if (!this.isBusySpin && this.isWakeupPending.compareAndSet(false, true)) {
+            try {
+                this.signalWorkQueue();
+            } catch (IOException e) {
+                this.isWakeupPending.set(false);
+                throw e;
+            }
+        }
+    }
+
+    private void dispatchWork() {
+        int dispatched = 0;
+        BaseHandler topWork;
+        while ((topWork = this.workQueue.poll()) != null) {
+            this.pendingWorkCount.decrementAndGet();
+            dispatched++;
+            topWork.onTimerTask(null);
+        }
+
+        if (dispatched > 0) {
+            final long wakeups = this.wakeupCount.incrementAndGet();
+            if (TRACE_LOGGER.isTraceEnabled()) {
+                TRACE_LOGGER.trace(String.format(Locale.US, "dispatched %s work items, wakeups: %s", dispatched, wakeups));
+            }
+        }
     }
 
     private void throwIfSchedulerError() {
@@ -116,10 +177,10 @@ public final class ReactorDispatcher {
         @Override
         public void run(Selectable selectable) {
             try {
-                ByteBuffer oneKbByteBuffer = ByteBuffer.allocate(1024);
-                while (ioSignal.source().read(oneKbByteBuffer) > 0) {
+                signalReadBuffer.clear();
+                while (ioSignal.source().read(signalReadBuffer) > 0) {
                     // read until the end of the stream
-                    oneKbByteBuffer = ByteBuffer.allocate(1024);
+                    signalReadBuffer.clear();
                 }
             } catch (ClosedChannelException ignorePipeClosedDuringReactorShutdown) {
                 TRACE_LOGGER.info("ScheduleHandler.run() failed with an error", ignorePipeClosedDuringReactorShutdown);
@@ -128,10 +189,19 @@ public final class ReactorDispatcher {
                 throw new RuntimeException(ioException);
             }
 
-            BaseHandler topWork;
-            while ((topWork = workQueue.poll()) != null) {
-                topWork.onTimerTask(null);
-            }
+            // work queued from here on signals the pipe again
+            isWakeupPending.set(false);
+            dispatchWork();
+        }
+    }
+
+    private final class SpinHandler implements Callback {
+        @Override
+        public void run(Selectable selectable) {
+            dispatchWork();
+
+            selectable.setDeadline(System.currentTimeMillis());
+            reactor.update(selectable);
         }
     }
 
@@ -6,6 +6,7 @@ package com.microsoft.azure.servicebus;
 import java.time.Duration;
 
 import com.microsoft.azure.servicebus.primitives.ClientConstants;
+import com.microsoft.azure.servicebus.primitives.ExecutionModel;
 import com.microsoft.azure.servicebus.primitives.RetryPolicy;
 import com.microsoft.azure.servicebus.primitives.TransportType;
 import com.microsoft.azure.servicebus.security.TokenProvider;
@@ -21,6 +22,7 @@ public class ClientSettings {
     private RetryPolicy retryPolicy;
     private Duration operationTimeout;
     private TransportType transportType;
+    private ExecutionModel executionModel;
 
     /**
      * Creates a new instance with the given token provider, default retry policy and default operation timeout.
@@ -50,10 +52,23 @@ public class ClientSettings {
      * @param transportType {@link TransportType} instance
      */
     public ClientSettings(TokenProvider tokenProvider, RetryPolicy retryPolicy, Duration operationTimeout, TransportType transportType) {
+        this(tokenProvider, retryPolicy, operationTimeout, transportType, ExecutionModel.getDefault());
+    }
+
+    /**
+     * Creates a new instance with the given token provider, retry policy, operation timeout, transport type and execution model.
+     * @param tokenProvider {@link TokenProvider} instance
+     * @param retryPolicy {@link RetryPolicy} instance
+     * @param operationTimeout default operation timeout to be used for all client operations. Client can override this value by explicitly specifying a timeout in the operation.
+     * @param transportType {@link TransportType} instance
+     * @param executionModel {@link ExecutionModel} describing the threads the client uses internally. Internal threads are shared by all clients in the process, so only the execution model of the first client created is used.
+     */
+    public ClientSettings(TokenProvider tokenProvider, RetryPolicy retryPolicy, Duration operationTimeout, TransportType transportType, ExecutionModel executionModel) {
         this.tokenProvider = tokenProvider;
         this.retryPolicy = retryPolicy;
         this.operationTimeout = operationTimeout;
         this.transportType = transportType;
+        this.executionModel = executionModel == null ? ExecutionModel.getDefault() : executionModel;
     }
 
     /**
@@ -87,4 +102,12 @@ public class ClientSettings {
     public TransportType getTransportType() {
         return transportType;
     }
+
+    /**
+     * Gets the execution model for this instance
+     * @return execution model for the instance
+     */
+    public ExecutionModel getExecutionModel() {
+        return executionModel;
+    }
 }
@@ -100,6 +100,26 @@ public interface IMessageReceiver extends IMessageEntityClient, IMessageBrowser
      */
     CompletableFuture<Void> abandonAsync(UUID lockToken, Map<String, Object> propertiesToModify, TransactionContext transaction);
 
+    /**
+     * Abandons a batch of {@link Message}s using their lock tokens. This will make the messages available again for processing.
+     * Messages received on the receive link are settled together, with fewer round trips than abandoning them one at a time.
+     *
+     * @param messages the messages to abandon
+     * @throws InterruptedException if the current thread was interrupted while waiting
+     * @throws ServiceBusException  if abandon failed for any of the messages
+     */
+    void abandonBatch(Collection<? extends IMessage> messages) throws InterruptedException, ServiceBusException;
+
+    /**
+     * Asynchronously abandons a batch of {@link Message}s using their lock tokens. This will make the messages available again for processing.
+     * Messages received on the receive link are settled together, with fewer round trips than abandoning them one at a time.
+     *
+     * @param messages the messages to abandon
+     * @return a CompletableFuture representing the pending abandon, which completes when all the messages are abandoned
+     * and completes exceptionally if abandon failed for any of them.
+     */
+    CompletableFuture<Void> abandonBatchAsync(Collection<? extends IMessage> messages);
+
     /**
      * Completes a {@link Message} using its lock token. This will delete the message from the service.
      *
@@ -119,7 +139,15 @@ public interface IMessageReceiver extends IMessageEntityClient, IMessageBrowser
      */
     void complete(UUID lockToken, TransactionContext transaction) throws InterruptedException, ServiceBusException;
 
-    //void completeBatch(Collection<? extends IMessage> messages);
+    /**
+     * Completes a batch of {@link Message}s using their lock tokens. This will delete the messages from the service.
+     * Messages received on the receive link are settled together, with fewer round trips than completing them one at a time.
+     *
+     * @param messages the messages to complete
+     * @throws InterruptedException if the current thread was interrupted while waiting
+     * @throws ServiceBusException  if complete failed for any of the messages
+     */
+    void completeBatch(Collection<? extends IMessage> messages) throws InterruptedException, ServiceBusException;
 
     /**
      * Asynchronously completes a {@link Message} using its lock token. This will delete the message from the service.
@@ -138,7 +166,15 @@ public interface IMessageReceiver extends IMessageEntityClient, IMessageBrowser
      */
     CompletableFuture<Void> completeAsync(UUID lockToken, TransactionContext transaction);
 
-    // CompletableFuture<Void> completeBatchAsync(Collection<? extends IMessage> messages);
+    /**
+     * Asynchronously completes a batch of {@link Message}s using their lock tokens. This will delete the messages from the service.
+     * Messages received on the receive link are settled together, with fewer round trips than completing them one at a time.
+     *
+     * @param messages the messages to complete
+     * @return a CompletableFuture representing the pending complete, which completes when all the messages are completed
+     * and completes exceptionally if complete failed for any of them.
+     */
+    CompletableFuture<Void> completeBatchAsync(Collection<? extends IMessage> messages);
 
     /**
      * Defers a {@link Message} using its lock token. This will move message into deferred subqueue.
@@ -384,6 +420,26 @@ public interface IMessageReceiver extends IMessageEntityClient, IMessageBrowser
      */
     CompletableFuture<Void> deadLetterAsync(UUID lockToken, String deadLetterReason, String deadLetterErrorDescription, Map<String, Object> propertiesToModify, TransactionContext transaction);
 
+    /**
+     * Moves a batch of {@link Message}s to the deadletter sub-queue using their lock tokens.
+     * Messages received on the receive link are settled together, with fewer round trips than deadlettering them one at a time.
+     *
+     * @param messages the messages to deadletter
+     * @throws InterruptedException if the current thread was interrupted while waiting
+     * @throws ServiceBusException  if deadletter failed for any of the messages
+     */
+    void deadLetterBatch(Collection<? extends IMessage> messages) throws InterruptedException, ServiceBusException;
+
+    /**
+     * Asynchronously moves a batch of {@link Message}s to the deadletter sub-queue using their lock tokens.
+     * Messages received on the receive link are settled together, with fewer round trips than deadlettering them one at a time.
+     *
+     * @param messages the messages to deadletter
+     * @return a CompletableFuture representing the pending deadletter, which completes when all the messages are deadlettered
+     * and completes exceptionally if deadletter failed for any of them.
+     */
+    CompletableFuture<Void> deadLetterBatchAsync(Collection<? extends IMessage> messages);
+
     /**
      * Receives a {@link Message} with default server wait time.
      *
@@ -518,6 +574,15 @@ public interface IMessageReceiver extends IMessageEntityClient, IMessageBrowser
      */
     CompletableFuture<Instant> renewMessageLockAsync(UUID lockToken);
 
+    /**
+     * Asynchronously renews the locks on a batch of messages with a single request to the service. The locks will be renewed based on the setting specified on the entity.
+     * Updates {@link Message#getLockedUntilUtc()} of each of the messages once their locks are renewed.
+     *
+     * @param messages The {@link Message}s to be renewed
+     * @return a CompletableFuture representing the pending renew, with the new locked until UTC times in the same order as the messages.
+     */
+    CompletableFuture<Collection<Instant>> renewMessageLockBatchAsync(Collection<? extends IMessage> messages);
+
     /**
      * Renews the lock on the message specified by the lock token. The lock will be renewed based on the setting specified on the entity.
      * When a message is received in {@link ReceiveMode#PEEKLOCK} mode, the message is locked on the server for this
@@ -565,4 +630,23 @@ public interface IMessageReceiver extends IMessageEntityClient, IMessageBrowser
      * @throws ServiceBusException if sets the value failed
      */
     void setPrefetchCount(int prefetchCount) throws ServiceBusException;
+
+    /**
+     * Gets the window within which complete, abandon, defer and deadletter requests are coalesced.
+     *
+     * @return the settlement batching window, {@link Duration#ZERO} if settlements are not coalesced.
+     */
+    Duration getSettlementBatchingWindow();
+
+    /**
+     * Sets the window within which complete, abandon, defer and deadletter requests for messages received on the receive link are coalesced.
+     * When greater than zero, settlements made within the window are sent to the service together, with fewer round trips, once the window closes
+     * or 100 settlements are waiting, whichever comes first. This trades a little settlement latency for throughput
+     * in PeekLock receivers that settle many messages.
+     * Setting the value to zero sends every settlement right away, which is the default.
+     *
+     * @param window The desired settlement batching window.
+     * @throws ServiceBusException if sets the value failed
+     */
+    void setSettlementBatchingWindow(Duration window) throws ServiceBusException;
 }
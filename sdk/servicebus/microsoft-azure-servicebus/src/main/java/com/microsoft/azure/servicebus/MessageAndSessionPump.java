@@ -5,6 +5,10 @@ package com.microsoft.azure.servicebus;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
@@ -12,6 +16,8 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ScheduledFuture;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -32,6 +38,8 @@ class MessageAndSessionPump extends InitializableEntity implements IMessageAndSe
     private static final Logger TRACE_LOGGER = LoggerFactory.getLogger(MessageAndSessionPump.class);
     private static final Duration MINIMUM_MESSAGE_LOCK_VALIDITY = Duration.ofSeconds(4);
     private static final Duration MAXIMUM_RENEW_LOCK_BUFFER = Duration.ofSeconds(10);
+    private static final Duration RENEW_LOCK_GROUPING_WINDOW = Duration.ofSeconds(1); // Locks due for renewal within this window are renewed together
+    private static final int MAX_LOCK_TOKENS_PER_RENEW_REQUEST = 100;
     private static final Duration SLEEP_DURATION_ON_ACCEPT_SESSION_EXCEPTION = Duration.ofMinutes(1);
     private static final int UNSET_PREFETCH_COUNT = -1; // Means prefetch count not set
     private static final CompletableFuture<Void> COMPLETED_FUTURE = CompletableFuture.completedFuture(null);
@@ -42,6 +50,7 @@ class MessageAndSessionPump extends InitializableEntity implements IMessageAndSe
     private final ReceiveMode receiveMode;
     private final MessagingEntityType entityType;
     private IMessageReceiver innerReceiver;
+    private MessageLockRenewer messageLockRenewer;
 
     private boolean handlerRegistered = false;
     private IMessageHandler messageHandler;
@@ -89,6 +98,10 @@ class MessageAndSessionPump extends InitializableEntity implements IMessageAndSe
 
         this.innerReceiver = ClientFactory.createMessageReceiverFromEntityPath(this.factory, this.entityPath, this.entityType, this.receiveMode);
         TRACE_LOGGER.info("Created MessageReceiver to entity '{}'", this.entityPath);
+        this.messageLockRenewer = new MessageLockRenewer(
+            this.innerReceiver,
+            (renewLockEx) -> this.notifyExceptionToMessageHandler(renewLockEx, ExceptionPhase.RENEWMESSAGELOCK),
+            (task, delay) -> Timer.schedule(task, delay, TimerType.OneTimeRun));
         if (this.prefetchCount != UNSET_PREFETCH_COUNT) {
             this.innerReceiver.setPrefetchCount(this.prefetchCount);
         }
@@ -160,15 +173,14 @@ class MessageAndSessionPump extends InitializableEntity implements IMessageAndSe
                         this.receiveAndPumpMessage();
                     } else {
                         TRACE_LOGGER.trace("Message with sequence number '{}' received from entity '{}'.", message.getSequenceNumber(), this.entityPath);
-                        // Start renew lock loop
-                        final MessgeRenewLockLoop renewLockLoop;
+                        // Start renewing lock
+                        final LockRenewal lockRenewal;
                         if (this.innerReceiver.getReceiveMode() == ReceiveMode.PEEKLOCK) {
                             Instant stopRenewMessageLockAt = Instant.now().plus(this.messageHandlerOptions.getMaxAutoRenewDuration());
-                            renewLockLoop = new MessgeRenewLockLoop(this.innerReceiver, this, message, stopRenewMessageLockAt);
-                            renewLockLoop.startLoop();
-                            TRACE_LOGGER.trace("Started loop to renew lock on message with sequence number '{}' until '{}'", message.getSequenceNumber(), stopRenewMessageLockAt);
+                            lockRenewal = this.messageLockRenewer.startRenewing(message, stopRenewMessageLockAt);
+                            TRACE_LOGGER.trace("Started renewing lock on message with sequence number '{}' until '{}'", message.getSequenceNumber(), stopRenewMessageLockAt);
                         } else {
-                            renewLockLoop = null;
+                            lockRenewal = null;
                         }
 
                         CompletableFuture<Void> onMessageFuture;
@@ -193,9 +205,9 @@ class MessageAndSessionPump extends InitializableEntity implements IMessageAndSe
                                 this.notifyExceptionToMessageHandler(onMessageEx, ExceptionPhase.USERCALLBACK);
                             }
                             if (this.innerReceiver.getReceiveMode() == ReceiveMode.PEEKLOCK) {
-                                if (renewLockLoop != null) {
-                                    renewLockLoop.cancelLoop();
-                                    TRACE_LOGGER.trace("Cancelled loop to renew lock on message with sequence number '{}'", message.getSequenceNumber());
+                                if (lockRenewal != null) {
+                                    this.messageLockRenewer.stopRenewing(lockRenewal);
+                                    TRACE_LOGGER.trace("Stopped renewing lock on message with sequence number '{}'", message.getSequenceNumber());
                                 }
                                 CompletableFuture<Void> updateDispositionFuture;
                                 ExceptionPhase dispositionPhase;
@@ -400,6 +412,9 @@ class MessageAndSessionPump extends InitializableEntity implements IMessageAndSe
     @Override
     protected CompletableFuture<Void> onClose() {
         TRACE_LOGGER.info("Closing message and session pump on entity '{}'", this.entityPath);
+        if (this.messageLockRenewer != null) {
+            this.messageLockRenewer.stopAll();
+        }
         CompletableFuture[] closeFutures = new CompletableFuture[this.openSessions.size() + 1];
         int arrayIndex = 0;
         for (IMessageSession session : this.openSessions.values()) {
@@ -542,61 +557,189 @@ class MessageAndSessionPump extends InitializableEntity implements IMessageAndSe
         }
     }
 
-    private static class MessgeRenewLockLoop extends RenewLockLoop {
-        private IMessageReceiver innerReceiver;
-        private MessageAndSessionPump messageAndSessionPump;
-        private IMessage message;
-        private Instant stopRenewalAt;
-        private String messageIdentifier;
-        ScheduledFuture<?> timerFuture;
+    // A message whose lock is renewed by the MessageLockRenewer
+    static class LockRenewal {
+        private final IMessage message;
+        private final Instant stopRenewalAt;
+        private final String messageIdentifier;
+        // Guarded by the MessageLockRenewer
+        private Instant renewAt;
+        private boolean isRenewing;
 
-        MessgeRenewLockLoop(IMessageReceiver innerReceiver, MessageAndSessionPump messageAndSessionPump, IMessage message, Instant stopRenewalAt) {
-            super();
-            this.innerReceiver = innerReceiver;
-            this.messageAndSessionPump = messageAndSessionPump;
+        LockRenewal(IMessage message, Instant stopRenewalAt) {
             this.message = message;
             this.stopRenewalAt = stopRenewalAt;
             this.messageIdentifier = String.format("message with locktoken : %s, sequence number : %s", this.message.getLockToken(), this.message.getSequenceNumber());
         }
 
-        @Override
-        protected ScheduledFuture<?> getTimerFuture() {
-            return this.timerFuture;
+        // Returns false if the lock shouldn't be renewed any more
+        boolean scheduleNextRenewal() {
+            if (this.message.getLockedUntilUtc().isBefore(this.stopRenewalAt)) {
+                Duration renewInterval = RenewLockLoop.getNextRenewInterval(this.message.getLockedUntilUtc(), this.messageIdentifier);
+                if (renewInterval != null && !renewInterval.isNegative()) {
+                    this.renewAt = Instant.now().plus(renewInterval);
+                    return true;
+                }
+            }
+
+            return false;
         }
+    }
 
-        @Override
-        protected void loop() {
-            if (!this.isCancelled()) {
-                Duration renewInterval = this.getNextRenewInterval();
-                if (renewInterval != null && !renewInterval.isNegative()) {
-                    this.timerFuture = Timer.schedule(() -> {
-                        TRACE_LOGGER.debug("Renewing lock on '{}'", this.messageIdentifier);
-                        this.innerReceiver.renewMessageLockAsync(message).handleAsync((v, renewLockEx) -> {
-                            if (renewLockEx != null) {
-                                renewLockEx = ExceptionUtil.extractAsyncCompletionCause(renewLockEx);
-                                TRACE_LOGGER.error("Renewing lock on '{}' failed", this.messageIdentifier, renewLockEx);
-                                this.messageAndSessionPump.notifyExceptionToMessageHandler(renewLockEx, ExceptionPhase.RENEWMESSAGELOCK);
-                                if (!(renewLockEx instanceof MessageLockLostException || renewLockEx instanceof OperationCancelledException)) {
-                                    this.loop();
-                                }
-                            } else {
-                                TRACE_LOGGER.debug("Renewed lock on '{}'", this.messageIdentifier);
-                                this.loop();
-                            }
+    // Renews the locks of all the messages being processed by the pump with one timer. Locks due for renewal within
+    // RENEW_LOCK_GROUPING_WINDOW of each other are renewed together, with one request per MAX_LOCK_TOKENS_PER_RENEW_REQUEST
+    // messages, so the number of timers and renew requests doesn't grow with the number of concurrent calls.
+    static class MessageLockRenewer {
+        private final IMessageReceiver innerReceiver;
+        private final Consumer<Throwable> exceptionHandler;
+        private final BiFunction<Runnable, Duration, ScheduledFuture<?>> scheduler;
+        private final ConcurrentHashMap<UUID, LockRenewal> lockRenewals;
+        private ScheduledFuture<?> timerFuture;
+        private Instant timerDueAt;
 
-                            return null;
-                        }, MessagingFactory.INTERNAL_THREAD_POOL);
-                    }, renewInterval, TimerType.OneTimeRun);
+        MessageLockRenewer(IMessageReceiver innerReceiver, Consumer<Throwable> exceptionHandler, BiFunction<Runnable, Duration, ScheduledFuture<?>> scheduler) {
+            this.innerReceiver = innerReceiver;
+            this.exceptionHandler = exceptionHandler;
+            this.scheduler = scheduler;
+            this.lockRenewals = new ConcurrentHashMap<>();
+        }
+
+        LockRenewal startRenewing(IMessage message, Instant stopRenewalAt) {
+            LockRenewal lockRenewal = new LockRenewal(message, stopRenewalAt);
+            Instant renewAt;
+            synchronized (this) {
+                if (!lockRenewal.scheduleNextRenewal()) {
+                    return lockRenewal;
                 }
+                renewAt = lockRenewal.renewAt;
             }
+
+            this.lockRenewals.put(message.getLockToken(), lockRenewal);
+            this.scheduleTimer(renewAt);
+            return lockRenewal;
         }
 
-        private Duration getNextRenewInterval() {
-            if (this.message.getLockedUntilUtc().isBefore(stopRenewalAt)) {
-                return RenewLockLoop.getNextRenewInterval(this.message.getLockedUntilUtc(), this.messageIdentifier);
-            } else {
-                return null;
+        void stopRenewing(LockRenewal lockRenewal) {
+            // The timer isn't cancelled, it finds nothing to renew if this was the only message
+            this.lockRenewals.remove(lockRenewal.message.getLockToken(), lockRenewal);
+        }
+
+        synchronized void stopAll() {
+            this.lockRenewals.clear();
+            if (this.timerFuture != null) {
+                this.timerFuture.cancel(false);
+                this.timerFuture = null;
+                this.timerDueAt = null;
+            }
+        }
+
+        private synchronized void scheduleTimer(Instant renewAt) {
+            // A timer due earlier picks this renewal up, or schedules the timer again for it
+            if (this.timerDueAt != null && !this.timerDueAt.isAfter(renewAt)) {
+                return;
+            }
+
+            if (this.timerFuture != null) {
+                this.timerFuture.cancel(false);
             }
+
+            Duration delay = Duration.between(Instant.now(), renewAt);
+            this.timerDueAt = renewAt;
+            this.timerFuture = this.scheduler.apply(this::renewDueLocks, delay.isNegative() ? Duration.ZERO : delay);
+        }
+
+        private void renewDueLocks() {
+            List<LockRenewal> dueRenewals = new ArrayList<>();
+            Instant nextRenewAt = null;
+            synchronized (this) {
+                this.timerFuture = null;
+                this.timerDueAt = null;
+                Instant groupUntil = Instant.now().plus(RENEW_LOCK_GROUPING_WINDOW);
+                for (LockRenewal lockRenewal : this.lockRenewals.values()) {
+                    if (lockRenewal.isRenewing) {
+                        continue;
+                    }
+
+                    if (!lockRenewal.renewAt.isAfter(groupUntil)) {
+                        lockRenewal.isRenewing = true;
+                        dueRenewals.add(lockRenewal);
+                    } else if (nextRenewAt == null || lockRenewal.renewAt.isBefore(nextRenewAt)) {
+                        nextRenewAt = lockRenewal.renewAt;
+                    }
+                }
+            }
+
+            for (int i = 0; i < dueRenewals.size(); i += MAX_LOCK_TOKENS_PER_RENEW_REQUEST) {
+                this.renewLocks(new ArrayList<>(dueRenewals.subList(i, Math.min(dueRenewals.size(), i + MAX_LOCK_TOKENS_PER_RENEW_REQUEST))));
+            }
+
+            if (nextRenewAt != null) {
+                this.scheduleTimer(nextRenewAt);
+            }
+        }
+
+        private void renewLocks(List<LockRenewal> lockRenewals) {
+            List<IMessage> messages = new ArrayList<>(lockRenewals.size());
+            for (LockRenewal lockRenewal : lockRenewals) {
+                messages.add(lockRenewal.message);
+            }
+
+            TRACE_LOGGER.debug("Renewing locks on '{}' messages", messages.size());
+            CompletableFuture<Collection<Instant>> renewFuture;
+            try {
+                renewFuture = this.innerReceiver.renewMessageLockBatchAsync(messages);
+            } catch (RuntimeException renewSyncEx) {
+                renewFuture = new CompletableFuture<>();
+                renewFuture.completeExceptionally(renewSyncEx);
+            }
+
+            renewFuture.handleAsync((v, renewLockEx) -> {
+                if (renewLockEx != null) {
+                    renewLockEx = ExceptionUtil.extractAsyncCompletionCause(renewLockEx);
+                    if (renewLockEx instanceof MessageLockLostException && lockRenewals.size() > 1) {
+                        // The lock of at least one of the messages is lost, renew the rest of them one at a time
+                        TRACE_LOGGER.info("Renewing locks on '{}' messages failed as a lock is lost. Renewing them one by one.", lockRenewals.size());
+                        for (LockRenewal lockRenewal : lockRenewals) {
+                            this.renewLocks(Collections.singletonList(lockRenewal));
+                        }
+                        return null;
+                    }
+
+                    TRACE_LOGGER.error("Renewing lock on '{}' failed", lockRenewals.size() == 1 ? lockRenewals.get(0).messageIdentifier : lockRenewals.size() + " messages", renewLockEx);
+                    this.exceptionHandler.accept(renewLockEx);
+                    if (renewLockEx instanceof MessageLockLostException || renewLockEx instanceof OperationCancelledException) {
+                        for (LockRenewal lockRenewal : lockRenewals) {
+                            this.stopRenewing(lockRenewal);
+                        }
+                        return null;
+                    }
+                } else {
+                    TRACE_LOGGER.debug("Renewed locks on '{}' messages", lockRenewals.size());
+                }
+
+                Instant nextRenewAt = null;
+                synchronized (this) {
+                    for (LockRenewal lockRenewal : lockRenewals) {
+                        lockRenewal.isRenewing = false;
+                        if (this.lockRenewals.get(lockRenewal.message.getLockToken()) != lockRenewal) {
+                            continue;
+                        }
+
+                        if (lockRenewal.scheduleNextRenewal()) {
+                            if (nextRenewAt == null || lockRenewal.renewAt.isBefore(nextRenewAt)) {
+                                nextRenewAt = lockRenewal.renewAt;
+                            }
+                        } else {
+                            this.stopRenewing(lockRenewal);
+                        }
+                    }
+                }
+
+                if (nextRenewAt != null) {
+                    this.scheduleTimer(nextRenewAt);
+                }
+                return null;
+            }, MessagingFactory.INTERNAL_THREAD_POOL);
         }
     }
 
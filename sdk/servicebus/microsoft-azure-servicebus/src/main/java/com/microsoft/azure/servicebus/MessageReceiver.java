@@ -15,6 +15,7 @@ import java.util.Map.Entry;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 import org.apache.qpid.proton.amqp.transport.ReceiverSettleMode;
 import org.apache.qpid.proton.amqp.transport.SenderSettleMode;
@@ -52,6 +53,7 @@ class MessageReceiver extends InitializableEntity implements IMessageReceiver, I
     private boolean isInitialized = false;
     private MessageBrowser browser = null;
     private int messagePrefetchCount;    
+    private Duration settlementBatchingWindow = Duration.ZERO;
 
     private final ConcurrentHashMap<UUID, Instant> requestResponseLockTokensToLockTimesMap;
 
@@ -125,6 +127,7 @@ class MessageReceiver extends InitializableEntity implements IMessageReceiver, I
                     acceptReceiverFuture = receiverFuture.whenCompleteAsync((r, coreReceiverCreationEx) -> {
                         if (coreReceiverCreationEx == null) {
                             this.internalReceiver = r;
+                            this.internalReceiver.setDispositionBatchingWindow(this.settlementBatchingWindow);
                             if (MessageReceiver.this.isSessionReceiver()) {
                                 TRACE_LOGGER.info("Created SessionReceiver to entity '{}', requestedSessionId '{}', browsable session '{}', acceptedSessionId '{}'", this.entityPath, this.getRequestedSessionId(), this.isBrowsableSession(), this.internalReceiver.getSessionId());
                             } else {
@@ -230,6 +233,21 @@ class MessageReceiver extends InitializableEntity implements IMessageReceiver, I
         });
     }
 
+    @Override
+    public void abandonBatch(Collection<? extends IMessage> messages) throws InterruptedException, ServiceBusException {
+        Utils.completeFuture(this.abandonBatchAsync(messages));
+    }
+
+    @Override
+    public CompletableFuture<Void> abandonBatchAsync(Collection<? extends IMessage> messages) {
+        this.ensurePeekLockReceiveMode();
+        TRACE_LOGGER.debug("Abandoning a batch of '{}' messages", messages.size());
+        return this.settleBatchAsync(
+            messages,
+            (lockTokens) -> this.internalReceiver.abandonMessagesAsync(lockTokens, null, TransactionContext.NULL_TXN),
+            (deliveryTags) -> this.internalReceiver.abandonMessagesAsync(deliveryTags, null, TransactionContext.NULL_TXN));
+    }
+
     @Override
     public void complete(UUID lockToken) throws InterruptedException, ServiceBusException {
         this.complete(lockToken, TransactionContext.NULL_TXN);
@@ -240,11 +258,10 @@ class MessageReceiver extends InitializableEntity implements IMessageReceiver, I
         Utils.completeFuture(this.completeAsync(lockToken, transaction));
     }
 
-    /*
     @Override
-    public void completeBatch(Collection<? extends IMessage> messages) {
+    public void completeBatch(Collection<? extends IMessage> messages) throws InterruptedException, ServiceBusException {
+        Utils.completeFuture(this.completeBatchAsync(messages));
     }
-    */
 
     @Override
     public CompletableFuture<Void> completeAsync(UUID lockToken) {
@@ -265,13 +282,15 @@ class MessageReceiver extends InitializableEntity implements IMessageReceiver, I
         });
     }
 
-    /*
     @Override
     public CompletableFuture<Void> completeBatchAsync(Collection<? extends IMessage> messages) {
-        // TODO: Auto-generated method stub
-        return null;
+        this.ensurePeekLockReceiveMode();
+        TRACE_LOGGER.debug("Completing a batch of '{}' messages", messages.size());
+        return this.settleBatchAsync(
+            messages,
+            (lockTokens) -> this.internalReceiver.completeMessagesAsync(lockTokens, TransactionContext.NULL_TXN),
+            (deliveryTags) -> this.internalReceiver.completeMessagesAsync(deliveryTags, TransactionContext.NULL_TXN));
     }
-    */
 
     @Override
     public void defer(UUID lockToken) throws InterruptedException, ServiceBusException {
@@ -426,6 +445,21 @@ class MessageReceiver extends InitializableEntity implements IMessageReceiver, I
         });
     }
 
+    @Override
+    public void deadLetterBatch(Collection<? extends IMessage> messages) throws InterruptedException, ServiceBusException {
+        Utils.completeFuture(this.deadLetterBatchAsync(messages));
+    }
+
+    @Override
+    public CompletableFuture<Void> deadLetterBatchAsync(Collection<? extends IMessage> messages) {
+        this.ensurePeekLockReceiveMode();
+        TRACE_LOGGER.debug("Deadlettering a batch of '{}' messages", messages.size());
+        return this.settleBatchAsync(
+            messages,
+            (lockTokens) -> this.internalReceiver.deadLetterMessagesAsync(lockTokens, null, null, null, TransactionContext.NULL_TXN),
+            (deliveryTags) -> this.internalReceiver.deadLetterMessagesAsync(deliveryTags, null, null, null, TransactionContext.NULL_TXN));
+    }
+
     @Override
     public IMessage receive() throws InterruptedException, ServiceBusException {
         return Utils.completeFuture(this.receiveAsync());
@@ -570,6 +604,24 @@ class MessageReceiver extends InitializableEntity implements IMessageReceiver, I
         }
     }
 
+    @Override
+    public Duration getSettlementBatchingWindow() {
+        return this.settlementBatchingWindow;
+    }
+
+    @Override
+    public void setSettlementBatchingWindow(Duration window) throws ServiceBusException {
+        if (window == null || window.isNegative()) {
+            throw new IllegalArgumentException("Settlement batching window cannot be null or negative.");
+        }
+
+        this.settlementBatchingWindow = window;
+        if (this.isInitialized) {
+            TRACE_LOGGER.info("Setting settlement batching window on receiver to entity '{}' to '{}'", this.entityPath, window);
+            this.internalReceiver.setDispositionBatchingWindow(window);
+        }
+    }
+
     private void disposeLockToken(UUID lockToken, TransactionContext transaction) {
         if (transaction != TransactionContext.NULL_TXN) {
             transaction.registerHandler((commit) -> {
@@ -618,6 +670,44 @@ class MessageReceiver extends InitializableEntity implements IMessageReceiver, I
         }
     }
 
+    // Messages received on the receive link are settled with one batch of dispositions, messages received by sequence number with one management request
+    private CompletableFuture<Void> settleBatchAsync(
+            Collection<? extends IMessage> messages,
+            Function<UUID[], CompletableFuture<Void>> requestResponseSettler,
+            Function<Collection<byte[]>, CompletableFuture<Void>> deliverySettler) {
+        ArrayList<UUID> requestResponseLockTokens = new ArrayList<>();
+        ArrayList<byte[]> deliveryTags = new ArrayList<>();
+        ArrayList<CompletableFuture<Void>> futures = new ArrayList<>();
+        Instant now = Instant.now();
+        for (IMessage message : messages) {
+            UUID lockToken = message.getLockToken();
+            Instant lockedUntilUtc = this.requestResponseLockTokensToLockTimesMap.get(lockToken);
+            if (lockedUntilUtc == null) {
+                deliveryTags.add(Util.convertUUIDToDotNetBytes(lockToken));
+            } else if (lockedUntilUtc.isBefore(now)) {
+                CompletableFuture<Void> expiredFuture = new CompletableFuture<>();
+                expiredFuture.completeExceptionally(new ServiceBusException(false, "Lock already expired for the lock token."));
+                futures.add(expiredFuture);
+            } else {
+                requestResponseLockTokens.add(lockToken);
+            }
+        }
+
+        if (!deliveryTags.isEmpty()) {
+            futures.add(deliverySettler.apply(deliveryTags));
+        }
+
+        if (!requestResponseLockTokens.isEmpty()) {
+            futures.add(requestResponseSettler.apply(requestResponseLockTokens.toArray(new UUID[0])).thenRun(() -> {
+                for (UUID lockToken : requestResponseLockTokens) {
+                    this.disposeLockToken(lockToken, TransactionContext.NULL_TXN);
+                }
+            }));
+        }
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]));
+    }
+
     private CompletableFuture<Boolean> checkIfValidRequestResponseLockTokenAsync(UUID lockToken) {
         CompletableFuture<Boolean> future = new CompletableFuture<Boolean>();
         Instant lockedUntilUtc = this.requestResponseLockTokensToLockTimesMap.get(lockToken);
@@ -652,6 +742,7 @@ class MessageReceiver extends InitializableEntity implements IMessageReceiver, I
         return this.renewMessageLockBatchAsync(new UUID[] {lockToken}).thenApply((c) -> c.toArray(new Instant[0])[0]);
     }
 
+    @Override
     public CompletableFuture<Collection<Instant>> renewMessageLockBatchAsync(Collection<? extends IMessage> messages) {
         this.ensurePeekLockReceiveMode();
 
@@ -669,7 +760,15 @@ class MessageReceiver extends InitializableEntity implements IMessageReceiver, I
             lockTokens[messageIndex++] = lockToken;
         }
 
-        return this.renewMessageLockBatchAsync(lockTokens);
+        return this.renewMessageLockBatchAsync(lockTokens).thenApply((newLockedUntilTimes) -> {
+            Iterator<Instant> lockTimeIterator = newLockedUntilTimes.iterator();
+            for (IMessage message : messages) {
+                if (lockTimeIterator.hasNext()) {
+                    ((Message) message).setLockedUntilUtc(lockTimeIterator.next());
+                }
+            }
+            return newLockedUntilTimes;
+        });
     }
 
     private CompletableFuture<Collection<Instant>> renewMessageLockBatchAsync(UUID[] lockTokens) {
@@ -10,6 +10,7 @@ import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -21,7 +22,9 @@ import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
@@ -66,10 +69,9 @@ import com.microsoft.azure.servicebus.amqp.SessionHandler;
 public class CoreMessageReceiver extends ClientEntity implements IAmqpReceiver, IErrorContextProvider {
     private static final Logger TRACE_LOGGER = LoggerFactory.getLogger(CoreMessageReceiver.class);
     private static final Duration LINK_REOPEN_TIMEOUT = Duration.ofMinutes(5); // service closes link long before this timeout expires
-    private static final Duration RETURN_MESSAGES_DAEMON_WAKE_UP_INTERVAL = Duration.ofMillis(1); // Wakes up every 1 millisecond
-    private static final Duration UPDATE_STATE_REQUESTS_DAEMON_WAKE_UP_INTERVAL = Duration.ofMillis(500); // Wakes up every 500 milliseconds
     private static final Duration ZERO_TIMEOUT_APPROXIMATION = Duration.ofMillis(200);
     private static final int CREDIT_FLOW_BATCH_SIZE = 50; // Arbitrarily chosen 50 to avoid sending too many flows in case prefetch count is large
+    private static final int MAX_DISPOSITION_BATCH_SIZE = 100; // Same as the most lock tokens the service accepts in one request
 
     private final Object requestResonseLinkCreationLock = new Object();
     private final ConcurrentLinkedQueue<ReceiveWorkItem> pendingReceives;
@@ -102,10 +104,10 @@ public class CoreMessageReceiver extends ClientEntity implements IAmqpReceiver,
     private ScheduledFuture<?> sasTokenRenewTimerFuture;
     private CompletableFuture<Void> requestResponseLinkCreationFuture;
     private CompletableFuture<Void> receiveLinkReopenFuture;
-    private final Runnable timedOutUpdateStateRequestsDaemon;
     private final Runnable returnMesagesLoopDaemon;
-    private final ScheduledFuture<?> updateStateRequestsTimeoutChecker;
-    private final ScheduledFuture<?> returnMessagesLoopRunner;
+    private final AtomicBoolean isReturnMessagesLoopScheduled;
+    private final DispositionBatcher<PendingDisposition> dispositionBatcher;
+    private volatile Duration dispositionBatchingWindow;
     private final MessagingEntityType entityType;
 
     // TODO: Change onReceiveComplete to handle empty deliveries. Change onError to retry updateState requests.
@@ -143,28 +145,16 @@ public class CoreMessageReceiver extends ClientEntity implements IAmqpReceiver,
         this.currentPrefetechedMessagesCount = new AtomicInteger();
         this.entityType = entityType;
 
-        this.timedOutUpdateStateRequestsDaemon = () -> {
-            try {
-                TRACE_LOGGER.trace("Starting '{}' core message receiver's internal loop to complete timed out update state requests.", CoreMessageReceiver.this.receivePath);
-                for (Map.Entry<String, UpdateStateWorkItem> entry : CoreMessageReceiver.this.pendingUpdateStateRequests.entrySet()) {
-                    Duration remainingTime = entry.getValue().getTimeoutTracker().remaining();
-                    if (remainingTime.isZero() || remainingTime.isNegative()) {
-                        CoreMessageReceiver.this.pendingUpdateStateRequests.remove(entry.getKey());
-                        Exception exception = entry.getValue().getLastKnownException();
-                        if (exception == null) {
-                            exception = new TimeoutException("Request timed out.");
-                        }
-                        TRACE_LOGGER.error("UpdateState request timed out. Delivery:{}", entry.getKey(), exception);
-                        AsyncUtil.completeFutureExceptionally(entry.getValue().getWork(), exception);
-                    }
-                }
-                TRACE_LOGGER.trace("'{}' core message receiver's internal loop to complete timed out update state requests stopped.", CoreMessageReceiver.this.receivePath);
-            } catch (Throwable e) {
-                // Shouldn't throw any exception for the executor to run multiple times.. Should never come here
-            }
-        };
+        this.isReturnMessagesLoopScheduled = new AtomicBoolean();
+        this.dispositionBatcher = new DispositionBatcher<>(TimingWheel.getShared(), MAX_DISPOSITION_BATCH_SIZE, (dispositions) -> {
+            TRACE_LOGGER.debug("Dispatching '{}' coalesced dispositions on receive link to '{}'", dispositions.size(), this.receivePath);
+            this.scheduleDispositions(dispositions);
+        });
+        this.dispositionBatchingWindow = Duration.ZERO;
 
         // CONTRACT: message should be delivered to the caller of MessageReceiver.receive() only from prefetched messages
+        // Runs on the internal thread pool whenever there are both prefetched messages and pending receives, at most one
+        // at a time, instead of polling. It never runs on the reactor thread as completing a receive runs the caller's continuations.
         this.returnMesagesLoopDaemon = () -> {
             try {
                 TRACE_LOGGER.trace("Starting '{}' core message receiver's internal loop to return messages to waiting clients.", CoreMessageReceiver.this.receivePath);
@@ -184,14 +174,25 @@ public class CoreMessageReceiver extends ClientEntity implements IAmqpReceiver,
                 }
                 TRACE_LOGGER.trace("'{}' core message receiver's internal loop to return messages to waiting clients stopped.", CoreMessageReceiver.this.receivePath);
             } catch (Throwable e) {
-                // Shouldn't throw any exception for the executor to run multiple times.. Should never come here
+                TRACE_LOGGER.warn("Returning messages from '{}' to waiting clients failed.", CoreMessageReceiver.this.receivePath, e);
+            } finally {
+                CoreMessageReceiver.this.isReturnMessagesLoopScheduled.set(false);
             }
+
+            // A message or receive request that arrived after the loop stopped found it still scheduled
+            CoreMessageReceiver.this.scheduleReturnMessagesLoop();
         };
+    }
 
-        // As all update state requests have the same timeout, one timer is better than having one timer per request
-        this.updateStateRequestsTimeoutChecker = Timer.schedule(timedOutUpdateStateRequestsDaemon, CoreMessageReceiver.UPDATE_STATE_REQUESTS_DAEMON_WAKE_UP_INTERVAL, TimerType.RepeatRun);
-        // Scheduling it as a separate thread that wakes up at regular very short intervals.. Doesn't wait on incoming receive requests from callers or incoming deliveries from reactor
-        this.returnMessagesLoopRunner = Timer.schedule(returnMesagesLoopDaemon, CoreMessageReceiver.RETURN_MESSAGES_DAEMON_WAKE_UP_INTERVAL, TimerType.RepeatRun);
+    private void scheduleReturnMessagesLoop() {
+        if (!this.prefetchedMessages.isEmpty() && !this.pendingReceives.isEmpty() && this.isReturnMessagesLoopScheduled.compareAndSet(false, true)) {
+            try {
+                MessagingFactory.INTERNAL_THREAD_POOL.execute(this.returnMesagesLoopDaemon);
+            } catch (RejectedExecutionException e) {
+                this.isReturnMessagesLoopScheduled.set(false);
+                TRACE_LOGGER.warn("Scheduling the loop to return messages from '{}' to waiting clients failed.", this.receivePath, e);
+            }
+        }
     }
 
     // Connection has to be associated with Reactor before Creating a receiver on it.
@@ -462,6 +463,29 @@ public class CoreMessageReceiver extends ClientEntity implements IAmqpReceiver,
         }
     }
 
+    public Duration getDispositionBatchingWindow() {
+        return this.dispositionBatchingWindow;
+    }
+
+    /**
+     * Sets the window within which the dispositions of messages received on the receive link are coalesced. When
+     * greater than zero, dispositions are queued instead of being dispatched to the reactor one at a time, and all of
+     * the queued dispositions are dispatched together once the window closes or a batch of 100 is queued, whichever
+     * comes first.
+     * @param window the disposition batching window, {@link Duration#ZERO} to dispatch every disposition right away
+     */
+    public void setDispositionBatchingWindow(final Duration window) {
+        if (window == null || window.isNegative()) {
+            throw new IllegalArgumentException("Disposition batching window cannot be null or negative.");
+        }
+
+        TRACE_LOGGER.info("Setting disposition batching window to '{}' on recieve link to '{}'", window, this.receivePath);
+        this.dispositionBatchingWindow = window;
+        if (window.isZero()) {
+            this.dispositionBatcher.flush();
+        }
+    }
+
     public CompletableFuture<Collection<MessageWithDeliveryTag>> receiveAsync(final int maxMessageCount, Duration timeout) {
         this.throwIfInUnusableState();
 
@@ -472,15 +496,16 @@ public class CoreMessageReceiver extends ClientEntity implements IAmqpReceiver,
         TRACE_LOGGER.debug("Receiving maximum of '{}' messages from '{}'", maxMessageCount, this.receivePath);
         CompletableFuture<Collection<MessageWithDeliveryTag>> onReceive = new CompletableFuture<>();
         final ReceiveWorkItem receiveWorkItem = new ReceiveWorkItem(onReceive, timeout, maxMessageCount);
-        this.creditNeededtoServePendingReceives.addAndGet(maxMessageCount);
-        this.pendingReceives.add(receiveWorkItem);
         // ZERO timeout is special case in SBMP clients where the timeout is sent to the service along with request. It meant 'give me messages you already have, but don't wait'.
         // As we don't send timeout to service in AMQP, treating this as a special case and using a very short timeout
         if (timeout == Duration.ZERO) {
             timeout = ZERO_TIMEOUT_APPROXIMATION;
         }
 
-        Timer.schedule(
+        this.creditNeededtoServePendingReceives.addAndGet(maxMessageCount);
+        this.pendingReceives.add(receiveWorkItem);
+        // The timeout is only scheduled once the request is pending, so that it always finds the request to time out.
+        receiveWorkItem.setTimeout(TimingWheel.getShared().schedule(
             () -> {
                 if (CoreMessageReceiver.this.pendingReceives.remove(receiveWorkItem)) {
                     CoreMessageReceiver.this.reduceCreditForCompletedReceiveRequest(receiveWorkItem.getMaxMessageCount());
@@ -488,9 +513,13 @@ public class CoreMessageReceiver extends ClientEntity implements IAmqpReceiver,
                     AsyncUtil.completeFuture(receiveWorkItem.getWork(), null);
                 }
             },
-            timeout,
-            TimerType.OneTimeRun);
-        
+            timeout));
+        if (onReceive.isDone()) {
+            // Served by a concurrent return messages loop before the timeout was set
+            receiveWorkItem.cancelTimeoutTask(false);
+        }
+        this.scheduleReturnMessagesLoop();
+
         this.ensureLinkIsOpen().thenRun(() -> this.addCredit(receiveWorkItem));
         return onReceive;
     }
@@ -577,6 +606,7 @@ public class CoreMessageReceiver extends ClientEntity implements IAmqpReceiver,
                 // Accuracy of count is not that important. So not making those two operations atomic
                 this.currentPrefetechedMessagesCount.incrementAndGet();
                 this.prefetchedMessages.add(new MessageWithDeliveryTag(message, delivery.getTag()));
+                this.scheduleReturnMessagesLoop();
             } catch (Exception e) {
                 TRACE_LOGGER.warn("Reading message from delivery '{}' from '{}', session '{}' failed with unexpected exception.", deliveryTagAsString, this.receivePath, this.sessionId, e);
                 delivery.disposition(Released.getInstance());
@@ -630,7 +660,7 @@ public class CoreMessageReceiver extends ClientEntity implements IAmqpReceiver,
                                 // Retry after retry interval
                                 TRACE_LOGGER.debug("Pending updateState operation for delivery '{}' will be retried after '{}'", deliveryTagAsString, retryInterval);
                                 try {
-                                    this.underlyingFactory.scheduleOnReactorThread((int) retryInterval.toMillis(), new DeliveryStateDispatchHandler(delivery, matchingUpdateStateWorkItem.getDeliveryState()));
+                                    this.underlyingFactory.scheduleOnReactorThread((int) retryInterval.toMillis(), new DeliveryStateDispatchHandler(Collections.singletonList(new PendingDisposition(delivery, deliveryTagAsString, matchingUpdateStateWorkItem))));
                                 } catch (IOException ioException) {
                                     this.completePendingUpdateStateWorkItem(delivery, deliveryTagAsString, matchingUpdateStateWorkItem,
                                             new ServiceBusException(false, "Operation failed while scheduling a retry on Reactor, see cause for more details.", ioException));
@@ -811,6 +841,8 @@ public class CoreMessageReceiver extends ClientEntity implements IAmqpReceiver,
 
     private void closeInternals(boolean waitForCloseCompletion) {
         if (!this.getIsClosed()) {
+            // Dispositions still waiting for their batching window go out before the link is closed
+            this.dispositionBatcher.flush();
             if (this.receiveLink != null && this.receiveLink.getLocalState() != EndpointState.CLOSED) {
                 try {
                     this.underlyingFactory.scheduleOnReactorThread(new DispatchHandler() {
@@ -838,8 +870,6 @@ public class CoreMessageReceiver extends ClientEntity implements IAmqpReceiver,
             
             this.cancelSASTokenRenewTimer();
             this.closeRequestResponseLink();
-            this.updateStateRequestsTimeoutChecker.cancel(false);
-            this.returnMessagesLoopRunner.cancel(false);
         }
     }
 
@@ -847,16 +877,24 @@ public class CoreMessageReceiver extends ClientEntity implements IAmqpReceiver,
     This is to be used for messages which are received on receiveLink.
      */
     public CompletableFuture<Void> completeMessageAsync(byte[] deliveryTag, TransactionContext transaction) {
+        return this.completeMessagesAsync(Collections.singletonList(deliveryTag), transaction);
+    }
+
+    public CompletableFuture<Void> completeMessagesAsync(Collection<byte[]> deliveryTags, TransactionContext transaction) {
         Outcome outcome = Accepted.getInstance();
-        return this.updateMessageStateAsync(deliveryTag, outcome, transaction);
+        return this.updateMessageStatesAsync(deliveryTags, outcome, transaction);
     }
 
     /*
     This is to be used for messages which are received on RequestResponseLink
      */
     public CompletableFuture<Void> completeMessageAsync(UUID lockToken, TransactionContext transaction) {
+        return this.completeMessagesAsync(new UUID[]{lockToken}, transaction);
+    }
+
+    public CompletableFuture<Void> completeMessagesAsync(UUID[] lockTokens, TransactionContext transaction) {
         return this.updateDispositionAsync(
-                new UUID[]{lockToken},
+                lockTokens,
                 ClientConstants.DISPOSITION_STATUS_COMPLETED,
                 null,
                 null,
@@ -865,16 +903,24 @@ public class CoreMessageReceiver extends ClientEntity implements IAmqpReceiver,
     }
 
     public CompletableFuture<Void> abandonMessageAsync(byte[] deliveryTag, Map<String, Object> propertiesToModify, TransactionContext transaction) {
+        return this.abandonMessagesAsync(Collections.singletonList(deliveryTag), propertiesToModify, transaction);
+    }
+
+    public CompletableFuture<Void> abandonMessagesAsync(Collection<byte[]> deliveryTags, Map<String, Object> propertiesToModify, TransactionContext transaction) {
         Modified outcome = new Modified();
         if (propertiesToModify != null) {
             outcome.setMessageAnnotations(propertiesToModify);
         }
-        return this.updateMessageStateAsync(deliveryTag, outcome, transaction);
+        return this.updateMessageStatesAsync(deliveryTags, outcome, transaction);
     }
 
     public CompletableFuture<Void> abandonMessageAsync(UUID lockToken, Map<String, Object> propertiesToModify, TransactionContext transaction) {
+        return this.abandonMessagesAsync(new UUID[]{lockToken}, propertiesToModify, transaction);
+    }
+
+    public CompletableFuture<Void> abandonMessagesAsync(UUID[] lockTokens, Map<String, Object> propertiesToModify, TransactionContext transaction) {
         return this.updateDispositionAsync(
-                new UUID[]{lockToken},
+                lockTokens,
                 ClientConstants.DISPOSITION_STATUS_ABANDONED,
                 null,
                 null,
@@ -888,7 +934,7 @@ public class CoreMessageReceiver extends ClientEntity implements IAmqpReceiver,
         if (propertiesToModify != null) {
             outcome.setMessageAnnotations(propertiesToModify);
         }
-        return this.updateMessageStateAsync(deliveryTag, outcome, transaction);
+        return this.updateMessageStatesAsync(Collections.singletonList(deliveryTag), outcome, transaction);
     }
 
     public CompletableFuture<Void> deferMessageAsync(UUID lockToken, Map<String, Object> propertiesToModify, TransactionContext transaction) {
@@ -907,6 +953,15 @@ public class CoreMessageReceiver extends ClientEntity implements IAmqpReceiver,
             String deadLetterErrorDescription,
             Map<String, Object> propertiesToModify,
             TransactionContext transaction) {
+        return this.deadLetterMessagesAsync(Collections.singletonList(deliveryTag), deadLetterReason, deadLetterErrorDescription, propertiesToModify, transaction);
+    }
+
+    public CompletableFuture<Void> deadLetterMessagesAsync(
+            Collection<byte[]> deliveryTags,
+            String deadLetterReason,
+            String deadLetterErrorDescription,
+            Map<String, Object> propertiesToModify,
+            TransactionContext transaction) {
         Rejected outcome = new Rejected();
         ErrorCondition error = new ErrorCondition(ClientConstants.DEADLETTERNAME, null);
         Map<String, Object> errorInfo = new HashMap<>();
@@ -922,7 +977,7 @@ public class CoreMessageReceiver extends ClientEntity implements IAmqpReceiver,
         error.setInfo(errorInfo);
         outcome.setError(error);
 
-        return this.updateMessageStateAsync(deliveryTag, outcome, transaction);
+        return this.updateMessageStatesAsync(deliveryTags, outcome, transaction);
     }
 
     public CompletableFuture<Void> deadLetterMessageAsync(
@@ -931,8 +986,17 @@ public class CoreMessageReceiver extends ClientEntity implements IAmqpReceiver,
             String deadLetterErrorDescription,
             Map<String, Object> propertiesToModify,
             TransactionContext transaction) {
+        return this.deadLetterMessagesAsync(new UUID[]{lockToken}, deadLetterReason, deadLetterErrorDescription, propertiesToModify, transaction);
+    }
+
+    public CompletableFuture<Void> deadLetterMessagesAsync(
+            UUID[] lockTokens,
+            String deadLetterReason,
+            String deadLetterErrorDescription,
+            Map<String, Object> propertiesToModify,
+            TransactionContext transaction) {
         return this.updateDispositionAsync(
-                new UUID[]{lockToken},
+                lockTokens,
                 ClientConstants.DISPOSITION_STATUS_SUSPENDED,
                 deadLetterReason,
                 deadLetterErrorDescription,
@@ -940,39 +1004,83 @@ public class CoreMessageReceiver extends ClientEntity implements IAmqpReceiver,
                 transaction);
     }
 
-    private CompletableFuture<Void> updateMessageStateAsync(byte[] deliveryTag, Outcome outcome, TransactionContext transaction) {
+    // Completes when all the deliveries are settled, exceptionally if any of them fails
+    private CompletableFuture<Void> updateMessageStatesAsync(Collection<byte[]> deliveryTags, Outcome outcome, TransactionContext transaction) {
         this.throwIfInUnusableState();
-        CompletableFuture<Void> completeMessageFuture = new CompletableFuture<>();
-
-        String deliveryTagAsString = StringUtil.convertBytesToString(deliveryTag);
-        TRACE_LOGGER.debug("Updating message state of delivery '{}' to '{}'", deliveryTagAsString, outcome);
-        Delivery delivery = CoreMessageReceiver.this.tagsToDeliveriesMap.get(deliveryTagAsString);
-        if (delivery == null) {
-            TRACE_LOGGER.error("Delivery not found for delivery tag '{}'. Either receive link to '{}' closed with a transient error and reopened or the delivery was already settled by complete/abandon/defer/deadletter.", deliveryTagAsString, this.receivePath);
-            completeMessageFuture.completeExceptionally(generateDeliveryNotFoundException());
+        DeliveryState state;
+        if (transaction != TransactionContext.NULL_TXN) {
+            state = new TransactionalState();
+            ((TransactionalState) state).setTxnId(new Binary(transaction.getTransactionId().array()));
+            ((TransactionalState) state).setOutcome(outcome);
         } else {
-            DeliveryState state;
-            if (transaction != TransactionContext.NULL_TXN) {
-                state = new TransactionalState();
-                ((TransactionalState) state).setTxnId(new Binary(transaction.getTransactionId().array()));
-                ((TransactionalState) state).setOutcome(outcome);
+            state = (DeliveryState) outcome;
+        }
+
+        List<CompletableFuture<Void>> completeMessageFutures = new ArrayList<>(deliveryTags.size());
+        List<PendingDisposition> dispositions = new ArrayList<>(deliveryTags.size());
+        for (byte[] deliveryTag : deliveryTags) {
+            CompletableFuture<Void> completeMessageFuture = new CompletableFuture<>();
+            completeMessageFutures.add(completeMessageFuture);
+
+            String deliveryTagAsString = StringUtil.convertBytesToString(deliveryTag);
+            TRACE_LOGGER.debug("Updating message state of delivery '{}' to '{}'", deliveryTagAsString, outcome);
+            Delivery delivery = CoreMessageReceiver.this.tagsToDeliveriesMap.get(deliveryTagAsString);
+            if (delivery == null) {
+                TRACE_LOGGER.error("Delivery not found for delivery tag '{}'. Either receive link to '{}' closed with a transient error and reopened or the delivery was already settled by complete/abandon/defer/deadletter.", deliveryTagAsString, this.receivePath);
+                completeMessageFuture.completeExceptionally(generateDeliveryNotFoundException());
             } else {
-                state = (DeliveryState) outcome;
+                final UpdateStateWorkItem workItem = new UpdateStateWorkItem(completeMessageFuture, state, CoreMessageReceiver.this.operationTimeout);
+                CoreMessageReceiver.this.pendingUpdateStateRequests.put(deliveryTagAsString, workItem);
+                dispositions.add(new PendingDisposition(delivery, deliveryTagAsString, workItem));
             }
+        }
 
-            final UpdateStateWorkItem workItem = new UpdateStateWorkItem(completeMessageFuture, state, CoreMessageReceiver.this.operationTimeout);
-            CoreMessageReceiver.this.pendingUpdateStateRequests.put(deliveryTagAsString, workItem);
-            
-            CoreMessageReceiver.this.ensureLinkIsOpen().thenRun(() -> {
-                try {
-                    this.underlyingFactory.scheduleOnReactorThread(new DeliveryStateDispatchHandler(delivery, state));
-                } catch (IOException ioException) {
-                    completeMessageFuture.completeExceptionally(generateDispatacherSchedulingFailedException("completeMessage", ioException));
-                }
-            });
+        if (dispositions.size() == 1) {
+            PendingDisposition disposition = dispositions.get(0);
+            disposition.workItem.setTimeout(TimingWheel.getShared().schedule(() -> this.onUpdateStateTimeout(disposition.deliveryTag, disposition.workItem), this.operationTimeout));
+        } else if (dispositions.size() > 1) {
+            // One timeout for the whole batch, cancelled once every request in it is done
+            TimingWheel.Timeout timeout = TimingWheel.getShared().schedule(
+                () -> {
+                    for (PendingDisposition disposition : dispositions) {
+                        CoreMessageReceiver.this.onUpdateStateTimeout(disposition.deliveryTag, disposition.workItem);
+                    }
+                },
+                this.operationTimeout);
+            CompletableFuture.allOf(dispositions.stream().map((d) -> d.workItem.getWork()).toArray(CompletableFuture<?>[]::new)).whenComplete((v, ex) -> timeout.cancel());
         }
 
-        return completeMessageFuture;
+        if (!dispositions.isEmpty()) {
+            this.dispatchDispositions(dispositions);
+        }
+
+        if (completeMessageFutures.size() == 1) {
+            return completeMessageFutures.get(0);
+        } else {
+            return CompletableFuture.allOf(completeMessageFutures.toArray(new CompletableFuture<?>[0]));
+        }
+    }
+
+    private void dispatchDispositions(List<PendingDisposition> dispositions) {
+        Duration batchingWindow = this.dispositionBatchingWindow;
+        if (batchingWindow.isZero()) {
+            this.scheduleDispositions(dispositions);
+            return;
+        }
+
+        this.dispositionBatcher.add(dispositions, batchingWindow);
+    }
+
+    private void scheduleDispositions(List<PendingDisposition> dispositions) {
+        CoreMessageReceiver.this.ensureLinkIsOpen().thenRun(() -> {
+            try {
+                this.underlyingFactory.scheduleOnReactorThread(new DeliveryStateDispatchHandler(dispositions));
+            } catch (IOException ioException) {
+                for (PendingDisposition disposition : dispositions) {
+                    disposition.workItem.getWork().completeExceptionally(generateDispatacherSchedulingFailedException("completeMessage", ioException));
+                }
+            }
+        });
     }
 
     private synchronized CompletableFuture<Void> ensureLinkIsOpen() {
@@ -1026,7 +1134,19 @@ public class CoreMessageReceiver extends ClientEntity implements IAmqpReceiver,
         }
     }
 
+    private void onUpdateStateTimeout(String deliveryTagAsString, UpdateStateWorkItem workItem) {
+        if (this.pendingUpdateStateRequests.remove(deliveryTagAsString, workItem)) {
+            Exception exception = workItem.getLastKnownException();
+            if (exception == null) {
+                exception = new TimeoutException("Request timed out.");
+            }
+            TRACE_LOGGER.error("UpdateState request timed out. Delivery:{}", deliveryTagAsString, exception);
+            AsyncUtil.completeFutureExceptionally(workItem.getWork(), exception);
+        }
+    }
+
     private void completePendingUpdateStateWorkItem(Delivery delivery, String deliveryTagAsString, UpdateStateWorkItem workItem, Exception exception) {
+        workItem.cancelTimeoutTask(false);
         boolean isSettled = delivery.remotelySettled();
         if (isSettled) {
             delivery.settle();
@@ -1066,6 +1186,7 @@ public class CoreMessageReceiver extends ClientEntity implements IAmqpReceiver,
 
         for (Map.Entry<String, UpdateStateWorkItem> pendingUpdate : this.pendingUpdateStateRequests.entrySet()) {
             pendingUpdateStateRequests.remove(pendingUpdate.getKey());
+            pendingUpdate.getValue().cancelTimeoutTask(false);
             ExceptionUtil.completeExceptionally(pendingUpdate.getValue().getWork(), exception, this, true);
         }
     }
@@ -1319,18 +1440,30 @@ public class CoreMessageReceiver extends ClientEntity implements IAmqpReceiver,
             MessagingFactory.INTERNAL_THREAD_POOL);
     }
 
-    private static class DeliveryStateDispatchHandler extends DispatchHandler {
+    private static class PendingDisposition {
         final Delivery delivery;
-        final DeliveryState deliveryState;
+        final String deliveryTag;
+        final UpdateStateWorkItem workItem;
 
-        DeliveryStateDispatchHandler(Delivery delivery, DeliveryState deliveryState) {
+        PendingDisposition(Delivery delivery, String deliveryTag, UpdateStateWorkItem workItem) {
             this.delivery = delivery;
-            this.deliveryState = deliveryState;
+            this.deliveryTag = deliveryTag;
+            this.workItem = workItem;
+        }
+    }
+
+    private static class DeliveryStateDispatchHandler extends DispatchHandler {
+        final List<PendingDisposition> dispositions;
+
+        DeliveryStateDispatchHandler(List<PendingDisposition> dispositions) {
+            this.dispositions = dispositions;
         }
 
         @Override
         public void onEvent() {
-            delivery.disposition(deliveryState);
+            for (PendingDisposition disposition : this.dispositions) {
+                disposition.delivery.disposition(disposition.workItem.getDeliveryState());
+            }
         }
     }
 }
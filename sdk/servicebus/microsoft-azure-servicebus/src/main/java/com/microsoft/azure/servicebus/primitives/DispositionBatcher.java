@@ -0,0 +1,78 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.microsoft.azure.servicebus.primitives;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Coalesces the dispositions made within a batching window, so that they are dispatched together instead of one at a time.
+ *
+ * Queued dispositions are dispatched when the window that opened with the first of them closes, as soon as a full batch is queued,
+ * or when flushed explicitly, like before the link is closed. Dispatched batches are never larger than the maximum batch size.
+ *
+ * @param <T> the type of the queued dispositions
+ */
+final class DispositionBatcher<T> {
+    private final TimingWheel timingWheel;
+    private final int maxBatchSize;
+    private final Consumer<List<T>> dispatcher;
+    private final ConcurrentLinkedQueue<T> pending;
+    private final AtomicInteger pendingCount;
+    private final AtomicBoolean isFlushScheduled;
+
+    DispositionBatcher(TimingWheel timingWheel, int maxBatchSize, Consumer<List<T>> dispatcher) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("Maximum batch size must be at least 1.");
+        }
+
+        this.timingWheel = timingWheel;
+        this.maxBatchSize = maxBatchSize;
+        this.dispatcher = dispatcher;
+        this.pending = new ConcurrentLinkedQueue<>();
+        this.pendingCount = new AtomicInteger();
+        this.isFlushScheduled = new AtomicBoolean();
+    }
+
+    void add(List<T> dispositions, Duration batchingWindow) {
+        this.pending.addAll(dispositions);
+        if (this.pendingCount.addAndGet(dispositions.size()) >= this.maxBatchSize) {
+            this.flush();
+        } else if (this.isFlushScheduled.compareAndSet(false, true)) {
+            this.timingWheel.schedule(
+                () -> {
+                    this.isFlushScheduled.set(false);
+                    this.flush();
+                },
+                batchingWindow);
+        }
+    }
+
+    // Dispatches everything queued, in batches of at most the maximum batch size
+    void flush() {
+        List<T> batch = new ArrayList<>();
+        T disposition;
+        while ((disposition = this.pending.poll()) != null) {
+            this.pendingCount.decrementAndGet();
+            batch.add(disposition);
+            if (batch.size() == this.maxBatchSize) {
+                this.dispatcher.accept(batch);
+                batch = new ArrayList<>();
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            this.dispatcher.accept(batch);
+        }
+    }
+
+    int getPendingCount() {
+        return this.pendingCount.get();
+    }
+}
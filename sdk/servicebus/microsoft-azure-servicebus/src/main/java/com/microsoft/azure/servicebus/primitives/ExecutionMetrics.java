@@ -0,0 +1,105 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.microsoft.azure.servicebus.primitives;
+
+import java.util.Locale;
+
+/**
+ * A snapshot of the threads and tasks the client uses internally. Obtained from {@link MessagingFactory#getExecutionMetrics()}.
+ */
+public final class ExecutionMetrics {
+    private final ExecutionModel executionModel;
+    private final boolean usesVirtualThreads;
+    private final int poolThreadCount;
+    private final int peakPoolThreadCount;
+    private final long activeTaskCount;
+    private final long queuedTaskCount;
+    private final long completedTaskCount;
+    private final long rejectedTaskCount;
+    private final int reactorThreadCount;
+
+    ExecutionMetrics(ExecutionModel executionModel, boolean usesVirtualThreads, int poolThreadCount, int peakPoolThreadCount, long activeTaskCount,
+            long queuedTaskCount, long completedTaskCount, long rejectedTaskCount, int reactorThreadCount) {
+        this.executionModel = executionModel;
+        this.usesVirtualThreads = usesVirtualThreads;
+        this.poolThreadCount = poolThreadCount;
+        this.peakPoolThreadCount = peakPoolThreadCount;
+        this.activeTaskCount = activeTaskCount;
+        this.queuedTaskCount = queuedTaskCount;
+        this.completedTaskCount = completedTaskCount;
+        this.rejectedTaskCount = rejectedTaskCount;
+        this.reactorThreadCount = reactorThreadCount;
+    }
+
+    /**
+     * @return the execution model in use, null if no internal task has run yet
+     */
+    public ExecutionModel getExecutionModel() {
+        return this.executionModel;
+    }
+
+    /**
+     * @return true if internal tasks run on virtual threads
+     */
+    public boolean getUsesVirtualThreads() {
+        return this.usesVirtualThreads;
+    }
+
+    /**
+     * @return the number of platform threads in the internal pool, or the number of running tasks when tasks run on virtual threads
+     */
+    public int getPoolThreadCount() {
+        return this.poolThreadCount;
+    }
+
+    /**
+     * @return the largest number of threads that have been in the internal pool at once
+     */
+    public int getPeakPoolThreadCount() {
+        return this.peakPoolThreadCount;
+    }
+
+    /**
+     * @return the number of internal tasks running
+     */
+    public long getActiveTaskCount() {
+        return this.activeTaskCount;
+    }
+
+    /**
+     * @return the number of internal tasks waiting for a thread
+     */
+    public long getQueuedTaskCount() {
+        return this.queuedTaskCount;
+    }
+
+    /**
+     * @return the number of internal tasks that have run
+     */
+    public long getCompletedTaskCount() {
+        return this.completedTaskCount;
+    }
+
+    /**
+     * @return the number of internal tasks the executor refused to run
+     */
+    public long getRejectedTaskCount() {
+        return this.rejectedTaskCount;
+    }
+
+    /**
+     * @return the number of running reactor threads, one per open {@link MessagingFactory}
+     */
+    public int getReactorThreadCount() {
+        return this.reactorThreadCount;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.US, "ExecutionMetrics(executionModel:%s, usesVirtualThreads:%s, poolThreadCount:%s, peakPoolThreadCount:%s, activeTaskCount:%s, "
+                + "queuedTaskCount:%s, completedTaskCount:%s, rejectedTaskCount:%s, reactorThreadCount:%s)",
+                this.executionModel, this.usesVirtualThreads, this.poolThreadCount, this.peakPoolThreadCount, this.activeTaskCount,
+                this.queuedTaskCount, this.completedTaskCount, this.rejectedTaskCount, this.reactorThreadCount);
+    }
+}
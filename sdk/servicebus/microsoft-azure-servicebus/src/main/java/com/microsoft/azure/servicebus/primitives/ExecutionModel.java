@@ -0,0 +1,132 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.microsoft.azure.servicebus.primitives;
+
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Describes the threads the client uses internally to complete operations and run continuations, like returning received messages,
+ * settling messages and renewing locks. Application callbacks registered with a message or session handler run on the executor
+ * passed when registering the handler, not on these threads.
+ * <p>
+ * The internal threads are shared by all the clients in the process. The execution model of the first {@link MessagingFactory}
+ * created in the process is used, the execution models of factories created later are ignored.
+ */
+public final class ExecutionModel {
+    private static final ExecutionModel CACHED_THREAD_POOL = new ExecutionModel(ExecutorType.CACHED_THREAD_POOL, 0);
+
+    private final ExecutorType executorType;
+    private final int parallelism;
+
+    private ExecutionModel(ExecutorType executorType, int parallelism) {
+        this.executorType = executorType;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Gets the default execution model, which is {@link #getCachedThreadPool()}.
+     * @return the default execution model
+     */
+    public static ExecutionModel getDefault() {
+        return CACHED_THREAD_POOL;
+    }
+
+    /**
+     * Gets the execution model that runs internal tasks on an unbounded pool of threads, creating threads as needed and reusing idle ones.
+     * Threads idle for 60 seconds are terminated. The number of threads can grow very large under bursts of load.
+     * @return the cached thread pool execution model
+     */
+    public static ExecutionModel getCachedThreadPool() {
+        return CACHED_THREAD_POOL;
+    }
+
+    /**
+     * Creates an execution model that runs internal tasks on a work-stealing pool of at most the given number of threads, so the number
+     * of threads stays the same under bursts of load and queued tasks are spread across the threads.
+     * @param parallelism the number of threads in the pool, must be greater than 0
+     * @return a bounded work-stealing pool execution model
+     */
+    public static ExecutionModel createWorkStealingPool(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be greater than 0.");
+        }
+
+        return new ExecutionModel(ExecutorType.WORK_STEALING_POOL, parallelism);
+    }
+
+    /**
+     * Creates an execution model that runs every internal task on a new virtual thread, when the Java runtime supports virtual threads.
+     * On runtimes without virtual threads, internal tasks run on a work-stealing pool of the given number of threads instead.
+     * @param fallbackParallelism the number of threads in the work-stealing pool used when virtual threads are not supported, must be greater than 0
+     * @return a virtual threads execution model
+     */
+    public static ExecutionModel createVirtualThreads(int fallbackParallelism) {
+        if (fallbackParallelism <= 0) {
+            throw new IllegalArgumentException("Fallback parallelism must be greater than 0.");
+        }
+
+        return new ExecutionModel(ExecutorType.VIRTUAL_THREADS, fallbackParallelism);
+    }
+
+    /**
+     * Gets the kind of executor used by this execution model.
+     * @return executor type
+     */
+    public ExecutorType getExecutorType() {
+        return this.executorType;
+    }
+
+    /**
+     * Gets the number of threads of the work-stealing pool, 0 for the cached thread pool.
+     * @return parallelism
+     */
+    public int getParallelism() {
+        return this.parallelism;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+
+        if (!(obj instanceof ExecutionModel)) {
+            return false;
+        }
+
+        ExecutionModel other = (ExecutionModel) obj;
+        return this.executorType == other.executorType && this.parallelism == other.parallelism;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.executorType, this.parallelism);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.US, "ExecutionModel(executorType:%s, parallelism:%s)", this.executorType, this.parallelism);
+    }
+
+    /**
+     * Kinds of executors that run the internal tasks of the client.
+     */
+    public enum ExecutorType {
+        /**
+         * An unbounded pool that creates threads as needed.
+         */
+        CACHED_THREAD_POOL,
+
+        /**
+         * A work-stealing pool with a fixed number of threads.
+         */
+        WORK_STEALING_POOL,
+
+        /**
+         * A new virtual thread per task.
+         */
+        VIRTUAL_THREADS
+    }
+}
@@ -0,0 +1,208 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.microsoft.azure.servicebus.primitives;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The executor behind {@link MessagingFactory#INTERNAL_THREAD_POOL}. Runs tasks on the executor described by an {@link ExecutionModel},
+ * which is created when the executor is configured or runs its first task, and keeps count of the tasks it runs.
+ */
+final class InternalExecutorService extends AbstractExecutorService {
+    private static final Logger TRACE_LOGGER = LoggerFactory.getLogger(InternalExecutorService.class);
+    private static final String THREAD_NAME_PREFIX = "ServiceBusInternal-";
+
+    private final Object configurationSync = new Object();
+    private final AtomicInteger threadCounter = new AtomicInteger();
+    private final AtomicLong activeTaskCount = new AtomicLong();
+    private final AtomicLong queuedTaskCount = new AtomicLong();
+    private final AtomicLong completedTaskCount = new AtomicLong();
+    private final AtomicLong rejectedTaskCount = new AtomicLong();
+    private final AtomicInteger peakPoolThreadCount = new AtomicInteger();
+    private volatile ExecutorService executor;
+    private volatile ExecutionModel executionModel;
+    private volatile boolean usesVirtualThreads;
+
+    /**
+     * Creates the executor described by the execution model, unless an executor was already created.
+     * @param model the execution model
+     * @return true if the execution model is now in use, false if an executor for another execution model was already created
+     */
+    boolean configure(ExecutionModel model) {
+        synchronized (this.configurationSync) {
+            if (this.executor == null) {
+                this.executor = this.createExecutor(model);
+                this.executionModel = model;
+                TRACE_LOGGER.info("Running internal tasks with '{}'{}", model, this.usesVirtualThreads ? " on virtual threads" : "");
+                return true;
+            }
+
+            if (!this.executionModel.equals(model)) {
+                TRACE_LOGGER.warn("Internal tasks already run with '{}', ignoring '{}'", this.executionModel, model);
+                return false;
+            }
+
+            return true;
+        }
+    }
+
+    ExecutionMetrics getMetrics(int reactorThreadCount) {
+        ExecutorService currentExecutor = this.executor;
+        return new ExecutionMetrics(
+            this.executionModel,
+            this.usesVirtualThreads,
+            currentExecutor == null ? 0 : this.getPoolThreadCount(currentExecutor),
+            this.peakPoolThreadCount.get(),
+            this.activeTaskCount.get(),
+            this.queuedTaskCount.get(),
+            this.completedTaskCount.get(),
+            this.rejectedTaskCount.get(),
+            reactorThreadCount);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        if (command == null) {
+            throw new NullPointerException("command");
+        }
+
+        ExecutorService currentExecutor = this.getExecutor();
+        this.queuedTaskCount.incrementAndGet();
+        try {
+            currentExecutor.execute(() -> {
+                this.queuedTaskCount.decrementAndGet();
+                this.activeTaskCount.incrementAndGet();
+                try {
+                    command.run();
+                } finally {
+                    this.activeTaskCount.decrementAndGet();
+                    this.completedTaskCount.incrementAndGet();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            this.queuedTaskCount.decrementAndGet();
+            this.rejectedTaskCount.incrementAndGet();
+            throw e;
+        }
+
+        this.updatePeakPoolThreadCount(currentExecutor);
+    }
+
+    @Override
+    public void shutdown() {
+        ExecutorService currentExecutor = this.executor;
+        if (currentExecutor != null) {
+            currentExecutor.shutdown();
+        }
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        ExecutorService currentExecutor = this.executor;
+        return currentExecutor == null ? Collections.emptyList() : currentExecutor.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        ExecutorService currentExecutor = this.executor;
+        return currentExecutor != null && currentExecutor.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        ExecutorService currentExecutor = this.executor;
+        return currentExecutor != null && currentExecutor.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        ExecutorService currentExecutor = this.executor;
+        return currentExecutor == null || currentExecutor.awaitTermination(timeout, unit);
+    }
+
+    private ExecutorService getExecutor() {
+        ExecutorService currentExecutor = this.executor;
+        if (currentExecutor == null) {
+            this.configure(ExecutionModel.getDefault());
+            currentExecutor = this.executor;
+        }
+
+        return currentExecutor;
+    }
+
+    private void updatePeakPoolThreadCount(ExecutorService currentExecutor) {
+        int poolThreadCount = this.getPoolThreadCount(currentExecutor);
+        int peak = this.peakPoolThreadCount.get();
+        while (poolThreadCount > peak && !this.peakPoolThreadCount.compareAndSet(peak, poolThreadCount)) {
+            peak = this.peakPoolThreadCount.get();
+        }
+    }
+
+    private int getPoolThreadCount(ExecutorService currentExecutor) {
+        if (currentExecutor instanceof ThreadPoolExecutor) {
+            return ((ThreadPoolExecutor) currentExecutor).getPoolSize();
+        } else if (currentExecutor instanceof ForkJoinPool) {
+            return ((ForkJoinPool) currentExecutor).getPoolSize();
+        } else {
+            // A virtual thread per task
+            return (int) Math.min(Integer.MAX_VALUE, this.activeTaskCount.get() + this.queuedTaskCount.get());
+        }
+    }
+
+    private ExecutorService createExecutor(ExecutionModel model) {
+        switch (model.getExecutorType()) {
+            case WORK_STEALING_POOL:
+                return this.createWorkStealingPool(model.getParallelism());
+            case VIRTUAL_THREADS:
+                ExecutorService virtualThreadExecutor = createVirtualThreadExecutor();
+                if (virtualThreadExecutor != null) {
+                    this.usesVirtualThreads = true;
+                    return virtualThreadExecutor;
+                }
+
+                TRACE_LOGGER.warn("Virtual threads are not supported by this Java runtime. Using a work-stealing pool of '{}' threads instead.", model.getParallelism());
+                return this.createWorkStealingPool(model.getParallelism());
+            default:
+                return Executors.newCachedThreadPool((runnable) -> new Thread(runnable, THREAD_NAME_PREFIX + this.threadCounter.incrementAndGet()));
+        }
+    }
+
+    private ExecutorService createWorkStealingPool(int parallelism) {
+        // asyncMode, as tasks are continuations that are never joined
+        return new ForkJoinPool(
+            parallelism,
+            (pool) -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName(THREAD_NAME_PREFIX + this.threadCounter.incrementAndGet());
+                return thread;
+            },
+            null,
+            true);
+    }
+
+    private static ExecutorService createVirtualThreadExecutor() {
+        try {
+            Method factoryMethod = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factoryMethod.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            TRACE_LOGGER.debug("Creating a virtual thread executor failed.", e);
+            return null;
+        }
+    }
+}
@@ -14,8 +14,8 @@ import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.microsoft.azure.servicebus.TransactionContext;
 import com.microsoft.azure.servicebus.Utils;
@@ -52,7 +52,9 @@ import com.microsoft.azure.servicebus.security.SecurityToken;
  */
 public class MessagingFactory extends ClientEntity implements IAmqpConnection {
     private static final Logger TRACE_LOGGER = LoggerFactory.getLogger(MessagingFactory.class);
-    public static final ExecutorService INTERNAL_THREAD_POOL = Executors.newCachedThreadPool();
+    private static final InternalExecutorService INTERNAL_EXECUTOR = new InternalExecutorService();
+    public static final ExecutorService INTERNAL_THREAD_POOL = INTERNAL_EXECUTOR;
+    private static final AtomicInteger REACTOR_THREAD_COUNT = new AtomicInteger();
 
     private static final String REACTOR_THREAD_NAME_PREFIX = "ReactorThread";
     private static final int MAX_CBS_LINK_CREATION_ATTEMPTS = 3;
@@ -81,6 +83,7 @@ public class MessagingFactory extends ClientEntity implements IAmqpConnection {
     private MessagingFactory(URI namespaceEndpointUri, ClientSettings clientSettings) {
         super("MessagingFactory".concat(StringUtil.getShortRandomString()));
         this.clientSettings = clientSettings;
+        INTERNAL_EXECUTOR.configure(clientSettings.getExecutionModel());
         this.namespaceEndpointUri = namespaceEndpointUri;
         this.hostName = namespaceEndpointUri.getHost();
         this.registeredLinks = new LinkedList<Link>();
@@ -244,6 +247,14 @@ public class MessagingFactory extends ClientEntity implements IAmqpConnection {
         return this.clientSettings;
     }
 
+    /**
+     * Gets a snapshot of the threads and tasks used internally by all the clients in the process.
+     * @return execution metrics
+     */
+    public static ExecutionMetrics getExecutionMetrics() {
+        return INTERNAL_EXECUTOR.getMetrics(REACTOR_THREAD_COUNT.get());
+    }
+
     public static CompletableFuture<MessagingFactory> createFromNamespaceNameAsyc(String sbNamespaceName, ClientSettings clientSettings) {
         return createFromNamespaceEndpointURIAsyc(Util.convertNamespaceToEndPointURI(sbNamespaceName), clientSettings);
     }
@@ -478,6 +489,7 @@ public class MessagingFactory extends ClientEntity implements IAmqpConnection {
 
         public void run() {
             TRACE_LOGGER.info("starting reactor instance.");
+            REACTOR_THREAD_COUNT.incrementAndGet();
             try {
                 this.rctr.setTimeout(3141);
                 this.rctr.start();
@@ -519,6 +531,7 @@ public class MessagingFactory extends ClientEntity implements IAmqpConnection {
                 MessagingFactory.this.onReactorError(sbException);
             } finally {
                 this.rctr.free();
+                REACTOR_THREAD_COUNT.decrementAndGet();
             }
         }
     }
@@ -0,0 +1,232 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.microsoft.azure.servicebus.primitives;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A hashed timing wheel for the many short-lived, coarse-grained timeouts of pending operations, like receive and
+ * update state requests, which are almost always cancelled before they fire.
+ *
+ * Scheduling and cancelling a timeout is O(1). A single daemon thread advances the wheel one tick at a time while
+ * there are timeouts pending and parks when there are none, so idle clients cost nothing. Expired tasks are run on the
+ * given executor, never on the wheel thread.
+ */
+final class TimingWheel {
+    private static final Logger TRACE_LOGGER = LoggerFactory.getLogger(TimingWheel.class);
+    private static final Duration DEFAULT_TICK_DURATION = Duration.ofMillis(10);
+    private static final int DEFAULT_WHEEL_SIZE = 512;
+
+    private static final TimingWheel SHARED = new TimingWheel(DEFAULT_TICK_DURATION, DEFAULT_WHEEL_SIZE, MessagingFactory.INTERNAL_THREAD_POOL);
+
+    private final long tickNanos;
+    private final List<ArrayList<Timeout>> buckets;
+    private final int mask;
+    private final Executor executor;
+    private final ConcurrentLinkedQueue<Timeout> newTimeouts = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicBoolean isIdle = new AtomicBoolean();
+    private final Object workerSync = new Object();
+    private final long startNanos;
+    private volatile Thread worker;
+    // Only accessed by the worker thread
+    private long currentTick;
+
+    TimingWheel(Duration tickDuration, int wheelSize, Executor executor) {
+        int size = 1;
+        while (size < wheelSize) {
+            size <<= 1;
+        }
+
+        this.tickNanos = tickDuration.toNanos();
+        this.buckets = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            this.buckets.add(new ArrayList<>());
+        }
+        this.mask = size - 1;
+        this.executor = executor;
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * @return the timing wheel shared by all clients in the process
+     */
+    static TimingWheel getShared() {
+        return SHARED;
+    }
+
+    /**
+     * Schedules a task to run once the delay has elapsed, give or take a tick.
+     * @param task the task to run
+     * @param delay how long to wait before running the task
+     * @return a handle to cancel the task
+     */
+    Timeout schedule(Runnable task, Duration delay) {
+        long deadlineTick = (System.nanoTime() - this.startNanos + Math.max(0, delay.toNanos()) + this.tickNanos - 1) / this.tickNanos;
+        Timeout timeout = new Timeout(task, deadlineTick);
+        this.pendingCount.incrementAndGet();
+        this.newTimeouts.add(timeout);
+        this.ensureWorkerRunning();
+        return timeout;
+    }
+
+    int getPendingCount() {
+        return this.pendingCount.get();
+    }
+
+    private void ensureWorkerRunning() {
+        Thread thread = this.worker;
+        if (thread == null) {
+            synchronized (this.workerSync) {
+                thread = this.worker;
+                if (thread == null) {
+                    thread = new Thread(this::run, "ServiceBusTimingWheel");
+                    thread.setDaemon(true);
+                    this.worker = thread;
+                    thread.start();
+                    return;
+                }
+            }
+        }
+
+        if (this.isIdle.compareAndSet(true, false)) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    private void run() {
+        this.currentTick = this.nowTick();
+        while (true) {
+            try {
+                if (this.pendingCount.get() == 0) {
+                    this.parkUntilScheduled();
+                }
+
+                long targetTick = this.currentTick + 1;
+                long sleepNanos = this.startNanos + targetTick * this.tickNanos - System.nanoTime();
+                if (sleepNanos > 0) {
+                    LockSupport.parkNanos(this, sleepNanos);
+                    continue;
+                }
+
+                this.transferNewTimeouts();
+                // Catch up on ticks missed while the thread was busy or not scheduled, at most one turn of the wheel.
+                long nowTick = Math.max(targetTick, this.nowTick());
+                long fromTick = Math.max(targetTick, nowTick - this.buckets.size() + 1);
+                for (long tick = fromTick; tick <= nowTick; tick++) {
+                    this.expireBucket(this.buckets.get((int) (tick & this.mask)), nowTick);
+                }
+                this.currentTick = nowTick;
+            } catch (Throwable e) {
+                TRACE_LOGGER.warn("Timing wheel tick failed.", e);
+            }
+        }
+    }
+
+    private void parkUntilScheduled() {
+        this.isIdle.set(true);
+        while (this.pendingCount.get() == 0 && this.isIdle.get()) {
+            // Every timeout left in the wheel is cancelled or expired, nothing to keep
+            for (ArrayList<Timeout> bucket : this.buckets) {
+                bucket.clear();
+            }
+            LockSupport.park(this);
+        }
+        this.isIdle.set(false);
+        this.currentTick = this.nowTick();
+    }
+
+    private void transferNewTimeouts() {
+        Timeout timeout;
+        while ((timeout = this.newTimeouts.poll()) != null) {
+            if (!timeout.isCancelled()) {
+                this.buckets.get((int) (Math.max(timeout.deadlineTick, this.currentTick + 1) & this.mask)).add(timeout);
+            }
+        }
+    }
+
+    private void expireBucket(ArrayList<Timeout> bucket, long nowTick) {
+        Iterator<Timeout> iterator = bucket.iterator();
+        while (iterator.hasNext()) {
+            Timeout timeout = iterator.next();
+            if (timeout.isCancelled()) {
+                iterator.remove();
+            } else if (timeout.deadlineTick <= nowTick) {
+                iterator.remove();
+                if (timeout.expire()) {
+                    try {
+                        this.executor.execute(timeout.task);
+                    } catch (RejectedExecutionException e) {
+                        TRACE_LOGGER.warn("Running expired timeout failed.", e);
+                    }
+                }
+            }
+        }
+    }
+
+    private long nowTick() {
+        return (System.nanoTime() - this.startNanos) / this.tickNanos;
+    }
+
+    /**
+     * A task scheduled on the timing wheel.
+     */
+    final class Timeout {
+        private static final int PENDING = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private final Runnable task;
+        private final long deadlineTick;
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+
+        private Timeout(Runnable task, long deadlineTick) {
+            this.task = task;
+            this.deadlineTick = deadlineTick;
+        }
+
+        /**
+         * Cancels the task if it has not run yet.
+         * @return true if the task was cancelled, false if it already ran or was cancelled
+         */
+        boolean cancel() {
+            if (this.state.compareAndSet(PENDING, CANCELLED)) {
+                TimingWheel.this.pendingCount.decrementAndGet();
+                return true;
+            }
+
+            return false;
+        }
+
+        boolean isCancelled() {
+            return this.state.get() == CANCELLED;
+        }
+
+        long getDelay(TimeUnit unit) {
+            return unit.convert(TimingWheel.this.startNanos + this.deadlineTick * TimingWheel.this.tickNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        private boolean expire() {
+            if (this.state.compareAndSet(PENDING, EXPIRED)) {
+                TimingWheel.this.pendingCount.decrementAndGet();
+                return true;
+            }
+
+            return false;
+        }
+    }
+}
@@ -11,6 +11,7 @@ class WorkItem<T> {
     private final TimeoutTracker tracker;
     private final CompletableFuture<T> work;
     private ScheduledFuture<?> timeoutTask;
+    private TimingWheel.Timeout timeout;
     private Exception lastKnownException;
 
     WorkItem(final CompletableFuture<T> completableFuture, final Duration timeout) {
@@ -40,7 +41,15 @@ class WorkItem<T> {
         this.timeoutTask = timeoutTask;
     }
 
+    void setTimeout(final TimingWheel.Timeout timeout) {
+        this.timeout = timeout;
+    }
+
     public boolean cancelTimeoutTask(boolean mayInterruptIfRunning) {
+        if (this.timeout != null) {
+            return this.timeout.cancel();
+        }
+
         if (this.timeoutTask != null) {
             return this.timeoutTask.cancel(mayInterruptIfRunning);
         }
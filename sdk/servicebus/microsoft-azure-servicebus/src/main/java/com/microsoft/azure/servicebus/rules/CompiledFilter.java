@@ -0,0 +1,160 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.microsoft.azure.servicebus.rules;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.microsoft.azure.servicebus.IMessage;
+import com.microsoft.azure.servicebus.rules.SqlExpression.SystemProperty;
+
+/**
+ * A filter compiled for evaluation on the client, to route or filter received messages locally or to test rules without a namespace.
+ * Filters are compiled once and can then be evaluated against any number of messages, from any number of threads.
+ * <p>
+ * A {@link SqlFilter} is parsed into an evaluation tree over the properties of a message, following SQL three-valued logic: a comparison
+ * with a missing property is neither true nor false, so it doesn't match, and neither does its negation. A {@link CorrelationFilter} is
+ * compiled to a plain equality check of each property it sets.
+ */
+public abstract class CompiledFilter {
+    private static final CompiledFilter MATCH_ALL = new ConstantFilter(true);
+    private static final CompiledFilter MATCH_NONE = new ConstantFilter(false);
+
+    CompiledFilter() {
+    }
+
+    /**
+     * Compiles a filter for evaluation on the client.
+     *
+     * @param filter a {@link SqlFilter}, including {@link TrueFilter} and {@link FalseFilter}, or a {@link CorrelationFilter}
+     * @return the compiled filter
+     * @throws IllegalArgumentException if the filter is null, of an unsupported type, or if the SQL expression of a SQL filter is not valid
+     */
+    public static CompiledFilter compile(Filter filter) {
+        if (filter == null) {
+            throw new IllegalArgumentException("Argument 'filter' is null.");
+        }
+
+        if (filter instanceof SqlFilter) {
+            SqlExpression expression = SqlExpressionParser.parseFilter(((SqlFilter) filter).getSqlExpression());
+            if (expression.isConstant()) {
+                return Boolean.TRUE.equals(expression.evaluate(null)) ? MATCH_ALL : MATCH_NONE;
+            }
+
+            return new SqlCompiledFilter(expression);
+        } else if (filter instanceof CorrelationFilter) {
+            return new CorrelationCompiledFilter((CorrelationFilter) filter);
+        } else {
+            throw new IllegalArgumentException("Filters of type '" + filter.getClass().getName() + "' cannot be compiled.");
+        }
+    }
+
+    /**
+     * Evaluates this filter against a message.
+     *
+     * @param message message to evaluate the filter against
+     * @return true if the filter matches the message
+     */
+    public abstract boolean matches(IMessage message);
+
+    private static final class ConstantFilter extends CompiledFilter {
+        private final boolean result;
+
+        ConstantFilter(boolean result) {
+            this.result = result;
+        }
+
+        @Override
+        public boolean matches(IMessage message) {
+            return this.result;
+        }
+    }
+
+    private static final class SqlCompiledFilter extends CompiledFilter {
+        private final SqlExpression expression;
+
+        SqlCompiledFilter(SqlExpression expression) {
+            this.expression = expression;
+        }
+
+        @Override
+        public boolean matches(IMessage message) {
+            return Boolean.TRUE.equals(this.expression.evaluate(message));
+        }
+    }
+
+    private static final class CorrelationCompiledFilter extends CompiledFilter {
+        private final SystemProperty[] systemProperties;
+        private final String[] systemPropertyValues;
+        private final String[] propertyNames;
+        private final Object[] propertyValues;
+
+        CorrelationCompiledFilter(CorrelationFilter filter) {
+            List<SystemProperty> properties = new ArrayList<>();
+            List<String> values = new ArrayList<>();
+            addSystemProperty(properties, values, SystemProperty.CORRELATION_ID, filter.getCorrelationId());
+            addSystemProperty(properties, values, SystemProperty.MESSAGE_ID, filter.getMessageId());
+            addSystemProperty(properties, values, SystemProperty.TO, filter.getTo());
+            addSystemProperty(properties, values, SystemProperty.REPLY_TO, filter.getReplyTo());
+            addSystemProperty(properties, values, SystemProperty.LABEL, filter.getLabel());
+            addSystemProperty(properties, values, SystemProperty.SESSION_ID, filter.getSessionId());
+            addSystemProperty(properties, values, SystemProperty.REPLY_TO_SESSION_ID, filter.getReplyToSessionId());
+            addSystemProperty(properties, values, SystemProperty.CONTENT_TYPE, filter.getContentType());
+            this.systemProperties = properties.toArray(new SystemProperty[0]);
+            this.systemPropertyValues = values.toArray(new String[0]);
+
+            Map<String, Object> filterProperties = filter.getProperties();
+            int propertyCount = filterProperties == null ? 0 : filterProperties.size();
+            this.propertyNames = new String[propertyCount];
+            this.propertyValues = new Object[propertyCount];
+            if (filterProperties != null) {
+                int index = 0;
+                for (Map.Entry<String, Object> property : filterProperties.entrySet()) {
+                    this.propertyNames[index] = property.getKey();
+                    this.propertyValues[index] = property.getValue();
+                    index++;
+                }
+            }
+        }
+
+        @Override
+        public boolean matches(IMessage message) {
+            for (int i = 0; i < this.systemProperties.length; i++) {
+                if (!this.systemPropertyValues[i].equals(this.systemProperties[i].getValue(message))) {
+                    return false;
+                }
+            }
+
+            if (this.propertyNames.length > 0) {
+                Map<String, Object> messageProperties = message.getProperties();
+                if (messageProperties == null) {
+                    return false;
+                }
+
+                for (int i = 0; i < this.propertyNames.length; i++) {
+                    Object value = messageProperties.get(this.propertyNames[i]);
+                    Object expected = this.propertyValues[i];
+                    if (value == null || expected == null) {
+                        // A property set to null in the filter matches a property that is null or missing
+                        if (value != expected) {
+                            return false;
+                        }
+                    } else if (!value.equals(expected) && SqlExpression.compare(value, expected) != 0) {
+                        return false;
+                    }
+                }
+            }
+
+            return true;
+        }
+
+        private static void addSystemProperty(List<SystemProperty> properties, List<String> values, SystemProperty property, String value) {
+            if (value != null) {
+                properties.add(property);
+                values.add(value);
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.microsoft.azure.servicebus.rules;
+
+import java.util.List;
+
+import com.microsoft.azure.servicebus.IMessage;
+
+/**
+ * A rule action compiled for execution on the client, to transform messages the same way a rule of a subscription would. Actions are
+ * compiled once and can then be applied to any number of messages. An action modifies the message it is applied to, so a message must not
+ * be used by another thread while an action is applied to it.
+ */
+public final class CompiledRuleAction {
+    private final List<SqlExpressionParser.ActionStatement> statements;
+
+    private CompiledRuleAction(List<SqlExpressionParser.ActionStatement> statements) {
+        this.statements = statements;
+    }
+
+    /**
+     * Compiles a rule action for execution on the client.
+     *
+     * @param action a {@link SqlRuleAction} with SET and REMOVE statements, like <code>SET sys.Label = 'red'; REMOVE color</code>
+     * @return the compiled rule action
+     * @throws IllegalArgumentException if the action is null, of an unsupported type, or if its SQL expression is not valid
+     */
+    public static CompiledRuleAction compile(RuleAction action) {
+        if (action == null) {
+            throw new IllegalArgumentException("Argument 'action' is null.");
+        }
+
+        if (!(action instanceof SqlRuleAction)) {
+            throw new IllegalArgumentException("Rule actions of type '" + action.getClass().getName() + "' cannot be compiled.");
+        }
+
+        return new CompiledRuleAction(SqlExpressionParser.parseAction(((SqlRuleAction) action).getSqlExpression()));
+    }
+
+    /**
+     * Applies this action to a message. Statements are executed in order, so a statement sees the changes made by the statements before it.
+     *
+     * @param message message to transform
+     */
+    public void apply(IMessage message) {
+        for (SqlExpressionParser.ActionStatement statement : this.statements) {
+            statement.execute(message);
+        }
+    }
+}
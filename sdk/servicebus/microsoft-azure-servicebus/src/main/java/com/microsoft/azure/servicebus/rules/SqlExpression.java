@@ -0,0 +1,728 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.microsoft.azure.servicebus.rules;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import com.microsoft.azure.servicebus.IMessage;
+
+/**
+ * A node of the evaluation tree of a SQL filter or action expression. Evaluation follows SQL three-valued logic: a missing property
+ * and any operation involving null or values of types that cannot be compared evaluate to null, which is neither true nor false.
+ * Values are null, {@link Boolean}, {@link String}, {@link Long} and {@link Double}, or the value of a message property as it is.
+ */
+abstract class SqlExpression {
+    static final int INCOMPARABLE = Integer.MIN_VALUE;
+
+    abstract Object evaluate(IMessage message);
+
+    /**
+     * @return true if this expression evaluates to the same value for every message, so it can be evaluated once when it is parsed
+     */
+    boolean isConstant() {
+        return false;
+    }
+
+    static boolean isIntegral(Object value) {
+        return value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte;
+    }
+
+    static boolean isNumeric(Object value) {
+        return isIntegral(value) || value instanceof Double || value instanceof Float;
+    }
+
+    /**
+     * Compares two non-null values the way the SQL comparison operators do. Numbers of different types are compared by value.
+     * @return a negative number, zero or a positive number, or {@link #INCOMPARABLE} if the values cannot be compared
+     */
+    static int compare(Object left, Object right) {
+        if (left instanceof String && right instanceof String) {
+            return ((String) left).compareTo((String) right);
+        }
+
+        if (isNumeric(left) && isNumeric(right)) {
+            if (isIntegral(left) && isIntegral(right)) {
+                return Long.compare(((Number) left).longValue(), ((Number) right).longValue());
+            }
+
+            return Double.compare(((Number) left).doubleValue(), ((Number) right).doubleValue());
+        }
+
+        if (left.getClass() == right.getClass() && left instanceof Comparable) {
+            @SuppressWarnings("unchecked")
+            Comparable<Object> comparable = (Comparable<Object>) left;
+            return comparable.compareTo(right);
+        }
+
+        return INCOMPARABLE;
+    }
+
+    static Object not(Object value) {
+        if (value instanceof Boolean) {
+            return !((Boolean) value);
+        }
+
+        return null;
+    }
+
+    static final class Constant extends SqlExpression {
+        static final Constant NULL = new Constant(null);
+        static final Constant TRUE = new Constant(Boolean.TRUE);
+        static final Constant FALSE = new Constant(Boolean.FALSE);
+
+        private final Object value;
+
+        Constant(Object value) {
+            this.value = value;
+        }
+
+        Object getValue() {
+            return this.value;
+        }
+
+        @Override
+        Object evaluate(IMessage message) {
+            return this.value;
+        }
+
+        @Override
+        boolean isConstant() {
+            return true;
+        }
+    }
+
+    /**
+     * A property of a message that an action can set or remove.
+     */
+    abstract static class PropertyReference extends SqlExpression {
+        abstract void assign(IMessage message, Object value);
+
+        abstract void remove(IMessage message);
+
+        abstract boolean exists(IMessage message);
+    }
+
+    static final class UserPropertyReference extends PropertyReference {
+        private final String name;
+
+        UserPropertyReference(String name) {
+            this.name = name;
+        }
+
+        @Override
+        Object evaluate(IMessage message) {
+            Map<String, Object> properties = message.getProperties();
+            return properties == null ? null : properties.get(this.name);
+        }
+
+        @Override
+        boolean exists(IMessage message) {
+            Map<String, Object> properties = message.getProperties();
+            return properties != null && properties.containsKey(this.name);
+        }
+
+        @Override
+        void assign(IMessage message, Object value) {
+            Map<String, Object> properties = message.getProperties();
+            if (properties == null) {
+                properties = new HashMap<>();
+                message.setProperties(properties);
+            }
+
+            properties.put(this.name, value);
+        }
+
+        @Override
+        void remove(IMessage message) {
+            Map<String, Object> properties = message.getProperties();
+            if (properties != null) {
+                properties.remove(this.name);
+            }
+        }
+    }
+
+    static final class SystemPropertyReference extends PropertyReference {
+        private final SystemProperty property;
+
+        SystemPropertyReference(SystemProperty property) {
+            this.property = property;
+        }
+
+        SystemProperty getProperty() {
+            return this.property;
+        }
+
+        @Override
+        Object evaluate(IMessage message) {
+            return this.property.getValue(message);
+        }
+
+        @Override
+        boolean exists(IMessage message) {
+            return this.property.getValue(message) != null;
+        }
+
+        @Override
+        void assign(IMessage message, Object value) {
+            this.property.setValue(message, value);
+        }
+
+        @Override
+        void remove(IMessage message) {
+            this.property.setValue(message, null);
+        }
+    }
+
+    static final class Exists extends SqlExpression {
+        private final PropertyReference property;
+
+        Exists(PropertyReference property) {
+            this.property = property;
+        }
+
+        @Override
+        Object evaluate(IMessage message) {
+            return this.property.exists(message);
+        }
+    }
+
+    static final class NewId extends SqlExpression {
+        @Override
+        Object evaluate(IMessage message) {
+            return UUID.randomUUID().toString();
+        }
+    }
+
+    static final class Not extends SqlExpression {
+        private final SqlExpression operand;
+
+        Not(SqlExpression operand) {
+            this.operand = operand;
+        }
+
+        @Override
+        Object evaluate(IMessage message) {
+            return not(this.operand.evaluate(message));
+        }
+
+        @Override
+        boolean isConstant() {
+            return this.operand.isConstant();
+        }
+    }
+
+    static final class And extends SqlExpression {
+        private final SqlExpression left;
+        private final SqlExpression right;
+
+        And(SqlExpression left, SqlExpression right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        Object evaluate(IMessage message) {
+            Object leftValue = this.left.evaluate(message);
+            if (Boolean.FALSE.equals(leftValue)) {
+                return Boolean.FALSE;
+            }
+
+            Object rightValue = this.right.evaluate(message);
+            if (Boolean.FALSE.equals(rightValue)) {
+                return Boolean.FALSE;
+            }
+
+            return Boolean.TRUE.equals(leftValue) && Boolean.TRUE.equals(rightValue) ? Boolean.TRUE : null;
+        }
+
+        @Override
+        boolean isConstant() {
+            return this.left.isConstant() && this.right.isConstant();
+        }
+    }
+
+    static final class Or extends SqlExpression {
+        private final SqlExpression left;
+        private final SqlExpression right;
+
+        Or(SqlExpression left, SqlExpression right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        Object evaluate(IMessage message) {
+            Object leftValue = this.left.evaluate(message);
+            if (Boolean.TRUE.equals(leftValue)) {
+                return Boolean.TRUE;
+            }
+
+            Object rightValue = this.right.evaluate(message);
+            if (Boolean.TRUE.equals(rightValue)) {
+                return Boolean.TRUE;
+            }
+
+            return Boolean.FALSE.equals(leftValue) && Boolean.FALSE.equals(rightValue) ? Boolean.FALSE : null;
+        }
+
+        @Override
+        boolean isConstant() {
+            return this.left.isConstant() && this.right.isConstant();
+        }
+    }
+
+    enum ComparisonOperator {
+        EQUAL, NOT_EQUAL, LESS, LESS_OR_EQUAL, GREATER, GREATER_OR_EQUAL
+    }
+
+    static final class Comparison extends SqlExpression {
+        private final ComparisonOperator operator;
+        private final SqlExpression left;
+        private final SqlExpression right;
+
+        Comparison(ComparisonOperator operator, SqlExpression left, SqlExpression right) {
+            this.operator = operator;
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        Object evaluate(IMessage message) {
+            Object leftValue = this.left.evaluate(message);
+            if (leftValue == null) {
+                return null;
+            }
+
+            Object rightValue = this.right.evaluate(message);
+            if (rightValue == null) {
+                return null;
+            }
+
+            if (leftValue instanceof Boolean || rightValue instanceof Boolean) {
+                // Booleans can only be tested for equality
+                if (!(leftValue instanceof Boolean && rightValue instanceof Boolean)) {
+                    return null;
+                }
+
+                switch (this.operator) {
+                    case EQUAL:
+                        return leftValue.equals(rightValue);
+                    case NOT_EQUAL:
+                        return !leftValue.equals(rightValue);
+                    default:
+                        return null;
+                }
+            }
+
+            int result = compare(leftValue, rightValue);
+            if (result == INCOMPARABLE) {
+                return null;
+            }
+
+            switch (this.operator) {
+                case EQUAL:
+                    return result == 0;
+                case NOT_EQUAL:
+                    return result != 0;
+                case LESS:
+                    return result < 0;
+                case LESS_OR_EQUAL:
+                    return result <= 0;
+                case GREATER:
+                    return result > 0;
+                default:
+                    return result >= 0;
+            }
+        }
+
+        @Override
+        boolean isConstant() {
+            return this.left.isConstant() && this.right.isConstant();
+        }
+    }
+
+    enum ArithmeticOperator {
+        ADD, SUBTRACT, MULTIPLY, DIVIDE, MODULO
+    }
+
+    static final class Arithmetic extends SqlExpression {
+        private final ArithmeticOperator operator;
+        private final SqlExpression left;
+        private final SqlExpression right;
+
+        Arithmetic(ArithmeticOperator operator, SqlExpression left, SqlExpression right) {
+            this.operator = operator;
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        Object evaluate(IMessage message) {
+            Object leftValue = this.left.evaluate(message);
+            if (leftValue == null) {
+                return null;
+            }
+
+            Object rightValue = this.right.evaluate(message);
+            if (rightValue == null) {
+                return null;
+            }
+
+            if (this.operator == ArithmeticOperator.ADD && leftValue instanceof String && rightValue instanceof String) {
+                return (String) leftValue + rightValue;
+            }
+
+            if (!isNumeric(leftValue) || !isNumeric(rightValue)) {
+                return null;
+            }
+
+            if (isIntegral(leftValue) && isIntegral(rightValue)) {
+                long leftLong = ((Number) leftValue).longValue();
+                long rightLong = ((Number) rightValue).longValue();
+                switch (this.operator) {
+                    case ADD:
+                        return leftLong + rightLong;
+                    case SUBTRACT:
+                        return leftLong - rightLong;
+                    case MULTIPLY:
+                        return leftLong * rightLong;
+                    case DIVIDE:
+                        return rightLong == 0 ? null : leftLong / rightLong;
+                    default:
+                        return rightLong == 0 ? null : leftLong % rightLong;
+                }
+            }
+
+            double leftDouble = ((Number) leftValue).doubleValue();
+            double rightDouble = ((Number) rightValue).doubleValue();
+            switch (this.operator) {
+                case ADD:
+                    return leftDouble + rightDouble;
+                case SUBTRACT:
+                    return leftDouble - rightDouble;
+                case MULTIPLY:
+                    return leftDouble * rightDouble;
+                case DIVIDE:
+                    return leftDouble / rightDouble;
+                default:
+                    return leftDouble % rightDouble;
+            }
+        }
+
+        @Override
+        boolean isConstant() {
+            return this.left.isConstant() && this.right.isConstant();
+        }
+    }
+
+    static final class Negate extends SqlExpression {
+        private final SqlExpression operand;
+
+        Negate(SqlExpression operand) {
+            this.operand = operand;
+        }
+
+        @Override
+        Object evaluate(IMessage message) {
+            Object value = this.operand.evaluate(message);
+            if (isIntegral(value)) {
+                return -((Number) value).longValue();
+            } else if (isNumeric(value)) {
+                return -((Number) value).doubleValue();
+            } else {
+                return null;
+            }
+        }
+
+        @Override
+        boolean isConstant() {
+            return this.operand.isConstant();
+        }
+    }
+
+    static final class IsNull extends SqlExpression {
+        private final SqlExpression operand;
+        private final boolean negated;
+
+        IsNull(SqlExpression operand, boolean negated) {
+            this.operand = operand;
+            this.negated = negated;
+        }
+
+        @Override
+        Object evaluate(IMessage message) {
+            return (this.operand.evaluate(message) == null) != this.negated;
+        }
+
+        @Override
+        boolean isConstant() {
+            return this.operand.isConstant();
+        }
+    }
+
+    static final class In extends SqlExpression {
+        private final SqlExpression operand;
+        private final Object[] values;
+        private final boolean containsNull;
+        // Set when all the values are strings, the most common case
+        private final Set<String> stringValues;
+        private final boolean negated;
+
+        In(SqlExpression operand, Object[] values, boolean negated) {
+            this.operand = operand;
+            this.values = values;
+            this.negated = negated;
+            this.containsNull = Arrays.asList(values).contains(null);
+            Set<String> strings = new HashSet<>();
+            for (Object value : values) {
+                if (value instanceof String) {
+                    strings.add((String) value);
+                } else {
+                    strings = null;
+                    break;
+                }
+            }
+
+            this.stringValues = strings;
+        }
+
+        @Override
+        Object evaluate(IMessage message) {
+            Object value = this.operand.evaluate(message);
+            if (value == null) {
+                return null;
+            }
+
+            boolean found = false;
+            if (this.stringValues != null) {
+                if (!(value instanceof String)) {
+                    return null;
+                }
+
+                found = this.stringValues.contains(value);
+            } else {
+                for (Object candidate : this.values) {
+                    if (candidate != null && (candidate instanceof Boolean ? candidate.equals(value) : compare(value, candidate) == 0)) {
+                        found = true;
+                        break;
+                    }
+                }
+            }
+
+            if (found) {
+                return !this.negated;
+            }
+
+            return this.containsNull ? null : this.negated;
+        }
+
+        @Override
+        boolean isConstant() {
+            return this.operand.isConstant();
+        }
+    }
+
+    static final class Like extends SqlExpression {
+        private static final int ANY_SEQUENCE = -1;
+        private static final int ANY_CHARACTER = -2;
+
+        private final SqlExpression operand;
+        private final boolean negated;
+        private final int[] pattern;
+        private final String literal;
+        private final boolean anyPrefix;
+        private final boolean anySuffix;
+
+        /**
+         * @param pattern LIKE pattern where % matches any sequence of characters and _ matches any single character
+         * @param escape the character that makes the following wildcard character a literal, or null
+         */
+        Like(SqlExpression operand, String pattern, Character escape, boolean negated) {
+            this.operand = operand;
+            this.negated = negated;
+
+            int[] compiledPattern = new int[pattern.length()];
+            int length = 0;
+            boolean hasInnerWildcards = false;
+            StringBuilder literalBuilder = new StringBuilder();
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = pattern.charAt(i);
+                if (escape != null && c == escape) {
+                    if (++i == pattern.length()) {
+                        throw new IllegalArgumentException("LIKE pattern '" + pattern + "' ends with the escape character.");
+                    }
+
+                    compiledPattern[length++] = pattern.charAt(i);
+                } else if (c == '%') {
+                    compiledPattern[length++] = ANY_SEQUENCE;
+                } else if (c == '_') {
+                    compiledPattern[length++] = ANY_CHARACTER;
+                } else {
+                    compiledPattern[length++] = c;
+                }
+            }
+
+            this.pattern = Arrays.copyOf(compiledPattern, length);
+
+            // Patterns like 'abc', 'abc%', '%abc' and '%abc%' are matched without the general algorithm
+            int start = 0;
+            int end = length;
+            boolean prefix = false;
+            boolean suffix = false;
+            if (end > start && this.pattern[start] == ANY_SEQUENCE) {
+                prefix = true;
+                start++;
+            }
+
+            if (end > start && this.pattern[end - 1] == ANY_SEQUENCE) {
+                suffix = true;
+                end--;
+            }
+
+            for (int i = start; i < end; i++) {
+                if (this.pattern[i] < 0) {
+                    hasInnerWildcards = true;
+                    break;
+                }
+
+                literalBuilder.append((char) this.pattern[i]);
+            }
+
+            this.literal = hasInnerWildcards ? null : literalBuilder.toString();
+            this.anyPrefix = prefix;
+            this.anySuffix = suffix;
+        }
+
+        @Override
+        Object evaluate(IMessage message) {
+            Object value = this.operand.evaluate(message);
+            if (!(value instanceof String)) {
+                return null;
+            }
+
+            return this.matches((String) value) != this.negated;
+        }
+
+        @Override
+        boolean isConstant() {
+            return this.operand.isConstant();
+        }
+
+        private boolean matches(String text) {
+            if (this.literal != null) {
+                if (this.anyPrefix && this.anySuffix) {
+                    return text.contains(this.literal);
+                } else if (this.anyPrefix) {
+                    return text.endsWith(this.literal);
+                } else if (this.anySuffix) {
+                    return text.startsWith(this.literal);
+                } else {
+                    return text.equals(this.literal);
+                }
+            }
+
+            // Greedy matching, backtracking to the last % on a mismatch
+            int textIndex = 0;
+            int patternIndex = 0;
+            int lastAnySequence = -1;
+            int lastAnySequenceTextIndex = 0;
+            while (textIndex < text.length()) {
+                if (patternIndex < this.pattern.length
+                    && (this.pattern[patternIndex] == ANY_CHARACTER || this.pattern[patternIndex] == text.charAt(textIndex))) {
+                    textIndex++;
+                    patternIndex++;
+                } else if (patternIndex < this.pattern.length && this.pattern[patternIndex] == ANY_SEQUENCE) {
+                    lastAnySequence = patternIndex++;
+                    lastAnySequenceTextIndex = textIndex;
+                } else if (lastAnySequence >= 0) {
+                    patternIndex = lastAnySequence + 1;
+                    textIndex = ++lastAnySequenceTextIndex;
+                } else {
+                    return false;
+                }
+            }
+
+            while (patternIndex < this.pattern.length && this.pattern[patternIndex] == ANY_SEQUENCE) {
+                patternIndex++;
+            }
+
+            return patternIndex == this.pattern.length;
+        }
+    }
+
+    /**
+     * The system properties of a message that expressions can refer to with the sys. prefix. Names are case-insensitive.
+     */
+    enum SystemProperty {
+        MESSAGE_ID("MessageId", IMessage::getMessageId, (message, value) -> message.setMessageId(toStringValue(value))),
+        CORRELATION_ID("CorrelationId", IMessage::getCorrelationId, (message, value) -> message.setCorrelationId(toStringValue(value))),
+        TO("To", IMessage::getTo, (message, value) -> message.setTo(toStringValue(value))),
+        REPLY_TO("ReplyTo", IMessage::getReplyTo, (message, value) -> message.setReplyTo(toStringValue(value))),
+        LABEL("Label", IMessage::getLabel, (message, value) -> message.setLabel(toStringValue(value))),
+        SESSION_ID("SessionId", IMessage::getSessionId, (message, value) -> message.setSessionId(toStringValue(value))),
+        REPLY_TO_SESSION_ID("ReplyToSessionId", IMessage::getReplyToSessionId, (message, value) -> message.setReplyToSessionId(toStringValue(value))),
+        CONTENT_TYPE("ContentType", IMessage::getContentType, (message, value) -> message.setContentType(toStringValue(value))),
+        PARTITION_KEY("PartitionKey", IMessage::getPartitionKey, (message, value) -> message.setPartitionKey(toStringValue(value))),
+        VIA_PARTITION_KEY("ViaPartitionKey", IMessage::getViaPartitionKey, (message, value) -> message.setViaPartitionKey(toStringValue(value))),
+        DELIVERY_COUNT("DeliveryCount", IMessage::getDeliveryCount, null),
+        SEQUENCE_NUMBER("SequenceNumber", IMessage::getSequenceNumber, null),
+        ENQUEUED_TIME_UTC("EnqueuedTimeUtc", IMessage::getEnqueuedTimeUtc, null),
+        SCHEDULED_ENQUEUE_TIME_UTC("ScheduledEnqueueTimeUtc", IMessage::getScheduledEnqueueTimeUtc, null),
+        // Computed from the enqueued time, which messages that were never sent do not have
+        EXPIRES_AT_UTC("ExpiresAtUtc", message -> message.getEnqueuedTimeUtc() == null ? null : message.getExpiresAtUtc(), null),
+        TIME_TO_LIVE("TimeToLive", IMessage::getTimeToLive, null),
+        LOCKED_UNTIL_UTC("LockedUntilUtc", IMessage::getLockedUntilUtc, null),
+        DEAD_LETTER_SOURCE("DeadLetterSource", IMessage::getDeadLetterSource, null);
+
+        private static final Map<String, SystemProperty> PROPERTIES_BY_NAME = new HashMap<>();
+
+        static {
+            for (SystemProperty property : values()) {
+                PROPERTIES_BY_NAME.put(property.name.toLowerCase(Locale.ROOT), property);
+            }
+        }
+
+        private final String name;
+        private final Function<IMessage, Object> getter;
+        private final BiConsumer<IMessage, Object> setter;
+
+        SystemProperty(String name, Function<IMessage, Object> getter, BiConsumer<IMessage, Object> setter) {
+            this.name = name;
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        static SystemProperty fromName(String name) {
+            return PROPERTIES_BY_NAME.get(name.toLowerCase(Locale.ROOT));
+        }
+
+        String getName() {
+            return this.name;
+        }
+
+        boolean isSettable() {
+            return this.setter != null;
+        }
+
+        Object getValue(IMessage message) {
+            return this.getter.apply(message);
+        }
+
+        void setValue(IMessage message, Object value) {
+            this.setter.accept(message, value);
+        }
+
+        private static String toStringValue(Object value) {
+            return value == null ? null : value.toString();
+        }
+    }
+}
@@ -0,0 +1,572 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.microsoft.azure.servicebus.rules;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import com.microsoft.azure.servicebus.IMessage;
+import com.microsoft.azure.servicebus.rules.SqlExpression.ArithmeticOperator;
+import com.microsoft.azure.servicebus.rules.SqlExpression.ComparisonOperator;
+import com.microsoft.azure.servicebus.rules.SqlExpression.PropertyReference;
+import com.microsoft.azure.servicebus.rules.SqlExpression.SystemProperty;
+
+/**
+ * Parses the Service Bus SQL filter and action grammar into {@link SqlExpression} evaluation trees. Parts of an expression that do not
+ * depend on the message are evaluated once while parsing.
+ * <p>
+ * Filters support comparison (=, &lt;&gt;, !=, &lt;, &lt;=, &gt;, &gt;=), arithmetic (+, -, *, /, %), AND, OR, NOT, [NOT] LIKE with an optional
+ * ESCAPE character, [NOT] IN, IS [NOT] NULL, EXISTS(property) and newid(). Properties are user properties by default, or system
+ * properties when prefixed with sys., and names that are not plain identifiers can be enclosed in square brackets.
+ * Actions are sequences of SET property = expression and REMOVE property statements, optionally separated by semicolons.
+ */
+final class SqlExpressionParser {
+    private static final String SYSTEM_PROPERTY_PREFIX = "sys";
+    private static final String USER_PROPERTY_PREFIX = "user";
+
+    private final String text;
+    private int position;
+    private Token token;
+
+    private SqlExpressionParser(String text) {
+        this.text = text;
+        this.advance();
+    }
+
+    static SqlExpression parseFilter(String sqlExpression) {
+        SqlExpressionParser parser = new SqlExpressionParser(checkNotEmpty(sqlExpression));
+        SqlExpression expression = parser.parseExpression();
+        parser.expect(TokenType.END, "end of expression");
+        return expression;
+    }
+
+    static List<ActionStatement> parseAction(String sqlExpression) {
+        SqlExpressionParser parser = new SqlExpressionParser(checkNotEmpty(sqlExpression));
+        List<ActionStatement> statements = new ArrayList<>();
+        while (parser.token.type != TokenType.END) {
+            if (parser.acceptKeyword("SET")) {
+                PropertyReference target = parser.parseAssignableProperty();
+                parser.expect(TokenType.EQUAL, "'='");
+                statements.add(new ActionStatement(target, parser.parseExpression(), false));
+            } else if (parser.acceptKeyword("REMOVE")) {
+                statements.add(new ActionStatement(parser.parseAssignableProperty(), null, true));
+            } else {
+                throw parser.syntaxError("SET or REMOVE");
+            }
+
+            if (parser.token.type == TokenType.SEMICOLON) {
+                parser.advance();
+            }
+        }
+
+        if (statements.isEmpty()) {
+            throw parser.syntaxError("SET or REMOVE");
+        }
+
+        return statements;
+    }
+
+    private static String checkNotEmpty(String sqlExpression) {
+        if (sqlExpression == null || sqlExpression.trim().isEmpty()) {
+            throw new IllegalArgumentException("SQL expression is null or empty.");
+        }
+
+        return sqlExpression;
+    }
+
+    private SqlExpression parseExpression() {
+        SqlExpression expression = this.parseAnd();
+        while (this.acceptKeyword("OR")) {
+            expression = fold(new SqlExpression.Or(expression, this.parseAnd()));
+        }
+
+        return expression;
+    }
+
+    private SqlExpression parseAnd() {
+        SqlExpression expression = this.parseNot();
+        while (this.acceptKeyword("AND")) {
+            expression = fold(new SqlExpression.And(expression, this.parseNot()));
+        }
+
+        return expression;
+    }
+
+    private SqlExpression parseNot() {
+        if (this.acceptKeyword("NOT")) {
+            return fold(new SqlExpression.Not(this.parseNot()));
+        }
+
+        return this.parsePredicate();
+    }
+
+    private SqlExpression parsePredicate() {
+        SqlExpression operand = this.parseAdditive();
+        ComparisonOperator comparisonOperator = this.toComparisonOperator(this.token.type);
+        if (comparisonOperator != null) {
+            this.advance();
+            return fold(new SqlExpression.Comparison(comparisonOperator, operand, this.parseAdditive()));
+        }
+
+        if (this.acceptKeyword("IS")) {
+            boolean negated = this.acceptKeyword("NOT");
+            this.expectKeyword("NULL");
+            return fold(new SqlExpression.IsNull(operand, negated));
+        }
+
+        boolean negated = this.acceptKeyword("NOT");
+        if (this.acceptKeyword("LIKE")) {
+            String pattern = this.expectString();
+            Character escape = null;
+            if (this.acceptKeyword("ESCAPE")) {
+                int escapePosition = this.token.start;
+                String escapeText = this.expectString();
+                if (escapeText.length() != 1) {
+                    throw this.syntaxError(escapePosition, "ESCAPE must be a single character");
+                }
+
+                escape = escapeText.charAt(0);
+            }
+
+            return fold(new SqlExpression.Like(operand, pattern, escape, negated));
+        }
+
+        if (this.acceptKeyword("IN")) {
+            this.expect(TokenType.LEFT_PARENTHESIS, "'('");
+            List<Object> values = new ArrayList<>();
+            do {
+                int valuePosition = this.token.start;
+                SqlExpression value = this.parseAdditive();
+                if (!value.isConstant()) {
+                    throw this.syntaxError(valuePosition, "IN values must be constants");
+                }
+
+                values.add(value.evaluate(null));
+            } while (this.accept(TokenType.COMMA));
+
+            this.expect(TokenType.RIGHT_PARENTHESIS, "')'");
+            return fold(new SqlExpression.In(operand, values.toArray(), negated));
+        }
+
+        if (negated) {
+            throw this.syntaxError("LIKE or IN");
+        }
+
+        return operand;
+    }
+
+    private SqlExpression parseAdditive() {
+        SqlExpression expression = this.parseMultiplicative();
+        while (true) {
+            if (this.accept(TokenType.PLUS)) {
+                expression = fold(new SqlExpression.Arithmetic(ArithmeticOperator.ADD, expression, this.parseMultiplicative()));
+            } else if (this.accept(TokenType.MINUS)) {
+                expression = fold(new SqlExpression.Arithmetic(ArithmeticOperator.SUBTRACT, expression, this.parseMultiplicative()));
+            } else {
+                return expression;
+            }
+        }
+    }
+
+    private SqlExpression parseMultiplicative() {
+        SqlExpression expression = this.parseUnary();
+        while (true) {
+            if (this.accept(TokenType.STAR)) {
+                expression = fold(new SqlExpression.Arithmetic(ArithmeticOperator.MULTIPLY, expression, this.parseUnary()));
+            } else if (this.accept(TokenType.SLASH)) {
+                expression = fold(new SqlExpression.Arithmetic(ArithmeticOperator.DIVIDE, expression, this.parseUnary()));
+            } else if (this.accept(TokenType.PERCENT)) {
+                expression = fold(new SqlExpression.Arithmetic(ArithmeticOperator.MODULO, expression, this.parseUnary()));
+            } else {
+                return expression;
+            }
+        }
+    }
+
+    private SqlExpression parseUnary() {
+        if (this.accept(TokenType.MINUS)) {
+            return fold(new SqlExpression.Negate(this.parseUnary()));
+        }
+
+        if (this.accept(TokenType.PLUS)) {
+            return this.parseUnary();
+        }
+
+        return this.parsePrimary();
+    }
+
+    private SqlExpression parsePrimary() {
+        Token current = this.token;
+        switch (current.type) {
+            case STRING:
+                this.advance();
+                return new SqlExpression.Constant(current.value);
+            case INTEGER:
+                this.advance();
+                try {
+                    return new SqlExpression.Constant(Long.parseLong(current.value));
+                } catch (NumberFormatException e) {
+                    throw this.syntaxError(current.start, "integer '" + current.value + "' is out of range");
+                }
+            case DECIMAL:
+                this.advance();
+                return new SqlExpression.Constant(Double.parseDouble(current.value));
+            case LEFT_PARENTHESIS:
+                this.advance();
+                SqlExpression expression = this.parseExpression();
+                this.expect(TokenType.RIGHT_PARENTHESIS, "')'");
+                return expression;
+            case IDENTIFIER:
+                if (this.acceptKeyword("TRUE")) {
+                    return SqlExpression.Constant.TRUE;
+                } else if (this.acceptKeyword("FALSE")) {
+                    return SqlExpression.Constant.FALSE;
+                } else if (this.acceptKeyword("NULL")) {
+                    return SqlExpression.Constant.NULL;
+                } else if (this.isKeyword("EXISTS") && this.peekIsLeftParenthesis()) {
+                    this.advance();
+                    this.advance();
+                    PropertyReference property = this.parseProperty();
+                    this.expect(TokenType.RIGHT_PARENTHESIS, "')'");
+                    return new SqlExpression.Exists(property);
+                } else if (this.isKeyword("NEWID") && this.peekIsLeftParenthesis()) {
+                    this.advance();
+                    this.advance();
+                    this.expect(TokenType.RIGHT_PARENTHESIS, "')'");
+                    return new SqlExpression.NewId();
+                }
+
+                return this.parseProperty();
+            case QUOTED_IDENTIFIER:
+                return this.parseProperty();
+            default:
+                throw this.syntaxError("an expression");
+        }
+    }
+
+    private PropertyReference parseAssignableProperty() {
+        int propertyPosition = this.token.start;
+        PropertyReference property = this.parseProperty();
+        if (property instanceof SqlExpression.SystemPropertyReference) {
+            SystemProperty systemProperty = ((SqlExpression.SystemPropertyReference) property).getProperty();
+            if (!systemProperty.isSettable()) {
+                throw this.syntaxError(propertyPosition, "system property '" + systemProperty.getName() + "' cannot be set or removed");
+            }
+        }
+
+        return property;
+    }
+
+    private PropertyReference parseProperty() {
+        int propertyPosition = this.token.start;
+        String name = this.expectPropertyName();
+        if (this.token.type != TokenType.DOT) {
+            return new SqlExpression.UserPropertyReference(name);
+        }
+
+        this.advance();
+        String scopedName = this.expectPropertyName();
+        if (SYSTEM_PROPERTY_PREFIX.equalsIgnoreCase(name)) {
+            SystemProperty systemProperty = SystemProperty.fromName(scopedName);
+            if (systemProperty == null) {
+                throw this.syntaxError(propertyPosition, "unknown system property '" + scopedName + "'");
+            }
+
+            return new SqlExpression.SystemPropertyReference(systemProperty);
+        } else if (USER_PROPERTY_PREFIX.equalsIgnoreCase(name)) {
+            return new SqlExpression.UserPropertyReference(scopedName);
+        } else {
+            throw this.syntaxError(propertyPosition, "unknown property scope '" + name + "', expected 'sys' or 'user'");
+        }
+    }
+
+    private String expectPropertyName() {
+        if (this.token.type != TokenType.IDENTIFIER && this.token.type != TokenType.QUOTED_IDENTIFIER) {
+            throw this.syntaxError("a property name");
+        }
+
+        String name = this.token.value;
+        this.advance();
+        return name;
+    }
+
+    private String expectString() {
+        if (this.token.type != TokenType.STRING) {
+            throw this.syntaxError("a string");
+        }
+
+        String value = this.token.value;
+        this.advance();
+        return value;
+    }
+
+    private void expect(TokenType type, String expected) {
+        if (!this.accept(type)) {
+            throw this.syntaxError(expected);
+        }
+    }
+
+    private void expectKeyword(String keyword) {
+        if (!this.acceptKeyword(keyword)) {
+            throw this.syntaxError(keyword);
+        }
+    }
+
+    private boolean accept(TokenType type) {
+        if (this.token.type == type) {
+            this.advance();
+            return true;
+        }
+
+        return false;
+    }
+
+    private boolean acceptKeyword(String keyword) {
+        if (this.isKeyword(keyword)) {
+            this.advance();
+            return true;
+        }
+
+        return false;
+    }
+
+    private boolean isKeyword(String keyword) {
+        return this.token.type == TokenType.IDENTIFIER && keyword.equalsIgnoreCase(this.token.value);
+    }
+
+    private boolean peekIsLeftParenthesis() {
+        int index = this.position;
+        while (index < this.text.length() && Character.isWhitespace(this.text.charAt(index))) {
+            index++;
+        }
+
+        return index < this.text.length() && this.text.charAt(index) == '(';
+    }
+
+    private ComparisonOperator toComparisonOperator(TokenType type) {
+        switch (type) {
+            case EQUAL:
+                return ComparisonOperator.EQUAL;
+            case NOT_EQUAL:
+                return ComparisonOperator.NOT_EQUAL;
+            case LESS:
+                return ComparisonOperator.LESS;
+            case LESS_OR_EQUAL:
+                return ComparisonOperator.LESS_OR_EQUAL;
+            case GREATER:
+                return ComparisonOperator.GREATER;
+            case GREATER_OR_EQUAL:
+                return ComparisonOperator.GREATER_OR_EQUAL;
+            default:
+                return null;
+        }
+    }
+
+    private static SqlExpression fold(SqlExpression expression) {
+        return expression.isConstant() ? new SqlExpression.Constant(expression.evaluate(null)) : expression;
+    }
+
+    private IllegalArgumentException syntaxError(String expected) {
+        String found = this.token.type == TokenType.END ? "end of expression" : "'" + this.text.substring(this.token.start, this.position) + "'";
+        return this.syntaxError(this.token.start, "expected " + expected + " but found " + found);
+    }
+
+    private IllegalArgumentException syntaxError(int errorPosition, String message) {
+        return new IllegalArgumentException(String.format(Locale.US, "Syntax error at position %d in SQL expression '%s': %s.", errorPosition, this.text, message));
+    }
+
+    private void advance() {
+        while (this.position < this.text.length() && Character.isWhitespace(this.text.charAt(this.position))) {
+            this.position++;
+        }
+
+        int start = this.position;
+        if (start == this.text.length()) {
+            this.token = new Token(TokenType.END, null, start);
+            return;
+        }
+
+        char c = this.text.charAt(start);
+        if (Character.isLetter(c) || c == '_') {
+            while (this.position < this.text.length() && (Character.isLetterOrDigit(this.text.charAt(this.position)) || this.text.charAt(this.position) == '_')) {
+                this.position++;
+            }
+
+            this.token = new Token(TokenType.IDENTIFIER, this.text.substring(start, this.position), start);
+        } else if (Character.isDigit(c) || (c == '.' && start + 1 < this.text.length() && Character.isDigit(this.text.charAt(start + 1)))) {
+            this.token = this.readNumber(start);
+        } else if (c == '\'') {
+            this.token = new Token(TokenType.STRING, this.readDelimited(start, '\'', '\''), start);
+        } else if (c == '[') {
+            this.token = new Token(TokenType.QUOTED_IDENTIFIER, this.readDelimited(start, '[', ']'), start);
+        } else {
+            this.position++;
+            TokenType type;
+            switch (c) {
+                case '(':
+                    type = TokenType.LEFT_PARENTHESIS;
+                    break;
+                case ')':
+                    type = TokenType.RIGHT_PARENTHESIS;
+                    break;
+                case ',':
+                    type = TokenType.COMMA;
+                    break;
+                case ';':
+                    type = TokenType.SEMICOLON;
+                    break;
+                case '.':
+                    type = TokenType.DOT;
+                    break;
+                case '+':
+                    type = TokenType.PLUS;
+                    break;
+                case '-':
+                    type = TokenType.MINUS;
+                    break;
+                case '*':
+                    type = TokenType.STAR;
+                    break;
+                case '/':
+                    type = TokenType.SLASH;
+                    break;
+                case '%':
+                    type = TokenType.PERCENT;
+                    break;
+                case '=':
+                    type = TokenType.EQUAL;
+                    break;
+                case '!':
+                    if (!this.acceptCharacter('=')) {
+                        throw this.syntaxError(start, "unexpected character '!'");
+                    }
+
+                    type = TokenType.NOT_EQUAL;
+                    break;
+                case '<':
+                    if (this.acceptCharacter('=')) {
+                        type = TokenType.LESS_OR_EQUAL;
+                    } else if (this.acceptCharacter('>')) {
+                        type = TokenType.NOT_EQUAL;
+                    } else {
+                        type = TokenType.LESS;
+                    }
+                    break;
+                case '>':
+                    type = this.acceptCharacter('=') ? TokenType.GREATER_OR_EQUAL : TokenType.GREATER;
+                    break;
+                default:
+                    throw this.syntaxError(start, "unexpected character '" + c + "'");
+            }
+
+            this.token = new Token(type, null, start);
+        }
+    }
+
+    private boolean acceptCharacter(char c) {
+        if (this.position < this.text.length() && this.text.charAt(this.position) == c) {
+            this.position++;
+            return true;
+        }
+
+        return false;
+    }
+
+    private Token readNumber(int start) {
+        boolean isDecimal = false;
+        while (this.position < this.text.length() && Character.isDigit(this.text.charAt(this.position))) {
+            this.position++;
+        }
+
+        if (this.acceptCharacter('.')) {
+            isDecimal = true;
+            while (this.position < this.text.length() && Character.isDigit(this.text.charAt(this.position))) {
+                this.position++;
+            }
+        }
+
+        if (this.position < this.text.length() && (this.text.charAt(this.position) == 'e' || this.text.charAt(this.position) == 'E')) {
+            isDecimal = true;
+            this.position++;
+            if (!this.acceptCharacter('+')) {
+                this.acceptCharacter('-');
+            }
+
+            int exponentStart = this.position;
+            while (this.position < this.text.length() && Character.isDigit(this.text.charAt(this.position))) {
+                this.position++;
+            }
+
+            if (exponentStart == this.position) {
+                throw this.syntaxError(start, "malformed number '" + this.text.substring(start, this.position) + "'");
+            }
+        }
+
+        return new Token(isDecimal ? TokenType.DECIMAL : TokenType.INTEGER, this.text.substring(start, this.position), start);
+    }
+
+    // Reads text between delimiters, where a doubled closing delimiter stands for the delimiter itself
+    private String readDelimited(int start, char open, char close) {
+        StringBuilder builder = new StringBuilder();
+        this.position = start + 1;
+        while (this.position < this.text.length()) {
+            char c = this.text.charAt(this.position++);
+            if (c == close) {
+                if (this.acceptCharacter(close)) {
+                    builder.append(close);
+                } else {
+                    return builder.toString();
+                }
+            } else {
+                builder.append(c);
+            }
+        }
+
+        throw this.syntaxError(start, "missing closing " + close);
+    }
+
+    /**
+     * A SET or REMOVE statement of an action.
+     */
+    static final class ActionStatement {
+        private final PropertyReference target;
+        private final SqlExpression value;
+        private final boolean isRemove;
+
+        ActionStatement(PropertyReference target, SqlExpression value, boolean isRemove) {
+            this.target = target;
+            this.value = value;
+            this.isRemove = isRemove;
+        }
+
+        void execute(IMessage message) {
+            if (this.isRemove) {
+                this.target.remove(message);
+            } else {
+                this.target.assign(message, this.value.evaluate(message));
+            }
+        }
+    }
+
+    private enum TokenType {
+        IDENTIFIER, QUOTED_IDENTIFIER, STRING, INTEGER, DECIMAL,
+        LEFT_PARENTHESIS, RIGHT_PARENTHESIS, COMMA, SEMICOLON, DOT,
+        PLUS, MINUS, STAR, SLASH, PERCENT,
+        EQUAL, NOT_EQUAL, LESS, LESS_OR_EQUAL, GREATER, GREATER_OR_EQUAL,
+        END
+    }
+
+    private static final class Token {
+        private final TokenType type;
+        private final String value;
+        private final int start;
+
+        Token(TokenType type, String value, int start) {
+            this.type = type;
+            this.value = value;
+            this.start = start;
+        }
+    }
+}
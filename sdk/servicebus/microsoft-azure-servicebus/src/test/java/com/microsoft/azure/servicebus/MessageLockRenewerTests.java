@@ -0,0 +1,182 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.microsoft.azure.servicebus;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.microsoft.azure.servicebus.primitives.MessageLockLostException;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class MessageLockRenewerTests {
+    private static final Duration RENEWED_LOCK_DURATION = Duration.ofHours(1);
+
+    private ScheduledExecutorService scheduler;
+    private BlockingQueue<List<UUID>> renewRequests;
+    private BlockingQueue<Throwable> renewExceptions;
+    private Set<UUID> lostLockTokens;
+    private MessageAndSessionPump.MessageLockRenewer renewer;
+
+    @Before
+    public void setup() {
+        this.scheduler = Executors.newScheduledThreadPool(1);
+        this.renewRequests = new LinkedBlockingQueue<>();
+        this.renewExceptions = new LinkedBlockingQueue<>();
+        this.lostLockTokens = ConcurrentHashMap.newKeySet();
+        this.renewer = new MessageAndSessionPump.MessageLockRenewer(
+            this.createFakeReceiver(),
+            this.renewExceptions::add,
+            (task, delay) -> this.scheduler.schedule(task, delay.toMillis(), TimeUnit.MILLISECONDS));
+    }
+
+    @After
+    public void cleanup() {
+        this.renewer.stopAll();
+        this.scheduler.shutdownNow();
+    }
+
+    @Test
+    public void testLocksDueWithinGroupingWindowAreRenewedTogether() throws InterruptedException {
+        // Due for renewal in 1 second, 1.5 seconds and 20 seconds
+        Message first = createLockedMessage(Duration.ofSeconds(2));
+        Message second = createLockedMessage(Duration.ofSeconds(3));
+        Message third = createLockedMessage(Duration.ofSeconds(30));
+        this.startRenewing(first, second, third);
+
+        List<UUID> request = this.renewRequests.poll(5, TimeUnit.SECONDS);
+        Assert.assertNotNull("Locks not renewed", request);
+        Assert.assertEquals(new HashSet<>(Arrays.asList(first.getLockToken(), second.getLockToken())), new HashSet<>(request));
+        Assert.assertNull("Lock not due for renewal was renewed", this.renewRequests.poll(500, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testRenewRequestsAreSplitAt100LockTokens() throws InterruptedException {
+        Set<UUID> lockTokens = new HashSet<>();
+        for (int i = 0; i < 250; i++) {
+            Message message = createLockedMessage(Duration.ofSeconds(2));
+            lockTokens.add(message.getLockToken());
+            this.startRenewing(message);
+        }
+
+        Set<UUID> renewedLockTokens = new HashSet<>();
+        List<Integer> requestSizes = new ArrayList<>();
+        while (renewedLockTokens.size() < lockTokens.size()) {
+            List<UUID> request = this.renewRequests.poll(5, TimeUnit.SECONDS);
+            Assert.assertNotNull("Locks not renewed", request);
+            requestSizes.add(request.size());
+            renewedLockTokens.addAll(request);
+        }
+
+        Assert.assertEquals(Arrays.asList(100, 100, 50), requestSizes);
+        Assert.assertEquals(lockTokens, renewedLockTokens);
+    }
+
+    @Test
+    public void testLostLockFallsBackToRenewingOneByOne() throws InterruptedException {
+        Message first = createLockedMessage(Duration.ofSeconds(2));
+        Message second = createLockedMessage(Duration.ofSeconds(2));
+        Message third = createLockedMessage(Duration.ofSeconds(2));
+        this.lostLockTokens.add(second.getLockToken());
+        this.startRenewing(first, second, third);
+
+        List<UUID> request = this.renewRequests.poll(5, TimeUnit.SECONDS);
+        Assert.assertNotNull("Locks not renewed", request);
+        Assert.assertEquals(3, request.size());
+
+        Set<UUID> renewedOneByOne = new HashSet<>();
+        for (int i = 0; i < 3; i++) {
+            request = this.renewRequests.poll(5, TimeUnit.SECONDS);
+            Assert.assertNotNull("Locks not renewed one by one", request);
+            Assert.assertEquals(1, request.size());
+            renewedOneByOne.addAll(request);
+        }
+        Assert.assertEquals(new HashSet<>(Arrays.asList(first.getLockToken(), second.getLockToken(), third.getLockToken())), renewedOneByOne);
+
+        Throwable renewException = this.renewExceptions.poll(5, TimeUnit.SECONDS);
+        Assert.assertTrue("Lost lock not reported", renewException instanceof MessageLockLostException);
+        Assert.assertNull("Renewed locks reported as failed", this.renewExceptions.poll(500, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testTimerIsRearmedAfterStopAll() throws InterruptedException {
+        this.startRenewing(createLockedMessage(Duration.ofSeconds(2)));
+        this.renewer.stopAll();
+        Assert.assertNull("Lock renewed after renewals were stopped", this.renewRequests.poll(1500, TimeUnit.MILLISECONDS));
+
+        Message message = createLockedMessage(Duration.ofSeconds(2));
+        this.startRenewing(message);
+        List<UUID> request = this.renewRequests.poll(5, TimeUnit.SECONDS);
+        Assert.assertNotNull("Lock not renewed after renewals were stopped and started again", request);
+        Assert.assertEquals(Arrays.asList(message.getLockToken()), request);
+    }
+
+    private void startRenewing(Message... messages) {
+        Instant stopRenewalAt = Instant.now().plus(Duration.ofMinutes(10));
+        for (Message message : messages) {
+            this.renewer.startRenewing(message, stopRenewalAt);
+        }
+    }
+
+    private static Message createLockedMessage(Duration lockDuration) {
+        Message message = new Message("AMQP message");
+        message.setLockToken(UUID.randomUUID());
+        message.setLockedUntilUtc(Instant.now().plus(lockDuration));
+        return message;
+    }
+
+    // Only renews locks, records the lock tokens of every request and fails the requests with a lost lock in them
+    private IMessageReceiver createFakeReceiver() {
+        return (IMessageReceiver) Proxy.newProxyInstance(IMessageReceiver.class.getClassLoader(), new Class<?>[] {IMessageReceiver.class}, (proxy, method, args) -> {
+            if (!method.getName().equals("renewMessageLockBatchAsync")) {
+                throw new UnsupportedOperationException(method.getName());
+            }
+
+            return this.renewMessageLockBatchAsync((Collection<?>) args[0]);
+        });
+    }
+
+    private CompletableFuture<Collection<Instant>> renewMessageLockBatchAsync(Collection<?> messages) {
+        List<UUID> lockTokens = new ArrayList<>();
+        for (Object message : messages) {
+            lockTokens.add(((IMessage) message).getLockToken());
+        }
+        this.renewRequests.add(lockTokens);
+
+        CompletableFuture<Collection<Instant>> renewFuture = new CompletableFuture<>();
+        for (UUID lockToken : lockTokens) {
+            if (this.lostLockTokens.contains(lockToken)) {
+                renewFuture.completeExceptionally(new MessageLockLostException("The lock of the message is lost."));
+                return renewFuture;
+            }
+        }
+
+        List<Instant> lockedUntil = new ArrayList<>();
+        for (Object message : messages) {
+            Instant renewedUntil = Instant.now().plus(RENEWED_LOCK_DURATION);
+            ((Message) message).setLockedUntilUtc(renewedUntil);
+            lockedUntil.add(renewedUntil);
+        }
+        renewFuture.complete(lockedUntil);
+        return renewFuture;
+    }
+}
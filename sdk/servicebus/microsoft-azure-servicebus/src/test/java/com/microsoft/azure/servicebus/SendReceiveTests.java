@@ -171,6 +171,24 @@ public abstract class SendReceiveTests extends Tests {
         TestCommons.testBasicReceiveBatchAndComplete(this.sender, this.sessionId, this.receiver, this.isEntityPartitioned());
     }
 
+    @Test
+    public void testBasicReceiveBatchAndCompleteBatch() throws InterruptedException, ServiceBusException, ExecutionException {
+        this.receiver = ClientFactory.createMessageReceiverFromEntityPath(factory, this.receiveEntityPath, ReceiveMode.PEEKLOCK);
+        TestCommons.testBasicReceiveBatchAndCompleteBatch(this.sender, this.sessionId, this.receiver);
+    }
+
+    @Test
+    public void testBasicReceiveBatchAndAbandonBatch() throws InterruptedException, ServiceBusException, ExecutionException {
+        this.receiver = ClientFactory.createMessageReceiverFromEntityPath(factory, this.receiveEntityPath, ReceiveMode.PEEKLOCK);
+        TestCommons.testBasicReceiveBatchAndAbandonBatch(this.sender, this.sessionId, this.receiver);
+    }
+
+    @Test
+    public void testBasicReceiveBatchAndDeadLetterBatch() throws InterruptedException, ServiceBusException, ExecutionException {
+        this.receiver = ClientFactory.createMessageReceiverFromEntityPath(factory, this.receiveEntityPath, ReceiveMode.PEEKLOCK);
+        TestCommons.testBasicReceiveBatchAndDeadLetterBatch(this.sender, this.sessionId, this.receiver);
+    }
+
     @Test
     public void testSendSceduledMessageAndReceive() throws InterruptedException, ServiceBusException {
         this.receiver = ClientFactory.createMessageReceiverFromEntityPath(factory, this.receiveEntityPath, ReceiveMode.RECEIVEANDDELETE);
@@ -287,6 +287,82 @@ public class TestCommons {
         Assert.assertNull("Messages received again", receivedMessages);
     }
 
+    public static void testBasicReceiveBatchAndCompleteBatch(IMessageSender sender, String sessionId, IMessageReceiver receiver) throws InterruptedException, ServiceBusException, ExecutionException {
+        int numMessages = 10;
+        List<Message> messages = new ArrayList<Message>();
+        for (int i = 0; i < numMessages; i++) {
+            Message message = new Message("AMQP message");
+            if (sessionId != null) {
+                message.setSessionId(sessionId);
+            }
+            messages.add(message);
+        }
+        sender.sendBatch(messages);
+
+        receiver.setSettlementBatchingWindow(Duration.ofMillis(50));
+        int totalMessagesReceived = 0;
+        Collection<IMessage> receivedMessages = receiver.receiveBatch(numMessages);
+        while (receivedMessages != null && receivedMessages.size() > 0) {
+            totalMessagesReceived += receivedMessages.size();
+            receiver.completeBatch(receivedMessages);
+            receivedMessages = receiver.receiveBatch(numMessages);
+        }
+        Assert.assertEquals("All messages not received", numMessages, totalMessagesReceived);
+
+        receivedMessages = receiver.receiveBatch(numMessages, SHORT_WAIT_TIME);
+        Assert.assertNull("Messages received again", receivedMessages);
+    }
+
+    public static void testBasicReceiveBatchAndAbandonBatch(IMessageSender sender, String sessionId, IMessageReceiver receiver) throws InterruptedException, ServiceBusException, ExecutionException {
+        int numMessages = 10;
+        sendMessages(sender, sessionId, numMessages);
+
+        Map<String, Long> deliveryCounts = new HashMap<>();
+        Collection<IMessage> receivedMessages = receiveMessages(receiver, numMessages);
+        for (IMessage receivedMessage : receivedMessages) {
+            deliveryCounts.put(receivedMessage.getMessageId(), receivedMessage.getDeliveryCount());
+        }
+        receiver.abandonBatch(receivedMessages);
+
+        receivedMessages = receiveMessages(receiver, numMessages);
+        for (IMessage receivedMessage : receivedMessages) {
+            Assert.assertEquals("DeliveryCount not incremented", deliveryCounts.get(receivedMessage.getMessageId()) + 1, receivedMessage.getDeliveryCount());
+        }
+        receiver.completeBatch(receivedMessages);
+    }
+
+    public static void testBasicReceiveBatchAndDeadLetterBatch(IMessageSender sender, String sessionId, IMessageReceiver receiver) throws InterruptedException, ServiceBusException, ExecutionException {
+        int numMessages = 10;
+        sendMessages(sender, sessionId, numMessages);
+
+        receiver.deadLetterBatch(receiveMessages(receiver, numMessages));
+        Collection<IMessage> receivedMessages = receiver.receiveBatch(numMessages, SHORT_WAIT_TIME);
+        Assert.assertNull("Messages were not properly deadlettered", receivedMessages);
+    }
+
+    private static void sendMessages(IMessageSender sender, String sessionId, int numMessages) throws InterruptedException, ServiceBusException {
+        List<Message> messages = new ArrayList<Message>();
+        for (int i = 0; i < numMessages; i++) {
+            Message message = new Message("AMQP message");
+            message.setMessageId(UUID.randomUUID().toString());
+            if (sessionId != null) {
+                message.setSessionId(sessionId);
+            }
+            messages.add(message);
+        }
+        sender.sendBatch(messages);
+    }
+
+    private static Collection<IMessage> receiveMessages(IMessageReceiver receiver, int numMessages) throws InterruptedException, ServiceBusException {
+        List<IMessage> messages = new ArrayList<IMessage>();
+        while (messages.size() < numMessages) {
+            Collection<IMessage> receivedMessages = receiver.receiveBatch(numMessages - messages.size());
+            Assert.assertNotNull("Messages not received", receivedMessages);
+            messages.addAll(receivedMessages);
+        }
+        return messages;
+    }
+
     public static void testSendSceduledMessageAndReceive(IMessageSender sender, String sessionId, IMessageReceiver receiver) throws InterruptedException, ServiceBusException {
         int secondsToWaitBeforeScheduling = 30;
         String msgId1 = UUID.randomUUID().toString();
@@ -0,0 +1,95 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.microsoft.azure.servicebus.primitives;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DispositionBatcherTests {
+    private ExecutorService executor;
+    private TimingWheel timingWheel;
+    private BlockingQueue<List<Integer>> dispatched;
+    private DispositionBatcher<Integer> batcher;
+
+    @Before
+    public void setup() {
+        this.executor = Executors.newCachedThreadPool();
+        this.timingWheel = new TimingWheel(Duration.ofMillis(10), 16, this.executor);
+        this.dispatched = new LinkedBlockingQueue<>();
+        this.batcher = new DispositionBatcher<>(this.timingWheel, 3, this.dispatched::add);
+    }
+
+    @After
+    public void cleanup() {
+        this.executor.shutdownNow();
+    }
+
+    @Test
+    public void testDispositionsAreQueuedWithinTheWindow() {
+        this.batcher.add(Collections.singletonList(1), Duration.ofSeconds(30));
+        this.batcher.add(Collections.singletonList(2), Duration.ofSeconds(30));
+        Assert.assertTrue("Dispositions dispatched before the window closed", this.dispatched.isEmpty());
+        Assert.assertEquals(2, this.batcher.getPendingCount());
+        Assert.assertEquals("More than one flush scheduled", 1, this.timingWheel.getPendingCount());
+    }
+
+    @Test
+    public void testQueuedDispositionsAreFlushedWhenTheWindowCloses() throws InterruptedException {
+        long start = System.nanoTime();
+        this.batcher.add(Collections.singletonList(1), Duration.ofMillis(100));
+        this.batcher.add(Collections.singletonList(2), Duration.ofMillis(100));
+        List<Integer> batch = this.dispatched.poll(5, TimeUnit.SECONDS);
+        Assert.assertNotNull("Dispositions not flushed when the window closed", batch);
+        Assert.assertTrue("Dispositions flushed too early", System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(90));
+        Assert.assertEquals(Arrays.asList(1, 2), batch);
+        Assert.assertEquals(0, this.batcher.getPendingCount());
+
+        // The next disposition opens a new window
+        this.batcher.add(Collections.singletonList(3), Duration.ofMillis(50));
+        Assert.assertEquals(Collections.singletonList(3), this.dispatched.poll(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testFullBatchIsFlushedRightAway() {
+        this.batcher.add(Collections.singletonList(1), Duration.ofSeconds(30));
+        this.batcher.add(Arrays.asList(2, 3), Duration.ofSeconds(30));
+        Assert.assertEquals(Collections.singletonList(Arrays.asList(1, 2, 3)), Arrays.asList(this.dispatched.toArray()));
+        Assert.assertEquals(0, this.batcher.getPendingCount());
+    }
+
+    @Test
+    public void testFlushSplitsBatchesLargerThanTheMaximum() {
+        this.batcher.add(Arrays.asList(1, 2, 3, 4, 5, 6, 7), Duration.ofSeconds(30));
+        Assert.assertEquals(Arrays.asList(Arrays.asList(1, 2, 3), Arrays.asList(4, 5, 6), Collections.singletonList(7)), Arrays.asList(this.dispatched.toArray()));
+    }
+
+    @Test
+    public void testFlushDispatchesQueuedDispositions() {
+        // As when the link is closed before the window closes
+        this.batcher.add(Arrays.asList(1, 2), Duration.ofSeconds(30));
+        this.batcher.flush();
+        Assert.assertEquals(Collections.singletonList(Arrays.asList(1, 2)), Arrays.asList(this.dispatched.toArray()));
+        Assert.assertEquals(0, this.batcher.getPendingCount());
+
+        this.batcher.flush();
+        Assert.assertEquals("Nothing queued, nothing to dispatch", 1, this.dispatched.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMaximumBatchSizeMustBePositive() {
+        new DispositionBatcher<Integer>(this.timingWheel, 0, this.dispatched::add);
+    }
+}
@@ -0,0 +1,100 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.microsoft.azure.servicebus.primitives;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class InternalExecutorServiceTests {
+    private InternalExecutorService executor = new InternalExecutorService();
+
+    @After
+    public void cleanup() {
+        this.executor.shutdownNow();
+    }
+
+    @Test
+    public void testWorkStealingPoolIsBounded() throws InterruptedException {
+        Assert.assertTrue(this.executor.configure(ExecutionModel.createWorkStealingPool(2)));
+        int taskCount = 200;
+        CountDownLatch latch = new CountDownLatch(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            this.executor.execute(() -> {
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                latch.countDown();
+            });
+        }
+
+        Assert.assertTrue("Not all tasks ran", latch.await(30, TimeUnit.SECONDS));
+        ExecutionMetrics metrics = this.executor.getMetrics(0);
+        Assert.assertTrue("Pool grew beyond its parallelism", metrics.getPeakPoolThreadCount() <= 2);
+        Assert.assertEquals(ExecutionModel.createWorkStealingPool(2), metrics.getExecutionModel());
+    }
+
+    @Test
+    public void testMetricsCountTasks() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        this.executor.execute(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+        ExecutionMetrics metrics = this.executor.getMetrics(0);
+        Assert.assertEquals("Executor not created with the default execution model", ExecutionModel.getDefault(), metrics.getExecutionModel());
+        Assert.assertEquals(1, metrics.getActiveTaskCount());
+        Assert.assertEquals(0, metrics.getQueuedTaskCount());
+
+        release.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (this.executor.getMetrics(0).getCompletedTaskCount() < 1 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        metrics = this.executor.getMetrics(0);
+        Assert.assertEquals(1, metrics.getCompletedTaskCount());
+        Assert.assertEquals(0, metrics.getActiveTaskCount());
+    }
+
+    @Test
+    public void testFirstExecutionModelWins() {
+        Assert.assertTrue(this.executor.configure(ExecutionModel.createWorkStealingPool(4)));
+        Assert.assertTrue(this.executor.configure(ExecutionModel.createWorkStealingPool(4)));
+        Assert.assertFalse(this.executor.configure(ExecutionModel.getCachedThreadPool()));
+        Assert.assertEquals(ExecutionModel.createWorkStealingPool(4), this.executor.getMetrics(0).getExecutionModel());
+    }
+
+    @Test
+    public void testVirtualThreadsRunTasks() throws InterruptedException {
+        Assert.assertTrue(this.executor.configure(ExecutionModel.createVirtualThreads(2)));
+        CountDownLatch latch = new CountDownLatch(10);
+        for (int i = 0; i < 10; i++) {
+            this.executor.execute(latch::countDown);
+        }
+
+        Assert.assertTrue("Not all tasks ran", latch.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testInvalidParallelism() {
+        try {
+            ExecutionModel.createWorkStealingPool(0);
+            Assert.fail("Zero parallelism accepted");
+        } catch (IllegalArgumentException e) {
+            // Expected
+        }
+    }
+}
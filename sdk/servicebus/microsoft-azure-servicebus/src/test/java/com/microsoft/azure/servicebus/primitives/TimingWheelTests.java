@@ -0,0 +1,92 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.microsoft.azure.servicebus.primitives;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TimingWheelTests {
+    private ExecutorService executor;
+    private TimingWheel timingWheel;
+
+    @Before
+    public void setup() {
+        this.executor = Executors.newCachedThreadPool();
+        this.timingWheel = new TimingWheel(Duration.ofMillis(10), 16, this.executor);
+    }
+
+    @After
+    public void cleanup() {
+        this.executor.shutdownNow();
+    }
+
+    @Test
+    public void testScheduledTaskRunsAfterDelay() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        long start = System.nanoTime();
+        this.timingWheel.schedule(latch::countDown, Duration.ofMillis(100));
+        Assert.assertTrue("Scheduled task didn't run", latch.await(5, TimeUnit.SECONDS));
+        Assert.assertTrue("Scheduled task ran too early", System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(90));
+        Assert.assertEquals(0, this.timingWheel.getPendingCount());
+    }
+
+    @Test
+    public void testDelayLongerThanOneTurnOfTheWheel() throws InterruptedException {
+        // 16 buckets of 10 milliseconds is a 160 millisecond turn
+        CountDownLatch latch = new CountDownLatch(1);
+        long start = System.nanoTime();
+        this.timingWheel.schedule(latch::countDown, Duration.ofMillis(400));
+        Assert.assertTrue("Scheduled task didn't run", latch.await(5, TimeUnit.SECONDS));
+        Assert.assertTrue("Scheduled task ran too early", System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(390));
+    }
+
+    @Test
+    public void testCancelledTaskDoesNotRun() throws InterruptedException {
+        AtomicBoolean ran = new AtomicBoolean();
+        TimingWheel.Timeout timeout = this.timingWheel.schedule(() -> ran.set(true), Duration.ofMillis(50));
+        Assert.assertEquals(1, this.timingWheel.getPendingCount());
+        Assert.assertTrue(timeout.cancel());
+        Assert.assertFalse("Cancelled twice", timeout.cancel());
+        Assert.assertTrue(timeout.isCancelled());
+        Assert.assertEquals(0, this.timingWheel.getPendingCount());
+
+        CountDownLatch latch = new CountDownLatch(1);
+        this.timingWheel.schedule(latch::countDown, Duration.ofMillis(100));
+        Assert.assertTrue("Scheduled task didn't run", latch.await(5, TimeUnit.SECONDS));
+        Assert.assertFalse("Cancelled task ran", ran.get());
+    }
+
+    @Test
+    public void testTaskScheduledAfterWheelIsIdleRuns() throws InterruptedException {
+        CountDownLatch first = new CountDownLatch(1);
+        this.timingWheel.schedule(first::countDown, Duration.ofMillis(10));
+        Assert.assertTrue(first.await(5, TimeUnit.SECONDS));
+        // Let the wheel park with nothing pending
+        Thread.sleep(100);
+
+        CountDownLatch second = new CountDownLatch(1);
+        this.timingWheel.schedule(second::countDown, Duration.ofMillis(10));
+        Assert.assertTrue("Task scheduled on an idle wheel didn't run", second.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testManyTasksAllRun() throws InterruptedException {
+        int count = 1000;
+        CountDownLatch latch = new CountDownLatch(count);
+        for (int i = 0; i < count; i++) {
+            this.timingWheel.schedule(latch::countDown, Duration.ofMillis(i % 300));
+        }
+        Assert.assertTrue("Not all scheduled tasks ran", latch.await(10, TimeUnit.SECONDS));
+        Assert.assertEquals(0, this.timingWheel.getPendingCount());
+    }
+}
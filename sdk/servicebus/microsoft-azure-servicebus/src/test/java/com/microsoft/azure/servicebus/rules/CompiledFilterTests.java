@@ -0,0 +1,154 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.microsoft.azure.servicebus.rules;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.microsoft.azure.servicebus.IMessage;
+import com.microsoft.azure.servicebus.Message;
+
+public class CompiledFilterTests {
+    private static IMessage createMessage() {
+        IMessage message = new Message("id1", "body", "application/json");
+        message.setLabel("red");
+        message.setCorrelationId("order_17");
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("color", "blue");
+        properties.put("quantity", 10);
+        properties.put("price", 2.5);
+        properties.put("priority", true);
+        properties.put("my prop", "spaced");
+        properties.put("nothing", null);
+        message.setProperties(properties);
+        return message;
+    }
+
+    private static boolean matches(String sqlExpression) {
+        return CompiledFilter.compile(new SqlFilter(sqlExpression)).matches(createMessage());
+    }
+
+    @Test
+    public void testComparisons() {
+        Assert.assertTrue(matches("color = 'blue'"));
+        Assert.assertTrue(matches("user.color = 'blue'"));
+        Assert.assertTrue(matches("sys.Label = 'red' AND sys.label <> 'blue'"));
+        Assert.assertTrue(matches("quantity > 9 AND quantity <= 10 AND quantity != 11"));
+        Assert.assertTrue(matches("price < 3 AND price >= 2.5"));
+        Assert.assertTrue(matches("quantity * price = 25"));
+        Assert.assertTrue(matches("(quantity + 2) % 5 = 2"));
+        Assert.assertTrue(matches("-quantity = -10"));
+        Assert.assertTrue(matches("priority = TRUE"));
+        Assert.assertTrue(matches("[my prop] = 'spaced' AND user.[my prop] = 'spaced'"));
+        Assert.assertTrue(matches("sys.ContentType = 'application/json' AND sys.MessageId = 'id1'"));
+        Assert.assertFalse(matches("color = 'BLUE'"));
+        Assert.assertFalse(matches("quantity = '10'"));
+    }
+
+    @Test
+    public void testNullsAreNeitherTrueNorFalse() {
+        Assert.assertFalse(matches("missing = 1"));
+        Assert.assertFalse(matches("NOT (missing = 1)"));
+        Assert.assertFalse(matches("nothing <> 'x'"));
+        Assert.assertTrue(matches("missing = 1 OR color = 'blue'"));
+        Assert.assertFalse(matches("missing = 1 AND color = 'blue'"));
+        Assert.assertTrue(matches("missing IS NULL AND nothing IS NULL AND color IS NOT NULL"));
+        Assert.assertTrue(matches("sys.ReplyTo IS NULL"));
+        Assert.assertFalse(matches("quantity / 0 = 1"));
+    }
+
+    @Test
+    public void testExists() {
+        Assert.assertTrue(matches("EXISTS(color)"));
+        Assert.assertTrue(matches("EXISTS(nothing)"));
+        Assert.assertTrue(matches("NOT EXISTS(missing)"));
+        Assert.assertTrue(matches("EXISTS(sys.Label) AND NOT EXISTS(sys.To)"));
+    }
+
+    @Test
+    public void testLike() {
+        Assert.assertTrue(matches("color LIKE 'blue'"));
+        Assert.assertTrue(matches("color LIKE 'bl%'"));
+        Assert.assertTrue(matches("color LIKE '%ue'"));
+        Assert.assertTrue(matches("color LIKE '%lu%'"));
+        Assert.assertTrue(matches("color LIKE 'b_u%e'"));
+        Assert.assertTrue(matches("color NOT LIKE 'r%'"));
+        Assert.assertTrue(matches("sys.CorrelationId LIKE 'order!_%' ESCAPE '!'"));
+        Assert.assertFalse(matches("sys.CorrelationId LIKE 'order!%%' ESCAPE '!'"));
+        Assert.assertFalse(matches("color LIKE 'b_e'"));
+        Assert.assertFalse(matches("quantity LIKE '1%'"));
+    }
+
+    @Test
+    public void testIn() {
+        Assert.assertTrue(matches("color IN ('red', 'blue')"));
+        Assert.assertTrue(matches("color NOT IN ('red', 'green')"));
+        Assert.assertTrue(matches("quantity IN (1, 5 * 2, 2.5)"));
+        Assert.assertFalse(matches("quantity IN (1, 2)"));
+        Assert.assertFalse(matches("quantity NOT IN (1, NULL)"));
+    }
+
+    @Test
+    public void testConstantFilters() {
+        IMessage message = createMessage();
+        Assert.assertTrue(CompiledFilter.compile(TrueFilter.DEFAULT).matches(message));
+        Assert.assertFalse(CompiledFilter.compile(FalseFilter.DEFAULT).matches(message));
+        Assert.assertTrue(CompiledFilter.compile(new SqlFilter("'a' + 'b' = 'ab'")).matches(message));
+    }
+
+    @Test
+    public void testSyntaxErrors() {
+        String[] invalidExpressions = {"", "color =", "color = 'blue", "color == 1", "sys.Unknown = 1", "foo.bar = 1", "color NOT = 1",
+            "color IN (quantity)", "color LIKE 'a' ESCAPE 'ab'", "(color = 'blue'", "color = 'blue' quantity"};
+        for (String expression : invalidExpressions) {
+            try {
+                CompiledFilter.compile(new SqlFilter(expression));
+                Assert.fail("Invalid expression compiled: " + expression);
+            } catch (IllegalArgumentException e) {
+                // Expected
+            }
+        }
+    }
+
+    @Test
+    public void testCorrelationFilter() {
+        CorrelationFilter filter = new CorrelationFilter();
+        filter.setCorrelationId("order_17");
+        filter.setLabel("red");
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("color", "blue");
+        properties.put("quantity", 10L);
+        filter.setProperties(properties);
+        Assert.assertTrue(CompiledFilter.compile(filter).matches(createMessage()));
+
+        properties.put("color", "red");
+        Assert.assertFalse(CompiledFilter.compile(filter).matches(createMessage()));
+
+        CorrelationFilter labelFilter = new CorrelationFilter();
+        labelFilter.setLabel("blue");
+        Assert.assertFalse(CompiledFilter.compile(labelFilter).matches(createMessage()));
+    }
+
+    @Test
+    public void testRuleAction() {
+        IMessage message = createMessage();
+        CompiledRuleAction action = CompiledRuleAction.compile(
+            new SqlRuleAction("SET sys.Label = color + '-' + sys.Label; SET total = quantity * price; REMOVE color SET user.routed = TRUE"));
+        action.apply(message);
+        Assert.assertEquals("blue-red", message.getLabel());
+        Assert.assertEquals(25.0, message.getProperties().get("total"));
+        Assert.assertFalse(message.getProperties().containsKey("color"));
+        Assert.assertEquals(Boolean.TRUE, message.getProperties().get("routed"));
+
+        try {
+            CompiledRuleAction.compile(new SqlRuleAction("SET sys.SequenceNumber = 1"));
+            Assert.fail("Read-only system property set");
+        } catch (IllegalArgumentException e) {
+            // Expected
+        }
+    }
+}
@@ -23,6 +23,7 @@ import com.azure.storage.blob.models.DeleteSnapshotsOptionType;
 import com.azure.storage.blob.models.LeaseAccessConditions;
 import com.azure.storage.blob.models.Metadata;
 import com.azure.storage.blob.models.ModifiedAccessConditions;
+import com.azure.storage.blob.models.ParallelTransferOptions;
 import com.azure.storage.blob.models.ReliableDownloadOptions;
 import com.azure.storage.blob.models.SourceModifiedAccessConditions;
 import com.azure.storage.blob.models.StorageAccountInfo;
@@ -35,7 +36,6 @@ import com.azure.storage.common.Utility;
 import com.azure.storage.common.credentials.SharedKeyCredential;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 
 import java.io.IOException;
 import java.io.OutputStream;
@@ -47,7 +47,6 @@ import java.nio.channels.AsynchronousFileChannel;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
 import java.time.OffsetDateTime;
-import java.util.ArrayList;
 import java.util.List;
 
 import static com.azure.storage.blob.PostProcessor.postProcessResponse;
@@ -79,7 +78,6 @@ import static com.azure.core.implementation.util.FluxUtil.withContext;
  * responses to a {@link java.util.concurrent.CompletableFuture} object through {@link Mono#toFuture()}.
  */
 public class BlobAsyncClient {
-    private static final int BLOB_DEFAULT_DOWNLOAD_BLOCK_SIZE = 4 * Constants.MB;
     private static final int BLOB_MAX_DOWNLOAD_BLOCK_SIZE = 100 * Constants.MB;
 
     private final ClientLogger logger = new ClientLogger(BlobAsyncClient.class);
@@ -490,7 +488,7 @@ public class BlobAsyncClient {
      * @return An empty response
      */
     public Mono<Void> downloadToFile(String filePath) {
-        return downloadToFile(filePath, null, BLOB_DEFAULT_DOWNLOAD_BLOCK_SIZE, null, null, false);
+        return downloadToFile(filePath, null, null, null, null, false);
     }
 
     /**
@@ -503,40 +501,38 @@ public class BlobAsyncClient {
      *
      * <p><strong>Code Samples</strong></p>
      *
-     * {@codesnippet com.azure.storage.blob.BlobAsyncClient.downloadToFile#String-BlobRange-Integer-ReliableDownloadOptions-BlobAccessConditions-boolean}
+     * {@codesnippet com.azure.storage.blob.BlobAsyncClient.downloadToFile#String-BlobRange-ParallelTransferOptions-ReliableDownloadOptions-BlobAccessConditions-boolean}
      *
      * <p>For more information, see the
      * <a href="https://docs.microsoft.com/en-us/rest/api/storageservices/get-blob">Azure Docs</a></p>
      *
      * @param filePath A non-null {@link OutputStream} instance where the downloaded data will be written.
      * @param range {@link BlobRange}
-     * @param blockSize the size of a chunk to download at a time, in bytes
+     * @param parallelTransferOptions {@link ParallelTransferOptions} to configure the size of the chunks downloaded at a
+     *         time, the number of chunks downloaded at once, and the number of bytes of the chunks in flight
      * @param options {@link ReliableDownloadOptions}
      * @param accessConditions {@link BlobAccessConditions}
      * @param rangeGetContentMD5 Whether the contentMD5 for the specified blob range should be returned.
      * @return An empty response
-     * @throws IllegalArgumentException If {@code blockSize} is less than 0 or greater than 100MB.
      * @throws UncheckedIOException If an I/O error occurs.
      */
-    public Mono<Void> downloadToFile(String filePath, BlobRange range, Integer blockSize, ReliableDownloadOptions options,
-                                     BlobAccessConditions accessConditions, boolean rangeGetContentMD5) {
-        return withContext(context -> downloadToFile(filePath, range, blockSize, options, accessConditions, rangeGetContentMD5, context));
+    public Mono<Void> downloadToFile(String filePath, BlobRange range, ParallelTransferOptions parallelTransferOptions,
+                                     ReliableDownloadOptions options, BlobAccessConditions accessConditions, boolean rangeGetContentMD5) {
+        return withContext(context -> downloadToFile(filePath, range, parallelTransferOptions, options, accessConditions, rangeGetContentMD5, context));
     }
 
-    Mono<Void> downloadToFile(String filePath, BlobRange range, Integer blockSize, ReliableDownloadOptions options,
-                              BlobAccessConditions accessConditions, boolean rangeGetContentMD5, Context context) {
-        if (blockSize < 0 || blockSize > BLOB_MAX_DOWNLOAD_BLOCK_SIZE) {
-            throw logger.logExceptionAsError(new IllegalArgumentException("Block size should not exceed 100MB"));
-        }
+    Mono<Void> downloadToFile(String filePath, BlobRange range, ParallelTransferOptions parallelTransferOptions,
+                              ReliableDownloadOptions options, BlobAccessConditions accessConditions, boolean rangeGetContentMD5, Context context) {
+        final BlobTransferEngine engine = new BlobTransferEngine(parallelTransferOptions);
 
         return Mono.using(() -> downloadToFileResourceSupplier(filePath),
-            channel -> Mono.justOrEmpty(range)
-                .switchIfEmpty(getFullBlobRange(accessConditions))
-                .flatMapMany(rg -> Flux.fromIterable(sliceBlobRange(rg, blockSize)))
-                .flatMap(chunk -> this.download(chunk, accessConditions, rangeGetContentMD5, context)
-                    .subscribeOn(Schedulers.elastic())
-                    .flatMap(dar -> FluxUtil.writeFile(dar.body(options), channel, chunk.offset() - (range == null ? 0 : range.offset()))))
-                .then(), this::downloadToFileCleanup);
+            channel -> getDownloadRange(range, accessConditions)
+                .flatMap(rg -> {
+                    int blockSize = engine.blockSize(rg.count(), BLOB_MAX_DOWNLOAD_BLOCK_SIZE, Integer.MAX_VALUE);
+                    return engine.run(engine.slice(rg.offset(), rg.count(), blockSize), blockSize,
+                        chunk -> this.download(new BlobRange(chunk.offset(), chunk.count()), accessConditions, rangeGetContentMD5, context)
+                            .flatMap(dar -> FluxUtil.writeFile(dar.body(options), channel, chunk.offset() - rg.offset())));
+                }), this::downloadToFileCleanup);
     }
 
     private AsynchronousFileChannel downloadToFileResourceSupplier(String filePath) {
@@ -555,25 +551,17 @@ public class BlobAsyncClient {
         }
     }
 
-    private Mono<BlobRange> getFullBlobRange(BlobAccessConditions accessConditions) {
-        return getPropertiesWithResponse(accessConditions).map(rb -> new BlobRange(0, rb.value().blobSize()));
-    }
-
-    private List<BlobRange> sliceBlobRange(BlobRange blobRange, Integer blockSize) {
-        if (blockSize == null) {
-            blockSize = BLOB_DEFAULT_DOWNLOAD_BLOCK_SIZE;
-        }
-        long offset = blobRange.offset();
-        long length = blobRange.count();
-        List<BlobRange> chunks = new ArrayList<>();
-        for (long pos = offset; pos < offset + length; pos += blockSize) {
-            long count = blockSize;
-            if (pos + count > offset + length) {
-                count = offset + length - pos;
-            }
-            chunks.add(new BlobRange(pos, count));
+    /*
+    Gets the length of the blob when the range to download doesn't say how many bytes to download.
+     */
+    private Mono<BlobRange> getDownloadRange(BlobRange range, BlobAccessConditions accessConditions) {
+        if (range != null && range.count() != null) {
+            return Mono.just(range);
         }
-        return chunks;
+
+        long offset = range == null ? 0 : range.offset();
+        return getPropertiesWithResponse(accessConditions)
+            .map(rb -> new BlobRange(offset, Math.max(0, rb.value().blobSize() - offset)));
     }
 
     /**
@@ -2,26 +2,25 @@
 // Licensed under the MIT License.
 package com.azure.storage.blob;
 
+import com.azure.core.implementation.util.FluxUtil;
 import com.azure.storage.blob.models.AppendBlobAccessConditions;
 import com.azure.storage.blob.models.AppendPositionAccessConditions;
 import com.azure.storage.blob.models.BlobAccessConditions;
-import com.azure.storage.blob.models.LeaseAccessConditions;
 import com.azure.storage.blob.models.PageBlobAccessConditions;
 import com.azure.storage.blob.models.PageRange;
+import com.azure.storage.blob.models.ParallelTransferOptions;
 import com.azure.storage.blob.models.StorageException;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
 import reactor.core.scheduler.Schedulers;
 import reactor.util.annotation.NonNull;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
-import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
-import java.util.Base64;
-import java.util.List;
-import java.util.UUID;
 
 public abstract class BlobOutputStream extends OutputStream {
     /*
@@ -47,9 +46,12 @@ public abstract class BlobOutputStream extends OutputStream {
         return new PageBlobOutputStream(client, length, accessConditions);
     }
 
-    abstract Mono<Void> dispatchWrite(byte[] data, int writeLength, long offset);
-
-    abstract void commit();
+    /**
+     * Commits the blob once all the data is written.
+     *
+     * @throws IOException If the data could not be written.
+     */
+    abstract void commit() throws IOException;
 
     /**
      * Writes the data to the buffer and triggers writes to the service as needed.
@@ -60,31 +62,7 @@ public abstract class BlobOutputStream extends OutputStream {
      * @throws IOException If an I/O error occurs. In particular, an IOException may be thrown if the output stream has
      * been closed.
      */
-    private void writeInternal(final byte[] data, int offset, int length) {
-        int chunks = (int) (Math.ceil((double) length / (double) this.writeThreshold));
-        Flux.range(0, chunks).map(c -> offset + c * this.writeThreshold)
-            .concatMap(pos -> processChunk(data, pos, offset, length))
-            .then()
-            .block();
-    }
-
-    private Mono<Void> processChunk(byte[] data, int position, int offset, int length) {
-        int chunkLength = this.writeThreshold;
-
-        if (position + chunkLength > offset + length) {
-            chunkLength = offset + length - position;
-        }
-
-        // Flux<ByteBuffer> chunkData = new ByteBufferStreamFromByteArray(data, writeThreshold, position, chunkLength);
-        return dispatchWrite(data, chunkLength, position - offset)
-            .doOnError(t -> {
-                if (t instanceof IOException) {
-                    lastError = (IOException) t;
-                } else {
-                    lastError = new IOException(t);
-                }
-            });
-    }
+    abstract void writeInternal(byte[] data, int offset, int length) throws IOException;
 
     /**
      * Helper function to check if the stream is faulted, if it is it surfaces the exception.
@@ -92,7 +70,7 @@ public abstract class BlobOutputStream extends OutputStream {
      * @throws IOException If an I/O error occurs. In particular, an IOException may be thrown if the output stream has
      * been closed.
      */
-    private void checkStreamState() throws IOException {
+    void checkStreamState() throws IOException {
         if (this.lastError != null) {
             throw this.lastError;
         }
@@ -186,7 +164,41 @@ public abstract class BlobOutputStream extends OutputStream {
         }
     }
 
-    private static final class AppendBlobOutputStream extends BlobOutputStream {
+    /*
+     * Writes each chunk of the write threshold with dispatchWrite, one after the other.
+     */
+    private abstract static class ChunkedBlobOutputStream extends BlobOutputStream {
+        abstract Mono<Void> dispatchWrite(byte[] data, int writeLength, long offset);
+
+        @Override
+        void writeInternal(final byte[] data, int offset, int length) throws IOException {
+            int chunks = (int) (Math.ceil((double) length / (double) this.writeThreshold));
+            Flux.range(0, chunks).map(c -> offset + c * this.writeThreshold)
+                .concatMap(pos -> processChunk(data, pos, offset, length))
+                .then()
+                .block();
+        }
+
+        private Mono<Void> processChunk(byte[] data, int position, int offset, int length) {
+            int chunkLength = this.writeThreshold;
+
+            if (position + chunkLength > offset + length) {
+                chunkLength = offset + length - position;
+            }
+
+            // Flux<ByteBuffer> chunkData = new ByteBufferStreamFromByteArray(data, writeThreshold, position, chunkLength);
+            return dispatchWrite(data, chunkLength, position - offset)
+                .doOnError(t -> {
+                    if (t instanceof IOException) {
+                        lastError = (IOException) t;
+                    } else {
+                        lastError = new IOException(t);
+                    }
+                });
+        }
+    }
+
+    private static final class AppendBlobOutputStream extends ChunkedBlobOutputStream {
         private final AppendBlobAccessConditions appendBlobAccessConditions;
         private final AppendPositionAccessConditions appendPositionAccessConditions;
         private final long initialBlobOffset;
@@ -250,66 +262,125 @@ public abstract class BlobOutputStream extends OutputStream {
         }
     }
 
+    /*
+     * Hands the written data to BlockBlobAsyncClient.uploadWithResponse, which stages the blocks in the background while
+     * more data is written. A write only waits when the upload has no room for more data, and errors of the upload are
+     * thrown by the next write, flush or close.
+     */
     private static final class BlockBlobOutputStream extends BlobOutputStream {
-        private final BlobAccessConditions accessConditions;
-        private final String blockIdPrefix;
-        private final List<String> blockList;
-        private final BlockBlobAsyncClient client;
+        private final Object lock = new Object();
+        private final MonoProcessor<Void> upload;
+        // Only used by the writing thread
+        private final UploadBufferPool pool;
+        private FluxSink<ByteBuffer> sink;
+        // Guarded by lock
+        private long requested;
+        private boolean terminated;
 
         private BlockBlobOutputStream(final BlockBlobAsyncClient client, final BlobAccessConditions accessConditions) {
-            this.client = client;
-            this.accessConditions = accessConditions;
-            this.blockIdPrefix = UUID.randomUUID().toString() + '-';
-            this.blockList = new ArrayList<>();
             this.writeThreshold = BlockBlobAsyncClient.BLOB_DEFAULT_UPLOAD_BLOCK_SIZE;
+
+            BlobTransferEngine engine = new BlobTransferEngine(
+                new ParallelTransferOptions().blockSize(this.writeThreshold));
+            // The blocks in flight, the filled buffer waiting to be requested and the buffer being filled
+            this.pool = new UploadBufferPool(engine.concurrency(this.writeThreshold) + 2, this.writeThreshold);
+
+            Flux<ByteBuffer> buffers = Flux.create(sink -> {
+                this.sink = sink;
+                sink.onDispose(this::terminate);
+                sink.onRequest(this::request);
+            });
+
+            this.upload = FluxUtil.withContext(context -> client.uploadBuffersWithResponse(buffers, this.pool, engine,
+                null, null, accessConditions, context))
+                .doOnError(e -> this.lastError = e instanceof IOException ? (IOException) e : new IOException(e))
+                .then()
+                .toProcessor();
+        }
+
+        private void request(long n) {
+            synchronized (lock) {
+                requested = requested + n < 0 ? Long.MAX_VALUE : requested + n;
+                lock.notifyAll();
+            }
+        }
+
+        private void terminate() {
+            synchronized (lock) {
+                terminated = true;
+                lock.notifyAll();
+            }
         }
 
         /**
-         * Generates a new block ID to be used for PutBlock.
+         * Waits until the upload requests more data.
          *
-         * @return Base64 encoded block ID
+         * @throws IOException If the upload failed or the thread is interrupted.
          */
-        private String getCurrentBlockId() {
-            String blockIdSuffix = String.format("%06d", this.blockList.size());
-            return Base64.getEncoder().encodeToString((this.blockIdPrefix + blockIdSuffix).getBytes(StandardCharsets.UTF_8));
-        }
+        private void awaitRequest() throws IOException {
+            synchronized (lock) {
+                while (requested == 0 && !terminated) {
+                    try {
+                        lock.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new InterruptedIOException();
+                    }
+                }
 
-        private Mono<Void> writeBlock(Flux<ByteBuffer> blockData, String blockId, long writeLength) {
-            LeaseAccessConditions leaseAccessConditions = (accessConditions == null) ? null : accessConditions.leaseAccessConditions();
+                if (!terminated) {
+                    requested--;
+                    return;
+                }
+            }
 
-            return client.stageBlockWithResponse(blockId, blockData, writeLength, leaseAccessConditions)
-                .then()
-                .onErrorResume(t -> t instanceof StorageException, e -> {
-                    this.lastError = new IOException(e);
-                    return null;
-                });
+            // The upload stopped requesting data because it failed
+            try {
+                this.upload.block();
+            } catch (RuntimeException e) {
+                this.lastError = new IOException(e);
+            }
+            // A new exception, as close throws the last error again
+            throw this.lastError == null ? new IOException(SR.STREAM_CLOSED)
+                : new IOException(this.lastError.getMessage(), this.lastError);
         }
 
         @Override
-        Mono<Void> dispatchWrite(byte[] data, int writeLength, long offset) {
-            if (writeLength == 0) {
-                return Mono.empty();
-            }
-
-            final String blockID = this.getCurrentBlockId();
-            this.blockList.add(blockID);
-
-            Flux<ByteBuffer> fbb = Flux.range(0, 1)
-                .concatMap(pos -> Mono.fromCallable(() -> ByteBuffer.wrap(data, (int) offset, writeLength)));
+        void writeInternal(final byte[] data, int offset, int length) throws IOException {
+            this.checkStreamState();
 
-            return this.writeBlock(fbb.subscribeOn(Schedulers.elastic()), blockID, writeLength);
+            // The data is copied straight into the buffers of the pool, as the caller may reuse the array once write
+            // returns
+            for (int position = offset; position < offset + length; position += this.writeThreshold) {
+                ByteBuffer filled = this.pool.write(ByteBuffer.wrap(data, position,
+                    Math.min(this.writeThreshold, offset + length - position)));
+                if (filled != null) {
+                    this.awaitRequest();
+                    this.sink.next(filled);
+                }
+            }
         }
 
         /**
-         * Commits the blob, for block blob this uploads the block list.
+         * Commits the blob, for block blob this completes the upload, which stages the remaining data and uploads the
+         * block list.
+         *
+         * @throws IOException If the upload failed or the thread is interrupted.
          */
         @Override
-        synchronized void commit() {
-            client.commitBlockListWithResponse(this.blockList, null, null, this.accessConditions).block();
+        synchronized void commit() throws IOException {
+            ByteBuffer last = this.pool.flush();
+            if (last != null) {
+                this.awaitRequest();
+                this.sink.next(last);
+            }
+
+            this.sink.complete();
+            this.upload.block();
         }
     }
 
-    private static final class PageBlobOutputStream extends BlobOutputStream {
+    private static final class PageBlobOutputStream extends ChunkedBlobOutputStream {
         private final PageBlobAsyncClient client;
         private final PageBlobAccessConditions pageBlobAccessConditions;
 
@@ -0,0 +1,243 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.blob;
+
+import com.azure.core.util.logging.ClientLogger;
+import com.azure.storage.blob.models.ParallelTransferOptions;
+import com.azure.storage.blob.models.StorageException;
+import com.azure.storage.common.Constants;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Splits a transfer into blocks and runs them with bounded parallelism. The number of blocks in flight is capped both by
+ * {@link ParallelTransferOptions#maxConcurrency()} and by how many blocks fit in
+ * {@link ParallelTransferOptions#maxBufferedBytes()}, and each block is retried on its own, so a failure does not restart
+ * the blocks that already succeeded.
+ */
+final class BlobTransferEngine {
+    private static final long GB = 1024L * Constants.MB;
+    private static final int DEFAULT_BLOCK_SIZE = 4 * Constants.MB;
+
+    private final ClientLogger logger = new ClientLogger(BlobTransferEngine.class);
+    private final ParallelTransferOptions options;
+
+    BlobTransferEngine(ParallelTransferOptions options) {
+        this.options = options == null ? new ParallelTransferOptions() : options;
+    }
+
+    /**
+     * Chooses the block size for a transfer. The configured block size is used when set, otherwise the block size grows
+     * with the length of the data so large transfers take fewer, larger requests.
+     *
+     * @param length the number of bytes to transfer
+     * @param maxBlockSize the largest block the service accepts
+     * @param maxBlocks the largest number of blocks the transfer may be split into
+     * @return the block size
+     * @throws IllegalArgumentException If the data doesn't fit in {@code maxBlocks} blocks
+     */
+    int blockSize(long length, int maxBlockSize, int maxBlocks) {
+        long minBlockSize = (length + maxBlocks - 1) / maxBlocks;
+        if (options.blockSize() != null) {
+            if (options.blockSize() < minBlockSize) {
+                throw logger.logExceptionAsError(new IllegalArgumentException(String.format(Locale.ROOT,
+                    "Block size %d splits %d bytes into more than %d blocks.", options.blockSize(), length, maxBlocks)));
+            }
+
+            return options.blockSize();
+        }
+
+        long preferredBlockSize;
+        if (length <= GB) {
+            preferredBlockSize = DEFAULT_BLOCK_SIZE;
+        } else if (length <= 16 * GB) {
+            preferredBlockSize = 8 * Constants.MB;
+        } else if (length <= 128 * GB) {
+            preferredBlockSize = 16 * Constants.MB;
+        } else {
+            preferredBlockSize = 32 * Constants.MB;
+        }
+
+        // Round the smallest block size that fits up to whole megabytes
+        long requiredBlockSize = (minBlockSize + Constants.MB - 1) / Constants.MB * Constants.MB;
+        long blockSize = Math.min(Math.max(preferredBlockSize, requiredBlockSize), maxBlockSize);
+        if (blockSize < minBlockSize) {
+            throw logger.logExceptionAsError(new IllegalArgumentException(String.format(Locale.ROOT,
+                "%d bytes cannot be split into %d blocks of at most %d bytes.", length, maxBlocks, maxBlockSize)));
+        }
+
+        return (int) blockSize;
+    }
+
+    /**
+     * Chooses the block size for data of unknown length, which is the configured block size when set and otherwise the
+     * block size of the smallest transfers.
+     *
+     * @return the block size
+     */
+    int blockSize() {
+        return options.blockSize() == null ? DEFAULT_BLOCK_SIZE : options.blockSize();
+    }
+
+    /**
+     * Splits a range into blocks of the block size, the last block holding the remainder.
+     *
+     * @param offset the offset of the range
+     * @param length the length of the range
+     * @param blockSize the block size
+     * @return the blocks, in order
+     */
+    List<TransferBlock> slice(long offset, long length, int blockSize) {
+        List<TransferBlock> blocks = new ArrayList<>();
+        for (long position = offset; position < offset + length; position += blockSize) {
+            long count = Math.min(blockSize, offset + length - position);
+            blocks.add(new TransferBlock(blocks.size(), position, count));
+        }
+
+        return blocks;
+    }
+
+    /**
+     * Transfers the blocks in parallel, retrying each failed block up to
+     * {@link ParallelTransferOptions#maxRetriesPerBlock()} times.
+     *
+     * @param blocks the blocks to transfer
+     * @param blockSize the block size, used to bound the bytes in flight
+     * @param transfer the operation that transfers one block, subscribed again on each retry
+     * @return a reactive response signalling completion of all the blocks
+     */
+    Mono<Void> run(List<TransferBlock> blocks, int blockSize, Function<TransferBlock, Mono<?>> transfer) {
+        return run(Flux.fromIterable(blocks), blockSize, transfer, block -> { });
+    }
+
+    /**
+     * Transfers the blocks in parallel as they are emitted, retrying each failed block up to
+     * {@link ParallelTransferOptions#maxRetriesPerBlock()} times. Blocks are only requested from {@code blocks} as the
+     * blocks in flight complete, so no more than {@link #concurrency(int)} emitted blocks are held at once.
+     *
+     * @param blocks the blocks to transfer
+     * @param blockSize the block size, used to bound the bytes in flight
+     * @param transfer the operation that transfers one block, subscribed again on each retry
+     * @param release called when the transfer of a block, including its retries, ends and before another block is
+     *         requested
+     * @return a reactive response signalling completion of all the blocks
+     */
+    Mono<Void> run(Flux<TransferBlock> blocks, int blockSize, Function<TransferBlock, Mono<?>> transfer,
+                   Consumer<TransferBlock> release) {
+        return blocks
+            .flatMap(block -> transferWithRetries(block, transfer).doOnTerminate(() -> release.accept(block)),
+                concurrency(blockSize))
+            .then();
+    }
+
+    /**
+     * @param blockSize the block size
+     * @return the number of blocks transferred at once
+     */
+    int concurrency(int blockSize) {
+        long blocksInBuffer = options.maxBufferedBytes() / blockSize;
+        return (int) Math.max(1, Math.min(options.maxConcurrency(), blocksInBuffer));
+    }
+
+    private Mono<?> transferWithRetries(TransferBlock block, Function<TransferBlock, Mono<?>> transfer) {
+        return Mono.defer(() -> {
+            block.attempts++;
+            return transfer.apply(block);
+        }).retry(options.maxRetriesPerBlock(), error -> {
+            if (!isRetryable(error)) {
+                return false;
+            }
+
+            logger.warning("Transfer of block {} at offset {} failed on attempt {}, retrying. {}", block.index(),
+                block.offset(), block.attempts(), error.getMessage());
+            return true;
+        });
+    }
+
+    /*
+    Only transient errors of the service, of the connection, and of reading or writing the file are retried. Anything
+    else, like a bug, fails the same way again.
+     */
+    static boolean isRetryable(Throwable error) {
+        Throwable cause = Exceptions.unwrap(error);
+        if (cause instanceof StorageException) {
+            int statusCode = ((StorageException) cause).statusCode();
+            return statusCode >= 500 || statusCode == 408 || statusCode == 429;
+        }
+
+        // Connection errors, like a refused connection or a connection closed before the response, are IOExceptions
+        return cause instanceof IOException || cause instanceof UncheckedIOException
+            || cause instanceof TimeoutException;
+    }
+
+    /**
+     * A block of a transfer and the state of its attempts.
+     */
+    static final class TransferBlock {
+        private final int index;
+        private final long offset;
+        private final long count;
+        private String blockId;
+        private ByteBuffer data;
+        // Only updated by the retries of this block, which run one after the other
+        private int attempts;
+
+        TransferBlock(int index, long offset, long count) {
+            this.index = index;
+            this.offset = offset;
+            this.count = count;
+        }
+
+        int index() {
+            return index;
+        }
+
+        long offset() {
+            return offset;
+        }
+
+        long count() {
+            return count;
+        }
+
+        String blockId() {
+            return blockId;
+        }
+
+        TransferBlock blockId(String blockId) {
+            this.blockId = blockId;
+            return this;
+        }
+
+        /**
+         * @return the data of the block when it is buffered in memory, or null
+         */
+        ByteBuffer data() {
+            return data;
+        }
+
+        TransferBlock data(ByteBuffer data) {
+            this.data = data;
+            return this;
+        }
+
+        /**
+         * @return the number of times the transfer of this block was started
+         */
+        int attempts() {
+            return attempts;
+        }
+    }
+}
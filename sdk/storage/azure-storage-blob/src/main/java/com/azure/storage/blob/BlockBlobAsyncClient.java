@@ -9,6 +9,7 @@ import com.azure.core.http.rest.VoidResponse;
 import com.azure.core.implementation.util.FluxUtil;
 import com.azure.core.util.Context;
 import com.azure.core.util.logging.ClientLogger;
+import com.azure.storage.blob.BlobTransferEngine.TransferBlock;
 import com.azure.storage.blob.implementation.AzureBlobStorageImpl;
 import com.azure.storage.blob.models.BlobAccessConditions;
 import com.azure.storage.blob.models.BlobHTTPHeaders;
@@ -19,25 +20,29 @@ import com.azure.storage.blob.models.BlockListType;
 import com.azure.storage.blob.models.BlockLookupList;
 import com.azure.storage.blob.models.LeaseAccessConditions;
 import com.azure.storage.blob.models.Metadata;
+import com.azure.storage.blob.models.ParallelTransferOptions;
 import com.azure.storage.blob.models.SourceModifiedAccessConditions;
+import com.azure.storage.blob.models.StorageException;
 import com.azure.storage.common.Constants;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.io.File;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.net.URL;
 import java.nio.ByteBuffer;
-import java.nio.channels.AsynchronousFileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
-import java.util.SortedMap;
-import java.util.TreeMap;
+import java.util.Locale;
+import java.util.Map;
 import java.util.UUID;
 
 import static com.azure.core.implementation.util.FluxUtil.withContext;
@@ -156,6 +161,135 @@ public final class BlockBlobAsyncClient extends BlobAsyncClient {
             .map(rb -> new SimpleResponse<>(rb, new BlockBlobItem(rb.deserializedHeaders())));
     }
 
+    /**
+     * Creates a new block blob, or updates the content of an existing block blob, with data of unknown length.
+     * <p>
+     * Unlike {@link #upload(Flux, long)}, the data doesn't need to be replayable and its length doesn't need to be
+     * known. The data is copied into a pool of reusable buffers of the block size, each buffer is staged as a block as
+     * soon as it is filled while the next buffers are filled, and the blocks are committed once the data completes. The
+     * pool holds at most two buffers more than the number of blocks in flight.
+     * <p>
+     * The buffers emitted by the {@code Flux} are copied after they are emitted, so they must not be modified afterwards.
+     *
+     * @param data The data to write to the blob.
+     * @param parallelTransferOptions {@link ParallelTransferOptions} to configure the block size, the number of blocks
+     *         staged at once, and the number of bytes of the blocks in flight. The block size is 4MB when not set, so at
+     *         most {@link #MAX_BLOCKS} times the block size can be uploaded.
+     *
+     * @return A reactive response containing the information of the uploaded block blob.
+     */
+    public Mono<BlockBlobItem> upload(Flux<ByteBuffer> data, ParallelTransferOptions parallelTransferOptions) {
+        return uploadWithResponse(data, parallelTransferOptions, null, null, null).flatMap(FluxUtil::toMono);
+    }
+
+    /**
+     * Creates a new block blob, or updates the content of an existing block blob, with data of unknown length.
+     * <p>
+     * Unlike {@link #uploadWithResponse(Flux, long, BlobHTTPHeaders, Metadata, BlobAccessConditions)}, the data
+     * doesn't need to be replayable and its length doesn't need to be known. The data is copied into a pool of reusable
+     * buffers of the block size, each buffer is staged as a block as soon as it is filled while the next buffers are
+     * filled, and the blocks are committed once the data completes. The pool holds at most two buffers more than the
+     * number of blocks in flight.
+     * <p>
+     * The buffers emitted by the {@code Flux} are copied after they are emitted, so they must not be modified afterwards.
+     *
+     * @param data The data to write to the blob.
+     * @param parallelTransferOptions {@link ParallelTransferOptions} to configure the block size, the number of blocks
+     *         staged at once, and the number of bytes of the blocks in flight. The block size is 4MB when not set, so at
+     *         most {@link #MAX_BLOCKS} times the block size can be uploaded.
+     * @param headers {@link BlobHTTPHeaders}
+     * @param metadata {@link Metadata}
+     * @param accessConditions {@link BlobAccessConditions}
+     *
+     * @return A reactive response containing the information of the uploaded block blob.
+     */
+    public Mono<Response<BlockBlobItem>> uploadWithResponse(Flux<ByteBuffer> data,
+                                                            ParallelTransferOptions parallelTransferOptions,
+                                                            BlobHTTPHeaders headers, Metadata metadata,
+                                                            BlobAccessConditions accessConditions) {
+        return withContext(context -> uploadWithResponse(data, parallelTransferOptions, headers, metadata,
+            accessConditions, context));
+    }
+
+    Mono<Response<BlockBlobItem>> uploadWithResponse(Flux<ByteBuffer> data,
+                                                     ParallelTransferOptions parallelTransferOptions,
+                                                     BlobHTTPHeaders headers, Metadata metadata,
+                                                     BlobAccessConditions accessConditions, Context context) {
+        final BlobTransferEngine engine = new BlobTransferEngine(parallelTransferOptions);
+
+        return Mono.defer(() -> {
+            int blockSize = engine.blockSize();
+            UploadBufferPool pool = new UploadBufferPool(engine.concurrency(blockSize) + 2, blockSize);
+
+            // A prefetch of 1, as the default prefetch of 32 would hold up to 32 buffers of data beyond the pool
+            Flux<ByteBuffer> buffers = data
+                .concatMap(buffer -> splitBuffer(buffer, blockSize), 1)
+                .concatMap(buffer -> Mono.justOrEmpty(pool.write(buffer)), 1)
+                .concatWith(Mono.defer(() -> Mono.justOrEmpty(pool.flush())));
+
+            return uploadBuffersWithResponse(buffers, pool, engine, headers, metadata, accessConditions, context);
+        });
+    }
+
+    /*
+    Stages each filled buffer of the pool as a block, returning the buffer to the pool once its block is staged, and
+    commits the blocks once the buffers complete. The buffers are only requested as blocks complete, so the pool needs
+    no more buffers than the blocks in flight and the buffers being filled.
+     */
+    Mono<Response<BlockBlobItem>> uploadBuffersWithResponse(Flux<ByteBuffer> buffers, UploadBufferPool pool,
+                                                            BlobTransferEngine engine, BlobHTTPHeaders headers,
+                                                            Metadata metadata, BlobAccessConditions accessConditions,
+                                                            Context context) {
+        final LeaseAccessConditions leaseAccessConditions = accessConditions == null
+            ? null : accessConditions.leaseAccessConditions();
+
+        return Mono.defer(() -> {
+            int blockSize = pool.bufferSize();
+            String blockIdPrefix = getRandomBlockIdPrefix();
+            List<String> blockIds = new ArrayList<>();
+
+            Flux<TransferBlock> blocks = buffers
+                .index((index, buffer) -> {
+                    if (index >= MAX_BLOCKS) {
+                        throw logger.logExceptionAsError(new IllegalArgumentException(SR.BLOB_OVER_MAX_BLOCK_LIMIT));
+                    }
+
+                    TransferBlock block = new TransferBlock(index.intValue(), index * blockSize, buffer.remaining())
+                        .blockId(getBlockID(blockIdPrefix, index.intValue()))
+                        .data(buffer);
+                    blockIds.add(block.blockId());
+                    return block;
+                });
+
+            // Each attempt sends its own view of the buffer, so a retry sends the whole block again
+            return engine.run(blocks, blockSize,
+                block -> stageBlockWithResponse(block.blockId(), Flux.defer(() -> Flux.just(block.data().duplicate())),
+                    block.count(), leaseAccessConditions, context),
+                block -> pool.returnBuffer(block.data()))
+                .then(Mono.defer(() -> commitBlockListWithResponse(blockIds, headers, metadata, accessConditions,
+                    context)));
+        });
+    }
+
+    /*
+    Splits a buffer into views no larger than the block size, without copying it.
+     */
+    private static Flux<ByteBuffer> splitBuffer(ByteBuffer buffer, int blockSize) {
+        if (buffer.remaining() <= blockSize) {
+            return Flux.just(buffer);
+        }
+
+        int position = buffer.position();
+        int limit = buffer.limit();
+        return Flux.range(0, (limit - position + blockSize - 1) / blockSize)
+            .map(i -> {
+                ByteBuffer view = buffer.duplicate();
+                view.position(position + i * blockSize);
+                view.limit(Math.min(limit, position + (i + 1) * blockSize));
+                return view;
+            });
+    }
+
     /**
      * Creates a new block blob, or updates the content of an existing block blob, with the content of the specified file.
      * @param filePath Path to the upload file
@@ -163,84 +297,132 @@ public final class BlockBlobAsyncClient extends BlobAsyncClient {
      * @return An empty response
      */
     public Mono<Void> uploadFromFile(String filePath) {
-        return uploadFromFile(filePath, BLOB_DEFAULT_UPLOAD_BLOCK_SIZE, null, null, null);
+        return uploadFromFile(filePath, null, null, null, null);
     }
 
     /**
      * Creates a new block blob, or updates the content of an existing block blob, with the content of the specified file.
+     * The file is staged in blocks, several blocks at a time, and the blocks are then committed.
+     * <p>
+     * When {@link ParallelTransferOptions#resumeUploads()} is set, uploading an unchanged file again after an
+     * interrupted upload only uploads the blocks that the interrupted upload didn't stage.
+     *
      * @param filePath Path to the upload file
-     * @param blockSize Size of the blocks to upload
+     * @param parallelTransferOptions {@link ParallelTransferOptions} to configure the block size, the number of blocks
+     *         uploaded at once, the number of bytes of the blocks in flight, and whether an interrupted upload is resumed
      * @param headers {@link BlobHTTPHeaders}
      * @param metadata {@link Metadata}
      * @param accessConditions {@link BlobAccessConditions}
      *
      * @return An empty response
-     * @throws IllegalArgumentException If {@code blockSize} is less than 0 or greater than 100MB
+     * @throws IllegalArgumentException If the file cannot be split into {@link #MAX_BLOCKS} blocks of the block size
      * @throws UncheckedIOException If an I/O error occurs
      */
-    public Mono<Void> uploadFromFile(String filePath, Integer blockSize, BlobHTTPHeaders headers, Metadata metadata,
-                                     BlobAccessConditions accessConditions) {
-        if (blockSize < 0 || blockSize > BLOB_MAX_UPLOAD_BLOCK_SIZE) {
-            throw logger.logExceptionAsError(new IllegalArgumentException("Block size should not exceed 100MB"));
-        }
+    public Mono<Void> uploadFromFile(String filePath, ParallelTransferOptions parallelTransferOptions,
+                                     BlobHTTPHeaders headers, Metadata metadata, BlobAccessConditions accessConditions) {
+        return withContext(context -> uploadFromFile(filePath, parallelTransferOptions, headers, metadata,
+            accessConditions, context));
+    }
+
+    Mono<Void> uploadFromFile(String filePath, ParallelTransferOptions parallelTransferOptions, BlobHTTPHeaders headers,
+                              Metadata metadata, BlobAccessConditions accessConditions, Context context) {
+        final BlobTransferEngine engine = new BlobTransferEngine(parallelTransferOptions);
+        final LeaseAccessConditions leaseAccessConditions = accessConditions == null
+            ? null : accessConditions.leaseAccessConditions();
+
+        return Mono.defer(() -> {
+            Path file = Paths.get(filePath);
+            BasicFileAttributes attributes = getFileAttributes(file);
+            long fileLength = attributes.size();
+            int blockSize = engine.blockSize(fileLength, BLOB_MAX_UPLOAD_BLOCK_SIZE, MAX_BLOCKS);
+            boolean resume = parallelTransferOptions != null && parallelTransferOptions.resumeUploads();
+            String blockIdPrefix = resume
+                ? getResumableBlockIdPrefix(filePath, fileLength, attributes.lastModifiedTime().toMillis(),
+                    blockSize)
+                : getRandomBlockIdPrefix();
+
+            List<TransferBlock> blocks = engine.slice(0, fileLength, blockSize);
+            List<String> blockIds = new ArrayList<>(blocks.size());
+            for (TransferBlock block : blocks) {
+                block.blockId(getBlockID(blockIdPrefix, block.index()));
+                blockIds.add(block.blockId());
+            }
 
-        return Mono.using(() -> uploadFileResourceSupplier(filePath),
-            channel -> {
-                final SortedMap<Long, String> blockIds = new TreeMap<>();
-                return Flux.fromIterable(sliceFile(filePath, blockSize))
-                    .doOnNext(chunk -> blockIds.put(chunk.offset(), getBlockID()))
-                    .flatMap(chunk -> {
-                        String blockId = blockIds.get(chunk.offset());
-                        return stageBlockWithResponse(blockId, FluxUtil.readFile(channel, chunk.offset(), chunk.count()), chunk.count(), null);
-                    })
-                    .then(Mono.defer(() -> commitBlockListWithResponse(new ArrayList<>(blockIds.values()), headers, metadata, accessConditions)))
-                    .then()
-                    .doOnTerminate(() -> {
-                        try {
-                            channel.close();
-                        } catch (IOException e) {
-                            throw logger.logExceptionAsError(new UncheckedIOException(e));
+            Mono<Map<String, Integer>> stagedBlocks = resume
+                ? getUncommittedBlockSizes(leaseAccessConditions)
+                : Mono.just(Collections.emptyMap());
+            return stagedBlocks
+                .flatMap(existingBlocks -> {
+                    List<TransferBlock> missingBlocks = new ArrayList<>();
+                    for (TransferBlock block : blocks) {
+                        Integer existingSize = existingBlocks.get(block.blockId());
+                        if (existingSize == null || existingSize != block.count()) {
+                            missingBlocks.add(block);
                         }
-                    });
-            }, this::uploadFileCleanup);
+                    }
+
+                    if (missingBlocks.size() < blocks.size()) {
+                        logger.info("Resuming upload of {}, {} of {} blocks are already staged.", filePath,
+                            blocks.size() - missingBlocks.size(), blocks.size());
+                    }
+
+                    // Each block is read from the file on every attempt, and sent straight from the file when
+                    // the HTTP client supports it
+                    return engine.run(missingBlocks, blockSize, block -> stageBlockWithResponse(block.blockId(),
+                        FluxUtil.readFile(file, block.offset(), block.count()), block.count(),
+                        leaseAccessConditions, context));
+                })
+                .then(Mono.defer(() -> commitBlockListWithResponse(blockIds, headers, metadata, accessConditions,
+                    context)))
+                .then();
+        });
     }
 
-
-    private AsynchronousFileChannel uploadFileResourceSupplier(String filePath) {
+    private BasicFileAttributes getFileAttributes(Path file) {
         try {
-            return AsynchronousFileChannel.open(Paths.get(filePath), StandardOpenOption.READ);
+            return Files.readAttributes(file, BasicFileAttributes.class);
         } catch (IOException e) {
             throw logger.logExceptionAsError(new UncheckedIOException(e));
         }
     }
 
-    private void uploadFileCleanup(AsynchronousFileChannel channel) {
-        try {
-            channel.close();
-        } catch (IOException e) {
-            throw logger.logExceptionAsError(new UncheckedIOException(e));
-        }
+    /*
+    Block IDs are the prefix followed by the zero padded block index, as the service requires all the block IDs of a
+    blob to have the same length.
+     */
+    private static String getResumableBlockIdPrefix(String filePath, long fileLength, long lastModified,
+                                                    int blockSize) {
+        String transfer = Paths.get(filePath).toAbsolutePath().normalize() + ":" + fileLength + ":" + lastModified
+            + ":" + blockSize;
+        return UUID.nameUUIDFromBytes(transfer.getBytes(StandardCharsets.UTF_8)).toString().replace("-", "")
+            .substring(0, 30);
     }
 
-    private String getBlockID() {
-        return Base64.getEncoder().encodeToString(UUID.randomUUID().toString().getBytes(StandardCharsets.UTF_8));
+    private static String getRandomBlockIdPrefix() {
+        return UUID.randomUUID().toString().replace("-", "").substring(0, 30);
     }
 
-    private List<BlobRange> sliceFile(String path, Integer blockSize) {
-        if (blockSize == null) {
-            blockSize = BLOB_DEFAULT_UPLOAD_BLOCK_SIZE;
-        }
-        File file = new File(path);
-        assert file.exists();
-        List<BlobRange> ranges = new ArrayList<>();
-        for (long pos = 0; pos < file.length(); pos += blockSize) {
-            long count = blockSize;
-            if (pos + count > file.length()) {
-                count = file.length() - pos;
-            }
-            ranges.add(new BlobRange(pos, count));
-        }
-        return ranges;
+    private static String getBlockID(String prefix, int index) {
+        String blockId = String.format(Locale.ROOT, "%s-%05d", prefix, index);
+        return Base64.getEncoder().encodeToString(blockId.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /*
+    Gets the sizes of the uncommitted blocks of the blob by ID. Committed blocks are left out, as they may hold the
+    content of an earlier upload that completed. A blob that doesn't exist has no blocks.
+     */
+    private Mono<Map<String, Integer>> getUncommittedBlockSizes(LeaseAccessConditions leaseAccessConditions) {
+        return listBlocks(BlockListType.UNCOMMITTED, leaseAccessConditions)
+            .map(response -> {
+                Map<String, Integer> blockSizes = new HashMap<>();
+                BlockList blockList = response.value();
+                if (blockList.uncommittedBlocks() != null) {
+                    blockList.uncommittedBlocks().forEach(block -> blockSizes.put(block.name(), block.size()));
+                }
+                return blockSizes;
+            })
+            .onErrorResume(e -> e instanceof StorageException && ((StorageException) e).statusCode() == 404,
+                e -> Mono.just(Collections.emptyMap()));
     }
 
     /**
@@ -14,6 +14,7 @@ import com.azure.storage.blob.models.BlockList;
 import com.azure.storage.blob.models.BlockListType;
 import com.azure.storage.blob.models.LeaseAccessConditions;
 import com.azure.storage.blob.models.Metadata;
+import com.azure.storage.blob.models.ParallelTransferOptions;
 import com.azure.storage.blob.models.SourceModifiedAccessConditions;
 import com.azure.storage.blob.models.StorageException;
 import com.azure.storage.common.Utility;
@@ -181,7 +182,26 @@ public final class BlockBlobClient extends BlobClient {
      */
     public void uploadFromFile(String filePath, BlobHTTPHeaders headers, Metadata metadata,
                                BlobAccessConditions accessConditions, Duration timeout) throws IOException {
-        Mono<Void> upload = this.blockBlobAsyncClient.uploadFromFile(filePath, BlockBlobAsyncClient.BLOB_DEFAULT_UPLOAD_BLOCK_SIZE, headers, metadata, accessConditions);
+        uploadFromFile(filePath, null, headers, metadata, accessConditions, timeout);
+    }
+
+    /**
+     * Creates a new block blob, or updates the content of an existing block blob. The file is staged in blocks,
+     * several blocks at a time, and an interrupted upload of an unchanged file only uploads the missing blocks when it
+     * is run again.
+     * @param filePath Path of the file to upload
+     * @param parallelTransferOptions {@link ParallelTransferOptions} to configure the block size, the number of blocks
+     *         uploaded at once, and the number of bytes of the blocks in flight
+     * @param headers {@link BlobHTTPHeaders}
+     * @param metadata {@link Metadata}
+     * @param accessConditions {@link BlobAccessConditions}
+     * @param timeout An optional timeout value beyond which a {@link RuntimeException} will be raised.
+     *
+     * @throws IOException If an I/O error occurs
+     */
+    public void uploadFromFile(String filePath, ParallelTransferOptions parallelTransferOptions, BlobHTTPHeaders headers,
+                               Metadata metadata, BlobAccessConditions accessConditions, Duration timeout) throws IOException {
+        Mono<Void> upload = this.blockBlobAsyncClient.uploadFromFile(filePath, parallelTransferOptions, headers, metadata, accessConditions);
 
         try {
             Utility.blockWithOptionalTimeout(upload, timeout);
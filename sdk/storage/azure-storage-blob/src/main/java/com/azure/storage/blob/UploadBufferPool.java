@@ -0,0 +1,146 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.blob;
+
+import com.azure.core.util.logging.ClientLogger;
+
+import java.nio.ByteBuffer;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Gathers data of unknown length into buffers of the block size, for uploads from sources that can't be replayed. The
+ * buffers are reused once the blocks staged from them complete, so an upload allocates no more than the maximum number
+ * of buffers of the pool however much data it uploads.
+ * <p>
+ * The data passed to {@link #write(ByteBuffer)} must be no larger than a buffer, so that a write fills at most one
+ * buffer and spills into at most one more. Writes and {@link #flush()} must be called one after the other, and only
+ * as buffers are requested, which bounds the buffers in use to the blocks in flight, the filled buffer waiting to be
+ * requested and the buffer being filled. Buffers are returned with {@link #returnBuffer(ByteBuffer)}, from any thread.
+ */
+final class UploadBufferPool {
+    private final ClientLogger logger = new ClientLogger(UploadBufferPool.class);
+
+    private final Queue<ByteBuffer> buffers = new ConcurrentLinkedQueue<>();
+    private final int maxBuffers;
+    private final int bufferSize;
+
+    // Only used by write and flush, which are called one after the other
+    private int numBuffers;
+    private ByteBuffer currentBuffer;
+
+    /**
+     * Creates a pool of buffers.
+     *
+     * @param maxBuffers the maximum number of buffers allocated, at least two as a write can spill over into a second
+     *         buffer
+     * @param bufferSize the size of the buffers, which is the size of the blocks staged
+     * @throws IllegalArgumentException If {@code maxBuffers} is less than 2, or {@code bufferSize} is less than 1 or
+     *         greater than {@link BlockBlobAsyncClient#MAX_STAGE_BLOCK_BYTES}
+     */
+    UploadBufferPool(int maxBuffers, int bufferSize) {
+        if (maxBuffers < 2) {
+            throw logger.logExceptionAsError(new IllegalArgumentException(String.format(Locale.ROOT,
+                SR.ARGUMENT_OUT_OF_RANGE_ERROR, "maxBuffers", maxBuffers)));
+        }
+        if (bufferSize < 1 || bufferSize > BlockBlobAsyncClient.MAX_STAGE_BLOCK_BYTES) {
+            throw logger.logExceptionAsError(new IllegalArgumentException(String.format(Locale.ROOT,
+                SR.ARGUMENT_OUT_OF_RANGE_ERROR, "bufferSize", bufferSize)));
+        }
+
+        this.maxBuffers = maxBuffers;
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * @return the size of the buffers, which is the size of the blocks staged
+     */
+    int bufferSize() {
+        return this.bufferSize;
+    }
+
+    /**
+     * Copies data into the buffer being filled.
+     *
+     * @param data the data, no larger than a buffer
+     * @return the buffer filled by the data, ready to be read, or null if the buffer being filled has room left
+     * @throws IllegalArgumentException If {@code data} is larger than a buffer
+     * @throws IllegalStateException If the data spills over into a new buffer while all the buffers are in use
+     */
+    ByteBuffer write(ByteBuffer data) {
+        if (data.remaining() > this.bufferSize) {
+            throw logger.logExceptionAsError(new IllegalArgumentException(String.format(Locale.ROOT,
+                SR.ARGUMENT_OUT_OF_RANGE_ERROR, "data", data.remaining())));
+        }
+
+        if (this.currentBuffer == null) {
+            this.currentBuffer = getBuffer();
+        }
+
+        if (this.currentBuffer.remaining() > data.remaining()) {
+            this.currentBuffer.put(data);
+            return null;
+        }
+
+        // Fill the current buffer and copy what's left of the data into the next one
+        int limit = data.limit();
+        data.limit(data.position() + this.currentBuffer.remaining());
+        this.currentBuffer.put(data);
+        data.limit(limit);
+
+        ByteBuffer filled = this.currentBuffer;
+        filled.flip();
+        this.currentBuffer = null;
+
+        if (data.hasRemaining()) {
+            this.currentBuffer = getBuffer();
+            this.currentBuffer.put(data);
+        }
+
+        return filled;
+    }
+
+    /**
+     * Gets the buffer being filled once the data is complete.
+     *
+     * @return the partially filled buffer, ready to be read, or null if there is no data left
+     */
+    ByteBuffer flush() {
+        if (this.currentBuffer == null) {
+            return null;
+        }
+
+        ByteBuffer last = this.currentBuffer;
+        last.flip();
+        // A second call to flush must not return the last buffer again
+        this.currentBuffer = null;
+        return last;
+    }
+
+    /**
+     * Returns a buffer to the pool once the block staged from it has completed.
+     *
+     * @param buffer the buffer
+     */
+    void returnBuffer(ByteBuffer buffer) {
+        buffer.clear();
+        this.buffers.offer(buffer);
+    }
+
+    private ByteBuffer getBuffer() {
+        ByteBuffer buffer = this.buffers.poll();
+        if (buffer != null) {
+            return buffer;
+        }
+
+        if (this.numBuffers == this.maxBuffers) {
+            throw logger.logExceptionAsError(new IllegalStateException(String.format(Locale.ROOT,
+                "All %d buffers of the pool are in use.", this.maxBuffers)));
+        }
+
+        this.numBuffers++;
+        return ByteBuffer.allocate(this.bufferSize);
+    }
+}
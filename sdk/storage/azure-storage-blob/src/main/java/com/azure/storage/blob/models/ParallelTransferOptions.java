@@ -0,0 +1,172 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.blob.models;
+
+import com.azure.storage.common.Constants;
+
+import java.util.Locale;
+
+/**
+ * {@code ParallelTransferOptions} configures how a file is split into blocks and how many of those blocks are transferred
+ * at once by {@code BlockBlobAsyncClient.uploadFromFile} and {@code BlobAsyncClient.downloadToFile}.
+ * <p>
+ * The number of blocks in flight is the smaller of {@link #maxConcurrency()} and the number of blocks that fit in
+ * {@link #maxBufferedBytes()}, and is at least one.
+ */
+public final class ParallelTransferOptions {
+    /**
+     * The default number of blocks transferred at once.
+     */
+    public static final int DEFAULT_MAX_CONCURRENCY = 8;
+
+    /**
+     * The default limit on the number of bytes of the blocks in flight.
+     */
+    public static final long DEFAULT_MAX_BUFFERED_BYTES = 256L * Constants.MB;
+
+    /**
+     * The default number of times a failed block is transferred again before the transfer fails.
+     */
+    public static final int DEFAULT_MAX_RETRIES_PER_BLOCK = 3;
+
+    private static final String PARAMETER_NOT_IN_RANGE = "The value of the parameter '%s' should be between %s and %s.";
+    private static final int MAX_BLOCK_SIZE = 100 * Constants.MB;
+
+    private Integer blockSize;
+    private int maxConcurrency = DEFAULT_MAX_CONCURRENCY;
+    private long maxBufferedBytes = DEFAULT_MAX_BUFFERED_BYTES;
+    private int maxRetriesPerBlock = DEFAULT_MAX_RETRIES_PER_BLOCK;
+    private boolean resumeUploads;
+
+    /**
+     * Gets the size of the blocks the data is split into.
+     *
+     * @return the block size in bytes, or null if the block size is chosen from the size of the data
+     */
+    public Integer blockSize() {
+        return blockSize;
+    }
+
+    /**
+     * Sets the size of the blocks the data is split into. When not set, the block size grows with the size of the data,
+     * from 4MB for data up to 1GB to 100MB for the largest block blobs, so large transfers take fewer requests.
+     *
+     * @param blockSize The block size in bytes, or null to choose the block size from the size of the data
+     * @return the updated ParallelTransferOptions object
+     * @throws IllegalArgumentException If {@code blockSize} is less than 1 or greater than 100MB
+     */
+    public ParallelTransferOptions blockSize(Integer blockSize) {
+        if (blockSize != null && (blockSize < 1 || blockSize > MAX_BLOCK_SIZE)) {
+            throw new IllegalArgumentException(String.format(Locale.ROOT, PARAMETER_NOT_IN_RANGE,
+                "blockSize", 1, MAX_BLOCK_SIZE));
+        }
+
+        this.blockSize = blockSize;
+        return this;
+    }
+
+    /**
+     * Gets the maximum number of blocks transferred at once.
+     *
+     * @return the maximum number of blocks in flight
+     */
+    public int maxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * Sets the maximum number of blocks transferred at once.
+     *
+     * @param maxConcurrency The maximum number of blocks in flight
+     * @return the updated ParallelTransferOptions object
+     * @throws IllegalArgumentException If {@code maxConcurrency} is less than 1
+     */
+    public ParallelTransferOptions maxConcurrency(int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException(String.format(Locale.ROOT, PARAMETER_NOT_IN_RANGE,
+                "maxConcurrency", 1, Integer.MAX_VALUE));
+        }
+
+        this.maxConcurrency = maxConcurrency;
+        return this;
+    }
+
+    /**
+     * Gets the limit on the number of bytes of the blocks in flight.
+     *
+     * @return the maximum number of bytes in flight
+     */
+    public long maxBufferedBytes() {
+        return maxBufferedBytes;
+    }
+
+    /**
+     * Sets the limit on the number of bytes of the blocks in flight, which bounds the memory a transfer uses. One block
+     * is always transferred, even if it is larger than this limit.
+     *
+     * @param maxBufferedBytes The maximum number of bytes in flight
+     * @return the updated ParallelTransferOptions object
+     * @throws IllegalArgumentException If {@code maxBufferedBytes} is less than 1
+     */
+    public ParallelTransferOptions maxBufferedBytes(long maxBufferedBytes) {
+        if (maxBufferedBytes < 1) {
+            throw new IllegalArgumentException(String.format(Locale.ROOT, PARAMETER_NOT_IN_RANGE,
+                "maxBufferedBytes", 1, Long.MAX_VALUE));
+        }
+
+        this.maxBufferedBytes = maxBufferedBytes;
+        return this;
+    }
+
+    /**
+     * Gets the number of times a failed block is transferred again before the transfer fails.
+     *
+     * @return the maximum number of retries of a block
+     */
+    public int maxRetriesPerBlock() {
+        return maxRetriesPerBlock;
+    }
+
+    /**
+     * Sets the number of times a failed block is transferred again before the transfer fails. These retries are in
+     * addition to the retries of individual requests made by the retry policy of the pipeline.
+     *
+     * @param maxRetriesPerBlock The maximum number of retries of a block
+     * @return the updated ParallelTransferOptions object
+     * @throws IllegalArgumentException If {@code maxRetriesPerBlock} is less than 0
+     */
+    public ParallelTransferOptions maxRetriesPerBlock(int maxRetriesPerBlock) {
+        if (maxRetriesPerBlock < 0) {
+            throw new IllegalArgumentException(String.format(Locale.ROOT, PARAMETER_NOT_IN_RANGE,
+                "maxRetriesPerBlock", 0, Integer.MAX_VALUE));
+        }
+
+        this.maxRetriesPerBlock = maxRetriesPerBlock;
+        return this;
+    }
+
+    /**
+     * Gets whether {@code BlockBlobAsyncClient.uploadFromFile} resumes an interrupted upload of the same file.
+     *
+     * @return true if the blocks an interrupted upload already staged are reused
+     */
+    public boolean resumeUploads() {
+        return resumeUploads;
+    }
+
+    /**
+     * Sets whether {@code BlockBlobAsyncClient.uploadFromFile} resumes an interrupted upload of the same file. When
+     * set, the IDs of the blocks are derived from the path, length and last modified time of the file and the block
+     * size, and blocks that are already staged but not committed on the blob are not uploaded again. The content of the
+     * staged blocks is not compared with the file, so the file must not change between the interrupted upload and the
+     * upload that resumes it. Not set by default, in which case every block is uploaded.
+     *
+     * @param resumeUploads Whether the blocks an interrupted upload already staged are reused
+     * @return the updated ParallelTransferOptions object
+     */
+    public ParallelTransferOptions resumeUploads(boolean resumeUploads) {
+        this.resumeUploads = resumeUploads;
+        return this;
+    }
+}
@@ -0,0 +1,242 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.blob;
+
+import com.azure.core.http.HttpHeaders;
+import com.azure.core.http.HttpResponse;
+import com.azure.storage.blob.BlobTransferEngine.TransferBlock;
+import com.azure.storage.blob.models.ParallelTransferOptions;
+import com.azure.storage.blob.models.StorageErrorException;
+import com.azure.storage.blob.models.StorageException;
+import com.azure.storage.common.Constants;
+import org.junit.Assert;
+import org.junit.Test;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class BlobTransferEngineTest {
+    private static final long GB = 1024L * Constants.MB;
+
+    @Test
+    public void blockSizeUsesConfiguredBlockSize() {
+        BlobTransferEngine engine = new BlobTransferEngine(new ParallelTransferOptions().blockSize(Constants.MB));
+
+        Assert.assertEquals(Constants.MB, engine.blockSize(10 * GB, 100 * Constants.MB, 50000));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void blockSizeRejectsConfiguredBlockSizeThatNeedsTooManyBlocks() {
+        BlobTransferEngine engine = new BlobTransferEngine(new ParallelTransferOptions().blockSize(Constants.MB));
+
+        engine.blockSize(10L * Constants.MB + 1, 100 * Constants.MB, 10);
+    }
+
+    @Test
+    public void blockSizeGrowsWithLength() {
+        BlobTransferEngine engine = new BlobTransferEngine(null);
+
+        Assert.assertEquals(4 * Constants.MB, engine.blockSize(0, 100 * Constants.MB, 50000));
+        Assert.assertEquals(4 * Constants.MB, engine.blockSize(GB, 100 * Constants.MB, 50000));
+        Assert.assertEquals(8 * Constants.MB, engine.blockSize(GB + 1, 100 * Constants.MB, 50000));
+        Assert.assertEquals(16 * Constants.MB, engine.blockSize(100 * GB, 100 * Constants.MB, 50000));
+        Assert.assertEquals(32 * Constants.MB, engine.blockSize(200 * GB, 100 * Constants.MB, 50000));
+    }
+
+    @Test
+    public void blockSizeGrowsToWholeMegabytesToFitMaxBlocks() {
+        BlobTransferEngine engine = new BlobTransferEngine(null);
+
+        // 5MB and a byte in each of 2 blocks, rounded up to 6MB
+        Assert.assertEquals(6 * Constants.MB, engine.blockSize(10L * Constants.MB + 1, 100 * Constants.MB, 2));
+        // Never larger than the largest block
+        Assert.assertEquals(100 * Constants.MB, engine.blockSize(50000 * 100L * Constants.MB, 100 * Constants.MB,
+            50000));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void blockSizeRejectsLengthThatDoesNotFitInMaxBlocks() {
+        new BlobTransferEngine(null).blockSize(100L * Constants.MB, 8 * Constants.MB, 10);
+    }
+
+    @Test
+    public void sliceSplitsRangeIntoBlocks() {
+        List<TransferBlock> blocks = new BlobTransferEngine(null).slice(10, 25, 10);
+
+        Assert.assertEquals(3, blocks.size());
+        assertBlock(blocks.get(0), 0, 10, 10);
+        assertBlock(blocks.get(1), 1, 20, 10);
+        assertBlock(blocks.get(2), 2, 30, 5);
+    }
+
+    @Test
+    public void sliceOfExactMultipleHasNoPartialBlock() {
+        List<TransferBlock> blocks = new BlobTransferEngine(null).slice(0, 20, 10);
+
+        Assert.assertEquals(2, blocks.size());
+        assertBlock(blocks.get(1), 1, 10, 10);
+    }
+
+    @Test
+    public void sliceOfEmptyRangeHasNoBlocks() {
+        Assert.assertTrue(new BlobTransferEngine(null).slice(0, 0, 10).isEmpty());
+    }
+
+    @Test
+    public void concurrencyIsBoundedByMaxConcurrencyAndBufferedBytes() {
+        BlobTransferEngine engine = new BlobTransferEngine(null);
+
+        Assert.assertEquals(ParallelTransferOptions.DEFAULT_MAX_CONCURRENCY, engine.concurrency(4 * Constants.MB));
+        Assert.assertEquals(4, engine.concurrency(64 * Constants.MB));
+        // One block is always transferred
+        Assert.assertEquals(1, new BlobTransferEngine(new ParallelTransferOptions().maxBufferedBytes(10))
+            .concurrency(100));
+    }
+
+    @Test
+    public void runRetriesOnlyTheFailedBlock() {
+        BlobTransferEngine engine = new BlobTransferEngine(null);
+        List<TransferBlock> blocks = engine.slice(0, 30, 10);
+
+        engine.run(blocks, 10, block -> block.index() == 1 && block.attempts() < 3
+            ? Mono.error(new IOException("test-io-error"))
+            : Mono.empty()).block();
+
+        Assert.assertEquals(1, blocks.get(0).attempts());
+        Assert.assertEquals(3, blocks.get(1).attempts());
+        Assert.assertEquals(1, blocks.get(2).attempts());
+    }
+
+    @Test
+    public void runFailsOnceRetriesAreExhausted() {
+        BlobTransferEngine engine = new BlobTransferEngine(new ParallelTransferOptions().maxRetriesPerBlock(2));
+        List<TransferBlock> blocks = engine.slice(0, 10, 10);
+
+        try {
+            engine.run(blocks, 10, block -> Mono.error(new IOException("test-io-error"))).block();
+            Assert.fail("Expected the transfer to fail.");
+        } catch (RuntimeException e) {
+            Assert.assertTrue(Exceptions.unwrap(e) instanceof IOException);
+        }
+
+        Assert.assertEquals(3, blocks.get(0).attempts());
+    }
+
+    @Test
+    public void runDoesNotRetryNonRetryableErrors() {
+        BlobTransferEngine engine = new BlobTransferEngine(null);
+        List<TransferBlock> blocks = engine.slice(0, 10, 10);
+
+        try {
+            engine.run(blocks, 10, block -> Mono.error(new IllegalStateException("test-bug"))).block();
+            Assert.fail("Expected the transfer to fail.");
+        } catch (IllegalStateException e) {
+            Assert.assertEquals("test-bug", e.getMessage());
+        }
+
+        Assert.assertEquals(1, blocks.get(0).attempts());
+    }
+
+    @Test
+    public void runRequestsBlocksAsBlocksComplete() {
+        BlobTransferEngine engine = new BlobTransferEngine(new ParallelTransferOptions().maxConcurrency(2));
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        AtomicInteger released = new AtomicInteger();
+
+        engine.run(Flux.fromIterable(engine.slice(0, 100, 10)), 10,
+            block -> Mono.fromRunnable(() -> maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max))
+                .delaySubscription(java.time.Duration.ofMillis(5))
+                .doFinally(signal -> inFlight.decrementAndGet()),
+            block -> released.incrementAndGet()).block();
+
+        Assert.assertTrue(maxInFlight.get() <= 2);
+        Assert.assertEquals(10, released.get());
+    }
+
+    @Test
+    public void retriesTransientErrors() {
+        Assert.assertTrue(BlobTransferEngine.isRetryable(storageException(500)));
+        Assert.assertTrue(BlobTransferEngine.isRetryable(storageException(503)));
+        Assert.assertTrue(BlobTransferEngine.isRetryable(storageException(408)));
+        Assert.assertTrue(BlobTransferEngine.isRetryable(storageException(429)));
+        Assert.assertTrue(BlobTransferEngine.isRetryable(new IOException("test-connection-reset")));
+        Assert.assertTrue(BlobTransferEngine.isRetryable(new java.net.ConnectException("test-connection-refused")));
+        Assert.assertTrue(BlobTransferEngine.isRetryable(new UncheckedIOException(new IOException("test-read"))));
+        Assert.assertTrue(BlobTransferEngine.isRetryable(new TimeoutException("test-timeout")));
+        Assert.assertTrue(BlobTransferEngine.isRetryable(Exceptions.propagate(new IOException("test-wrapped"))));
+    }
+
+    @Test
+    public void doesNotRetryOtherErrors() {
+        Assert.assertFalse(BlobTransferEngine.isRetryable(storageException(400)));
+        Assert.assertFalse(BlobTransferEngine.isRetryable(storageException(404)));
+        Assert.assertFalse(BlobTransferEngine.isRetryable(storageException(412)));
+        Assert.assertFalse(BlobTransferEngine.isRetryable(new NullPointerException()));
+        Assert.assertFalse(BlobTransferEngine.isRetryable(new IllegalStateException()));
+        Assert.assertFalse(BlobTransferEngine.isRetryable(new IllegalArgumentException()));
+        Assert.assertFalse(BlobTransferEngine.isRetryable(new OutOfMemoryError()));
+    }
+
+    private static void assertBlock(TransferBlock block, int index, long offset, long count) {
+        Assert.assertEquals(index, block.index());
+        Assert.assertEquals(offset, block.offset());
+        Assert.assertEquals(count, block.count());
+    }
+
+    private static StorageException storageException(int statusCode) {
+        return new StorageException(new StorageErrorException("test-error", new StatusCodeResponse(statusCode)), null);
+    }
+
+    private static final class StatusCodeResponse extends HttpResponse {
+        private final int statusCode;
+
+        private StatusCodeResponse(int statusCode) {
+            this.statusCode = statusCode;
+        }
+
+        @Override
+        public int statusCode() {
+            return statusCode;
+        }
+
+        @Override
+        public String headerValue(String name) {
+            return null;
+        }
+
+        @Override
+        public HttpHeaders headers() {
+            return new HttpHeaders();
+        }
+
+        @Override
+        public Flux<ByteBuffer> body() {
+            return Flux.empty();
+        }
+
+        @Override
+        public Mono<byte[]> bodyAsByteArray() {
+            return Mono.empty();
+        }
+
+        @Override
+        public Mono<String> bodyAsString() {
+            return Mono.empty();
+        }
+
+        @Override
+        public Mono<String> bodyAsString(Charset charset) {
+            return Mono.empty();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.storage.blob;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+public class UploadBufferPoolTest {
+    @Test
+    public void writeSmallerThanRoomLeftFillsNothing() {
+        UploadBufferPool pool = new UploadBufferPool(2, 10);
+
+        Assert.assertNull(pool.write(data(0, 4)));
+        Assert.assertNull(pool.write(data(4, 5)));
+        assertData(pool.flush(), 0, 9);
+    }
+
+    @Test
+    public void writeOfExactlyTheRoomLeftFillsTheBuffer() {
+        UploadBufferPool pool = new UploadBufferPool(2, 10);
+
+        Assert.assertNull(pool.write(data(0, 4)));
+        assertData(pool.write(data(4, 6)), 0, 10);
+        // Nothing spilled over
+        Assert.assertNull(pool.flush());
+    }
+
+    @Test
+    public void writeOfAFullBufferFillsTheBuffer() {
+        UploadBufferPool pool = new UploadBufferPool(2, 10);
+
+        assertData(pool.write(data(0, 10)), 0, 10);
+        assertData(pool.write(data(10, 10)), 10, 10);
+        Assert.assertNull(pool.flush());
+    }
+
+    @Test
+    public void writeSpillsOverIntoTheNextBuffer() {
+        UploadBufferPool pool = new UploadBufferPool(2, 10);
+
+        Assert.assertNull(pool.write(data(0, 7)));
+        ByteBuffer filled = pool.write(data(7, 8));
+        assertData(filled, 0, 10);
+        pool.returnBuffer(filled);
+
+        assertData(pool.flush(), 10, 5);
+    }
+
+    @Test
+    public void writeConsumesTheData() {
+        UploadBufferPool pool = new UploadBufferPool(2, 10);
+        ByteBuffer data = data(0, 12);
+        data.position(3);
+
+        Assert.assertNull(pool.write(data));
+        Assert.assertFalse(data.hasRemaining());
+        assertData(pool.flush(), 3, 9);
+    }
+
+    @Test
+    public void flushReturnsTheLastBufferOnce() {
+        UploadBufferPool pool = new UploadBufferPool(2, 10);
+
+        Assert.assertNull(pool.flush());
+        pool.write(data(0, 3));
+        assertData(pool.flush(), 0, 3);
+        Assert.assertNull(pool.flush());
+    }
+
+    @Test
+    public void returnedBuffersAreReused() {
+        UploadBufferPool pool = new UploadBufferPool(2, 10);
+
+        for (int i = 0; i < 10; i++) {
+            ByteBuffer filled = pool.write(data(i * 10, 10));
+            assertData(filled, i * 10, 10);
+            pool.returnBuffer(filled);
+        }
+    }
+
+    @Test
+    public void writeFailsWhenAllBuffersAreInUse() {
+        UploadBufferPool pool = new UploadBufferPool(2, 10);
+        pool.write(data(0, 10));
+        pool.write(data(10, 5));
+
+        try {
+            // Spills over into a third buffer while the filled buffer isn't returned
+            pool.write(data(15, 10));
+            Assert.fail("Expected the pool to run out of buffers.");
+        } catch (IllegalStateException e) {
+            Assert.assertEquals("All 2 buffers of the pool are in use.", e.getMessage());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void writeRejectsDataLargerThanABuffer() {
+        new UploadBufferPool(2, 10).write(data(0, 11));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void poolNeedsTwoBuffers() {
+        new UploadBufferPool(1, 10);
+    }
+
+    // Data whose bytes are their offset in the upload
+    private static ByteBuffer data(int offset, int length) {
+        byte[] data = new byte[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = (byte) (offset + i);
+        }
+
+        return ByteBuffer.wrap(data);
+    }
+
+    private static void assertData(ByteBuffer buffer, int offset, int length) {
+        Assert.assertNotNull(buffer);
+        Assert.assertEquals(length, buffer.remaining());
+        for (int i = 0; i < length; i++) {
+            Assert.assertEquals((byte) (offset + i), buffer.get(buffer.position() + i));
+        }
+    }
+}
@@ -11,6 +11,7 @@ import com.azure.core.http.HttpRequest;
 import com.azure.core.http.HttpResponse;
 import com.azure.core.http.policy.HttpPipelinePolicy;
 import com.azure.core.implementation.http.UrlBuilder;
+import com.azure.core.implementation.util.FileSegmentFlux;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -89,11 +90,14 @@ public final class RequestRetryPolicy implements HttpPipelinePolicy {
          stream, the buffers that were emitted will have already been consumed (their position set to their limit),
          so it is not a true reset. By adding the map function, we ensure that anything which consumes the
          ByteBuffers downstream will only actually consume a duplicate so the original is preserved. This only
-         duplicates the ByteBuffer object, not the underlying data.
+         duplicates the ByteBuffer object, not the underlying data. A segment of a file is read again from the file on
+         every try and is kept as it is, so the HTTP client can send it straight from the file.
          */
         context.httpRequest(originalRequest.buffer());
-        Flux<ByteBuffer> bufferedBody = (context.httpRequest().body() == null) ? null : context.httpRequest().body().map(ByteBuffer::duplicate);
-        context.httpRequest().body(bufferedBody);
+        Flux<ByteBuffer> body = context.httpRequest().body();
+        if (body != null && !(body instanceof FileSegmentFlux)) {
+            context.httpRequest().body(body.map(ByteBuffer::duplicate));
+        }
         if (!tryingPrimary) {
             UrlBuilder builder = UrlBuilder.parse(context.httpRequest().url());
             builder.host(this.requestRetryOptions.secondaryHost());